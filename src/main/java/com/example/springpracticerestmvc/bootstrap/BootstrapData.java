@@ -11,57 +11,140 @@ import com.example.springpracticerestmvc.repositories.BeerRepository;
 import com.example.springpracticerestmvc.repositories.CustomerRepository;
 import com.example.springpracticerestmvc.services.BeerCsvService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.ResourceUtils;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * BootstrapData is a Spring Boot component that initializes the database with sample data.
  * It implements CommandLineRunner to execute code at application startup.
+ * <p>
+ * The beers and the customers are loaded concurrently, each phase in its own transactions, and the orders once
+ * both are in. The CSV file is split into parts that are parsed in parallel, and every part inserts its beers
+ * with JDBC batch statements (see {@link BeerRepository#insertAll}), one transaction per chunk. The duration of
+ * each phase is logged and kept in {@link #getPhaseTimings()}.
  */
 @Component
 @RequiredArgsConstructor
 @Profile({"localdb", "default"})
+@Slf4j
 public class BootstrapData implements CommandLineRunner {
 
     private final BeerRepository beerRepository;
     private final CustomerRepository customerRepository;
     private final BeerOrderRepository beerOrderRepository;
     private final BeerCsvService beerCsvService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, Duration> phaseTimings = Collections.synchronizedMap(new LinkedHashMap<>());
 
     @Value("${bootstrap.csv-file-path}")
     String beerCsvFilePath;
 
+    // Each part of the CSV file holds a connection while it inserts, so keep this below the pool size
+    @Value("${bootstrap.parallelism:4}")
+    int parallelism = 4;
+
+    @Value("${bootstrap.chunk-size:5000}")
+    int chunkSize = 5000;
+
+    @Value("${bootstrap.batch-size:500}")
+    int batchSize = 500;
+
     /**
      * Executes the database initialization logic at application startup.
      *
      * @param args Command-line arguments passed to the application.
      * @throws Exception if an error occurs during initialization.
      */
-    @Transactional
     @Override
     public void run(String... args) throws Exception {
         if (beerCsvFilePath == null) {
             beerCsvFilePath = "classpath:csvdata/beers.csv";
         }
+        phaseTimings.clear();
+        long start = System.nanoTime();
+
+        long beerCount = beerRepository.count();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> beers = executor.submit(() -> {
+                timed("beers", () -> loadBeerData(beerCount));
+                timed("csv", () -> loadCsvData(beerCsvFilePath, beerCount, executor));
+                return null;
+            });
+            Future<?> customers = executor.submit(() -> {
+                timed("customers", this::loadCustomerData);
+                return null;
+            });
+
+            await(beers);
+            await(customers);
+        }
+        timed("orders", this::loadOrderData);
+        phaseTimings.put("total", Duration.ofNanos(System.nanoTime() - start));
 
-        loadBeerData();
-        loadCsvData(beerCsvFilePath);
-        loadCustomerData();
-        loadOrderData();
+        log.info("Bootstrap data loaded: {}", getPhaseTimings().entrySet().stream()
+                .map(phase -> phase.getKey() + " " + phase.getValue().toMillis() + " ms")
+                .toList());
+    }
+
+    /**
+     * Returns how long each phase of the last run took, in completion order, followed by the total.
+     * The beer and customer phases overlap, so the total is less than the sum of the phases.
+     *
+     * @return The duration per phase.
+     */
+    public Map<String, Duration> getPhaseTimings() {
+        synchronized (phaseTimings) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(phaseTimings));
+        }
+    }
+
+    private void timed(String phase, Phase action) throws Exception {
+        long start = System.nanoTime();
+        action.run();
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        phaseTimings.put(phase, duration);
+        log.debug("Bootstrap phase {} took {} ms", phase, duration.toMillis());
+    }
+
+    private static void await(Future<?> future) throws Exception {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     /**
@@ -69,9 +152,14 @@ public class BootstrapData implements CommandLineRunner {
      * Creates orders for each customer using available beers.
      */
     private void loadOrderData() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> saveOrders());
+    }
+
+    private void saveOrders() {
         if (beerOrderRepository.count() == 0) {
             val customers = customerRepository.findAll();
-            val beers = beerRepository.findAll();
+            // Each customer's orders take four beers; loading only those keeps this phase independent of the catalog size
+            val beers = beerRepository.findAll(PageRequest.of(0, customers.size() * 4)).getContent();
             val beerIterator = beers.iterator();
 
             customers.forEach(customer -> {
@@ -111,46 +199,82 @@ public class BootstrapData implements CommandLineRunner {
                                 .build()
                 );
             });
-
-            beerOrderRepository.findAll(); // Trigger loading of orders into the context
         }
     }
 
     /**
      * Loads beer data from a CSV file into the database.
+     * The parts of the file are parsed and inserted concurrently on the given executor. Rows that cannot be read,
+     * or lack the name or row number a beer needs, are skipped and counted.
      *
      * @param beerCsvFilePath Path to the CSV file containing beer data.
-     * @throws FileNotFoundException if the CSV file is not found.
+     * @param beerCount       The number of beers before bootstrapping.
+     * @param executor        The executor to run the parts on.
+     * @throws Exception if the CSV file is not found or a part fails.
      */
-    private void loadCsvData(String beerCsvFilePath) throws FileNotFoundException {
-        if (beerRepository.count() < 10) {
+    private void loadCsvData(String beerCsvFilePath, long beerCount, ExecutorService executor) throws Exception {
+        if (beerCount < 10) {
             File file = ResourceUtils.getFile(beerCsvFilePath);
-            List<BeerCSVRecord> csvRecords = beerCsvService.convertCSV(file);
-
-            csvRecords.forEach(beerCSVRecord -> {
-                BeerStyle beerStyle = switch (beerCSVRecord.getStyle()) {
-                    case "American Pale Lager", "English Pale Ale" -> BeerStyle.PALE_ALE;
-                    case "American Pale Ale (APA)", "American Black Ale", "Belgian Dark Ale", "American Blonde Ale" ->
-                            BeerStyle.ALE;
-                    case "American IPA", "American Double / Imperial IPA", "Belgian IPA" -> BeerStyle.IPA;
-                    case "American Porter" -> BeerStyle.PORTER;
-                    case "Oatmeal Stout", "American Stout" -> BeerStyle.STOUT;
-                    case "Saison / Farmhouse Ale" -> BeerStyle.SAISON;
-                    case "Fruit / Vegetable Beer", "Winter Warmer", "Berliner Weissbier" -> BeerStyle.WHEAT;
-                    default -> BeerStyle.PILSNER;
-                };
-
-                beerRepository.save(Beer.builder()
-                        .beerName(StringUtils.abbreviate(
-                                beerCSVRecord.getBeer(), 50
-                        ))
-                        .beerStyle(beerStyle)
-                        .price(BigDecimal.TEN)
-                        .upc(beerCSVRecord.getRow().toString())
-                        .quantityOnHand(beerCSVRecord.getCount())
-                        .build());
-            });
+            AtomicLong loaded = new AtomicLong();
+            AtomicLong skipped = new AtomicLong();
+
+            List<Future<?>> parts = new ArrayList<>();
+            for (Iterator<BeerCSVRecord> part : beerCsvService.splitCSV(file, parallelism)) {
+                parts.add(executor.submit(() -> loaded.addAndGet(loadCsvPart(part, skipped))));
+            }
+            for (Future<?> part : parts) {
+                await(part);
+            }
+            log.debug("Loaded {} beers from {} in {} parts", loaded.get(), file, parts.size());
+            if (skipped.get() > 0) {
+                log.warn("Skipped {} unreadable rows of {}", skipped.get(), file);
+            }
+        }
+    }
+
+    private long loadCsvPart(Iterator<BeerCSVRecord> csvRecords, AtomicLong skipped) {
+        long loaded = 0;
+        List<Beer> chunk = new ArrayList<>(chunkSize);
+
+        while (csvRecords.hasNext()) {
+            BeerCSVRecord beerCSVRecord = csvRecords.next();
+            // The parsers return null for rows they cannot read
+            if (beerCSVRecord == null || beerCSVRecord.getRow() == null
+                    || StringUtils.isBlank(beerCSVRecord.getBeer())) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            val now = LocalDateTime.now();
+
+            chunk.add(Beer.builder()
+                    .id(UUID.randomUUID())
+                    .version(0)
+                    .beerName(StringUtils.abbreviate(
+                            beerCSVRecord.getBeer(), 50
+                    ))
+                    .beerStyle(beerCSVRecord.toBeerStyle())
+                    .price(BigDecimal.TEN)
+                    .upc(beerCSVRecord.getRow().toString())
+                    .quantityOnHand(beerCSVRecord.getCount())
+                    .createdDate(now)
+                    .updateDate(now)
+                    .build());
+
+            if (chunk.size() == chunkSize) {
+                insertBeers(chunk);
+                loaded += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
         }
+        if (!chunk.isEmpty()) {
+            insertBeers(chunk);
+            loaded += chunk.size();
+        }
+        return loaded;
+    }
+
+    private void insertBeers(List<Beer> beers) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> beerRepository.insertAll(beers, batchSize));
     }
 
     /**
@@ -184,9 +308,11 @@ public class BootstrapData implements CommandLineRunner {
     /**
      * Loads predefined beer data into the database.
      * Adds three beers with specific attributes.
+     *
+     * @param beerCount The number of beers before bootstrapping.
      */
-    private void loadBeerData() {
-        if (beerRepository.count() == 0) {
+    private void loadBeerData(long beerCount) {
+        if (beerCount == 0) {
             beerRepository.save(
                     Beer.builder()
                             .beerName("Galaxy Cat")
@@ -224,4 +350,9 @@ public class BootstrapData implements CommandLineRunner {
             );
         }
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    private interface Phase {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.springpracticerestmvc.cache;
+
+import com.example.springpracticerestmvc.model.BeerListingVersion;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Generation counters that version the beer list cache.
+ * <p>
+ * There is one counter per beer style plus one for the whole catalog. A change to a beer advances the counters
+ * of the styles it had before and after the change, and always the catalog counter. List cache keys embed the
+ * generation they were read under: style-filtered listings the style's counter, all other listings the catalog
+ * counter. After a write, only the affected listings are looked up under a new key; the entries cached under
+ * the old generation are never hit again and age out of the bounded cache.
+ * <p>
+ * The same counters version the HTTP listing responses (see {@link #listingVersion(BeerStyle)}). Counters start
+ * from zero in every process, so entity tags also carry a random per-process epoch and never match a response
+ * produced by another node or before a restart. Listings carry no modification time: HTTP dates have whole
+ * seconds, so a change within the second of a response would still be answered as not modified, and the times of
+ * different nodes would not agree either.
+ */
+@Component
+public class BeerCacheGenerations {
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private final AtomicLongArray styleGenerations = new AtomicLongArray(BeerStyle.values().length);
+
+    /**
+     * Returns the current generation of the listings filtered by the given style.
+     *
+     * @param beerStyle The style, or null for the whole catalog.
+     * @return The current generation.
+     */
+    public long generation(BeerStyle beerStyle) {
+        return beerStyle == null ? catalogGeneration.get() : styleGenerations.get(beerStyle.ordinal());
+    }
+
+    /**
+     * Advances the generation of the given style and of the whole catalog.
+     *
+     * @param beerStyle The style that changed, or null if only the catalog generation should advance.
+     */
+    public void advance(BeerStyle beerStyle) {
+        if (beerStyle != null) {
+            styleGenerations.incrementAndGet(beerStyle.ordinal());
+        }
+        catalogGeneration.incrementAndGet();
+    }
+
+    /**
+     * Returns the version of the listings filtered by the given style, for conditional requests.
+     *
+     * @param beerStyle The style, or null for the whole catalog.
+     * @return The entity tag of the listings.
+     */
+    public BeerListingVersion listingVersion(BeerStyle beerStyle) {
+        long generation = generation(beerStyle);
+        String scope = beerStyle == null ? "all" : beerStyle.name();
+        return new BeerListingVersion("\"" + epoch + "-" + scope + "-" + generation + "\"");
+    }
+
+    /**
+     * Builds the beer list cache key for a listing, including the generation it depends on.
+     *
+     * @param beerName      The name filter (optional).
+     * @param beerStyle     The style filter (optional).
+     * @param showInventory The inventory flag (optional).
+     * @param pageNumber    The page number (optional).
+     * @param pageSize      The page size (optional).
+     * @return The cache key.
+     */
+    public Object listKey(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize) {
+        return new SimpleKey(beerName, beerStyle, showInventory, pageNumber, pageSize, generation(beerStyle));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.springpracticerestmvc.cache;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Invalidates the beer caches after a write.
+ * Only the changed beer's beerCache entry is evicted, and only the list generations of the styles involved
+ * are advanced (see {@link BeerCacheGenerations}); reads never invalidate anything. Invalidations go through
+ * the {@link CacheInvalidationBus}, so they reach the other nodes as well.
+ * <p>
+ * Callers publish the change's event first and invalidate then. Within a transaction, the invalidation waits
+ * for the commit, like the transactional event listeners, and runs after them: invalidated earlier, a reader
+ * could cache the state from before the commit again, or find the new list generation before the name indexes
+ * list the beer.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BeerCacheInvalidator {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    /**
+     * Invalidates the cached state of a newly created beer, including a cached "not found" for its id.
+     *
+     * @param beerId    The id of the new beer.
+     * @param beerStyle The style of the new beer.
+     */
+    public void beerCreated(UUID beerId, BeerStyle beerStyle) {
+        afterCommit(() -> {
+            cacheInvalidationBus.evict("beerNotFoundCache", beerId);
+            invalidate(beerId, beerStyle);
+        });
+    }
+
+    /**
+     * Invalidates the cached state after a batch of beers was created, evicting a cached "not found" for each new
+     * id, as for a single beer, and advancing each style's list generation once for the whole batch. The evictions
+     * also tell the other nodes which beers are new (see {@link PeerCacheInvalidationEvent}).
+     *
+     * @param beerIds    The ids of the new beers.
+     * @param beerStyles The styles of the new beers.
+     */
+    public void beersCreated(Collection<UUID> beerIds, Collection<BeerStyle> beerStyles) {
+        afterCommit(() -> {
+            beerIds.forEach(beerId -> cacheInvalidationBus.evict("beerNotFoundCache", beerId));
+            advanceGenerations(beerStyles);
+        });
+    }
+
+    /**
+     * Invalidates the cached state after a batch of beers was updated: every beer is evicted, and each style's
+     * list generation is advanced once for the whole batch.
+     *
+     * @param beerIds    The ids of the updated beers.
+     * @param beerStyles The styles of the updated beers.
+     */
+    public void beersChanged(Collection<UUID> beerIds, Collection<BeerStyle> beerStyles) {
+        afterCommit(() -> {
+            beerIds.forEach(beerId -> cacheInvalidationBus.evict("beerCache", beerId));
+            advanceGenerations(beerStyles);
+        });
+    }
+
+    /**
+     * Invalidates the cached state of a beer that was created, updated, patched or deleted.
+     *
+     * @param beerId     The id of the changed beer.
+     * @param beerStyles The styles the beer had before and after the change; nulls are ignored.
+     */
+    public void beerChanged(UUID beerId, BeerStyle... beerStyles) {
+        afterCommit(() -> invalidate(beerId, beerStyles));
+    }
+
+    private void invalidate(UUID beerId, BeerStyle... beerStyles) {
+        cacheInvalidationBus.evict("beerCache", beerId);
+
+        BeerStyle previous = null;
+        boolean advanced = false;
+        for (BeerStyle beerStyle : beerStyles) {
+            if (beerStyle != null && beerStyle != previous) {
+                cacheInvalidationBus.advanceGeneration(beerStyle);
+                previous = beerStyle;
+                advanced = true;
+            }
+        }
+        if (!advanced) {
+            cacheInvalidationBus.advanceGeneration(null);
+        }
+
+        log.debug("Invalidated beer {} in cache", beerId);
+    }
+
+    // Synchronizations run in the order they were registered, so after the listeners of the event published first
+    private static void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    private void advanceGenerations(Collection<BeerStyle> beerStyles) {
+        beerStyles.stream().filter(Objects::nonNull).distinct().forEach(cacheInvalidationBus::advanceGeneration);
+    }
+}
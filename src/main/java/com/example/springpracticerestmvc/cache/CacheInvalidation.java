@@ -0,0 +1,63 @@
+package com.example.springpracticerestmvc.cache;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+
+import java.util.UUID;
+
+/**
+ * A single cache invalidation exchanged between nodes.
+ * Messages are value objects, so identical invalidations queued within one batch collapse into one.
+ *
+ * @param type      What to invalidate.
+ * @param cacheName The cache to invalidate.
+ * @param key       The entity id to evict, the style whose list generation to advance, or null.
+ */
+public record CacheInvalidation(Type type, String cacheName, String key) {
+
+    public enum Type {
+        /**
+         * Evict one entry, keyed by entity id.
+         */
+        EVICT,
+        /**
+         * Clear the whole cache.
+         */
+        CLEAR,
+        /**
+         * Advance the beer list generation of a style, or of the whole catalog when the key is null.
+         */
+        ADVANCE_GENERATION
+    }
+
+    public static CacheInvalidation evict(String cacheName, UUID id) {
+        return new CacheInvalidation(Type.EVICT, cacheName, id.toString());
+    }
+
+    public static CacheInvalidation clear(String cacheName) {
+        return new CacheInvalidation(Type.CLEAR, cacheName, null);
+    }
+
+    public static CacheInvalidation advanceGeneration(BeerStyle beerStyle) {
+        return new CacheInvalidation(Type.ADVANCE_GENERATION, "beerListCache", beerStyle == null ? null : beerStyle.name());
+    }
+
+    /**
+     * Encodes the invalidation as a single line, {@code TYPE cacheName [key]}.
+     *
+     * @return The encoded invalidation.
+     */
+    public String encode() {
+        return key == null ? type + " " + cacheName : type + " " + cacheName + " " + key;
+    }
+
+    /**
+     * Decodes an invalidation written by {@link #encode()}.
+     *
+     * @param line The encoded invalidation.
+     * @return The decoded invalidation.
+     */
+    public static CacheInvalidation decode(String line) {
+        String[] parts = line.trim().split(" ", 3);
+        return new CacheInvalidation(Type.valueOf(parts[0]), parts[1], parts.length > 2 ? parts[2] : null);
+    }
+}
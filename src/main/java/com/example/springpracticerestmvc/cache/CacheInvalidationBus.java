@@ -0,0 +1,163 @@
+package com.example.springpracticerestmvc.cache;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies cache invalidations locally and broadcasts them to the other nodes of the cluster.
+ * <p>
+ * Invalidations take effect on the local node immediately. For the peers they are queued and sent through the
+ * configured {@link CacheInvalidationTransport} in batches, either when the batch size is reached or on the
+ * next flush. Queued duplicates collapse into one message, and a queued clear of a cache absorbs the evictions
+ * from it. Invalidations received from peers are first published as a {@link PeerCacheInvalidationEvent}, so that
+ * the beer name indexes hold the peer's changes, and only then applied: a name-filtered listing cached under the
+ * advanced generation is never read from the old index.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheManager cacheManager;
+    private final BeerCacheGenerations beerCacheGenerations;
+    private final CacheInvalidationTransport transport;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final int batchSize;
+    private final Set<CacheInvalidation> pending = new LinkedHashSet<>();
+
+    public CacheInvalidationBus(CacheManager cacheManager,
+                                BeerCacheGenerations beerCacheGenerations,
+                                CacheInvalidationTransport transport,
+                                ApplicationEventPublisher applicationEventPublisher,
+                                @Value("${cache.invalidation.batch-size:256}") int batchSize) {
+        this.cacheManager = cacheManager;
+        this.beerCacheGenerations = beerCacheGenerations;
+        this.transport = transport;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.batchSize = batchSize;
+        transport.subscribe(nodeId, this::receive);
+    }
+
+    /**
+     * Evicts one entry from a cache on every node.
+     *
+     * @param cacheName The cache to evict from.
+     * @param id        The id the entry is keyed by.
+     */
+    public void evict(String cacheName, UUID id) {
+        publish(CacheInvalidation.evict(cacheName, id));
+    }
+
+    /**
+     * Clears a cache on every node.
+     *
+     * @param cacheName The cache to clear.
+     */
+    public void clear(String cacheName) {
+        publish(CacheInvalidation.clear(cacheName));
+    }
+
+    /**
+     * Advances the beer list generation of a style on every node.
+     *
+     * @param beerStyle The style that changed, or null for the catalog only.
+     */
+    public void advanceGeneration(BeerStyle beerStyle) {
+        publish(CacheInvalidation.advanceGeneration(beerStyle));
+    }
+
+    /**
+     * Sends the queued invalidations to the other nodes.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.flush-interval:PT0.2S}")
+    @PreDestroy
+    public void flush() {
+        List<CacheInvalidation> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        try {
+            transport.send(nodeId, batch);
+            log.debug("Sent {} cache invalidations", batch.size());
+        } catch (RuntimeException e) {
+            // Peers keep serving until their entries expire; keep the batch for the next flush
+            log.warn("Failed to send {} cache invalidations", batch.size(), e);
+            synchronized (pending) {
+                pending.addAll(batch);
+            }
+        }
+    }
+
+    /**
+     * Returns the id this node uses on the transport.
+     *
+     * @return The node id.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        apply(invalidation);
+
+        boolean full;
+        synchronized (pending) {
+            if (invalidation.type() == CacheInvalidation.Type.CLEAR) {
+                pending.removeIf(queued -> queued.type() == CacheInvalidation.Type.EVICT
+                        && queued.cacheName().equals(invalidation.cacheName()));
+            } else if (invalidation.type() == CacheInvalidation.Type.EVICT
+                    && pending.contains(CacheInvalidation.clear(invalidation.cacheName()))) {
+                return;
+            }
+            pending.add(invalidation);
+            full = pending.size() >= batchSize;
+        }
+
+        if (full) {
+            flush();
+        }
+    }
+
+    private void receive(List<CacheInvalidation> invalidations) {
+        applicationEventPublisher.publishEvent(new PeerCacheInvalidationEvent(invalidations));
+        invalidations.forEach(this::apply);
+        log.debug("Applied {} cache invalidations from a peer", invalidations.size());
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        switch (invalidation.type()) {
+            case EVICT -> {
+                Cache cache = cacheManager.getCache(invalidation.cacheName());
+                if (cache != null) {
+                    cache.evict(UUID.fromString(invalidation.key()));
+                }
+            }
+            case CLEAR -> {
+                Cache cache = cacheManager.getCache(invalidation.cacheName());
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            case ADVANCE_GENERATION -> beerCacheGenerations.advance(
+                    invalidation.key() == null ? null : BeerStyle.valueOf(invalidation.key()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.springpracticerestmvc.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries batches of cache invalidations between the nodes of a cluster.
+ * A transport delivers every batch sent by one node to all other subscribed nodes, never back to its sender.
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * Broadcasts a batch of invalidations to the other nodes.
+     *
+     * @param sourceNodeId  The id of the sending node.
+     * @param invalidations The invalidations, already de-duplicated.
+     */
+    void send(String sourceNodeId, List<CacheInvalidation> invalidations);
+
+    /**
+     * Registers a node to receive the batches sent by other nodes.
+     *
+     * @param nodeId   The id of the receiving node.
+     * @param listener Called with each batch received.
+     */
+    void subscribe(String nodeId, Consumer<List<CacheInvalidation>> listener);
+}
@@ -0,0 +1,92 @@
+package com.example.springpracticerestmvc.cache;
+
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.CustomerDTO;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rough retained-heap estimates for cached keys and values, used to weigh cache entries and report cache sizes.
+ * <p>
+ * Sizes assume a 64-bit JVM with compressed oops and compact strings. They are meant to be in the right
+ * ballpark for sizing caches, not exact; unknown types count as a small fixed-size object.
+ */
+public final class CacheSizeEstimator {
+
+    // Caffeine node plus its slot in the backing hash table
+    static final long ENTRY_OVERHEAD_BYTES = 64;
+
+    private static final long OBJECT_BYTES = 16;
+    private static final long REFERENCE_BYTES = 4;
+    private static final long STRING_BYTES = 40;
+    private static final long UUID_BYTES = 32;
+    private static final long BOXED_BYTES = 16;
+    private static final long BIG_DECIMAL_BYTES = 40;
+    private static final long LOCAL_DATE_TIME_BYTES = 72;
+    private static final long COLLECTION_BYTES = 40;
+    private static final long PAGE_BYTES = 64;
+
+    private CacheSizeEstimator() {
+    }
+
+    /**
+     * Estimates the heap retained by a cache entry, including the cache's own per-entry bookkeeping.
+     *
+     * @param key   The cache key.
+     * @param value The cached value.
+     * @return The estimated size in bytes.
+     */
+    public static long estimateEntry(Object key, Object value) {
+        return ENTRY_OVERHEAD_BYTES + estimate(key) + estimate(value);
+    }
+
+    /**
+     * Estimates the heap retained by a cached object graph.
+     *
+     * @param value The object to estimate, may be null.
+     * @return The estimated size in bytes.
+     */
+    public static long estimate(Object value) {
+        return switch (value) {
+            case null -> 0;
+            case String string -> STRING_BYTES + string.length();
+            case UUID ignored -> UUID_BYTES;
+            case Integer ignored -> BOXED_BYTES;
+            case Boolean ignored -> 0;
+            case Enum<?> ignored -> 0;
+            case BigDecimal ignored -> BIG_DECIMAL_BYTES;
+            case LocalDateTime ignored -> LOCAL_DATE_TIME_BYTES;
+            case BeerDTO beer -> OBJECT_BYTES + 9 * REFERENCE_BYTES
+                    + estimate(beer.getId()) + estimate(beer.getVersion()) + estimate(beer.getBeerName())
+                    + estimate(beer.getUpc()) + estimate(beer.getQuantityOnHand()) + estimate(beer.getPrice())
+                    + estimate(beer.getCreatedDate()) + estimate(beer.getUpdateDate());
+            case CustomerDTO customer -> OBJECT_BYTES + 5 * REFERENCE_BYTES
+                    + estimate(customer.getId()) + estimate(customer.getName()) + estimate(customer.getVersion())
+                    + estimate(customer.getCreatedDate()) + estimate(customer.getUpdateDate());
+            case Optional<?> optional -> OBJECT_BYTES + estimate(optional.orElse(null));
+            case Page<?> page -> PAGE_BYTES + estimate(page.getContent());
+            case Collection<?> collection -> estimateElements(collection);
+            case SimpleKey key -> OBJECT_BYTES + estimateKeyParams(key);
+            default -> OBJECT_BYTES;
+        };
+    }
+
+    private static long estimateElements(Collection<?> collection) {
+        long bytes = COLLECTION_BYTES + collection.size() * REFERENCE_BYTES;
+        for (Object element : collection) {
+            bytes += estimate(element);
+        }
+        return bytes;
+    }
+
+    private static long estimateKeyParams(SimpleKey key) {
+        // SimpleKey only exposes its parameters through toString, which is a fair proxy for their size
+        return STRING_BYTES + key.toString().length();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.springpracticerestmvc.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the estimated heap used by each Caffeine cache as {@code cache.estimated.bytes}, tagged by cache name.
+ * Weight-bounded caches report their current total weight; size-bounded caches are measured entry by entry
+ * when the gauge is read.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheSizeMetrics implements MeterBinder {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(cacheName) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.estimated.bytes", cache, CacheSizeMetrics::estimatedBytes)
+                        .tag("cache", cacheName)
+                        .baseUnit("bytes")
+                        .description("Estimated heap used by the cache entries")
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * Estimates the heap used by the entries of a cache.
+     *
+     * @param cache The cache to measure.
+     * @return The estimated size in bytes.
+     */
+    static long estimatedBytes(CaffeineCache cache) {
+        var nativeCache = cache.getNativeCache();
+        var eviction = nativeCache.policy().eviction();
+
+        if (eviction.isPresent() && eviction.get().isWeighted()) {
+            return eviction.get().weightedSize().orElse(0L);
+        }
+
+        long bytes = 0;
+        for (var entry : nativeCache.asMap().entrySet()) {
+            bytes += CacheSizeEstimator.estimateEntry(entry.getKey(), entry.getValue());
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.springpracticerestmvc.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations synchronously to the other nodes subscribed in the same JVM.
+ * This is the default for single-node deployments, where there are no peers to notify, and a stand-in for
+ * a real transport in tests that run several nodes side by side.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "in-process", matchIfMissing = true)
+public class InProcessCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final Map<String, Consumer<List<CacheInvalidation>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void send(String sourceNodeId, List<CacheInvalidation> invalidations) {
+        listeners.forEach((nodeId, listener) -> {
+            if (!nodeId.equals(sourceNodeId)) {
+                listener.accept(invalidations);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(String nodeId, Consumer<List<CacheInvalidation>> listener) {
+        listeners.put(nodeId, listener);
+    }
+}
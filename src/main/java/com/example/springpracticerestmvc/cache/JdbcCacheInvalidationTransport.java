@@ -0,0 +1,109 @@
+package com.example.springpracticerestmvc.cache;
+
+import com.example.springpracticerestmvc.entities.CacheInvalidationBatch;
+import com.example.springpracticerestmvc.repositories.CacheInvalidationBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Exchanges invalidations through the cache_invalidation_batch table.
+ * <p>
+ * Each sent batch is one row. Every node polls for rows written by other nodes since the last row it saw.
+ * Auto-increment ids can become visible out of order when inserts commit concurrently, so each poll looks a
+ * few ids back and skips the rows it already delivered. Rows older than the retention are deleted periodically.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "jdbc")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final int POLL_LIMIT = 100;
+    private static final long LOOKBACK_IDS = 50;
+
+    private final CacheInvalidationBatchRepository cacheInvalidationBatchRepository;
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    @Value("${cache.invalidation.retention:PT10M}")
+    Duration retention = Duration.ofMinutes(10);
+
+    @Override
+    public void send(String sourceNodeId, List<CacheInvalidation> invalidations) {
+        cacheInvalidationBatchRepository.save(CacheInvalidationBatch.builder()
+                .nodeId(sourceNodeId)
+                .payload(invalidations.stream().map(CacheInvalidation::encode).collect(Collectors.joining("\n")))
+                .build());
+    }
+
+    @Override
+    public void subscribe(String nodeId, Consumer<List<CacheInvalidation>> listener) {
+        // Start after the newest row: a node that just started has nothing cached that older rows could invalidate
+        long newestId = cacheInvalidationBatchRepository.findMaxId().orElse(0L);
+        subscriptions.put(nodeId, new Subscription(listener, newestId));
+    }
+
+    /**
+     * Delivers the batches written by other nodes since the previous poll.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:PT1S}")
+    public void poll() {
+        subscriptions.forEach(this::poll);
+    }
+
+    /**
+     * Deletes batches older than the retention, which every node has long since polled.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.cleanup-interval:PT1M}")
+    public void deleteExpired() {
+        int deleted = cacheInvalidationBatchRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("Deleted {} expired cache invalidation batches", deleted);
+        }
+    }
+
+    private void poll(String nodeId, Subscription subscription) {
+        boolean more;
+        do {
+            List<CacheInvalidationBatch> batches = cacheInvalidationBatchRepository.findByIdGreaterThanAndNodeIdNotOrderById(
+                    Math.max(subscription.startId, subscription.lastSeenId - LOOKBACK_IDS), nodeId, Limit.of(POLL_LIMIT));
+
+            int delivered = 0;
+            for (CacheInvalidationBatch batch : batches) {
+                if (subscription.deliveredIds.add(batch.getId())) {
+                    subscription.listener.accept(batch.getPayload().lines().map(CacheInvalidation::decode).toList());
+                    subscription.lastSeenId = Math.max(subscription.lastSeenId, batch.getId());
+                    delivered++;
+                }
+            }
+            subscription.deliveredIds.headSet(subscription.lastSeenId - LOOKBACK_IDS, true).clear();
+
+            more = batches.size() == POLL_LIMIT && delivered > 0;
+        } while (more);
+    }
+
+    private static final class Subscription {
+
+        private final Consumer<List<CacheInvalidation>> listener;
+        private final NavigableSet<Long> deliveredIds = new TreeSet<>();
+        private final long startId;
+        private long lastSeenId;
+
+        private Subscription(Consumer<List<CacheInvalidation>> listener, long startId) {
+            this.listener = listener;
+            this.startId = startId;
+            this.lastSeenId = startId;
+        }
+    }
+}
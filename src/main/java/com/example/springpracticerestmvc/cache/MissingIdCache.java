@@ -0,0 +1,48 @@
+package com.example.springpracticerestmvc.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Remembers ids that were looked up and not found, so repeated lookups of the same unknown id are answered
+ * without a database round trip.
+ * <p>
+ * Entries live in short-lived, bounded caches separate from the entity caches, so a flood of random ids cannot
+ * push out real entries and a missing id is looked up again soon anyway. Whoever creates an entity must evict
+ * its id through the {@link CacheInvalidationBus}, so that no node keeps answering 404 for it.
+ */
+@Component
+@RequiredArgsConstructor
+public class MissingIdCache {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Checks whether an id was recently looked up and not found.
+     *
+     * @param cacheName The negative cache of the entity type.
+     * @param id        The id to check.
+     * @return true if the id is known to be missing.
+     */
+    public boolean isMissing(String cacheName, UUID id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache != null && cache.get(id) != null;
+    }
+
+    /**
+     * Records that an id was looked up and not found.
+     *
+     * @param cacheName The negative cache of the entity type.
+     * @param id        The id that was not found.
+     */
+    public void markMissing(String cacheName, UUID id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.put(id, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springpracticerestmvc.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by the {@link CacheInvalidationBus} when it receives a batch of invalidations sent by another node,
+ * before it applies them, so that state kept outside the caches, such as the beer name indexes, has caught up with
+ * the peer's changes by the time the caches are refilled.
+ */
+@Getter
+@AllArgsConstructor
+public class PeerCacheInvalidationEvent {
+
+    /**
+     * The invalidations received, in the order they were sent.
+     */
+    private final List<CacheInvalidation> invalidations;
+
+}
@@ -0,0 +1,190 @@
+package com.example.springpracticerestmvc.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the tasks of one workload on virtual threads, at most {@code maxConcurrency} at a time.
+ * <p>
+ * Virtual threads are cheap, but the connections they use are not: an unbounded executor lets a burst of tasks
+ * take every database connection and leaves requests waiting for one. Here a task first waits for one of the
+ * workload's permits, in submission order, and at most {@code queueCapacity} tasks wait at once; a task
+ * submitted beyond that is handled by the {@link TaskProperties.RejectionPolicy}.
+ * <p>
+ * Publishes the running tasks ({@code tasks.active}), the waiting tasks ({@code tasks.waiting}), the time from
+ * submission to start ({@code tasks.queue.wait}), the run time ({@code tasks.execution}) and the rejected tasks
+ * ({@code tasks.rejected}), tagged with the workload.
+ */
+@Slf4j
+public class BulkheadTaskExecutor implements AsyncTaskExecutor, MeterBinder, DisposableBean {
+
+    private final String workload;
+    private final int queueCapacity;
+    private final TaskProperties.RejectionPolicy rejectionPolicy;
+    private final Duration shutdownTimeout;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong executionNanos = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public BulkheadTaskExecutor(String workload, TaskProperties.Bulkhead bulkhead, Duration shutdownTimeout) {
+        this.workload = workload;
+        this.queueCapacity = bulkhead.queueCapacity();
+        this.rejectionPolicy = bulkhead.rejectionPolicy();
+        this.shutdownTimeout = shutdownTimeout;
+        this.permits = new Semaphore(bulkhead.maxConcurrency(), true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(workload + "-task-", 0).factory());
+    }
+
+    /**
+     * Runs a task once a permit is free, or rejects it if too many tasks are waiting.
+     *
+     * @param task The task to run.
+     * @throws TaskRejectedException if the queue is full and the policy is to abort, or after shutdown.
+     */
+    @Override
+    public void execute(Runnable task) {
+        long submitted = System.nanoTime();
+        if (tryAcquire()) {
+            submit(() -> run(task, submitted), true);
+            return;
+        }
+
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            reject(task, submitted);
+            return;
+        }
+        submit(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                waiting.decrementAndGet();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            waiting.decrementAndGet();
+            run(task, submitted);
+        }, false);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.active", active, AtomicInteger::get)
+                .description("Tasks running")
+                .tag("workload", workload)
+                .register(registry);
+        Gauge.builder("tasks.waiting", waiting, AtomicInteger::get)
+                .description("Tasks waiting for a free slot")
+                .tag("workload", workload)
+                .register(registry);
+        FunctionTimer.builder("tasks.queue.wait", this, executor -> executor.started.get(),
+                        executor -> executor.queueWaitNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Time from submission to the start of a task")
+                .tag("workload", workload)
+                .register(registry);
+        FunctionTimer.builder("tasks.execution", this, executor -> executor.completed.get(),
+                        executor -> executor.executionNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Run time of the tasks")
+                .tag("workload", workload)
+                .register(registry);
+        FunctionCounter.builder("tasks.rejected", rejected, AtomicLong::get)
+                .description("Tasks submitted while the queue was full")
+                .tag("workload", workload)
+                .register(registry);
+    }
+
+    /**
+     * Stops accepting tasks and waits up to the shutdown timeout for the running and waiting ones.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} tasks did not finish within {}, {} still running and {} waiting", workload, shutdownTimeout,
+                    active.get(), waiting.get());
+            executor.shutdownNow();
+        }
+    }
+
+    // Unlike tryAcquire(), a zero timeout does not overtake the tasks already waiting
+    private boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void submit(Runnable runnable, boolean permitHeld) {
+        try {
+            executor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            if (permitHeld) {
+                permits.release();
+            } else {
+                waiting.decrementAndGet();
+            }
+            throw new TaskRejectedException("Executor for " + workload + " tasks has been shut down", e);
+        }
+    }
+
+    // A task run by the caller still takes a permit, so that it counts against the limit of the workload
+    private void reject(Runnable task, long submitted) {
+        rejected.incrementAndGet();
+        switch (rejectionPolicy) {
+            case ABORT -> throw new TaskRejectedException(
+                    "Too many " + workload + " tasks waiting, limit is " + queueCapacity);
+            case CALLER_RUNS -> {
+                log.debug("Queue for {} tasks is full, running on the caller's thread", workload);
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new TaskRejectedException("Interrupted while waiting to run a " + workload + " task", e);
+                }
+                run(task, submitted);
+            }
+            case DISCARD -> log.warn("Queue for {} tasks is full, task discarded", workload);
+        }
+    }
+
+    // Runs a task holding a permit, which it releases when done
+    private void run(Runnable task, long submitted) {
+        long start = System.nanoTime();
+        queueWaitNanos.addAndGet(start - submitted);
+        started.incrementAndGet();
+        active.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+            executionNanos.addAndGet(System.nanoTime() - start);
+            completed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.springpracticerestmvc.config;
+
+import com.example.springpracticerestmvc.cache.CacheSizeEstimator;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configures bounded Caffeine caches in place of Spring's default unbounded ConcurrentMap caches.
+ * <p>
+ * Each cache is bounded either by entry count or by estimated size (see {@link CacheSizeEstimator}), expires
+ * entries after a fixed time and records statistics. Caffeine admits new entries with W-TinyLFU, so a burst of
+ * one-off lookups, such as arbitrary search terms in the beer list cache, cannot push out frequently used
+ * entries. Statistics are published by Spring Boot as the {@code cache.gets}, {@code cache.puts},
+ * {@code cache.evictions} and {@code cache.size} metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+@Slf4j
+public class CacheConfig {
+
+    /**
+     * Names of the caches used by the services; they are created eagerly so that their metrics are registered
+     * at startup.
+     */
+    public static final List<String> CACHE_NAMES = List.of("beerCache", "beerListCache", "beerNotFoundCache",
+            "customerCache", "customerListCache", "customerNotFoundCache");
+
+    /**
+     * Configures the cache manager bean.
+     * Caches that are not listed in {@link #CACHE_NAMES} are still created on demand with the default spec.
+     *
+     * @param cacheProperties The bounds and expiry per cache.
+     * @return a CaffeineCacheManager with one bounded cache per name
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(cacheProperties.defaults()));
+
+        for (String cacheName : CACHE_NAMES) {
+            CacheProperties.Spec spec = cacheProperties.specs().getOrDefault(cacheName, cacheProperties.defaults());
+            cacheManager.registerCustomCache(cacheName, builder(spec).build());
+            log.debug("Cache {} configured with {}", cacheName, spec);
+        }
+
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> builder(CacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+        if (spec.maximumWeight() != null) {
+            builder.maximumWeight(spec.maximumWeight().toBytes())
+                    .weigher((key, value) -> (int) Math.min(CacheSizeEstimator.estimateEntry(key, value), Integer.MAX_VALUE));
+        } else if (spec.maximumSize() != null) {
+            builder.maximumSize(spec.maximumSize());
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+
+        return builder;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.springpracticerestmvc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bounds and expiry for the application caches, bound from the {@code cache} prefix.
+ *
+ * @param defaults The spec for caches without an entry of their own.
+ * @param specs    The spec per cache name.
+ */
+@ConfigurationProperties(prefix = "cache")
+public record CacheProperties(Spec defaults, Map<String, Spec> specs) {
+
+    public CacheProperties {
+        defaults = defaults != null ? defaults : new Spec(1_000L, null, Duration.ofMinutes(10));
+        specs = specs != null ? specs : Map.of();
+    }
+
+    /**
+     * Bound and expiry of a single cache. Exactly one of maximumSize and maximumWeight should be set;
+     * when both are, the weight bound wins.
+     *
+     * @param maximumSize      The maximum number of entries.
+     * @param maximumWeight    The maximum estimated size of all entries.
+     * @param expireAfterWrite How long an entry lives after it was written (optional).
+     */
+    public record Spec(Long maximumSize, DataSize maximumWeight, Duration expireAfterWrite) {
+    }
+}
@@ -1,31 +1,120 @@
 package com.example.springpracticerestmvc.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.task.AsyncTaskExecutor;
-import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.util.concurrent.Executors;
-
+/**
+ * Configures the executors for background work.
+ * <p>
+ * Each workload has an executor of its own, a {@link BulkheadTaskExecutor} that bounds how many of its tasks run
+ * and wait at once, configured under {@code tasks}. Background tasks thereby hold a bounded number of database
+ * connections. Those, together with the audit writer's connection and the one of the scheduler thread, which
+ * runs the {@code @Scheduled} jobs one after the other, should add up to less than the connection pool, so that
+ * requests always find one.
+ */
 @EnableAsync
+@EnableScheduling
 @Configuration
+@EnableConfigurationProperties(TaskProperties.class)
 public class TaskConfig {
 
+    /**
+     * Name of the executor that runs the beer CSV imports.
+     */
+    public static final String IMPORT_TASK_EXECUTOR_BEAN_NAME = "importTaskExecutor";
+
+    /**
+     * Name of the executor that runs the asynchronous requests, such as the beer export.
+     */
+    public static final String EXPORT_TASK_EXECUTOR_BEAN_NAME = "exportTaskExecutor";
+
+    /**
+     * Name of the executor that runs the scheduled database maintenance.
+     */
+    public static final String MAINTENANCE_TASK_EXECUTOR_BEAN_NAME = "maintenanceTaskExecutor";
+
     /**
      * Configures the application task executor bean.
      * <p>
-     * This method defines a bean for the application task executor, which is used
-     * to execute asynchronous tasks. It utilizes a virtual thread-per-task executor
-     * introduced in Java, providing lightweight and efficient concurrency.
+     * It runs {@code @Async} methods as the {@code default} workload. It is the primary executor, which
+     * {@code @Async} picks among several.
      *
-     * @return an instance of AsyncTaskExecutor backed by a virtual thread-per-task executor
+     * @param taskProperties The limits per workload.
+     * @return a BulkheadTaskExecutor for the default workload
      */
     @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
-    public AsyncTaskExecutor asyncTaskExecutor() {
-        return new TaskExecutorAdapter(
-                Executors.newVirtualThreadPerTaskExecutor()
-        );
+    @Primary
+    public BulkheadTaskExecutor asyncTaskExecutor(TaskProperties taskProperties) {
+        return new BulkheadTaskExecutor("default", taskProperties.workload("default"),
+                taskProperties.shutdownTimeout());
+    }
+
+    /**
+     * Configures the executor for the beer CSV imports, the {@code import} workload.
+     * Each import holds a connection for as long as it runs.
+     *
+     * @param taskProperties The limits per workload.
+     * @return a BulkheadTaskExecutor for the import workload
+     */
+    @Bean(IMPORT_TASK_EXECUTOR_BEAN_NAME)
+    public BulkheadTaskExecutor importTaskExecutor(TaskProperties taskProperties) {
+        return new BulkheadTaskExecutor("import", taskProperties.workload("import"),
+                taskProperties.shutdownTimeout());
+    }
+
+    /**
+     * Configures the executor for asynchronous requests, the {@code export} workload.
+     * A streamed export holds a connection for as long as it writes, which may be up to the asynchronous request
+     * timeout. Time spent waiting for a free slot counts against that timeout too, so exports beyond the limit
+     * are better rejected than queued.
+     *
+     * @param taskProperties The limits per workload.
+     * @return a BulkheadTaskExecutor for the export workload
+     */
+    @Bean(EXPORT_TASK_EXECUTOR_BEAN_NAME)
+    public BulkheadTaskExecutor exportTaskExecutor(TaskProperties taskProperties) {
+        return new BulkheadTaskExecutor("export", taskProperties.workload("export"),
+                taskProperties.shutdownTimeout());
+    }
+
+    /**
+     * Configures the executor for the scheduled database maintenance, the {@code maintenance} workload.
+     * All {@code @Scheduled} methods share one scheduler thread, so a long maintenance run there would hold up the
+     * frequent jobs, such as the cache invalidation flush; the scheduled method hands the run to this executor.
+     *
+     * @param taskProperties The limits per workload.
+     * @return a BulkheadTaskExecutor for the maintenance workload
+     */
+    @Bean(MAINTENANCE_TASK_EXECUTOR_BEAN_NAME)
+    public BulkheadTaskExecutor maintenanceTaskExecutor(TaskProperties taskProperties) {
+        return new BulkheadTaskExecutor("maintenance", taskProperties.workload("maintenance"),
+                taskProperties.shutdownTimeout());
+    }
+
+    /**
+     * Runs asynchronous requests on the export executor instead of the application task executor, so that long
+     * exports neither hold up {@code @Async} methods nor wait behind them.
+     *
+     * @param exportTaskExecutor The executor of the export workload.
+     * @return a WebMvcConfigurer that sets the executor for asynchronous requests
+     */
+    @Bean
+    public WebMvcConfigurer asyncRequestConfigurer(
+            @Qualifier(EXPORT_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor exportTaskExecutor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(exportTaskExecutor);
+            }
+        };
     }
 }
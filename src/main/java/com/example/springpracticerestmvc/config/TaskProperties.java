@@ -0,0 +1,69 @@
+package com.example.springpracticerestmvc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Concurrency limits for the background task executors, bound from the {@code tasks} prefix.
+ *
+ * @param defaults         The bulkhead for workloads without an entry of their own.
+ * @param workloads        The bulkhead per workload name; unset values are taken from the defaults.
+ * @param shutdownTimeout  How long to wait for running and queued tasks on shutdown.
+ */
+@ConfigurationProperties(prefix = "tasks")
+public record TaskProperties(Bulkhead defaults, Map<String, Bulkhead> workloads, Duration shutdownTimeout) {
+
+    public TaskProperties {
+        defaults = defaults != null ? defaults : new Bulkhead(2, 100, RejectionPolicy.CALLER_RUNS);
+        workloads = workloads != null ? workloads : Map.of();
+        shutdownTimeout = shutdownTimeout != null ? shutdownTimeout : Duration.ofSeconds(30);
+    }
+
+    /**
+     * Returns the bulkhead of a workload, completed from the defaults.
+     *
+     * @param workload The workload name.
+     * @return The bulkhead with every value set.
+     */
+    public Bulkhead workload(String workload) {
+        Bulkhead bulkhead = workloads.getOrDefault(workload, defaults);
+        return new Bulkhead(
+                bulkhead.maxConcurrency() != null ? bulkhead.maxConcurrency() : defaults.maxConcurrency(),
+                bulkhead.queueCapacity() != null ? bulkhead.queueCapacity() : defaults.queueCapacity(),
+                bulkhead.rejectionPolicy() != null ? bulkhead.rejectionPolicy() : defaults.rejectionPolicy());
+    }
+
+    /**
+     * Limits of one workload.
+     *
+     * @param maxConcurrency  The maximum number of tasks running at once.
+     * @param queueCapacity   The maximum number of tasks waiting to run.
+     * @param rejectionPolicy What happens to a task when the queue is full.
+     */
+    public record Bulkhead(Integer maxConcurrency, Integer queueCapacity, RejectionPolicy rejectionPolicy) {
+    }
+
+    /**
+     * What happens to a task submitted while its workload's queue is full.
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * The submission fails with a TaskRejectedException.
+         */
+        ABORT,
+
+        /**
+         * The task runs on the submitting thread once a permit is free, which slows the submitter down to the pace of
+         * the workload.
+         */
+        CALLER_RUNS,
+
+        /**
+         * The task is dropped.
+         */
+        DISCARD
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.exceptions.InvalidAuditSearchException;
+import com.example.springpracticerestmvc.exceptions.NotFoundException;
+import com.example.springpracticerestmvc.model.BeerAuditPageDTO;
+import com.example.springpracticerestmvc.model.BeerVersionDTO;
+import com.example.springpracticerestmvc.services.BeerAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controller for the audited history of beers.
+ * Versions are rebuilt from the audit records, so they are available for deleted beers too.
+ * The audit records themselves are searched newest first, one keyset page at a time.
+ */
+@RestController
+@RequiredArgsConstructor
+public class BeerAuditController {
+
+    /**
+     * Path for searching the Beer audit.
+     */
+    public static final String BEER_AUDIT_PATH = BeerController.BEER_PATH + "/audit";
+
+    /**
+     * Path for the versions of a Beer.
+     */
+    public static final String BEER_VERSIONS_PATH = BeerController.BEER_PATH_ID + "/versions";
+
+    /**
+     * Path for one version of a Beer.
+     */
+    public static final String BEER_VERSION_PATH = BEER_VERSIONS_PATH + "/{version}";
+
+    /**
+     * Service for the beer audit.
+     */
+    private final BeerAuditService beerAuditService;
+
+    /**
+     * Endpoint to retrieve every audited version of a beer, oldest first.
+     *
+     * @param beerId UUID of the beer.
+     * @return The versions of the beer.
+     * @throws NotFoundException if the beer has no audit records.
+     */
+    @GetMapping(BEER_VERSIONS_PATH)
+    public List<BeerVersionDTO> getBeerHistory(@PathVariable("beerId") UUID beerId) {
+        List<BeerVersionDTO> history = beerAuditService.getBeerHistory(beerId);
+        if (history.isEmpty()) {
+            throw new NotFoundException();
+        }
+        return history;
+    }
+
+    /**
+     * Endpoint to retrieve a beer as it was at a version.
+     *
+     * @param beerId  UUID of the beer.
+     * @param version The version of the beer.
+     * @return The version of the beer.
+     * @throws NotFoundException if the version is not found.
+     */
+    @GetMapping(BEER_VERSION_PATH)
+    public BeerVersionDTO getBeerAtVersion(@PathVariable("beerId") UUID beerId,
+                                           @PathVariable("version") Integer version) {
+        return beerAuditService.getBeerAtVersion(beerId, version).orElseThrow(NotFoundException::new);
+    }
+
+    /**
+     * Endpoint to search the audit records of beers, newest first.
+     * Start without a cursor and pass the returned nextCursor for each following page.
+     *
+     * @param beerId         Filter by beer; a beer or a principal is required.
+     * @param principalName  Filter by the principal who made the change; a beer or a principal is required.
+     * @param auditEventType Optional filter by event type, such as BEER_PATCHED.
+     * @param from           Optional earliest audit time, inclusive.
+     * @param to             Optional latest audit time, exclusive.
+     * @param cursor         Continuation token from the previous page, empty for the first page.
+     * @param pageSize       Optional page size.
+     * @return A page of audit records with the continuation token for the next page.
+     * @throws InvalidAuditSearchException if neither a beer nor a principal is given.
+     */
+    @GetMapping(BEER_AUDIT_PATH)
+    public BeerAuditPageDTO searchAudit(
+            @RequestParam(required = false) UUID beerId,
+            @RequestParam(required = false) String principalName,
+            @RequestParam(required = false) String auditEventType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer pageSize
+    ) {
+        return beerAuditService.searchAudit(beerId, principalName, auditEventType, from, to, cursor, pageSize);
+    }
+}
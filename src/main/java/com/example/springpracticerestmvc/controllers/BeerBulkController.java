@@ -0,0 +1,97 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.model.BeerBulkPatchDTO;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BulkItemResultDTO;
+import com.example.springpracticerestmvc.services.BeerBulkService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Controller for bulk Beer operations.
+ * Items are validated and written one by one, so a bulk request reports a result per item instead of failing
+ * as a whole.
+ */
+@RestController
+@RequiredArgsConstructor
+public class BeerBulkController {
+
+    /**
+     * Path for the bulk Beer endpoints.
+     */
+    public static final String BEER_BULK_PATH = BeerController.BEER_PATH + "/bulk";
+
+    /**
+     * Service for bulk Beer operations.
+     */
+    private final BeerBulkService beerBulkService;
+
+    /**
+     * Mapper for the items of NDJSON request bodies.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Endpoint to create beers from a JSON array.
+     *
+     * @param beerDTOs The beers to create.
+     * @return One result per beer, in request order.
+     */
+    @PostMapping(value = BEER_BULK_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<BulkItemResultDTO> createBeers(@RequestBody List<BeerDTO> beerDTOs) {
+        return beerBulkService.saveNewBeers(beerDTOs.iterator());
+    }
+
+    /**
+     * Endpoint to create beers from newline-delimited JSON, one beer per line.
+     * Lines are parsed as the service consumes them, so the body is never held in memory as a whole.
+     * Blank lines are skipped and unreadable lines are reported as invalid items.
+     *
+     * @param body The request body.
+     * @return One result per non-blank line, in request order.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = BEER_BULK_PATH, consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public List<BulkItemResultDTO> createBeersFromNdjson(InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return beerBulkService.saveNewBeers(reader.lines()
+                    .filter(StringUtils::hasText)
+                    .map(this::readBeer)
+                    .iterator());
+        }
+    }
+
+    /**
+     * Endpoint to update the price and inventory of many beers.
+     * Each update carries the version the client last read and is reported as a conflict if the beer changed since.
+     *
+     * @param patches The updates to apply.
+     * @return One result per update, in request order.
+     */
+    @PatchMapping(value = BEER_BULK_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<BulkItemResultDTO> patchBeers(@RequestBody List<BeerBulkPatchDTO> patches) {
+        return beerBulkService.patchBeers(patches);
+    }
+
+    private BeerDTO readBeer(String line) {
+        try {
+            return objectMapper.readValue(line, BeerDTO.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.springpracticerestmvc.controllers;
 
 import com.example.springpracticerestmvc.exceptions.NotFoundException;
+import com.example.springpracticerestmvc.model.BeerCursorPageDTO;
 import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerListingVersion;
 import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerSuggestionDTO;
+import com.example.springpracticerestmvc.model.SliceDTO;
 import com.example.springpracticerestmvc.services.BeerService;
 import org.slf4j.Logger;
 import org.springframework.data.domain.Page;
@@ -11,7 +15,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -32,6 +39,16 @@ public class BeerController {
      */
     public static final String BEER_PATH_ID = BEER_PATH + "/{beerId}";
 
+    /**
+     * Path for the count-free Beer listing endpoint.
+     */
+    public static final String BEER_SLICE_PATH = BEER_PATH + "/slice";
+
+    /**
+     * Path for the Beer name autocomplete endpoint.
+     */
+    public static final String BEER_SUGGEST_PATH = BEER_PATH + "/suggest";
+
     /**
      * Logger instance for logging debug information.
      */
@@ -53,13 +70,17 @@ public class BeerController {
 
     /**
      * Endpoint to list beers with optional filters.
+     * The response carries an ETag from the listing version of the requested style; a matching If-None-Match is
+     * answered with 304 Not Modified without querying. There is no Last-Modified, see
+     * {@link com.example.springpracticerestmvc.cache.BeerCacheGenerations}.
      *
      * @param beerName      Optional filter by beer name.
      * @param beerStyle     Optional filter by beer style.
      * @param showInventory Optional flag to show inventory details.
      * @param pageNumber    Optional page number for pagination.
      * @param pageSize      Optional page size for pagination.
-     * @return A paginated list of BeerDTO objects.
+     * @param webRequest    The current request, for the conditional check.
+     * @return A paginated list of BeerDTO objects, or null when not modified.
      */
     @GetMapping(BEER_PATH)
     public Page<BeerDTO> listBeers(
@@ -67,24 +88,120 @@ public class BeerController {
             @RequestParam(required = false) BeerStyle beerStyle,
             @RequestParam(required = false) Boolean showInventory,
             @RequestParam(required = false) Integer pageNumber,
-            @RequestParam(required = false) Integer pageSize
+            @RequestParam(required = false) Integer pageSize,
+            WebRequest webRequest
     ) {
+        Optional<BeerListingVersion> listingVersion = beerService.getListingVersion(beerStyle);
+        if (listingVersion.isPresent() && webRequest.checkNotModified(listingVersion.get().eTag())) {
+            return null;
+        }
         return beerService.listBeers(beerName, beerStyle, showInventory, pageNumber, pageSize);
     }
 
+    /**
+     * Endpoint to list beers without counting the total number of matches.
+     *
+     * @param beerName      Optional filter by beer name.
+     * @param beerStyle     Optional filter by beer style.
+     * @param showInventory Optional flag to show inventory details.
+     * @param pageNumber    Optional page number for pagination.
+     * @param pageSize      Optional page size for pagination.
+     * @return A slice of BeerDTO objects with an estimated total when one is available.
+     */
+    @GetMapping(BEER_SLICE_PATH)
+    public SliceDTO<BeerDTO> listBeersSlice(
+            @RequestParam(required = false) String beerName,
+            @RequestParam(required = false) BeerStyle beerStyle,
+            @RequestParam(required = false) Boolean showInventory,
+            @RequestParam(required = false) Integer pageNumber,
+            @RequestParam(required = false) Integer pageSize
+    ) {
+        return beerService.listBeersSlice(beerName, beerStyle, showInventory, pageNumber, pageSize);
+    }
+
+    /**
+     * Endpoint to list beers with keyset pagination.
+     * Selected whenever the cursor parameter is present; pass an empty cursor for the first page
+     * and the returned nextCursor for each following page.
+     *
+     * @param beerName      Optional filter by beer name.
+     * @param beerStyle     Optional filter by beer style.
+     * @param showInventory Optional flag to show inventory details.
+     * @param cursor        Continuation token from the previous page, empty for the first page.
+     * @param pageSize      Optional page size.
+     * @return A page of BeerDTO objects with the continuation token for the next page.
+     */
+    @GetMapping(value = BEER_PATH, params = "cursor")
+    public BeerCursorPageDTO listBeersByCursor(
+            @RequestParam(required = false) String beerName,
+            @RequestParam(required = false) BeerStyle beerStyle,
+            @RequestParam(required = false) Boolean showInventory,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer pageSize
+    ) {
+        return beerService.listBeersByCursor(beerName, beerStyle, showInventory, cursor, pageSize);
+    }
+
+    /**
+     * Endpoint to list beers whose name is similar to a possibly misspelled name.
+     * Selected by fuzzy=true; results are ordered by descending similarity.
+     *
+     * @param beerName      The possibly misspelled beer name.
+     * @param beerStyle     Optional filter by beer style.
+     * @param showInventory Optional flag to show inventory details.
+     * @param pageNumber    Optional page number for pagination.
+     * @param pageSize      Optional page size for pagination.
+     * @return A paginated list of BeerDTO objects, most similar first.
+     */
+    @GetMapping(value = BEER_PATH, params = "fuzzy=true")
+    public Page<BeerDTO> listBeersFuzzy(
+            @RequestParam String beerName,
+            @RequestParam(required = false) BeerStyle beerStyle,
+            @RequestParam(required = false) Boolean showInventory,
+            @RequestParam(required = false) Integer pageNumber,
+            @RequestParam(required = false) Integer pageSize
+    ) {
+        return beerService.listBeersFuzzy(beerName, beerStyle, showInventory, pageNumber, pageSize);
+    }
+
+    /**
+     * Endpoint to suggest beers whose name starts with the given prefix.
+     *
+     * @param prefix The prefix typed so far.
+     * @param limit  Optional maximum number of suggestions.
+     * @return Matching beers with their style, in name order.
+     */
+    @GetMapping(BEER_SUGGEST_PATH)
+    public List<BeerSuggestionDTO> suggestBeers(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return beerService.suggestBeers(prefix, limit);
+    }
+
     /**
      * Endpoint to retrieve a beer by its ID.
+     * The response carries an ETag derived from the beer's version; a matching If-None-Match is answered with
+     * 304 Not Modified after a version lookup, without loading the beer.
      *
-     * @param beerId UUID of the beer to retrieve.
-     * @return The BeerDTO object for the specified beer ID.
+     * @param beerId     UUID of the beer to retrieve.
+     * @param webRequest The current request, for the conditional check.
+     * @return The BeerDTO object for the specified beer ID, or null when not modified.
      * @throws NotFoundException if the beer is not found.
      */
     @GetMapping(BEER_PATH_ID)
-    public BeerDTO getBeerById(@PathVariable("beerId") UUID beerId) {
+    public ResponseEntity<BeerDTO> getBeerById(@PathVariable("beerId") UUID beerId, WebRequest webRequest) {
         log.debug("get beer by id - in controller");
         log.debug("requested beer id: {}", beerId);
-        return beerService.getBeerById(beerId)
+        if (EntityTags.checkNotModified(webRequest, beerId, () -> beerService.getBeerVersion(beerId))) {
+            return null;
+        }
+
+        BeerDTO beerDTO = beerService.getBeerById(beerId)
                 .orElseThrow(NotFoundException::new);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(beerId, beerDTO.getVersion()))
+                .body(beerDTO);
     }
 
     /**
@@ -0,0 +1,84 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.model.BeerExportFormat;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.services.BeerExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controller for exporting the Beer catalog.
+ * The response is written while the rows are read from the database, on an asynchronous request thread, so
+ * exports of any size are served in constant memory. An export may take up to the asynchronous request timeout
+ * ({@code spring.mvc.async.request-timeout}). Exports run as the {@code export} workload; beyond its limit they are
+ * rejected with 503 Service Unavailable.
+ */
+@RestController
+@RequiredArgsConstructor
+public class BeerExportController {
+
+    /**
+     * Path for the Beer export endpoint.
+     */
+    public static final String BEER_EXPORT_PATH = BeerController.BEER_PATH + "/export";
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    /**
+     * Service for exporting beers.
+     */
+    private final BeerExportService beerExportService;
+
+    /**
+     * Endpoint to stream all beers matching the filters as an attachment.
+     * The body is gzip-compressed when the client accepts gzip.
+     *
+     * @param beerName       Optional filter by beer name.
+     * @param beerStyle      Optional filter by beer style.
+     * @param showInventory  Optional flag to include inventory details.
+     * @param format         The output format, NDJSON by default.
+     * @param acceptEncoding The Accept-Encoding header (optional).
+     * @return The streamed beers, in id order.
+     */
+    @GetMapping(BEER_EXPORT_PATH)
+    public ResponseEntity<StreamingResponseBody> exportBeers(
+            @RequestParam(required = false) String beerName,
+            @RequestParam(required = false) BeerStyle beerStyle,
+            @RequestParam(required = false) Boolean showInventory,
+            @RequestParam(defaultValue = "NDJSON") BeerExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getMediaType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("beers." + format.getFileExtension())
+                .build());
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                beerExportService.exportBeers(beerName, beerStyle, showInventory, format, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                beerExportService.exportBeers(beerName, beerStyle, showInventory, format, outputStream);
+            }
+        };
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
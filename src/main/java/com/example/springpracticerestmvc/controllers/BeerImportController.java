@@ -0,0 +1,108 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.exceptions.ImportTooLargeException;
+import com.example.springpracticerestmvc.exceptions.NotFoundException;
+import com.example.springpracticerestmvc.model.BeerImportJobDTO;
+import com.example.springpracticerestmvc.services.BeerImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Controller for importing beers from CSV files.
+ * Imports run in the background; each upload creates an import job whose progress is polled from its location.
+ */
+@RestController
+@RequiredArgsConstructor
+public class BeerImportController {
+
+    /**
+     * Path for starting Beer imports.
+     */
+    public static final String BEER_IMPORT_PATH = BeerController.BEER_PATH + "/import";
+
+    /**
+     * Path for a Beer import job.
+     */
+    public static final String BEER_IMPORT_PATH_ID = BEER_IMPORT_PATH + "/{jobId}";
+
+    /**
+     * Path for resuming a Beer import job.
+     */
+    public static final String BEER_IMPORT_RESUME_PATH = BEER_IMPORT_PATH_ID + "/resume";
+
+    /**
+     * Service for Beer imports.
+     */
+    private final BeerImportService beerImportService;
+
+    /**
+     * Endpoint to import beers from a CSV file uploaded as a multipart form field.
+     * The file must have the columns of the bootstrap data, with a header row. Uploads are limited by
+     * {@code spring.servlet.multipart.max-file-size}; larger files are posted as a {@code text/csv} body.
+     *
+     * @param file The uploaded CSV file.
+     * @return ResponseEntity with HTTP status ACCEPTED, the job and its location.
+     * @throws IOException if the upload cannot be stored.
+     */
+    @PostMapping(value = BEER_IMPORT_PATH, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BeerImportJobDTO> importBeers(@RequestParam("file") MultipartFile file) throws IOException {
+        return accepted(beerImportService.startImport(file));
+    }
+
+    /**
+     * Endpoint to import beers from a CSV request body.
+     * The body is streamed straight to the import's file, up to {@code beer.import.max-body-size}.
+     *
+     * @param fileName Optional name of the file, for reference.
+     * @param body     The request body.
+     * @return ResponseEntity with HTTP status ACCEPTED, the job and its location.
+     * @throws ImportTooLargeException if the body is larger than the limit.
+     * @throws IOException             if the body cannot be stored.
+     */
+    @PostMapping(value = BEER_IMPORT_PATH, consumes = "text/csv")
+    public ResponseEntity<BeerImportJobDTO> importBeersFromBody(@RequestParam(required = false) String fileName,
+                                                                InputStream body) throws IOException {
+        return accepted(beerImportService.startImport(fileName, body));
+    }
+
+    /**
+     * Endpoint to retrieve an import job with its progress.
+     *
+     * @param jobId UUID of the import job.
+     * @return The import job.
+     * @throws NotFoundException if the import job is not found.
+     */
+    @GetMapping(BEER_IMPORT_PATH_ID)
+    public BeerImportJobDTO getImport(@PathVariable("jobId") UUID jobId) {
+        return beerImportService.getImport(jobId).orElseThrow(NotFoundException::new);
+    }
+
+    /**
+     * Endpoint to resume a failed or stalled import after its last committed row.
+     *
+     * @param jobId UUID of the import job.
+     * @return ResponseEntity with HTTP status ACCEPTED, the job and its location.
+     */
+    @PostMapping(BEER_IMPORT_RESUME_PATH)
+    public ResponseEntity<BeerImportJobDTO> resumeImport(@PathVariable("jobId") UUID jobId) {
+        return accepted(beerImportService.resumeImport(jobId));
+    }
+
+    private static ResponseEntity<BeerImportJobDTO> accepted(BeerImportJobDTO job) {
+        return ResponseEntity.accepted()
+                .location(URI.create(BEER_IMPORT_PATH + "/" + job.getId()))
+                .body(job);
+    }
+}
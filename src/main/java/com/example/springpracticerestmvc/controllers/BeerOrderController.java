@@ -4,11 +4,13 @@ import com.example.springpracticerestmvc.exceptions.NotFoundException;
 import com.example.springpracticerestmvc.model.BeerOrderCreateDTO;
 import com.example.springpracticerestmvc.model.BeerOrderDTO;
 import com.example.springpracticerestmvc.model.BeerOrderUpdateDTO;
+import com.example.springpracticerestmvc.model.SliceDTO;
 import com.example.springpracticerestmvc.services.BeerOrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.UUID;
@@ -31,6 +33,11 @@ public class BeerOrderController {
      */
     public static final String BEER_ORDER_PATH_ID = BEER_ORDER_PATH + "/{beerOrderId}";
 
+    /**
+     * Path for the count-free Beer Order listing endpoint.
+     */
+    public static final String BEER_ORDER_SLICE_PATH = BEER_ORDER_PATH + "/slice";
+
     /**
      * Service for Beer Order-related business logic.
      */
@@ -38,16 +45,26 @@ public class BeerOrderController {
 
     /**
      * Endpoint to retrieve a beer order by its ID.
+     * The response carries an ETag derived from the order's version; a matching If-None-Match is answered with
+     * 304 Not Modified after a version lookup, without loading the order and its lines.
      *
      * @param beerOrderId UUID of the beer order to retrieve.
-     * @return The BeerOrderDTO object for the specified beer order ID.
+     * @param webRequest  The current request, for the conditional check.
+     * @return The BeerOrderDTO object for the specified beer order ID, or null when not modified.
      * @throws NotFoundException if the beer order is not found.
      */
     @GetMapping(BEER_ORDER_PATH_ID)
-    public BeerOrderDTO getBeerOrderById(@PathVariable UUID beerOrderId) {
-        return beerOrderService
+    public ResponseEntity<BeerOrderDTO> getBeerOrderById(@PathVariable UUID beerOrderId, WebRequest webRequest) {
+        if (EntityTags.checkNotModified(webRequest, beerOrderId, () -> beerOrderService.getVersion(beerOrderId))) {
+            return null;
+        }
+
+        BeerOrderDTO beerOrderDTO = beerOrderService
                 .getById(beerOrderId)
                 .orElseThrow(NotFoundException::new);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(beerOrderId, beerOrderDTO.getVersion()))
+                .body(beerOrderDTO);
     }
 
     /**
@@ -66,6 +83,22 @@ public class BeerOrderController {
                 .listOrders(pageNumber, pageSize);
     }
 
+    /**
+     * Endpoint to list beer orders without counting the total number of orders.
+     *
+     * @param pageNumber Optional page number for pagination.
+     * @param pageSize   Optional page size for pagination.
+     * @return A slice of BeerOrderDTO objects with an estimated total when one is available.
+     */
+    @GetMapping(BEER_ORDER_SLICE_PATH)
+    public SliceDTO<BeerOrderDTO> listBeerOrdersSlice(
+            @RequestParam(value = "pageNumber", required = false) Integer pageNumber,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize
+    ) {
+        return beerOrderService
+                .listOrdersSlice(pageNumber, pageSize);
+    }
+
     /**
      * Endpoint to create a new beer order.
      *
@@ -1,6 +1,8 @@
 package com.example.springpracticerestmvc.controllers;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -71,4 +73,15 @@ public class CustomErrorController {
         // Return an empty response with HTTP status BAD_REQUEST if no violations are found
         return response_entity.build();
     }
+
+    /**
+     * Handles asynchronous requests, such as the beer export, rejected because their workload is at its limit.
+     *
+     * @param exception The TaskRejectedException of the workload's executor.
+     * @return An empty ResponseEntity with HTTP status SERVICE_UNAVAILABLE.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    ResponseEntity<Void> handleTaskRejected(TaskRejectedException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -55,15 +56,25 @@ public class CustomerController {
 
     /**
      * Endpoint to retrieve a customer by its ID.
+     * The response carries an ETag derived from the customer's version; a matching If-None-Match is answered
+     * with 304 Not Modified after a version lookup, without loading the customer.
      *
-     * @param id UUID of the customer to retrieve.
-     * @return The CustomerDTO object for the specified customer ID.
+     * @param id         UUID of the customer to retrieve.
+     * @param webRequest The current request, for the conditional check.
+     * @return The CustomerDTO object for the specified customer ID, or null when not modified.
      * @throws NotFoundException if the customer is not found.
      */
     @GetMapping(CUSTOMER_PATH_ID)
-    public CustomerDTO getCustomerById(@PathVariable("customerId") UUID id) {
-        return customerService.getCustomerById(id)
+    public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable("customerId") UUID id, WebRequest webRequest) {
+        if (EntityTags.checkNotModified(webRequest, id, () -> customerService.getCustomerVersion(id))) {
+            return null;
+        }
+
+        CustomerDTO customerDTO = customerService.getCustomerById(id)
                 .orElseThrow(NotFoundException::new);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(id, customerDTO.getVersion()))
+                .body(customerDTO);
     }
 
     /**
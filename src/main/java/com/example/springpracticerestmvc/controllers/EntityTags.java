@@ -0,0 +1,50 @@
+package com.example.springpracticerestmvc.controllers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Strong entity tags for single resources, derived from the entity id and its optimistic locking version.
+ * <p>
+ * Every write increments the version, so the pair identifies one exact representation. Because it is known
+ * before the entity is loaded, a conditional request can be answered with 304 Not Modified from the version
+ * alone.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Builds the entity tag of one version of an entity.
+     *
+     * @param id      The entity id.
+     * @param version The entity version; null is treated as 0, for entities that were never versioned.
+     * @return The quoted entity tag.
+     */
+    static String of(UUID id, Number version) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Checks an If-None-Match request header against the current version, without loading the entity.
+     * Requests without the header skip the version lookup.
+     *
+     * @param webRequest The current request; its response is marked 304 when the tag matches.
+     * @param id         The entity id.
+     * @param version    Looks up the current version, or empty when the entity does not exist.
+     * @return true if the client's copy is current and the response is already complete.
+     */
+    static boolean checkNotModified(WebRequest webRequest, UUID id, Supplier<? extends Optional<? extends Number>> version) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return false;
+        }
+        return version.get()
+                .map(current -> webRequest.checkNotModified(of(id, current)))
+                .orElse(false);
+    }
+}
@@ -34,6 +34,13 @@ public class BeerAudit {
 
     private Integer version;
 
+    /**
+     * The fields changed by the audited event, see {@link com.example.springpracticerestmvc.model.BeerAuditDelta}.
+     * Records written before deltas were introduced have no delta and hold the whole beer in the columns below.
+     */
+    @Column(length = 2048)
+    private byte[] delta;
+
     @Size(max = 50)
     @Column(length = 50)
     private String beerName;
@@ -0,0 +1,63 @@
+package com.example.springpracticerestmvc.entities;
+
+import com.example.springpracticerestmvc.model.BeerImportStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A CSV beer import and its progress.
+ * The row counters are advanced in the same transaction as the beers they account for, so rowsCommitted always
+ * tells how many data rows of the file are done and where a failed import resumes.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36, nullable = false, updatable = false, columnDefinition = "varchar(36)")
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private UUID id;
+
+    @Version
+    private Integer version;
+
+    @Column(nullable = false, updatable = false)
+    private String fileName;
+
+    // Where the upload is spooled until the import completes
+    @Column(length = 1024, nullable = false, updatable = false)
+    private String filePath;
+
+    private Long fileSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private BeerImportStatus status;
+
+    private long rowsCommitted;
+
+    private long beersImported;
+
+    private long rowsRejected;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdDate;
+
+    @UpdateTimestamp
+    private LocalDateTime updateDate;
+}
@@ -0,0 +1,34 @@
+package com.example.springpracticerestmvc.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A batch of cache invalidations published by one node through the database.
+ * The payload holds one encoded invalidation per line.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheInvalidationBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 36, nullable = false, updatable = false)
+    private String nodeId;
+
+    @Lob
+    @Column(nullable = false, updatable = false)
+    private String payload;
+
+    @CreationTimestamp
+    private LocalDateTime createdDate;
+}
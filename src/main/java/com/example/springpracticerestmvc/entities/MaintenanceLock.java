@@ -0,0 +1,29 @@
+package com.example.springpracticerestmvc.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A lock that lets one node at a time run a maintenance job shared by all nodes.
+ * The node holding the lock owns it until it releases it or until lockedUntil, so the lock of a node that died
+ * frees itself.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaintenanceLock {
+
+    @Id
+    @Column(length = 64, nullable = false, updatable = false)
+    private String name;
+
+    @Column(length = 36)
+    private String lockedBy;
+
+    private LocalDateTime lockedUntil;
+}
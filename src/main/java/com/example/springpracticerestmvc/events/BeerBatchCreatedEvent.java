@@ -0,0 +1,22 @@
+package com.example.springpracticerestmvc.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+/**
+ * Published once per committed chunk of a bulk create, instead of one {@link BeerCreatedEvent} per beer.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class BeerBatchCreatedEvent implements BeerBatchEvent {
+
+    private final List<BeerSnapshot> beers;
+
+    private final Authentication authentication;
+
+}
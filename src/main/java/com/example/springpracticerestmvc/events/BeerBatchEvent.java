@@ -0,0 +1,16 @@
+package com.example.springpracticerestmvc.events;
+
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+/**
+ * A change applied to a chunk of beers by a bulk operation, published once per committed chunk.
+ * The beers are snapshots, like those of a {@link BeerEvent}, so the event can be handled on another thread.
+ */
+public interface BeerBatchEvent {
+
+    List<BeerSnapshot> getBeers();
+
+    Authentication getAuthentication();
+}
@@ -0,0 +1,22 @@
+package com.example.springpracticerestmvc.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+/**
+ * Published once per committed chunk of a bulk price and inventory update, with the updated beers.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class BeerBatchPatchedEvent implements BeerBatchEvent {
+
+    private final List<BeerSnapshot> beers;
+
+    private final Authentication authentication;
+
+}
@@ -1,11 +1,22 @@
 package com.example.springpracticerestmvc.events;
 
-import com.example.springpracticerestmvc.entities.Beer;
 import org.springframework.security.core.Authentication;
 
+/**
+ * A change to a single beer. Listeners that need the change to be committed either listen to it with a
+ * transactional event listener, or to the {@link CommittedBeerEvent}, which is delivered after the transaction
+ * has committed and may merge several changes into one.
+ */
 public interface BeerEvent {
 
-    Beer getBeer();
+    BeerSnapshot getBeer();
+
+    /**
+     * Returns the beer as it was before the change, for events that change an existing beer.
+     */
+    default BeerSnapshot getPrevious() {
+        return null;
+    }
 
     Authentication getAuthentication();
 }
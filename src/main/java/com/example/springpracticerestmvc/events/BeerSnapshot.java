@@ -0,0 +1,17 @@
+package com.example.springpracticerestmvc.events;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The state of a beer when an event was published.
+ * Unlike the entity, a snapshot does not change afterwards, so it can be delivered after the transaction has
+ * ended and on another thread.
+ */
+public record BeerSnapshot(UUID id, Integer version, String beerName, BeerStyle beerStyle, String upc,
+                           Integer quantityOnHand, BigDecimal price, LocalDateTime createdDate,
+                           LocalDateTime updateDate) {
+}
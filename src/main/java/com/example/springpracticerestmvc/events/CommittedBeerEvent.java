@@ -0,0 +1,25 @@
+package com.example.springpracticerestmvc.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A beer event delivered after its transaction has committed; events of rolled-back transactions are never
+ * delivered. Changes made to the same beer in quick succession are delivered as one event, see
+ * {@link com.example.springpracticerestmvc.listeners.BeerEventCoalescer}.
+ */
+@Getter
+@AllArgsConstructor
+public class CommittedBeerEvent {
+
+    /**
+     * The change, merged from all the coalesced events.
+     */
+    private final BeerEvent event;
+
+    /**
+     * The number of published events this one stands for.
+     */
+    private final int count;
+
+}
@@ -0,0 +1,16 @@
+package com.example.springpracticerestmvc.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT, reason = "Import Not Resumable")
+public class ImportNotResumableException extends RuntimeException {
+
+    public ImportNotResumableException() {
+        super();
+    }
+
+    public ImportNotResumableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.springpracticerestmvc.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.PAYLOAD_TOO_LARGE, reason = "Import Too Large")
+public class ImportTooLargeException extends RuntimeException {
+
+    public ImportTooLargeException() {
+        super();
+    }
+
+    public ImportTooLargeException(String message) {
+        super(message);
+    }
+}
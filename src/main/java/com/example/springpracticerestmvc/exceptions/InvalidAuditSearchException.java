@@ -0,0 +1,16 @@
+package com.example.springpracticerestmvc.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Invalid Audit Search")
+public class InvalidAuditSearchException extends RuntimeException {
+
+    public InvalidAuditSearchException() {
+        super();
+    }
+
+    public InvalidAuditSearchException(String message) {
+        super(message);
+    }
+}
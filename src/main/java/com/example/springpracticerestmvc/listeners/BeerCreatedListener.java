@@ -1,65 +1,139 @@
 package com.example.springpracticerestmvc.listeners;
 
+import com.example.springpracticerestmvc.entities.BeerAudit;
 import com.example.springpracticerestmvc.events.*;
 import com.example.springpracticerestmvc.mappers.BeerMapper;
-import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import com.example.springpracticerestmvc.model.BeerAuditDelta;
+import com.example.springpracticerestmvc.services.BeerAuditWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Listener for beer-related events. This class listens to various beer events
- * and processes them asynchronously to create audit records.
+ * and creates audit records for them. The records are handed to the {@link BeerAuditWriter},
+ * which writes them in batches behind the request.
+ * <p>
+ * Only committed changes are audited: single beer changes arrive as {@link CommittedBeerEvent}s, in which
+ * changes made to a beer in quick succession are already merged (see {@link BeerEventCoalescer}), and bulk
+ * changes once their chunk has committed.
+ * <p>
+ * A record holds only the fields the event changed, as a {@link BeerAuditDelta}: all fields of a new beer,
+ * the differing fields of an update or patch, and none for a deletion.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class BeerCreatedListener {
 
-    // Mapper to convert Beer objects to BeerAudit objects
+    // Fields changed by a bulk update, whose previous values are not at hand
+    private static final Set<BeerAuditDelta.Field> BULK_PATCHED_FIELDS = EnumSet.of(BeerAuditDelta.Field.PRICE,
+            BeerAuditDelta.Field.QUANTITY_ON_HAND, BeerAuditDelta.Field.UPDATE_DATE);
+
+    // Mapper to convert beers and beer snapshots to the BeerDTOs that deltas are computed from
     private final BeerMapper beerMapper;
 
-    // Repository to save BeerAudit records
-    private final BeerAuditRepository beerAuditRepository;
+    // Writer that queues BeerAudit records for batched inserts
+    private final BeerAuditWriter beerAuditWriter;
+
+    // Coalescer holding back single beer changes, delivered before a bulk change of the same beers
+    private final BeerEventCoalescer beerEventCoalescer;
 
     /**
-     * Handles beer-related events asynchronously. Depending on the type of event,
-     * it creates an audit record and saves it to the database.
+     * Handles committed beer-related events. Depending on the type of event,
+     * it creates an audit record and queues it for writing.
      *
-     * @param event The beer event to process. Can be one of BeerCreatedEvent, BeerUpdatedEvent,
-     *              BeerPatchedEvent, or BeerDeletedEvent.
+     * @param committedEvent The committed beer event to process. Its event can be one of BeerCreatedEvent,
+     *                       BeerUpdatedEvent, BeerPatchedEvent, or BeerDeletedEvent.
      */
-    @Async
     @EventListener
-    public void listen(BeerEvent event) {
+    public void listen(CommittedBeerEvent committedEvent) {
+        val event = committedEvent.getEvent();
 
-        // Map the Beer object from the event to a BeerAudit object
-        val beerAudit = beerMapper.beerToBeerAudit(event.getBeer());
         String eventType = null;
+        byte[] delta = null;
 
-        // Determine the type of event and set the corresponding audit event type
+        // Determine the type of event, its audit event type and the fields it changed
         switch (event) {
-            case BeerCreatedEvent beerCreatedEvent -> eventType = "BEER_CREATED";
-            case BeerUpdatedEvent beerUpdatedEvent -> eventType = "BEER_UPDATED";
-            case BeerPatchedEvent beerPatchedEvent -> eventType = "BEER_PATCHED";
+            case BeerCreatedEvent beerCreatedEvent -> {
+                eventType = "BEER_CREATED";
+                delta = BeerAuditDelta.encode(null, beerMapper.beerSnapshotToBeerDto(event.getBeer()));
+            }
+            case BeerUpdatedEvent beerUpdatedEvent -> {
+                eventType = "BEER_UPDATED";
+                delta = BeerAuditDelta.encode(beerMapper.beerSnapshotToBeerDto(event.getPrevious()),
+                        beerMapper.beerSnapshotToBeerDto(event.getBeer()));
+            }
+            case BeerPatchedEvent beerPatchedEvent -> {
+                eventType = "BEER_PATCHED";
+                delta = BeerAuditDelta.encode(beerMapper.beerSnapshotToBeerDto(event.getPrevious()),
+                        beerMapper.beerSnapshotToBeerDto(event.getBeer()));
+            }
             case BeerDeletedEvent beerDeletedEvent -> eventType = "BEER_DELETED";
             default -> eventType = "UNKNOWN";
         }
 
-        beerAudit.setAuditEventType(eventType);
+        val beerAudit = audit(event.getBeer().id(), event.getBeer().version(), delta, eventType);
 
         // Set the principal name if authentication information is available
         if (event.getAuthentication() != null && event.getAuthentication().getName() != null) {
             beerAudit.setPrincipalName(event.getAuthentication().getName());
         }
 
-        // Save the audit record to the repository
-        val savedBeerAudit = beerAuditRepository.save(beerAudit);
+        // Queue the audit record for writing
+        beerAuditWriter.write(beerAudit);
+
+        // Log the queued audit record
+        log.debug("BeerAudit queued: {}  for Id: {}", eventType, beerAudit.getId());
+    }
+
+    /**
+     * Handles a committed chunk of bulk-created or bulk-patched beers, queuing all of their audit records.
+     * Single changes of these beers still held back by the coalescer are audited first.
+     *
+     * @param event The batch event with the affected beers.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void listen(BeerBatchEvent event) {
+        beerEventCoalescer.deliverHeld(event.getBeers().stream().map(BeerSnapshot::id).toList());
+
+        val principalName = event.getAuthentication() != null ? event.getAuthentication().getName() : null;
+        val eventType = switch (event) {
+            case BeerBatchCreatedEvent beerBatchCreatedEvent -> "BEER_CREATED";
+            case BeerBatchPatchedEvent beerBatchPatchedEvent -> "BEER_PATCHED";
+            default -> "UNKNOWN";
+        };
+
+        val beerAudits = event.getBeers().stream()
+                .map(beer -> {
+                    val beerDTO = beerMapper.beerSnapshotToBeerDto(beer);
+                    val delta = event instanceof BeerBatchPatchedEvent
+                            ? BeerAuditDelta.encode(beerDTO, BULK_PATCHED_FIELDS)
+                            : BeerAuditDelta.encode(null, beerDTO);
+                    val beerAudit = audit(beer.id(), beer.version(), delta, eventType);
+                    beerAudit.setPrincipalName(principalName);
+                    return beerAudit;
+                })
+                .toList();
+
+        beerAuditWriter.writeAll(beerAudits);
+
+        log.debug("BeerAudit queued: {} for {} beers", eventType, beerAudits.size());
+    }
 
-        // Log the saved audit record
-        log.info("BeerAudit saved: {}  for Id: {}", eventType, savedBeerAudit.getId());
+    private static BeerAudit audit(UUID beerId, Integer version, byte[] delta, String eventType) {
+        return BeerAudit.builder()
+                .id(beerId)
+                .version(version)
+                .delta(delta)
+                .auditEventType(eventType)
+                .build();
     }
-}
\ No newline at end of file
+}
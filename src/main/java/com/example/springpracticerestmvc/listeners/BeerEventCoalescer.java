@@ -0,0 +1,293 @@
+package com.example.springpracticerestmvc.listeners;
+
+import com.example.springpracticerestmvc.events.BeerEvent;
+import com.example.springpracticerestmvc.events.BeerPatchedEvent;
+import com.example.springpracticerestmvc.events.BeerUpdatedEvent;
+import com.example.springpracticerestmvc.events.CommittedBeerEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers beer events as {@link CommittedBeerEvent}s once their transaction has committed.
+ * Events published outside a transaction are delivered at once, since the repository has committed the change by
+ * then; events of a transaction that rolls back are discarded.
+ * <p>
+ * Updates and patches are held back for up to {@code beer.events.coalesce-window}, and further changes to the same
+ * beer by the same principal within that window are merged into them: the merged event carries the beer before
+ * the first and after the last change, so a beer patched many times in a row is audited once, and the versions in
+ * between are not audited at all. Creations and deletions are not held back; they queue the change held for their
+ * beer first. A single delivery thread publishes the queued events in order, so the events of a beer stay in order
+ * and a slow listener, such as an audit writer waiting for room, holds up the delivery thread but not the
+ * requests. The lock is held only to update the held changes.
+ * <p>
+ * Held changes are only in memory and would be lost in a crash. A zero window turns coalescing off and events are
+ * delivered on the committing thread; this is always the case in the journal audit mode
+ * ({@code beer.audit.mode=journal}), which must not lose committed changes. On shutdown the held changes are
+ * delivered after the web server has stopped and before the audit writer stops.
+ * <p>
+ * Publishes the events received ({@code beer.events.received}), the events delivered
+ * ({@code beer.events.delivered}) and the events held back or queued ({@code beer.events.pending}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BeerEventCoalescer implements SmartLifecycle, MeterBinder {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${beer.events.coalesce-window:200ms}")
+    Duration coalesceWindow = Duration.ofMillis(200);
+
+    @Value("${beer.events.shutdown-timeout:30s}")
+    Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    @Value("${beer.audit.mode:batching}")
+    String auditMode = "batching";
+
+    // Held changes by beer id, oldest first; guarded by this
+    private final Map<UUID, Pending> pending = new LinkedHashMap<>();
+    // Events to publish, in order, taken by the delivery thread only
+    private final BlockingQueue<Pending> ready = new LinkedBlockingQueue<>();
+    // Whether events go through the delivery thread; changed under this
+    private volatile boolean coalescing;
+    private volatile boolean running;
+    private Thread deliverer;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    /**
+     * Receives a beer event after its transaction has committed, or at once outside a transaction.
+     *
+     * @param event The beer event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerEvent(BeerEvent event) {
+        received.incrementAndGet();
+        if (coalescing && hold(event)) {
+            return;
+        }
+        deliver(new Pending(event, 1, 0));
+    }
+
+    /**
+     * Delivers the changes held back for the given beers at once, on the calling thread. A change audited outside
+     * the coalescer, such as a bulk change, calls this first, so that it is audited after the changes made before it.
+     *
+     * @param beerIds The ids of the beers.
+     */
+    public void deliverHeld(Collection<UUID> beerIds) {
+        List<Pending> held = new ArrayList<>();
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            for (UUID beerId : beerIds) {
+                Pending change = pending.remove(beerId);
+                if (change != null) {
+                    held.add(change);
+                }
+            }
+        }
+        held.forEach(this::deliverLogged);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        if (!coalesceWindow.isPositive() || "journal".equals(auditMode)) {
+            log.info("Beer events are delivered without coalescing");
+            return;
+        }
+        coalescing = true;
+        deliverer = Thread.ofPlatform().name("beer-event-delivery").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            // From here on events are delivered on the committing thread; the delivery thread delivers the held
+            // and queued events and ends
+            running = false;
+            coalescing = false;
+            thread = deliverer;
+            deliverer = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Beer event delivery did not finish within {}, {} events left", shutdownTimeout,
+                    pendingCount());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, once no more changes come in, and before the audit writer (phase 0)
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("beer.events.received", received, AtomicLong::get)
+                .description("Committed beer events received")
+                .register(registry);
+        FunctionCounter.builder("beer.events.delivered", delivered, AtomicLong::get)
+                .description("Beer events delivered after coalescing")
+                .register(registry);
+        Gauge.builder("beer.events.pending", this, BeerEventCoalescer::pendingCount)
+                .description("Beer changes held back for coalescing or waiting for delivery")
+                .register(registry);
+    }
+
+    /**
+     * Holds or queues an event for the delivery thread.
+     *
+     * @return false if coalescing has stopped and the event is to be delivered by the caller.
+     */
+    private synchronized boolean hold(BeerEvent event) {
+        if (!coalescing) {
+            return false;
+        }
+        UUID beerId = event.getBeer().id();
+        boolean change = event instanceof BeerUpdatedEvent || event instanceof BeerPatchedEvent;
+
+        Pending held = pending.get(beerId);
+        if (held != null && change && Objects.equals(principalName(held.event()), principalName(event))) {
+            pending.put(beerId, new Pending(merge(held.event(), event), held.count() + 1, held.since()));
+            return true;
+        }
+        if (held != null) {
+            pending.remove(beerId);
+            ready.add(held);
+        }
+
+        if (change) {
+            pending.put(beerId, new Pending(event, 1, System.nanoTime()));
+        } else {
+            ready.add(new Pending(event, 1, 0));
+        }
+        return true;
+    }
+
+    /**
+     * Queues the changes held since before {@code now} minus the coalesce window.
+     *
+     * @param now The current {@link System#nanoTime()}, or {@link Long#MAX_VALUE} to queue all held changes.
+     */
+    private synchronized void queueDue(long now) {
+        for (Iterator<Pending> it = pending.values().iterator(); it.hasNext(); ) {
+            Pending held = it.next();
+            if (now != Long.MAX_VALUE && now - held.since() < coalesceWindow.toNanos()) {
+                break;
+            }
+            ready.add(held);
+            it.remove();
+        }
+    }
+
+    private synchronized int pendingCount() {
+        return pending.size() + ready.size();
+    }
+
+    private void run() {
+        // Short enough to notice a stop promptly
+        long tick = Math.clamp(coalesceWindow.toMillis() / 4, 10, 100);
+        List<Pending> batch = new ArrayList<>();
+        while (true) {
+            try {
+                Pending next = ready.poll(tick, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    deliverLogged(next);
+                }
+            } catch (InterruptedException e) {
+                log.warn("Beer event delivery interrupted, {} events left", pendingCount());
+                return;
+            }
+
+            // Once coalescing has stopped no events are held or queued any more
+            boolean stopping = !coalescing;
+            queueDue(stopping ? Long.MAX_VALUE : System.nanoTime());
+            ready.drainTo(batch);
+            batch.forEach(this::deliverLogged);
+            batch.clear();
+            if (stopping && ready.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void deliverLogged(Pending held) {
+        try {
+            deliver(held);
+        } catch (RuntimeException e) {
+            log.error("Delivering beer event for {} failed", held.event().getBeer().id(), e);
+        }
+    }
+
+    private void deliver(Pending held) {
+        delivered.incrementAndGet();
+        applicationEventPublisher.publishEvent(new CommittedBeerEvent(held.event(), held.count()));
+    }
+
+    /**
+     * Merges a change into the change held for the same beer.
+     * The result is an update if either change was one, since an update may change every field.
+     */
+    static BeerEvent merge(BeerEvent first, BeerEvent second) {
+        return first instanceof BeerUpdatedEvent || second instanceof BeerUpdatedEvent
+                ? new BeerUpdatedEvent(second.getBeer(), first.getPrevious(), second.getAuthentication())
+                : new BeerPatchedEvent(second.getBeer(), first.getPrevious(), second.getAuthentication());
+    }
+
+    private static String principalName(BeerEvent event) {
+        return event.getAuthentication() != null ? event.getAuthentication().getName() : null;
+    }
+
+    /**
+     * A change held back, with the number of events merged into it and the {@link System#nanoTime()} of the first.
+     */
+    private record Pending(BeerEvent event, int count, long since) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.springpracticerestmvc.listeners;
+
+import com.example.springpracticerestmvc.cache.CacheInvalidation;
+import com.example.springpracticerestmvc.cache.PeerCacheInvalidationEvent;
+import com.example.springpracticerestmvc.events.BeerBatchCreatedEvent;
+import com.example.springpracticerestmvc.events.BeerDeletedEvent;
+import com.example.springpracticerestmvc.events.BeerEvent;
+import com.example.springpracticerestmvc.model.BeerNameView;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.search.BeerNameIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StopWatch;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the in-memory beer name indexes in step with the beer table.
+ * The indexes are loaded once the application is ready (after the bootstrap data has been written)
+ * and then updated from the beer events published by the beer service, on the committing thread as soon as their
+ * changes have committed. The beer service advances the list generations only after that, so a name-filtered
+ * listing cached under the new generation is never read from the old index. Unlike the audit, the indexes do not
+ * wait for changes to be coalesced.
+ * Changes made on other nodes arrive as cache evictions of the changed beers (see
+ * {@link PeerCacheInvalidationEvent}); those beers are read again from the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BeerNameIndexListener {
+
+    private static final Set<String> BEER_CACHES = Set.of("beerCache", "beerNotFoundCache");
+    private static final int RELOAD_BATCH_SIZE = 1000;
+
+    private final BeerRepository beerRepository;
+    private final List<BeerNameIndex> beerNameIndexes;
+
+    /**
+     * Loads every beer's id, name and style into the indexes.
+     */
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        val stopWatch = new StopWatch();
+        stopWatch.start();
+
+        beerNameIndexes.forEach(BeerNameIndex::clear);
+
+        try (val beers = beerRepository.streamAllNames()) {
+            beers.forEach(beer -> beerNameIndexes.forEach(
+                    index -> index.put(beer.id(), beer.beerName(), beer.beerStyle())
+            ));
+        }
+
+        beerNameIndexes.forEach(BeerNameIndex::markReady);
+        stopWatch.stop();
+
+        beerNameIndexes.forEach(index -> log.info("{} loaded: {} beers, ~{} bytes in {} ms",
+                index.getClass().getSimpleName(), index.size(), index.estimatedBytes(), stopWatch.getTotalTimeMillis()));
+    }
+
+    /**
+     * Applies a committed beer create, update, patch or delete to the indexes.
+     *
+     * @param event The beer event to apply.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void listen(BeerEvent event) {
+        val beer = event.getBeer();
+
+        if (event instanceof BeerDeletedEvent) {
+            beerNameIndexes.forEach(index -> index.remove(beer.id()));
+        } else {
+            beerNameIndexes.forEach(index -> index.put(beer.id(), beer.beerName(), beer.beerStyle()));
+        }
+    }
+
+    /**
+     * Reads the beers another node created, changed or deleted again and applies them to the indexes; beers that
+     * no longer exist are removed.
+     *
+     * @param event The invalidations received from the other node.
+     */
+    @EventListener
+    public void listen(PeerCacheInvalidationEvent event) {
+        List<UUID> beerIds = event.getInvalidations().stream()
+                .filter(invalidation -> invalidation.type() == CacheInvalidation.Type.EVICT
+                        && BEER_CACHES.contains(invalidation.cacheName()))
+                .map(invalidation -> UUID.fromString(invalidation.key()))
+                .distinct()
+                .toList();
+
+        for (int from = 0; from < beerIds.size(); from += RELOAD_BATCH_SIZE) {
+            List<UUID> batch = beerIds.subList(from, Math.min(from + RELOAD_BATCH_SIZE, beerIds.size()));
+            Set<UUID> missing = new HashSet<>(batch);
+            for (BeerNameView beer : beerRepository.findAllNamesByIdIn(batch)) {
+                missing.remove(beer.id());
+                beerNameIndexes.forEach(index -> index.put(beer.id(), beer.beerName(), beer.beerStyle()));
+            }
+            missing.forEach(beerId -> beerNameIndexes.forEach(index -> index.remove(beerId)));
+        }
+        if (!beerIds.isEmpty()) {
+            log.debug("Reloaded {} beers changed on another node into the name indexes", beerIds.size());
+        }
+    }
+
+    /**
+     * Adds a committed chunk of bulk-created beers to the indexes.
+     *
+     * @param event The batch event with the created beers.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void listen(BeerBatchCreatedEvent event) {
+        event.getBeers().forEach(beer -> beerNameIndexes.forEach(
+                index -> index.put(beer.id(), beer.beerName(), beer.beerStyle())
+        ));
+    }
+}
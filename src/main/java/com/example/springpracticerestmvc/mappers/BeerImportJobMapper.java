@@ -0,0 +1,21 @@
+package com.example.springpracticerestmvc.mappers;
+
+import com.example.springpracticerestmvc.entities.BeerImportJob;
+import com.example.springpracticerestmvc.model.BeerImportJobDTO;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for exposing BeerImportJob entities as BeerImportJobDTO objects.
+ * The location of the spooled file stays internal.
+ */
+@Mapper(componentModel = "spring")
+public interface BeerImportJobMapper {
+
+    /**
+     * Maps a BeerImportJob entity to a BeerImportJobDTO object.
+     *
+     * @param beerImportJob The BeerImportJob entity to be mapped.
+     * @return The mapped BeerImportJobDTO object.
+     */
+    BeerImportJobDTO beerImportJobToBeerImportJobDto(BeerImportJob beerImportJob);
+}
@@ -1,7 +1,7 @@
 package com.example.springpracticerestmvc.mappers;
 
 import com.example.springpracticerestmvc.entities.Beer;
-import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.events.BeerSnapshot;
 import com.example.springpracticerestmvc.model.BeerDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -9,7 +9,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 
 /**
- * Mapper interface for converting between Beer, BeerDTO, and BeerAudit objects.
+ * Mapper interface for converting between Beer and BeerDTO objects.
  * Utilizes MapStruct for object mapping and is configured as a Spring component.
  */
 @Mapper(componentModel = "spring")
@@ -37,15 +37,18 @@ public interface BeerMapper {
     BeerDTO beerToBeerDto(Beer beer);
 
     /**
-     * Maps a Beer entity to a BeerAudit object.
-     * Certain fields are ignored during the mapping process.
+     * Maps a Beer entity to an immutable BeerSnapshot for beer events.
      *
      * @param beer The Beer entity to be mapped.
-     * @return The mapped BeerAudit object.
+     * @return The mapped BeerSnapshot.
+     */
+    BeerSnapshot beerToBeerSnapshot(Beer beer);
+
+    /**
+     * Maps a BeerSnapshot to a BeerDTO object.
+     *
+     * @param beerSnapshot The BeerSnapshot to be mapped.
+     * @return The mapped BeerDTO object.
      */
-    @Mapping(target = "createdDateAudit", ignore = true)
-    @Mapping(target = "auditId", ignore = true)
-    @Mapping(target = "auditEventType", ignore = true)
-    @Mapping(target = "principalName", ignore = true)
-    BeerAudit beerToBeerAudit(Beer beer);
-}
\ No newline at end of file
+    BeerDTO beerSnapshotToBeerDto(BeerSnapshot beerSnapshot);
+}
@@ -0,0 +1,52 @@
+package com.example.springpracticerestmvc.model;
+
+import com.example.springpracticerestmvc.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Seek position for keyset pagination over audit records ordered newest first by (createdDateAudit, auditId).
+ * Clients only ever see the opaque, URL-safe encoded form.
+ */
+public record BeerAuditCursor(LocalDateTime createdDateAudit, UUID auditId) {
+
+    private static final int UUID_LENGTH = 36;
+
+    /**
+     * Encodes this cursor into an opaque continuation token.
+     *
+     * @return The URL-safe token.
+     */
+    public String encode() {
+        String raw = auditId.toString() + createdDateAudit;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token.
+     *
+     * @param token The token returned by a previous page, or blank for the first page.
+     * @return The decoded cursor, or null for the first page.
+     * @throws InvalidCursorException if the token was not produced by {@link #encode()}.
+     */
+    public static BeerAuditCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.length() <= UUID_LENGTH) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            return new BeerAuditCursor(LocalDateTime.parse(raw.substring(UUID_LENGTH)),
+                    UUID.fromString(raw.substring(0, UUID_LENGTH)));
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new InvalidCursorException("Malformed cursor", exception);
+        }
+    }
+}
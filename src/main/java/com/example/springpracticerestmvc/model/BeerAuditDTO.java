@@ -0,0 +1,27 @@
+package com.example.springpracticerestmvc.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerAuditDTO {
+    private UUID auditId;
+    private UUID beerId;
+    private Integer version;
+    private String auditEventType;
+    private String principalName;
+    private LocalDateTime createdDateAudit;
+    // Fields set or cleared by this change; null for records written before deltas, which hold the whole beer
+    private Set<BeerAuditDelta.Field> changedFields;
+    // The values set by this change; other fields are null
+    private BeerDTO changes;
+}
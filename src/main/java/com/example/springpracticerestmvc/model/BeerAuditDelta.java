@@ -0,0 +1,224 @@
+package com.example.springpracticerestmvc.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compact binary form of the beer fields changed by one audited event, applied in order to rebuild a version.
+ * <p>
+ * A delta starts with a format byte, a bit set of the fields that were set and a bit set of the fields that were
+ * cleared; only the values of the set fields follow, in field order. Timestamps are microseconds since the
+ * epoch, strings are UTF-8 with an unsigned short length and prices are their scale and unscaled bytes. The id
+ * and version are not part of the delta; they are columns of the audit record.
+ */
+public final class BeerAuditDelta {
+
+    private static final byte FORMAT = 1;
+
+    /**
+     * The audited fields of a beer.
+     */
+    public enum Field {
+        BEER_NAME(BeerDTO::getBeerName, BeerDTO::setBeerName),
+        BEER_STYLE(BeerDTO::getBeerStyle, BeerDTO::setBeerStyle),
+        UPC(BeerDTO::getUpc, BeerDTO::setUpc),
+        QUANTITY_ON_HAND(BeerDTO::getQuantityOnHand, BeerDTO::setQuantityOnHand),
+        PRICE(BeerDTO::getPrice, BeerDTO::setPrice),
+        CREATED_DATE(BeerDTO::getCreatedDate, BeerDTO::setCreatedDate),
+        UPDATE_DATE(BeerDTO::getUpdateDate, BeerDTO::setUpdateDate);
+
+        private final Function<BeerDTO, Object> getter;
+        private final BiConsumer<BeerDTO, Object> setter;
+
+        @SuppressWarnings("unchecked")
+        <T> Field(Function<BeerDTO, T> getter, BiConsumer<BeerDTO, T> setter) {
+            this.getter = (Function<BeerDTO, Object>) getter;
+            this.setter = (BiConsumer<BeerDTO, Object>) setter;
+        }
+
+        private int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    private BeerAuditDelta() {
+    }
+
+    /**
+     * Encodes the fields that differ between two versions of a beer.
+     * Prices are compared by value, so a price that only changed its scale is not recorded.
+     *
+     * @param previous The previous version, or null for a new beer.
+     * @param current  The current version.
+     * @return The encoded delta.
+     */
+    public static byte[] encode(BeerDTO previous, BeerDTO current) {
+        if (previous == null) {
+            return encode(current, EnumSet.allOf(Field.class));
+        }
+        Set<Field> changed = EnumSet.noneOf(Field.class);
+        for (Field field : Field.values()) {
+            Object before = field.getter.apply(previous);
+            Object after = field.getter.apply(current);
+            boolean same = before instanceof BigDecimal price && after instanceof BigDecimal
+                    ? price.compareTo((BigDecimal) after) == 0
+                    : Objects.equals(before, after);
+            if (!same) {
+                changed.add(field);
+            }
+        }
+        return encode(current, changed);
+    }
+
+    /**
+     * Encodes the current values of the given fields, for changes whose previous version is not at hand.
+     *
+     * @param current The current version.
+     * @param fields  The fields to record.
+     * @return The encoded delta.
+     */
+    public static byte[] encode(BeerDTO current, Set<Field> fields) {
+        int set = 0;
+        int cleared = 0;
+        int size = 1 + 1 + 1;
+        for (Field field : fields) {
+            Object value = field.getter.apply(current);
+            if (value == null) {
+                cleared |= field.bit();
+            } else {
+                set |= field.bit();
+                size += size(field, value);
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(FORMAT);
+        buffer.put((byte) set);
+        buffer.put((byte) cleared);
+        for (Field field : Field.values()) {
+            if ((set & field.bit()) != 0) {
+                put(buffer, field, field.getter.apply(current));
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Applies a delta to a version of a beer, turning it into the next version.
+     *
+     * @param state The version to change.
+     * @param delta The encoded delta.
+     * @throws IllegalArgumentException If the delta has an unknown format.
+     */
+    public static void apply(BeerDTO state, byte[] delta) {
+        ByteBuffer buffer = ByteBuffer.wrap(delta);
+        byte format = buffer.get();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("Unknown audit delta format " + format);
+        }
+        int set = buffer.get() & 0xFF;
+        int cleared = buffer.get() & 0xFF;
+        for (Field field : Field.values()) {
+            if ((set & field.bit()) != 0) {
+                field.setter.accept(state, get(buffer, field));
+            } else if ((cleared & field.bit()) != 0) {
+                field.setter.accept(state, null);
+            }
+        }
+    }
+
+    /**
+     * Returns the fields set or cleared by a delta.
+     *
+     * @param delta The encoded delta.
+     */
+    public static Set<Field> fields(byte[] delta) {
+        int changed = (delta[1] | delta[2]) & 0xFF;
+        Set<Field> fields = EnumSet.noneOf(Field.class);
+        for (Field field : Field.values()) {
+            if ((changed & field.bit()) != 0) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns whether a delta sets or clears every field, as the delta of a new beer does, so that the beer can be
+     * rebuilt from it alone.
+     *
+     * @param delta The encoded delta.
+     */
+    public static boolean isComplete(byte[] delta) {
+        return fields(delta).size() == Field.values().length;
+    }
+
+    private static int size(Field field, Object value) {
+        return switch (field) {
+            case BEER_NAME, UPC -> 2 + utf8((String) value).length;
+            case BEER_STYLE -> 1;
+            case QUANTITY_ON_HAND -> 4;
+            case PRICE -> 4 + 1 + ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1;
+            case CREATED_DATE, UPDATE_DATE -> 8;
+        };
+    }
+
+    private static void put(ByteBuffer buffer, Field field, Object value) {
+        switch (field) {
+            case BEER_NAME, UPC -> {
+                byte[] bytes = utf8((String) value);
+                buffer.putShort((short) bytes.length);
+                buffer.put(bytes);
+            }
+            case BEER_STYLE -> buffer.put((byte) ((BeerStyle) value).ordinal());
+            case QUANTITY_ON_HAND -> buffer.putInt((Integer) value);
+            case PRICE -> {
+                BigDecimal price = (BigDecimal) value;
+                byte[] unscaled = price.unscaledValue().toByteArray();
+                buffer.putInt(price.scale());
+                buffer.put((byte) unscaled.length);
+                buffer.put(unscaled);
+            }
+            case CREATED_DATE, UPDATE_DATE -> {
+                LocalDateTime timestamp = (LocalDateTime) value;
+                buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1000);
+            }
+        }
+    }
+
+    private static Object get(ByteBuffer buffer, Field field) {
+        return switch (field) {
+            case BEER_NAME, UPC -> {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+            case BEER_STYLE -> BeerStyle.values()[buffer.get()];
+            case QUANTITY_ON_HAND -> buffer.getInt();
+            case PRICE -> {
+                int scale = buffer.getInt();
+                byte[] unscaled = new byte[buffer.get() & 0xFF];
+                buffer.get(unscaled);
+                yield new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            case CREATED_DATE, UPDATE_DATE -> {
+                long micros = buffer.getLong();
+                yield LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                        (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+            }
+        };
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
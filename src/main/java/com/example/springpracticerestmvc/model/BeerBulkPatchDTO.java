@@ -0,0 +1,38 @@
+package com.example.springpracticerestmvc.model;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One item of a bulk price and inventory update. Fields left null keep their current value.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerBulkPatchDTO {
+
+    @NotNull
+    private UUID id;
+
+    /**
+     * The version the client last read; the update is rejected as a conflict if the beer changed since.
+     */
+    @NotNull
+    private Integer version;
+
+    @Positive
+    private BigDecimal price;
+
+    @Min(value = 0, message = "Quantity on hand must not be negative")
+    private Integer quantityOnHand;
+
+}
@@ -53,4 +53,22 @@ public class BeerCSVRecord {
     @CsvBindByName
     private String label;
 
+    /**
+     * Maps the style column to the nearest beer style; unknown styles become pilsners.
+     *
+     * @return The beer style of this record.
+     */
+    public BeerStyle toBeerStyle() {
+        return switch (style) {
+            case "American Pale Lager", "English Pale Ale" -> BeerStyle.PALE_ALE;
+            case "American Pale Ale (APA)", "American Black Ale", "Belgian Dark Ale", "American Blonde Ale" ->
+                    BeerStyle.ALE;
+            case "American IPA", "American Double / Imperial IPA", "Belgian IPA" -> BeerStyle.IPA;
+            case "American Porter" -> BeerStyle.PORTER;
+            case "Oatmeal Stout", "American Stout" -> BeerStyle.STOUT;
+            case "Saison / Farmhouse Ale" -> BeerStyle.SAISON;
+            case "Fruit / Vegetable Beer", "Winter Warmer", "Berliner Weissbier" -> BeerStyle.WHEAT;
+            case null, default -> BeerStyle.PILSNER;
+        };
+    }
 }
@@ -0,0 +1,54 @@
+package com.example.springpracticerestmvc.model;
+
+import com.example.springpracticerestmvc.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Seek position for keyset pagination over beers ordered by (beerName, id).
+ * Clients only ever see the opaque, URL-safe encoded form.
+ */
+public record BeerCursor(String beerName, UUID id) {
+
+    /**
+     * Cursor positioned before the first beer. Beer names are never blank, so every row sorts after it.
+     */
+    public static final BeerCursor START = new BeerCursor("", new UUID(0L, 0L));
+
+    private static final int UUID_LENGTH = 36;
+
+    /**
+     * Encodes this cursor into an opaque continuation token.
+     *
+     * @return The URL-safe token.
+     */
+    public String encode() {
+        String raw = id.toString() + beerName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token. A blank token starts from the beginning.
+     *
+     * @param token The token returned by a previous page, or blank for the first page.
+     * @return The decoded cursor.
+     * @throws InvalidCursorException if the token was not produced by {@link #encode()}.
+     */
+    public static BeerCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.length() <= UUID_LENGTH) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            return new BeerCursor(raw.substring(UUID_LENGTH), UUID.fromString(raw.substring(0, UUID_LENGTH)));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException("Malformed cursor", exception);
+        }
+    }
+}
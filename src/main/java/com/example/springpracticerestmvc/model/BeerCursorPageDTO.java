@@ -0,0 +1,24 @@
+package com.example.springpracticerestmvc.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BeerCursorPageDTO {
+
+    private List<BeerDTO> content;
+
+    private Integer pageSize;
+
+    /**
+     * Token for the following page, or null when this is the last page.
+     */
+    private String nextCursor;
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
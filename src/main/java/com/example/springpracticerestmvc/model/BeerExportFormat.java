@@ -0,0 +1,17 @@
+package com.example.springpracticerestmvc.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Output formats of the beer catalog export.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BeerExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+}
@@ -0,0 +1,27 @@
+package com.example.springpracticerestmvc.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerImportJobDTO {
+    private UUID id;
+    private String fileName;
+    private Long fileSize;
+    private BeerImportStatus status;
+    // Data rows of the file that are done, imported or rejected; a resumed import continues after them
+    private long rowsCommitted;
+    private long beersImported;
+    private long rowsRejected;
+    private String lastError;
+    private LocalDateTime createdDate;
+    private LocalDateTime updateDate;
+}
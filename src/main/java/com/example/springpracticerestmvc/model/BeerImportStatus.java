@@ -0,0 +1,5 @@
+package com.example.springpracticerestmvc.model;
+
+public enum BeerImportStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
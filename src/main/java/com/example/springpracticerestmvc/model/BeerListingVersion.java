@@ -0,0 +1,9 @@
+package com.example.springpracticerestmvc.model;
+
+/**
+ * Version of the beer listings, for answering conditional list requests without querying.
+ *
+ * @param eTag The quoted entity tag of the listings.
+ */
+public record BeerListingVersion(String eTag) {
+}
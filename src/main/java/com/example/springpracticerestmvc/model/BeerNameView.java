@@ -0,0 +1,6 @@
+package com.example.springpracticerestmvc.model;
+
+import java.util.UUID;
+
+public record BeerNameView(UUID id, String beerName, BeerStyle beerStyle) {
+}
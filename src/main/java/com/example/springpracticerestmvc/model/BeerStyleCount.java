@@ -0,0 +1,4 @@
+package com.example.springpracticerestmvc.model;
+
+public record BeerStyleCount(BeerStyle beerStyle, Long total) {
+}
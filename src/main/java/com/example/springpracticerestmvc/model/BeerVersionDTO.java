@@ -0,0 +1,25 @@
+package com.example.springpracticerestmvc.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerVersionDTO {
+    private UUID auditId;
+    private String auditEventType;
+    private String principalName;
+    private LocalDateTime createdDateAudit;
+    // Fields set or cleared by this change
+    private Set<BeerAuditDelta.Field> changedFields;
+    // The beer after this change; after a deletion, the beer as it was deleted
+    private BeerDTO beer;
+}
@@ -0,0 +1,41 @@
+package com.example.springpracticerestmvc.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a bulk request.
+ *
+ * @param index   The position of the item in the request, starting at 0.
+ * @param status  What happened to the item.
+ * @param id      The id of the affected beer, if any.
+ * @param version The version of the beer after the change, or its current version on a conflict.
+ * @param errors  Why the item was not written; empty otherwise.
+ */
+public record BulkItemResultDTO(int index, BulkItemStatus status, UUID id, Integer version, List<String> errors) {
+
+    public static BulkItemResultDTO created(int index, UUID id, Integer version) {
+        return new BulkItemResultDTO(index, BulkItemStatus.CREATED, id, version, List.of());
+    }
+
+    public static BulkItemResultDTO updated(int index, UUID id, Integer version) {
+        return new BulkItemResultDTO(index, BulkItemStatus.UPDATED, id, version, List.of());
+    }
+
+    public static BulkItemResultDTO notFound(int index, UUID id) {
+        return new BulkItemResultDTO(index, BulkItemStatus.NOT_FOUND, id, null, List.of("beer not found"));
+    }
+
+    public static BulkItemResultDTO conflict(int index, UUID id, Integer expectedVersion, Integer currentVersion) {
+        return new BulkItemResultDTO(index, BulkItemStatus.CONFLICT, id, currentVersion,
+                List.of("expected version " + expectedVersion + " but found " + currentVersion));
+    }
+
+    public static BulkItemResultDTO invalid(int index, List<String> errors) {
+        return new BulkItemResultDTO(index, BulkItemStatus.INVALID, null, null, errors);
+    }
+
+    public static BulkItemResultDTO failed(int index, String error) {
+        return new BulkItemResultDTO(index, BulkItemStatus.FAILED, null, null, List.of(error));
+    }
+}
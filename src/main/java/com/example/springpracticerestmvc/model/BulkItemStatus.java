@@ -0,0 +1,5 @@
+package com.example.springpracticerestmvc.model;
+
+public enum BulkItemStatus {
+    CREATED, UPDATED, INVALID, NOT_FOUND, CONFLICT, FAILED
+}
@@ -0,0 +1,28 @@
+package com.example.springpracticerestmvc.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A page of results returned without running a count query.
+ */
+@Data
+@Builder
+public class SliceDTO<T> {
+
+    private List<T> content;
+
+    private Integer pageNumber;
+
+    private Integer pageSize;
+
+    private boolean hasNext;
+
+    /**
+     * Periodically refreshed estimate of the total number of matching rows,
+     * or null when no estimate is available for the requested filter.
+     */
+    private Long estimatedTotal;
+}
@@ -0,0 +1,20 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+
+import java.util.List;
+
+/**
+ * Bulk writes to the beer audit table that bypass the persistence context.
+ */
+public interface BeerAuditBatchRepository {
+
+    /**
+     * Inserts audit records with JDBC batch statements, in the current transaction.
+     * The records must already carry their audit id and audit timestamp; nothing is generated on insert.
+     *
+     * @param beerAudits The audit records to insert.
+     * @param batchSize  The number of rows sent per JDBC batch.
+     */
+    void insertAll(List<BeerAudit> beerAudits, int batchSize);
+}
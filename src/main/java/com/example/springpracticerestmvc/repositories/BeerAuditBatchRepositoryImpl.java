@@ -0,0 +1,46 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link BeerAuditBatchRepository}.
+ * Rows are sent as batched prepared statements; the MySQL driver rewrites them into multi-row inserts
+ * ({@code rewriteBatchStatements} in the localdb profile).
+ */
+@RequiredArgsConstructor
+class BeerAuditBatchRepositoryImpl implements BeerAuditBatchRepository {
+
+    private static final String INSERT_BEER_AUDIT = "insert into beer_audit " +
+            "(audit_id, id, version, delta, beer_name, beer_style, upc, quantity_on_hand, price, created_date, " +
+            "update_date, created_date_audit, principal_name, audit_event_type) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<BeerAudit> beerAudits, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_BEER_AUDIT, beerAudits, batchSize, (statement, beerAudit) -> {
+            statement.setString(1, beerAudit.getAuditId().toString());
+            statement.setString(2, beerAudit.getId().toString());
+            statement.setObject(3, beerAudit.getVersion(), Types.INTEGER);
+            statement.setBytes(4, beerAudit.getDelta());
+            statement.setString(5, beerAudit.getBeerName());
+            // The audit entity maps the style by ordinal
+            statement.setObject(6, beerAudit.getBeerStyle() == null ? null : beerAudit.getBeerStyle().ordinal(),
+                    Types.SMALLINT);
+            statement.setString(7, beerAudit.getUpc());
+            statement.setObject(8, beerAudit.getQuantityOnHand(), Types.INTEGER);
+            statement.setBigDecimal(9, beerAudit.getPrice());
+            statement.setObject(10, beerAudit.getCreatedDate());
+            statement.setObject(11, beerAudit.getUpdateDate());
+            statement.setObject(12, beerAudit.getCreatedDateAudit());
+            statement.setString(13, beerAudit.getPrincipalName());
+            statement.setString(14, beerAudit.getAuditEventType());
+        });
+    }
+}
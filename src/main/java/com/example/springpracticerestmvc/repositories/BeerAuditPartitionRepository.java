@@ -0,0 +1,53 @@
+package com.example.springpracticerestmvc.repositories;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maintenance of the monthly range partitions of the beer audit table.
+ * On databases without partitioning, such as H2 in the tests, there are no partitions and expired records are
+ * deleted row by row instead.
+ */
+public interface BeerAuditPartitionRepository {
+
+    /**
+     * Returns the partitions of the audit table in the order of their bounds; the last one may be unbounded.
+     *
+     * @return The partitions, or an empty list if the table is not partitioned.
+     */
+    List<Partition> findPartitions();
+
+    /**
+     * Adds partitions after the last bounded one. An unbounded last partition is split, which only moves
+     * metadata as long as it holds no records.
+     *
+     * @param partitions The partitions to add, in the order of their bounds.
+     */
+    void addPartitions(List<Partition> partitions);
+
+    /**
+     * Drops partitions with all of their records.
+     *
+     * @param names The names of the partitions.
+     */
+    void dropPartitions(List<String> names);
+
+    /**
+     * Deletes up to a number of the oldest audit records created before a time, for unpartitioned tables.
+     *
+     * @param createdDateAudit The time before which records are deleted.
+     * @param limit            The maximum number of records to delete.
+     * @return The number of records deleted.
+     */
+    int deleteCreatedBefore(LocalDateTime createdDateAudit, int limit);
+
+    /**
+     * A partition holding the audit records created before its bound.
+     *
+     * @param name     The name of the partition.
+     * @param lessThan The first day after the partition, or null for the unbounded last partition.
+     */
+    record Partition(String name, LocalDate lessThan) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.springpracticerestmvc.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link BeerAuditPartitionRepository} for MySQL range partitions.
+ * Partition changes are DDL statements, which MySQL commits on their own.
+ */
+@RequiredArgsConstructor
+class BeerAuditPartitionRepositoryImpl implements BeerAuditPartitionRepository {
+
+    private static final String FIND_PARTITIONS = "select partition_name, partition_description " +
+            "from information_schema.partitions " +
+            "where table_schema = database() and table_name = 'beer_audit' and partition_name is not null " +
+            "order by partition_ordinal_position";
+
+    private static final String MAXVALUE = "MAXVALUE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean mysql;
+
+    @Override
+    public List<Partition> findPartitions() {
+        if (!isMysql()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_PARTITIONS, (resultSet, rowNum) -> {
+            // The bound of a RANGE COLUMNS partition reads like '2026-11-01 00:00:00'
+            String description = resultSet.getString(2);
+            return new Partition(resultSet.getString(1), MAXVALUE.equals(description)
+                    ? null
+                    : LocalDate.parse(description.substring(1, 11)));
+        });
+    }
+
+    @Override
+    public void addPartitions(List<Partition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        List<Partition> existing = findPartitions();
+        Partition last = existing.getLast();
+        String added = partitions.stream().map(BeerAuditPartitionRepositoryImpl::definition)
+                .collect(Collectors.joining(", "));
+        if (last.lessThan() == null) {
+            jdbcTemplate.execute("alter table beer_audit reorganize partition " + last.name() + " into (" +
+                    added + ", " + definition(last) + ")");
+        } else {
+            jdbcTemplate.execute("alter table beer_audit add partition (" + added + ")");
+        }
+    }
+
+    @Override
+    public void dropPartitions(List<String> names) {
+        if (!names.isEmpty()) {
+            jdbcTemplate.execute("alter table beer_audit drop partition " + String.join(", ", names));
+        }
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime createdDateAudit, int limit) {
+        List<String> auditIds = jdbcTemplate.queryForList(
+                "select audit_id from beer_audit where created_date_audit < ? order by created_date_audit limit ?",
+                String.class, createdDateAudit, limit);
+        if (auditIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("delete from beer_audit where audit_id in (" +
+                String.join(", ", auditIds.stream().map(auditId -> "?").toList()) + ")", auditIds.toArray());
+    }
+
+    private static String definition(Partition partition) {
+        return "partition " + partition.name() + " values less than (" +
+                (partition.lessThan() == null ? MAXVALUE : "'" + partition.lessThan() + "'") + ")";
+    }
+
+    private boolean isMysql() {
+        if (mysql == null) {
+            mysql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "MySQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return mysql;
+    }
+}
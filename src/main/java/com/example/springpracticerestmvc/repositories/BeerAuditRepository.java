@@ -2,8 +2,31 @@ package com.example.springpracticerestmvc.repositories;
 
 import com.example.springpracticerestmvc.entities.BeerAudit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
-public interface BeerAuditRepository extends JpaRepository<BeerAudit, UUID> {
+public interface BeerAuditRepository extends JpaRepository<BeerAudit, UUID>, BeerAuditBatchRepository,
+        BeerAuditSearchRepository, BeerAuditPartitionRepository {
+
+    String CHANGE_ORDER = "case when a.auditEventType = 'BEER_DELETED' then 1 else 0 end, a.version, "
+            + "a.createdDateAudit";
+
+    // Audit records of a beer in the order of its changes: by version, since coalesced changes may be audited after
+    // later bulk changes, and the deletion, which older records have without a version, last
+    @Query("select a from BeerAudit a where a.id = :beerId order by " + CHANGE_ORDER)
+    List<BeerAudit> findAllByBeerIdInOrder(UUID beerId);
+
+    // Audit records of a beer created before a time, in the order of its changes
+    @Query("select a from BeerAudit a where a.id = :beerId and a.createdDateAudit < :before order by " + CHANGE_ORDER)
+    List<BeerAudit> findAllByBeerIdBeforeInOrder(UUID beerId, LocalDateTime before);
+
+    // Beers with audit records both before and from a time on, and no baseline at that time yet
+    @Query("select distinct a.id from BeerAudit a where a.createdDateAudit < :time and exists " +
+            "(select b.auditId from BeerAudit b where b.id = a.id and b.createdDateAudit >= :time) and not exists " +
+            "(select c.auditId from BeerAudit c where c.id = a.id and c.createdDateAudit = :time " +
+            "and c.auditEventType = 'BEER_BASELINE')")
+    List<UUID> findBeerIdsWithRecordsAround(LocalDateTime time);
 }
@@ -0,0 +1,31 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.model.BeerAuditCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset-paginated search over the beer audit table.
+ */
+public interface BeerAuditSearchRepository {
+
+    /**
+     * Finds audit records newest first, ordered by (createdDateAudit, auditId), starting strictly after a cursor.
+     * A filter by beer or by principal is answered from the (id, created_date_audit) or
+     * (principal_name, created_date_audit) index; the other filters narrow the rows read from it.
+     *
+     * @param beerId         The beer to filter by (optional).
+     * @param principalName  The principal to filter by (optional).
+     * @param auditEventType The event type to filter by (optional).
+     * @param from           The earliest audit time, inclusive (optional).
+     * @param to             The latest audit time, exclusive (optional).
+     * @param after          The last record of the previous page, or null for the first page.
+     * @param limit          The maximum number of records to return.
+     * @return The audit records, loaded read-only.
+     */
+    List<BeerAudit> search(UUID beerId, String principalName, String auditEventType, LocalDateTime from,
+                           LocalDateTime to, BeerAuditCursor after, int limit);
+}
@@ -0,0 +1,68 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.model.BeerAuditCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JPQL implementation of {@link BeerAuditSearchRepository}.
+ * The query is built from the given filters only, so that each combination gets a plain, index-friendly plan.
+ */
+class BeerAuditSearchRepositoryImpl implements BeerAuditSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BeerAudit> search(UUID beerId, String principalName, String auditEventType, LocalDateTime from,
+                                  LocalDateTime to, BeerAuditCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (beerId != null) {
+            predicates.add("a.id = :beerId");
+            parameters.put("beerId", beerId);
+        }
+        if (principalName != null) {
+            predicates.add("a.principalName = :principalName");
+            parameters.put("principalName", principalName);
+        }
+        if (auditEventType != null) {
+            predicates.add("a.auditEventType = :auditEventType");
+            parameters.put("auditEventType", auditEventType);
+        }
+        if (from != null) {
+            predicates.add("a.createdDateAudit >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            predicates.add("a.createdDateAudit < :to");
+            parameters.put("to", to);
+        }
+        if (after != null) {
+            predicates.add("(a.createdDateAudit < :afterDate " +
+                    "or (a.createdDateAudit = :afterDate and a.auditId < :afterId))");
+            parameters.put("afterDate", after.createdDateAudit());
+            parameters.put("afterId", after.auditId());
+        }
+
+        String where = predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+        TypedQuery<BeerAudit> query = entityManager.createQuery(
+                        "select a from BeerAudit a" + where + " order by a.createdDateAudit desc, a.auditId desc",
+                        BeerAudit.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.model.BeerBulkPatchDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk writes to the beer table that bypass the persistence context.
+ */
+public interface BeerBatchRepository {
+
+    /**
+     * Inserts new beers with JDBC batch statements, in the current transaction.
+     * The beers must already carry their id, version and timestamps; nothing is generated on insert.
+     *
+     * @param beers     The beers to insert.
+     * @param batchSize The number of rows sent per JDBC batch.
+     */
+    void insertAll(List<Beer> beers, int batchSize);
+
+    /**
+     * Updates price and inventory with JDBC batch statements, in the current transaction.
+     * Each row is only updated if its version still matches the patch; updated rows get the next version.
+     *
+     * @param patches    The updates; null fields keep their current value.
+     * @param updateDate The update timestamp to set.
+     * @param batchSize  The number of rows sent per JDBC batch.
+     * @return The number of rows updated per patch, in patch order: 1 if applied, 0 if missing or outdated.
+     */
+    int[] updatePriceAndInventory(List<BeerBulkPatchDTO> patches, LocalDateTime updateDate, int batchSize);
+}
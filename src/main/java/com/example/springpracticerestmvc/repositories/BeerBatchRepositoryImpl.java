@@ -0,0 +1,58 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.model.BeerBulkPatchDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link BeerBatchRepository}.
+ * Rows are sent as batched prepared statements; the MySQL driver rewrites them into multi-row inserts
+ * ({@code rewriteBatchStatements} in the localdb profile).
+ */
+@RequiredArgsConstructor
+class BeerBatchRepositoryImpl implements BeerBatchRepository {
+
+    private static final String INSERT_BEER = "insert into beer " +
+            "(id, version, beer_name, beer_style, upc, quantity_on_hand, price, created_date, update_date) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_PRICE_AND_INVENTORY = "update beer " +
+            "set price = coalesce(?, price), quantity_on_hand = coalesce(?, quantity_on_hand), " +
+            "version = version + 1, update_date = ? " +
+            "where id = ? and version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Beer> beers, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_BEER, beers, batchSize, (statement, beer) -> {
+            statement.setString(1, beer.getId().toString());
+            statement.setObject(2, beer.getVersion());
+            statement.setString(3, beer.getBeerName());
+            statement.setString(4, beer.getBeerStyle().name());
+            statement.setString(5, beer.getUpc());
+            statement.setObject(6, beer.getQuantityOnHand());
+            statement.setBigDecimal(7, beer.getPrice());
+            statement.setObject(8, beer.getCreatedDate());
+            statement.setObject(9, beer.getUpdateDate());
+        });
+    }
+
+    @Override
+    public int[] updatePriceAndInventory(List<BeerBulkPatchDTO> patches, LocalDateTime updateDate, int batchSize) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_PRICE_AND_INVENTORY, patches, batchSize, (statement, patch) -> {
+            statement.setBigDecimal(1, patch.getPrice());
+            statement.setObject(2, patch.getQuantityOnHand(), Types.INTEGER);
+            statement.setObject(3, updateDate);
+            statement.setString(4, patch.getId().toString());
+            statement.setInt(5, patch.getVersion());
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+    }
+}
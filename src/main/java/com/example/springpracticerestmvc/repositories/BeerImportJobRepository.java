@@ -0,0 +1,52 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.BeerImportJob;
+import com.example.springpracticerestmvc.model.BeerImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BeerImportJobRepository extends JpaRepository<BeerImportJob, UUID> {
+
+    Optional<BeerImportJob> findByFilePath(String filePath);
+
+    // Bulk update rather than a managed entity, so the checkpoint is a single statement in the chunk transaction.
+    // Every change of a job increments its version, so a run owns the job only while the version is the one its
+    // last change left; a run whose job was taken over updates nothing
+    @Modifying
+    @Query("update BeerImportJob j set j.rowsCommitted = :rowsCommitted, " +
+            "j.beersImported = j.beersImported + :beersImported, j.rowsRejected = j.rowsRejected + :rowsRejected, " +
+            "j.lastError = coalesce(:lastError, j.lastError), j.updateDate = :updateDate, j.version = j.version + 1 " +
+            "where j.id = :id and j.version = :version " +
+            "and j.status = com.example.springpracticerestmvc.model.BeerImportStatus.RUNNING")
+    int checkpoint(UUID id, int version, long rowsCommitted, long beersImported, long rowsRejected, String lastError,
+                   LocalDateTime updateDate);
+
+    // Claims a job for a (new) run: failed jobs, and pending or running jobs that stopped checkpointing
+    @Modifying
+    @Query("update BeerImportJob j set j.status = com.example.springpracticerestmvc.model.BeerImportStatus.PENDING, " +
+            "j.updateDate = :updateDate, j.version = j.version + 1 " +
+            "where j.id = :id and j.version = :version and (j.status = com.example.springpracticerestmvc.model.BeerImportStatus.FAILED " +
+            "or (j.status <> com.example.springpracticerestmvc.model.BeerImportStatus.COMPLETED " +
+            "and j.updateDate < :staleBefore))")
+    int markPending(UUID id, int version, LocalDateTime staleBefore, LocalDateTime updateDate);
+
+    @Modifying
+    @Query("update BeerImportJob j set j.status = com.example.springpracticerestmvc.model.BeerImportStatus.RUNNING, " +
+            "j.updateDate = :updateDate, j.version = j.version + 1 " +
+            "where j.id = :id and j.version = :version " +
+            "and j.status = com.example.springpracticerestmvc.model.BeerImportStatus.PENDING")
+    int markRunning(UUID id, int version, LocalDateTime updateDate);
+
+    // Finishes a run, or fails a job whose run could not be submitted
+    @Modifying
+    @Query("update BeerImportJob j set j.status = :status, j.lastError = coalesce(:lastError, j.lastError), " +
+            "j.updateDate = :updateDate, j.version = j.version + 1 where j.id = :id and j.version = :version " +
+            "and j.status in (com.example.springpracticerestmvc.model.BeerImportStatus.PENDING, " +
+            "com.example.springpracticerestmvc.model.BeerImportStatus.RUNNING)")
+    int updateStatus(UUID id, int version, BeerImportStatus status, String lastError, LocalDateTime updateDate);
+}
@@ -0,0 +1,81 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read-only listing queries that select beer columns straight into BeerDTOs instead of loading managed entities.
+ * The quantity on hand column is only selected when inventory is requested.
+ */
+public interface BeerListingRepository {
+
+    /**
+     * Lists beers as DTOs with optional filters.
+     *
+     * @param beerNamePattern The LIKE pattern to match beer names against, ignoring case (optional).
+     * @param beerStyle       The style to filter by (optional).
+     * @param showInventory   Whether to select the quantity on hand.
+     * @param pageable        The pagination and sort information.
+     * @return A Page of BeerDTO objects.
+     */
+    Page<BeerDTO> findBeerDtos(String beerNamePattern, BeerStyle beerStyle, boolean showInventory, Pageable pageable);
+
+    /**
+     * Lists beers as DTOs with optional filters, without counting the matching rows.
+     * One extra row is fetched to decide whether a following page exists.
+     *
+     * @param beerNamePattern The LIKE pattern to match beer names against, ignoring case (optional).
+     * @param beerStyle       The style to filter by (optional).
+     * @param showInventory   Whether to select the quantity on hand.
+     * @param pageable        The pagination and sort information.
+     * @return A Slice of BeerDTO objects.
+     */
+    Slice<BeerDTO> findBeerDtoSlice(String beerNamePattern, BeerStyle beerStyle, boolean showInventory,
+                                    Pageable pageable);
+
+    /**
+     * Lists beers as DTOs ordered by (beerName, id), starting strictly after the given position (keyset).
+     *
+     * @param beerNamePattern The LIKE pattern to match beer names against, ignoring case (optional).
+     * @param beerStyle       The style to filter by (optional).
+     * @param showInventory   Whether to select the quantity on hand.
+     * @param lastBeerName    The name of the last beer of the previous page.
+     * @param lastId          The id of the last beer of the previous page.
+     * @param limit           The maximum number of beers to return.
+     * @return The BeerDTO objects, in (beerName, id) order.
+     */
+    List<BeerDTO> findBeerDtosAfter(String beerNamePattern, BeerStyle beerStyle, boolean showInventory,
+                                    String lastBeerName, UUID lastId, int limit);
+
+    /**
+     * Loads the given beers as DTOs, in no particular order.
+     *
+     * @param ids           The ids of the beers to load.
+     * @param showInventory Whether to select the quantity on hand.
+     * @return The BeerDTO objects found.
+     */
+    List<BeerDTO> findBeerDtosById(Collection<UUID> ids, boolean showInventory);
+
+    /**
+     * Passes every matching beer to the given action, reading the rows through a forward-only cursor.
+     * Rows are fetched in batches of the given size and are not retained, so memory use does not depend on the
+     * number of matches. Must be called within a transaction, which keeps the cursor open.
+     *
+     * @param beerNamePattern The LIKE pattern to match beer names against, ignoring case (optional).
+     * @param beerStyle       The style to filter by (optional).
+     * @param showInventory   Whether to select the quantity on hand.
+     * @param fetchSize       The number of rows fetched from the database per round trip.
+     * @param action          The action to apply to each beer, in id order.
+     * @return The number of beers passed to the action.
+     */
+    long scrollBeerDtos(String beerNamePattern, BeerStyle beerStyle, boolean showInventory, int fetchSize,
+                        Consumer<BeerDTO> action);
+}
@@ -0,0 +1,175 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * JPQL implementation of {@link BeerListingRepository}.
+ * Rows come back as plain column tuples, so nothing is added to the persistence context and no dirty-checking
+ * snapshots are taken.
+ */
+class BeerListingRepositoryImpl implements BeerListingRepository {
+
+    private static final String COLUMNS =
+            "b.id, b.version, b.beerName, b.beerStyle, b.upc, b.price, b.createdDate, b.updateDate";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<BeerDTO> findBeerDtos(String beerNamePattern, BeerStyle beerStyle, boolean showInventory, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = whereClause(beerNamePattern, beerStyle, parameters);
+
+        String select = QueryUtils.applySorting(selectClause(showInventory) + " from Beer b" + where, pageable.getSort(), "b");
+        TypedQuery<Object[]> query = entityManager.createQuery(select, Object[].class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        List<BeerDTO> content = query.getResultList().stream()
+                .map(row -> toBeerDto(row, showInventory))
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery("select count(b) from Beer b" + where, Long.class);
+            parameters.forEach(count::setParameter);
+            return count.getSingleResult();
+        });
+    }
+
+    @Override
+    public Slice<BeerDTO> findBeerDtoSlice(String beerNamePattern, BeerStyle beerStyle, boolean showInventory,
+                                           Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = whereClause(beerNamePattern, beerStyle, parameters);
+
+        String select = QueryUtils.applySorting(selectClause(showInventory) + " from Beer b" + where, pageable.getSort(), "b");
+        TypedQuery<Object[]> query = entityManager.createQuery(select, Object[].class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + 1);
+        }
+
+        List<BeerDTO> content = query.getResultList().stream()
+                .map(row -> toBeerDto(row, showInventory))
+                .toList();
+
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public List<BeerDTO> findBeerDtosAfter(String beerNamePattern, BeerStyle beerStyle, boolean showInventory,
+                                           String lastBeerName, UUID lastId, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = whereClause(beerNamePattern, beerStyle, parameters);
+        parameters.put("lastBeerName", lastBeerName);
+        parameters.put("lastId", lastId);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(selectClause(showInventory) + " from Beer b" +
+                (where.isEmpty() ? " where " : where + " and ") +
+                "(b.beerName > :lastBeerName or (b.beerName = :lastBeerName and b.id > :lastId)) " +
+                "order by b.beerName, b.id", Object[].class);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(limit);
+
+        return query.getResultList().stream()
+                .map(row -> toBeerDto(row, showInventory))
+                .toList();
+    }
+
+    @Override
+    public List<BeerDTO> findBeerDtosById(Collection<UUID> ids, boolean showInventory) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(selectClause(showInventory) + " from Beer b where b.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .map(row -> toBeerDto(row, showInventory))
+                .toList();
+    }
+
+    @Override
+    public long scrollBeerDtos(String beerNamePattern, BeerStyle beerStyle, boolean showInventory, int fetchSize,
+                               Consumer<BeerDTO> action) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = whereClause(beerNamePattern, beerStyle, parameters);
+
+        @SuppressWarnings("unchecked")
+        Query<Object[]> query = entityManager
+                .createQuery(selectClause(showInventory) + " from Beer b" + where + " order by b.id", Object[].class)
+                .unwrap(Query.class);
+        parameters.forEach(query::setParameter);
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+
+        long count = 0;
+        try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                action.accept(toBeerDto(rows.get(), showInventory));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String whereClause(String beerNamePattern, BeerStyle beerStyle, Map<String, Object> parameters) {
+        List<String> predicates = new ArrayList<>();
+
+        if (beerNamePattern != null) {
+            predicates.add("upper(b.beerName) like upper(:beerName)");
+            parameters.put("beerName", beerNamePattern);
+        }
+        if (beerStyle != null) {
+            predicates.add("b.beerStyle = :beerStyle");
+            parameters.put("beerStyle", beerStyle);
+        }
+        return predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+    }
+
+    private static String selectClause(boolean showInventory) {
+        return "select " + COLUMNS + (showInventory ? ", b.quantityOnHand" : "");
+    }
+
+    private static BeerDTO toBeerDto(Object[] row, boolean showInventory) {
+        return new BeerDTO(
+                (UUID) row[0],
+                (Integer) row[1],
+                (String) row[2],
+                (BeerStyle) row[3],
+                (String) row[4],
+                showInventory ? (Integer) row[8] : null,
+                (BigDecimal) row[5],
+                (LocalDateTime) row[6],
+                (LocalDateTime) row[7]
+        );
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.springpracticerestmvc.repositories;
 
 import com.example.springpracticerestmvc.entities.BeerOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface BeerOrderRepository extends JpaRepository<BeerOrder, UUID> {
+
+    Slice<BeerOrder> findSliceBy(Pageable pageable);
+
+    @Query("select o.version from BeerOrder o where o.id = :beerOrderId")
+    Optional<Long> findVersionById(UUID beerOrderId);
 }
\ No newline at end of file
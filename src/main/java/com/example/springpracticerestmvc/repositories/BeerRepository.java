@@ -1,17 +1,41 @@
 package com.example.springpracticerestmvc.repositories;
 
 import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.model.BeerNameView;
 import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerStyleCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface BeerRepository extends JpaRepository<Beer, UUID> {
+public interface BeerRepository extends JpaRepository<Beer, UUID>, BeerListingRepository, BeerBatchRepository {
     Page<Beer> findAllByBeerNameIsLikeIgnoreCase(String beerName, Pageable pageable);
 
     Page<Beer> findAllByBeerStyle(BeerStyle beerStyle, Pageable pageable);
 
     Page<Beer> findAllByBeerNameIsLikeIgnoreCaseAndBeerStyle(String beerName, BeerStyle beerStyle, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("select new com.example.springpracticerestmvc.model.BeerStyleCount(b.beerStyle, count(b)) " +
+            "from Beer b group by b.beerStyle")
+    List<BeerStyleCount> countGroupByBeerStyle();
+
+    @Query("select b.version from Beer b where b.id = :beerId")
+    Optional<Integer> findVersionById(UUID beerId);
+
+    List<Beer> findAllByBeerNameStartingWithIgnoreCaseOrderByBeerName(String prefix, Limit limit);
+
+    @Query("select new com.example.springpracticerestmvc.model.BeerNameView(b.id, b.beerName, b.beerStyle) from Beer b")
+    Stream<BeerNameView> streamAllNames();
+
+    @Query("select new com.example.springpracticerestmvc.model.BeerNameView(b.id, b.beerName, b.beerStyle) " +
+            "from Beer b where b.id in :ids")
+    List<BeerNameView> findAllNamesByIdIn(Collection<UUID> ids);
+}
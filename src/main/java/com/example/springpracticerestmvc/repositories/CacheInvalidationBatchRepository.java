@@ -0,0 +1,25 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.CacheInvalidationBatch;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CacheInvalidationBatchRepository extends JpaRepository<CacheInvalidationBatch, Long> {
+
+    List<CacheInvalidationBatch> findByIdGreaterThanAndNodeIdNotOrderById(Long id, String nodeId, Limit limit);
+
+    @Query("select max(b.id) from CacheInvalidationBatch b")
+    Optional<Long> findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from CacheInvalidationBatch b where b.createdDate < :createdDate")
+    int deleteCreatedBefore(LocalDateTime createdDate);
+}
@@ -2,8 +2,13 @@ package com.example.springpracticerestmvc.repositories;
 
 import com.example.springpracticerestmvc.entities.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
+
+    @Query("select c.version from Customer c where c.id = :customerId")
+    Optional<Integer> findVersionById(UUID customerId);
 }
\ No newline at end of file
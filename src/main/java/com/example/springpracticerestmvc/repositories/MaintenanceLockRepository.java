@@ -0,0 +1,32 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.MaintenanceLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface MaintenanceLockRepository extends JpaRepository<MaintenanceLock, String> {
+
+    // Takes the lock if it is free or its holder let it run out; the update is atomic, so one node at most gets it
+    @Transactional
+    @Modifying
+    @Query("update MaintenanceLock l set l.lockedBy = :lockedBy, l.lockedUntil = :lockedUntil " +
+            "where l.name = :name and (l.lockedUntil is null or l.lockedUntil < :now)")
+    int acquire(String name, String lockedBy, LocalDateTime now, LocalDateTime lockedUntil);
+
+    // Creates a lock taken by its creator; fails with a duplicate key when the lock exists, whoever holds it
+    @Transactional
+    @Modifying
+    @Query(value = "insert into maintenance_lock (name, locked_by, locked_until) values (:name, :lockedBy, :lockedUntil)",
+            nativeQuery = true)
+    int create(String name, String lockedBy, LocalDateTime lockedUntil);
+
+    @Transactional
+    @Modifying
+    @Query("update MaintenanceLock l set l.lockedBy = null, l.lockedUntil = null " +
+            "where l.name = :name and l.lockedBy = :lockedBy")
+    int release(String name, String lockedBy);
+}
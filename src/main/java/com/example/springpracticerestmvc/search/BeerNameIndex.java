@@ -0,0 +1,40 @@
+package com.example.springpracticerestmvc.search;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * An in-memory index over beer names, kept in step with the beer table by
+ * {@link com.example.springpracticerestmvc.listeners.BeerNameIndexListener}.
+ */
+public interface BeerNameIndex {
+
+    void put(UUID id, String beerName, BeerStyle beerStyle);
+
+    void remove(UUID id);
+
+    void clear();
+
+    /**
+     * Marks the index as fully loaded; until then callers should fall back to the database.
+     */
+    void markReady();
+
+    boolean isReady();
+
+    int size();
+
+    long estimatedBytes();
+
+    /**
+     * Normalizes a beer name or search term so that lookups ignore case.
+     *
+     * @param value The raw name or term.
+     * @return The lower-cased value.
+     */
+    static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.springpracticerestmvc.search;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over lower-cased beer names for substring and typo-tolerant search.
+ * <p>
+ * Every beer gets an int ordinal and each distinct trigram of its name maps to the list of ordinals
+ * containing it. A substring query only has to walk the shortest posting list among its own trigrams
+ * and verify each candidate, instead of scanning the whole table with {@code LIKE '%term%'}.
+ * Terms shorter than three characters fall back to a scan of the in-memory names.
+ * <p>
+ * Names are indexed with two leading and one trailing blank, so that word boundaries and short names
+ * contribute trigrams too. A similarity query merges the posting lists of its own padded trigrams to count
+ * the trigrams each candidate shares with it and scores them as
+ * {@code shared / (queryGrams + nameGrams - shared)}, the same measure as PostgreSQL's {@code pg_trgm}.
+ */
+@Component
+public class BeerNameNgramIndex implements BeerNameIndex, MeterBinder {
+
+    static final int GRAM = 3;
+
+    /**
+     * Default minimum similarity for fuzzy matches, matching {@code pg_trgm.similarity_threshold}.
+     */
+    public static final double DEFAULT_SIMILARITY_THRESHOLD = 0.3;
+
+    // Rough per-object sizes on a 64-bit JVM with compressed oops, used for the memory estimate
+    private static final long ENTRY_OVERHEAD_BYTES = 120;
+    private static final long POSTING_LIST_OVERHEAD_BYTES = 88;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinalById = new HashMap<>();
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Queue<int[]> scratchCounts = new ConcurrentLinkedQueue<>();
+
+    private UUID[] ids = new UUID[1024];
+    private String[] names = new String[1024];
+    private BeerStyle[] styles = new BeerStyle[1024];
+    private int[] gramCounts = new int[1024];
+    private int highWater;
+    private long totalPostings;
+    private long totalNameChars;
+    private volatile boolean ready;
+
+    @Override
+    public void put(UUID id, String beerName, BeerStyle beerStyle) {
+        if (id == null || beerName == null) {
+            return;
+        }
+        String normalized = BeerNameIndex.normalize(beerName);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalById.get(id);
+            if (existing != null) {
+                if (normalized.equals(names[existing]) && beerStyle == styles[existing]) {
+                    return;
+                }
+                unindex(existing);
+            }
+
+            int ordinal = existing != null ? existing : allocate(id);
+            Set<Long> grams = paddedGrams(normalized);
+            names[ordinal] = normalized;
+            styles[ordinal] = beerStyle;
+            gramCounts[ordinal] = grams.size();
+            totalNameChars += normalized.length();
+
+            for (long gram : grams) {
+                postingsByGram.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+                totalPostings++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(id);
+            if (ordinal != null) {
+                unindex(ordinal);
+                ids[ordinal] = null;
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinalById.clear();
+            postingsByGram.clear();
+            freeOrdinals.clear();
+            Arrays.fill(ids, null);
+            Arrays.fill(names, null);
+            Arrays.fill(styles, null);
+            Arrays.fill(gramCounts, 0);
+            highWater = 0;
+            totalPostings = 0;
+            totalNameChars = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds all beers whose name contains the given term, ignoring case.
+     *
+     * @param term      The substring to search for.
+     * @param beerStyle The style to restrict matches to (optional).
+     * @return Ids of the matching beers, ordered by lower-cased name and then id.
+     */
+    public List<UUID> findIdsByNameContaining(String term, BeerStyle beerStyle) {
+        String needle = BeerNameIndex.normalize(term);
+
+        lock.readLock().lock();
+        try {
+            List<Integer> matches = new ArrayList<>();
+
+            if (needle.length() < GRAM) {
+                for (int ordinal = 0; ordinal < highWater; ordinal++) {
+                    if (matches(ordinal, needle, beerStyle)) {
+                        matches.add(ordinal);
+                    }
+                }
+            } else {
+                Postings candidates = rarestPostings(needle);
+                if (candidates != null) {
+                    for (int i = 0; i < candidates.size; i++) {
+                        int ordinal = candidates.ordinals[i];
+                        if (matches(ordinal, needle, beerStyle)) {
+                            matches.add(ordinal);
+                        }
+                    }
+                }
+            }
+
+            matches.sort(Comparator.<Integer, String>comparing(ordinal -> names[ordinal])
+                    .thenComparing(ordinal -> ids[ordinal].toString()));
+
+            return matches.stream().map(ordinal -> ids[ordinal]).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds all beers whose name is similar to the given term, tolerating typos, missing or extra characters.
+     *
+     * @param term          The possibly misspelled name to search for.
+     * @param beerStyle     The style to restrict matches to (optional).
+     * @param minSimilarity The minimum trigram similarity, between 0 and 1, a name needs to match.
+     * @return Ids of the matching beers, most similar first, then ordered by lower-cased name and id.
+     */
+    public List<UUID> findIdsBySimilarName(String term, BeerStyle beerStyle, double minSimilarity) {
+        Set<Long> queryGrams = paddedGrams(BeerNameIndex.normalize(term));
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+        int queryGramCount = queryGrams.size();
+
+        // A name with n trigrams sharing s of them scores at most min(s / q, s / n), so a match needs at least
+        // minShared common trigrams and a trigram count within [minGrams, maxGrams]
+        int minShared = Math.max(1, (int) Math.ceil(minSimilarity * queryGramCount));
+        int minGrams = minShared;
+        int maxGrams = minSimilarity > 0 ? (int) Math.floor(queryGramCount / minSimilarity) : Integer.MAX_VALUE;
+
+        lock.readLock().lock();
+        int[] shared = borrowCounts();
+        int[] touched = new int[64];
+        int touchedCount = 0;
+        try {
+            List<Postings> lists = new ArrayList<>(queryGramCount);
+            for (long gram : queryGrams) {
+                Postings postings = postingsByGram.get(gram);
+                if (postings != null) {
+                    lists.add(postings);
+                }
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+
+            // Prefix filter: any match appears in at least one of the rarest (q - minShared + 1) lists, so only
+            // those introduce candidates; the more common lists merely add to candidates already seen
+            int candidateLists = queryGramCount - minShared + 1;
+
+            for (int list = 0; list < lists.size(); list++) {
+                Postings postings = lists.get(list);
+                boolean introducesCandidates = list < candidateLists;
+
+                for (int i = 0; i < postings.size; i++) {
+                    int ordinal = postings.ordinals[i];
+                    if (shared[ordinal] > 0) {
+                        shared[ordinal]++;
+                    } else if (introducesCandidates
+                            && gramCounts[ordinal] >= minGrams && gramCounts[ordinal] <= maxGrams
+                            && (beerStyle == null || styles[ordinal] == beerStyle)) {
+                        shared[ordinal] = 1;
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = ordinal;
+                    }
+                }
+            }
+
+            List<Integer> matches = new ArrayList<>();
+            for (int i = 0; i < touchedCount; i++) {
+                int ordinal = touched[i];
+                if (similarity(shared[ordinal], queryGramCount, gramCounts[ordinal]) >= minSimilarity) {
+                    matches.add(ordinal);
+                }
+            }
+
+            matches.sort(Comparator.<Integer>comparingDouble(
+                            ordinal -> -similarity(shared[ordinal], queryGramCount, gramCounts[ordinal]))
+                    .thenComparing(ordinal -> names[ordinal])
+                    .thenComparing(ordinal -> ids[ordinal].toString()));
+
+            return matches.stream().map(ordinal -> ids[ordinal]).toList();
+        } finally {
+            for (int i = 0; i < touchedCount; i++) {
+                shared[touched[i]] = 0;
+            }
+            scratchCounts.offer(shared);
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap used by the index: per-beer slots and names, posting lists and their map entries.
+     *
+     * @return The estimated size in bytes.
+     */
+    @Override
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) ids.length * 4 * Integer.BYTES
+                    + ordinalById.size() * ENTRY_OVERHEAD_BYTES
+                    + totalNameChars
+                    + postingsByGram.size() * POSTING_LIST_OVERHEAD_BYTES
+                    + totalPostings * Integer.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("beer.search.index.bytes", this, BeerNameNgramIndex::estimatedBytes)
+                .tag("index", "ngram")
+                .baseUnit("bytes")
+                .description("Estimated heap used by the beer name index")
+                .register(registry);
+        Gauge.builder("beer.search.index.entries", this, BeerNameNgramIndex::size)
+                .tag("index", "ngram")
+                .description("Number of beers in the beer name index")
+                .register(registry);
+    }
+
+    /**
+     * Returns the distinct trigrams of an already normalized string, each packed into a long.
+     */
+    static Set<Long> grams(String normalized) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(((long) normalized.charAt(i) << 32)
+                    | ((long) normalized.charAt(i + 1) << 16)
+                    | normalized.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Returns the distinct trigrams of an already normalized string padded with two leading and one
+     * trailing blank. These are a superset of {@link #grams(String)}, so the same postings serve both
+     * substring and similarity queries.
+     */
+    static Set<Long> paddedGrams(String normalized) {
+        return normalized.isEmpty() ? Set.of() : grams("  " + normalized + " ");
+    }
+
+    private static double similarity(int shared, int queryGrams, int nameGrams) {
+        return (double) shared / (queryGrams + nameGrams - shared);
+    }
+
+    /**
+     * Takes a zeroed per-ordinal counter array from the pool, sized for the current ordinals. Callers hold
+     * the read lock, so the ordinal arrays cannot grow while it is in use, and must zero the entries they
+     * touched before handing it back.
+     */
+    private int[] borrowCounts() {
+        int[] counts;
+        while ((counts = scratchCounts.poll()) != null) {
+            if (counts.length >= highWater) {
+                return counts;
+            }
+        }
+        return new int[ids.length];
+    }
+
+    private boolean matches(int ordinal, String needle, BeerStyle beerStyle) {
+        return ids[ordinal] != null
+                && (beerStyle == null || styles[ordinal] == beerStyle)
+                && names[ordinal].contains(needle);
+    }
+
+    private Postings rarestPostings(String needle) {
+        Postings rarest = null;
+        for (long gram : grams(needle)) {
+            Postings postings = postingsByGram.get(gram);
+            if (postings == null) {
+                return null;
+            }
+            if (rarest == null || postings.size < rarest.size) {
+                rarest = postings;
+            }
+        }
+        return rarest;
+    }
+
+    private int allocate(UUID id) {
+        int ordinal;
+        if (!freeOrdinals.isEmpty()) {
+            ordinal = freeOrdinals.pop();
+        } else {
+            if (highWater == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                styles = Arrays.copyOf(styles, capacity);
+                gramCounts = Arrays.copyOf(gramCounts, capacity);
+            }
+            ordinal = highWater++;
+        }
+        ids[ordinal] = id;
+        ordinalById.put(id, ordinal);
+        return ordinal;
+    }
+
+    private void unindex(int ordinal) {
+        String name = names[ordinal];
+        for (long gram : paddedGrams(name)) {
+            Postings postings = postingsByGram.get(gram);
+            if (postings != null && postings.remove(ordinal)) {
+                totalPostings--;
+                if (postings.size == 0) {
+                    postingsByGram.remove(gram);
+                }
+            }
+        }
+        totalNameChars -= name.length();
+        names[ordinal] = null;
+        styles[ordinal] = null;
+        gramCounts[ordinal] = 0;
+    }
+
+    /**
+     * Unordered, growable list of ordinals sharing one trigram.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        boolean remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    ordinals[i] = ordinals[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.springpracticerestmvc.search;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerSuggestionDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie over lower-cased beer names for prefix autocomplete.
+ * <p>
+ * Edges carry whole label fragments rather than single characters, so a chain of nodes with one child each
+ * collapses into a single node. Children are kept in arrays sorted by their first character. A prefix lookup
+ * walks at most one edge per matched fragment and then collects the first matches in name order, stopping as
+ * soon as the requested number of suggestions has been found.
+ */
+@Component
+public class BeerNameSuggestIndex implements BeerNameIndex, MeterBinder {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final BeerSuggestionDTO[] NO_ENTRIES = new BeerSuggestionDTO[0];
+
+    // Rough per-object sizes on a 64-bit JVM with compressed oops, used for the memory estimate
+    private static final long NODE_OVERHEAD_BYTES = 80;
+    private static final long ENTRY_OVERHEAD_BYTES = 136;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, String> keyById = new HashMap<>();
+    private final Node root = new Node("");
+
+    private int nodeCount;
+    private long labelChars;
+    private long entryNameChars;
+    private volatile boolean ready;
+
+    @Override
+    public void put(UUID id, String beerName, BeerStyle beerStyle) {
+        if (id == null || beerName == null) {
+            return;
+        }
+        String key = BeerNameIndex.normalize(beerName);
+
+        lock.writeLock().lock();
+        try {
+            String existingKey = keyById.get(id);
+            if (existingKey != null) {
+                delete(existingKey, id);
+            }
+            insert(key, new BeerSuggestionDTO(id, beerName, beerStyle));
+            keyById.put(id, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            String key = keyById.remove(id);
+            if (key != null) {
+                delete(key, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            keyById.clear();
+            root.children = NO_CHILDREN;
+            root.entries = NO_ENTRIES;
+            nodeCount = 0;
+            labelChars = 0;
+            entryNameChars = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the first beers, in name order, whose name starts with the given prefix, ignoring case.
+     *
+     * @param prefix The prefix typed so far.
+     * @param limit  The maximum number of suggestions.
+     * @return Up to limit suggestions.
+     */
+    public List<BeerSuggestionDTO> suggest(String prefix, int limit) {
+        String key = BeerNameIndex.normalize(prefix);
+        List<BeerSuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, 64));
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+
+            while (position < key.length()) {
+                Node child = node.child(key.charAt(position));
+                if (child == null) {
+                    return suggestions;
+                }
+                int common = commonPrefixLength(child.label, key, position);
+                if (position + common == key.length()) {
+                    node = child;
+                    break;
+                }
+                if (common < child.label.length()) {
+                    return suggestions;
+                }
+                position += common;
+                node = child;
+            }
+
+            collect(node, suggestions, limit);
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keyById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap used by the trie: nodes and their labels, plus one suggestion and id mapping per beer.
+     *
+     * @return The estimated size in bytes.
+     */
+    @Override
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return nodeCount * NODE_OVERHEAD_BYTES
+                    + labelChars
+                    + keyById.size() * ENTRY_OVERHEAD_BYTES
+                    + entryNameChars;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("beer.search.index.bytes", this, BeerNameSuggestIndex::estimatedBytes)
+                .tag("index", "suggest")
+                .baseUnit("bytes")
+                .description("Estimated heap used by the beer name index")
+                .register(registry);
+        Gauge.builder("beer.search.index.entries", this, BeerNameSuggestIndex::size)
+                .tag("index", "suggest")
+                .description("Number of beers in the beer name index")
+                .register(registry);
+    }
+
+    private void insert(String key, BeerSuggestionDTO suggestion) {
+        Node node = root;
+        int position = 0;
+
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+
+            if (child == null) {
+                Node leaf = newNode(key.substring(position));
+                node.addChild(leaf);
+                node = leaf;
+                position = key.length();
+                break;
+            }
+
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                // Split the edge: the shared fragment becomes a new node above the existing child
+                Node middle = newNode(child.label.substring(0, common));
+                node.replaceChild(child, middle);
+                labelChars -= common;
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                child = middle;
+            }
+
+            position += common;
+            node = child;
+        }
+
+        node.addEntry(suggestion);
+        entryNameChars += suggestion.beerName().length();
+    }
+
+    private void delete(String key, UUID id) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int position = 0;
+
+        while (position < key.length()) {
+            path.push(node);
+            node = node.child(key.charAt(position));
+            if (node == null || !key.startsWith(node.label, position)) {
+                return;
+            }
+            position += node.label.length();
+        }
+
+        BeerSuggestionDTO removed = node.removeEntry(id);
+        if (removed == null) {
+            return;
+        }
+        entryNameChars -= removed.beerName().length();
+
+        // Prune the emptied leaf and merge pass-through nodes to keep the trie compressed
+        while (!path.isEmpty() && node.entries.length == 0) {
+            Node parent = path.pop();
+            if (node.children.length == 0) {
+                parent.removeChild(node);
+                nodeCount--;
+                labelChars -= node.label.length();
+                node = parent;
+            } else {
+                if (node.children.length == 1) {
+                    Node only = node.children[0];
+                    node.label = node.label + only.label;
+                    node.children = only.children;
+                    node.entries = only.entries;
+                    nodeCount--;
+                }
+                break;
+            }
+        }
+    }
+
+    private void collect(Node node, List<BeerSuggestionDTO> suggestions, int limit) {
+        for (BeerSuggestionDTO entry : node.entries) {
+            if (suggestions.size() >= limit) {
+                return;
+            }
+            suggestions.add(entry);
+        }
+        for (Node child : node.children) {
+            if (suggestions.size() >= limit) {
+                return;
+            }
+            collect(child, suggestions, limit);
+        }
+    }
+
+    private Node newNode(String label) {
+        nodeCount++;
+        labelChars += label.length();
+        return new Node(label);
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int length = 0;
+        while (length < max && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static final class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private BeerSuggestionDTO[] entries = NO_ENTRIES;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        void addChild(Node child) {
+            int index = -(indexOf(child.label.charAt(0)) + 1);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, index);
+            grown[index] = child;
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+            children = grown;
+        }
+
+        void replaceChild(Node existing, Node replacement) {
+            children[indexOf(existing.label.charAt(0))] = replacement;
+        }
+
+        void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+        }
+
+        void addEntry(BeerSuggestionDTO entry) {
+            BeerSuggestionDTO[] grown = Arrays.copyOf(entries, entries.length + 1);
+            grown[entries.length] = entry;
+            entries = grown;
+        }
+
+        BeerSuggestionDTO removeEntry(UUID id) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].id().equals(id)) {
+                    BeerSuggestionDTO removed = entries[i];
+                    BeerSuggestionDTO[] shrunk = new BeerSuggestionDTO[entries.length - 1];
+                    System.arraycopy(entries, 0, shrunk, 0, i);
+                    System.arraycopy(entries, i + 1, shrunk, i, entries.length - i - 1);
+                    entries = shrunk.length == 0 ? NO_ENTRIES : shrunk;
+                    return removed;
+                }
+            }
+            return null;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char candidate = children[middle].label.charAt(0);
+                if (candidate < first) {
+                    low = middle + 1;
+                } else if (candidate > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.springpracticerestmvc.services;
+
+import com.example.springpracticerestmvc.model.BeerAuditPageDTO;
+import com.example.springpracticerestmvc.model.BeerVersionDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BeerAuditService {
+
+    List<BeerVersionDTO> getBeerHistory(UUID beerId);
+
+    Optional<BeerVersionDTO> getBeerAtVersion(UUID beerId, Integer version);
+
+    BeerAuditPageDTO searchAudit(UUID beerId, String principalName, String auditEventType, LocalDateTime from,
+                                 LocalDateTime to, String cursor, Integer pageSize);
+}
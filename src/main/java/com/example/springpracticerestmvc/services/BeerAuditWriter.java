@@ -0,0 +1,12 @@
+package com.example.springpracticerestmvc.services;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+
+import java.util.List;
+
+public interface BeerAuditWriter {
+
+    void write(BeerAudit beerAudit);
+
+    void writeAll(List<BeerAudit> beerAudits);
+}
@@ -0,0 +1,15 @@
+package com.example.springpracticerestmvc.services;
+
+import com.example.springpracticerestmvc.model.BeerBulkPatchDTO;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BulkItemResultDTO;
+
+import java.util.Iterator;
+import java.util.List;
+
+public interface BeerBulkService {
+
+    List<BulkItemResultDTO> saveNewBeers(Iterator<BeerDTO> beerDTOs);
+
+    List<BulkItemResultDTO> patchBeers(List<BeerBulkPatchDTO> patches);
+}
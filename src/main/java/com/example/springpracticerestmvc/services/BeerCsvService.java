@@ -3,9 +3,15 @@ package com.example.springpracticerestmvc.services;
 import com.example.springpracticerestmvc.model.BeerCSVRecord;
 
 import java.io.File;
+import java.io.Reader;
+import java.util.Iterator;
 import java.util.List;
 
 public interface BeerCsvService {
 
     List<BeerCSVRecord> convertCSV(File csvFile);
+
+    Iterator<BeerCSVRecord> iterateCSV(Reader reader);
+
+    List<Iterator<BeerCSVRecord>> splitCSV(File csvFile, int parts);
 }
@@ -0,0 +1,13 @@
+package com.example.springpracticerestmvc.services;
+
+import com.example.springpracticerestmvc.model.BeerExportFormat;
+import com.example.springpracticerestmvc.model.BeerStyle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BeerExportService {
+
+    long exportBeers(String beerName, BeerStyle beerStyle, Boolean showInventory, BeerExportFormat format,
+                     OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.example.springpracticerestmvc.services;
+
+import com.example.springpracticerestmvc.model.BeerImportJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BeerImportService {
+
+    BeerImportJobDTO startImport(String fileName, InputStream content) throws IOException;
+
+    BeerImportJobDTO startImport(MultipartFile upload) throws IOException;
+
+    BeerImportJobDTO resumeImport(UUID jobId);
+
+    Optional<BeerImportJobDTO> getImport(UUID jobId);
+}
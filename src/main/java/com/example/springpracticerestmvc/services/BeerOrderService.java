@@ -4,6 +4,7 @@ import com.example.springpracticerestmvc.entities.BeerOrder;
 import com.example.springpracticerestmvc.model.BeerOrderCreateDTO;
 import com.example.springpracticerestmvc.model.BeerOrderDTO;
 import com.example.springpracticerestmvc.model.BeerOrderUpdateDTO;
+import com.example.springpracticerestmvc.model.SliceDTO;
 import org.springframework.data.domain.Page;
 
 import java.util.Optional;
@@ -13,8 +14,12 @@ public interface BeerOrderService {
 
     Optional<BeerOrderDTO> getById(UUID beerOrderId);
 
+    Optional<Long> getVersion(UUID beerOrderId);
+
     Page<BeerOrderDTO> listOrders(Integer pageNumber, Integer pageSize);
 
+    SliceDTO<BeerOrderDTO> listOrdersSlice(Integer pageNumber, Integer pageSize);
+
     BeerOrder createOrder(BeerOrderCreateDTO beerOrderCreateDTO);
 
     BeerOrderDTO updateOrder(UUID beerOrderId, BeerOrderUpdateDTO beerOrderUpdateDTO);
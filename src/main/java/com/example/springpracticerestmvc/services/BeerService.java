@@ -1,17 +1,34 @@
 package com.example.springpracticerestmvc.services;
 
+import com.example.springpracticerestmvc.model.BeerCursorPageDTO;
 import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerListingVersion;
 import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerSuggestionDTO;
+import com.example.springpracticerestmvc.model.SliceDTO;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface BeerService {
     Page<BeerDTO> listBeers(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize);
 
+    SliceDTO<BeerDTO> listBeersSlice(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize);
+
+    BeerCursorPageDTO listBeersByCursor(String beerName, BeerStyle beerStyle, Boolean showInventory, String cursor, Integer pageSize);
+
+    Page<BeerDTO> listBeersFuzzy(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize);
+
+    List<BeerSuggestionDTO> suggestBeers(String prefix, Integer limit);
+
+    Optional<BeerListingVersion> getListingVersion(BeerStyle beerStyle);
+
     Optional<BeerDTO> getBeerById(UUID beerId);
 
+    Optional<Integer> getBeerVersion(UUID beerId);
+
     BeerDTO saveNewBeer(BeerDTO beerDTO);
 
     Optional<BeerDTO> updateBeerById(UUID beerId, BeerDTO beerDTO);
@@ -0,0 +1,12 @@
+package com.example.springpracticerestmvc.services;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+
+public interface CatalogCountService {
+
+    Long getEstimatedBeerCount(BeerStyle beerStyle);
+
+    Long getEstimatedBeerOrderCount();
+
+    void refresh();
+}
@@ -11,6 +11,8 @@ public interface CustomerService {
 
     Optional<CustomerDTO> getCustomerById(UUID id);
 
+    Optional<Integer> getCustomerVersion(UUID id);
+
     CustomerDTO saveNewCustomer(CustomerDTO customerDTO);
 
     Optional<CustomerDTO> updateCustomerById(UUID customerId, CustomerDTO customerDTO);
@@ -0,0 +1,288 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import com.example.springpracticerestmvc.services.BeerAuditWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes beer audit records behind the request: records are queued and a single writer thread inserts them
+ * with JDBC batch statements (see {@link BeerAuditRepository#insertAll}), one transaction per batch.
+ * <p>
+ * A batch is flushed when it reaches {@code beer.audit.writer.batch-size} records or
+ * {@code beer.audit.writer.flush-interval} after its first record, so the audit holds one connection at a time
+ * however many beers change. The queue is bounded: when it is full, writers wait for room, which slows them down
+ * to the pace of the database instead of dropping records. A batch whose insert fails is kept and retried, after
+ * a delay that doubles from {@code beer.audit.writer.flush-interval} up to {@code beer.audit.writer.max-backoff};
+ * while the database is down the queue fills up and writers wait. On shutdown the queue is drained after the web
+ * server has stopped; records written after that are inserted directly.
+ * <p>
+ * Publishes the queue depth ({@code beer.audit.queue.depth}), the flushes ({@code beer.audit.flush}), the records
+ * written ({@code beer.audit.written}), the writes that met a full queue ({@code beer.audit.backpressure}), the
+ * failed inserts ({@code beer.audit.retries}) and the records given up because their insert still failed on
+ * shutdown ({@code beer.audit.dropped}).
+ * <p>
+ * This is the default audit mode ({@code beer.audit.mode=batching}); see {@link JournalBeerAuditWriter} for the
+ * journal mode.
+ */
+@Service
+@ConditionalOnProperty(name = "beer.audit.mode", havingValue = "batching", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BatchingBeerAuditWriter implements BeerAuditWriter, SmartLifecycle, MeterBinder {
+
+    private final BeerAuditRepository beerAuditRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${beer.audit.writer.capacity:10000}")
+    int capacity = 10000;
+
+    @Value("${beer.audit.writer.batch-size:500}")
+    int batchSize = 500;
+
+    @Value("${beer.audit.writer.flush-interval:200ms}")
+    Duration flushInterval = Duration.ofMillis(200);
+
+    @Value("${beer.audit.writer.max-backoff:30s}")
+    Duration maxBackoff = Duration.ofSeconds(30);
+
+    @Value("${beer.audit.writer.shutdown-timeout:30s}")
+    Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    private volatile BlockingQueue<BeerAudit> queue = new ArrayBlockingQueue<>(1);
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong backpressure = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Queues an audit record, assigning its audit id and timestamp.
+     *
+     * @param beerAudit The audit record to write.
+     */
+    @Override
+    public void write(BeerAudit beerAudit) {
+        prepare(beerAudit);
+        if (!running) {
+            insert(List.of(beerAudit));
+            return;
+        }
+
+        boolean queued = queue.offer(beerAudit);
+        if (!queued) {
+            backpressure.incrementAndGet();
+            log.debug("Audit queue is full, waiting for room");
+        }
+        // Rechecks running now and then, so that a writer is not left waiting on a queue that no one takes from
+        try {
+            while (!queued && running) {
+                queued = queue.offer(beerAudit, flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queued) {
+            insert(List.of(beerAudit));
+        } else if (!running) {
+            // Stopped while queuing; the writer thread may already be gone
+            drain();
+        }
+    }
+
+    /**
+     * Queues audit records in order, assigning their audit ids and timestamps.
+     *
+     * @param beerAudits The audit records to write.
+     */
+    @Override
+    public void writeAll(List<BeerAudit> beerAudits) {
+        beerAudits.forEach(this::write);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        flusher = Thread.ofPlatform().name("beer-audit-writer").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.warn("Audit writer did not finish within {}, {} records left", shutdownTimeout, queue.size());
+            flusher.interrupt();
+        }
+        drain();
+        log.info("Audit writer stopped after {} records", written.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Lower phases stop later: stop after the web server, once no more requests can queue records
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("beer.audit.queue.depth", this, writer -> writer.queue.size())
+                .description("Audit records waiting to be written")
+                .register(registry);
+        FunctionTimer.builder("beer.audit.flush", this, writer -> writer.flushes.get(),
+                        writer -> writer.flushNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Batched audit inserts")
+                .register(registry);
+        FunctionCounter.builder("beer.audit.written", written, AtomicLong::get)
+                .description("Audit records inserted")
+                .register(registry);
+        FunctionCounter.builder("beer.audit.backpressure", backpressure, AtomicLong::get)
+                .description("Audit writes that found the queue full")
+                .register(registry);
+        FunctionCounter.builder("beer.audit.retries", retries, AtomicLong::get)
+                .description("Batched audit inserts that failed and are retried")
+                .register(registry);
+        FunctionCounter.builder("beer.audit.dropped", dropped, AtomicLong::get)
+                .description("Audit records given up because their insert failed on shutdown")
+                .register(registry);
+    }
+
+    private void run() {
+        List<BeerAudit> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                BeerAudit first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    BeerAudit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Give up waiting: flush what was taken and leave the rest to stop()
+                if (!batch.isEmpty()) {
+                    flush(batch, false);
+                }
+                return;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch, true);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    /**
+     * Inserts a batch, retrying a failed insert with a growing delay until it succeeds. A batch is given up only
+     * when it is not to be retried, on shutdown, or when the writer thread is interrupted, which stop() does once
+     * the shutdown timeout has passed.
+     */
+    private void flush(List<BeerAudit> batch, boolean retry) {
+        Duration backoff = flushInterval;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                return;
+            } catch (DataAccessException e) {
+                if (!retry || Thread.currentThread().isInterrupted()) {
+                    dropped.addAndGet(batch.size());
+                    log.error("Dropping {} audit records after {} failed inserts", batch.size(), attempt, e);
+                    return;
+                }
+                retries.incrementAndGet();
+                log.warn("Audit insert of {} records failed {} times, retrying in {}", batch.size(), attempt,
+                        backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                backoff = backoff.multipliedBy(2).compareTo(maxBackoff) < 0 ? backoff.multipliedBy(2) : maxBackoff;
+            }
+        }
+    }
+
+    // On shutdown, when waiting for the database any longer would hold it up
+    private synchronized void drain() {
+        List<BeerAudit> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch, false);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void insert(List<BeerAudit> batch) {
+        long start = System.nanoTime();
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> beerAuditRepository.insertAll(batch, batchSize));
+        flushNanos.addAndGet(System.nanoTime() - start);
+        flushes.incrementAndGet();
+        written.addAndGet(batch.size());
+        log.debug("Audit records written: {}", batch.size());
+    }
+
+    // The batch insert bypasses Hibernate, which would otherwise generate these
+    static void prepare(BeerAudit beerAudit) {
+        if (beerAudit.getAuditId() == null) {
+            beerAudit.setAuditId(UUID.randomUUID());
+        }
+        if (beerAudit.getCreatedDateAudit() == null) {
+            beerAudit.setCreatedDateAudit(LocalDateTime.now());
+        }
+    }
+}
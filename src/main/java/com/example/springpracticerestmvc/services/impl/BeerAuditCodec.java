@@ -0,0 +1,227 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.model.BeerStyle;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Compact binary form of a BeerAudit record for the audit journal.
+ * <p>
+ * A record starts with a format byte and a bit set of the fields that are present; absent (null) fields take no
+ * space. Ids are two longs, timestamps are microseconds since the epoch, strings and the delta are bytes with an
+ * unsigned short length (strings in UTF-8) and prices are their scale and unscaled bytes.
+ */
+final class BeerAuditCodec {
+
+    private static final byte FORMAT = 1;
+
+    private static final int VERSION = 1;
+    private static final int BEER_NAME = 1 << 1;
+    private static final int BEER_STYLE = 1 << 2;
+    private static final int UPC = 1 << 3;
+    private static final int QUANTITY_ON_HAND = 1 << 4;
+    private static final int PRICE = 1 << 5;
+    private static final int CREATED_DATE = 1 << 6;
+    private static final int UPDATE_DATE = 1 << 7;
+    private static final int CREATED_DATE_AUDIT = 1 << 8;
+    private static final int PRINCIPAL_NAME = 1 << 9;
+    private static final int AUDIT_EVENT_TYPE = 1 << 10;
+    private static final int DELTA = 1 << 11;
+
+    private BeerAuditCodec() {
+    }
+
+    static byte[] encode(BeerAudit beerAudit) {
+        byte[] beerName = utf8(beerAudit.getBeerName());
+        byte[] upc = utf8(beerAudit.getUpc());
+        byte[] price = beerAudit.getPrice() == null ? null : beerAudit.getPrice().unscaledValue().toByteArray();
+        byte[] principalName = utf8(beerAudit.getPrincipalName());
+        byte[] auditEventType = utf8(beerAudit.getAuditEventType());
+
+        int fields = 0;
+        int size = 1 + 2 + 32;
+        if (beerAudit.getVersion() != null) {
+            fields |= VERSION;
+            size += 4;
+        }
+        if (beerName != null) {
+            fields |= BEER_NAME;
+            size += 2 + beerName.length;
+        }
+        if (beerAudit.getBeerStyle() != null) {
+            fields |= BEER_STYLE;
+            size += 1;
+        }
+        if (upc != null) {
+            fields |= UPC;
+            size += 2 + upc.length;
+        }
+        if (beerAudit.getQuantityOnHand() != null) {
+            fields |= QUANTITY_ON_HAND;
+            size += 4;
+        }
+        if (price != null) {
+            fields |= PRICE;
+            size += 4 + 1 + price.length;
+        }
+        if (beerAudit.getCreatedDate() != null) {
+            fields |= CREATED_DATE;
+            size += 8;
+        }
+        if (beerAudit.getUpdateDate() != null) {
+            fields |= UPDATE_DATE;
+            size += 8;
+        }
+        if (beerAudit.getCreatedDateAudit() != null) {
+            fields |= CREATED_DATE_AUDIT;
+            size += 8;
+        }
+        if (principalName != null) {
+            fields |= PRINCIPAL_NAME;
+            size += 2 + principalName.length;
+        }
+        if (auditEventType != null) {
+            fields |= AUDIT_EVENT_TYPE;
+            size += 2 + auditEventType.length;
+        }
+        if (beerAudit.getDelta() != null) {
+            fields |= DELTA;
+            size += 2 + beerAudit.getDelta().length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(FORMAT);
+        buffer.putShort((short) fields);
+        putUuid(buffer, beerAudit.getAuditId());
+        putUuid(buffer, beerAudit.getId());
+        if (beerAudit.getVersion() != null) {
+            buffer.putInt(beerAudit.getVersion());
+        }
+        putBytes(buffer, beerName);
+        if (beerAudit.getBeerStyle() != null) {
+            buffer.put((byte) beerAudit.getBeerStyle().ordinal());
+        }
+        putBytes(buffer, upc);
+        if (beerAudit.getQuantityOnHand() != null) {
+            buffer.putInt(beerAudit.getQuantityOnHand());
+        }
+        if (price != null) {
+            buffer.putInt(beerAudit.getPrice().scale());
+            buffer.put((byte) price.length);
+            buffer.put(price);
+        }
+        putTimestamp(buffer, beerAudit.getCreatedDate());
+        putTimestamp(buffer, beerAudit.getUpdateDate());
+        putTimestamp(buffer, beerAudit.getCreatedDateAudit());
+        putBytes(buffer, principalName);
+        putBytes(buffer, auditEventType);
+        putBytes(buffer, beerAudit.getDelta());
+        return buffer.array();
+    }
+
+    /**
+     * Reads a record from the buffer's position, leaving the position after it.
+     *
+     * @throws IllegalArgumentException If the record has an unknown format.
+     */
+    static BeerAudit decode(ByteBuffer buffer) {
+        byte format = buffer.get();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("Unknown audit record format " + format);
+        }
+        int fields = buffer.getShort() & 0xFFFF;
+
+        BeerAudit beerAudit = new BeerAudit();
+        beerAudit.setAuditId(getUuid(buffer));
+        beerAudit.setId(getUuid(buffer));
+        if ((fields & VERSION) != 0) {
+            beerAudit.setVersion(buffer.getInt());
+        }
+        if ((fields & BEER_NAME) != 0) {
+            beerAudit.setBeerName(getString(buffer));
+        }
+        if ((fields & BEER_STYLE) != 0) {
+            beerAudit.setBeerStyle(BeerStyle.values()[buffer.get()]);
+        }
+        if ((fields & UPC) != 0) {
+            beerAudit.setUpc(getString(buffer));
+        }
+        if ((fields & QUANTITY_ON_HAND) != 0) {
+            beerAudit.setQuantityOnHand(buffer.getInt());
+        }
+        if ((fields & PRICE) != 0) {
+            int scale = buffer.getInt();
+            byte[] unscaled = new byte[buffer.get() & 0xFF];
+            buffer.get(unscaled);
+            beerAudit.setPrice(new BigDecimal(new BigInteger(unscaled), scale));
+        }
+        if ((fields & CREATED_DATE) != 0) {
+            beerAudit.setCreatedDate(getTimestamp(buffer));
+        }
+        if ((fields & UPDATE_DATE) != 0) {
+            beerAudit.setUpdateDate(getTimestamp(buffer));
+        }
+        if ((fields & CREATED_DATE_AUDIT) != 0) {
+            beerAudit.setCreatedDateAudit(getTimestamp(buffer));
+        }
+        if ((fields & PRINCIPAL_NAME) != 0) {
+            beerAudit.setPrincipalName(getString(buffer));
+        }
+        if ((fields & AUDIT_EVENT_TYPE) != 0) {
+            beerAudit.setAuditEventType(getString(buffer));
+        }
+        if ((fields & DELTA) != 0) {
+            beerAudit.setDelta(getBytes(buffer));
+        }
+        return beerAudit;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value != null) {
+            buffer.putShort((short) value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        return new String(getBytes(buffer), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        byte[] value = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(value);
+        return value;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID value) {
+        buffer.putLong(value.getMostSignificantBits());
+        buffer.putLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void putTimestamp(ByteBuffer buffer, LocalDateTime value) {
+        if (value != null) {
+            buffer.putLong(value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1000);
+        }
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer buffer) {
+        long micros = buffer.getLong();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only local journal of beer audit records, in memory-mapped segment files of a fixed size.
+ * <p>
+ * Each record is framed by its length and a CRC32C of its bytes (see {@link BeerAuditCodec} for the bytes).
+ * When a record does not fit into the current segment, the segment is forced to disk and the next one is
+ * created. On open the last segment is scanned to the first incomplete record, which a crash may have left,
+ * and appending continues there. Records are read back by position, and the position up to which they have
+ * been replayed is kept in a small file next to the segments, so that replay continues where it stopped.
+ * <p>
+ * Appends are serialized; reading and the replay position are meant for one replaying thread.
+ */
+@Slf4j
+final class BeerAuditJournal {
+
+    private static final int HEADER = 8;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String REPLAY_POSITION = "replay.position";
+
+    private final Path directory;
+    private final int segmentSize;
+
+    // Writer state, guarded by this
+    private long segment;
+    private MappedByteBuffer buffer;
+    private int offset;
+    private boolean closed;
+
+    private volatile Position end;
+
+    // Reader state, used by the replaying thread only
+    private long readSegment = -1;
+    private MappedByteBuffer readBuffer;
+
+    private BeerAuditJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the journal in a directory, creating it if needed, and recovers the end of the last segment.
+     *
+     * @param directory   The directory of the segment files.
+     * @param segmentSize The size of new segment files; must hold the largest record.
+     */
+    static BeerAuditJournal open(Path directory, int segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        BeerAuditJournal journal = new BeerAuditJournal(directory, segmentSize);
+        List<Long> segments = journal.segments();
+        journal.segment = segments.isEmpty() ? 0 : segments.getLast();
+        journal.buffer = journal.map(journal.segment);
+        journal.offset = journal.recover();
+        journal.end = new Position(journal.segment, journal.offset);
+        log.info("Audit journal opened at {}: {} segments, end {}", directory, Math.max(segments.size(), 1), journal.end);
+        return journal;
+    }
+
+    /**
+     * Appends an encoded record.
+     *
+     * @param record The record bytes.
+     * @param force  Whether to write the record to disk before returning.
+     * @return false if the journal is closed.
+     * @throws IllegalArgumentException If the record does not fit into a segment.
+     */
+    boolean append(byte[] record, boolean force) {
+        if (record.length + HEADER > segmentSize) {
+            throw new IllegalArgumentException("Audit record of " + record.length + " bytes exceeds the segment size");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record);
+        int checksum = (int) crc.getValue();
+
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (offset + HEADER + record.length > segmentSize) {
+                rotate();
+            }
+            int start = offset;
+            buffer.put(start + HEADER, record);
+            buffer.putInt(start + 4, checksum);
+            buffer.putInt(start, record.length);
+            offset += HEADER + record.length;
+            if (force) {
+                buffer.force(start, HEADER + record.length);
+            }
+            end = new Position(segment, offset);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the appended records of the current segment to disk.
+     */
+    synchronized void force() {
+        if (!closed) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Returns the position after the last appended record.
+     */
+    Position end() {
+        return end;
+    }
+
+    /**
+     * Reads records from a position up to the end of the journal.
+     *
+     * @param from The position of the first record to read.
+     * @param max  The maximum number of records to read.
+     * @return The records and the position after them.
+     */
+    Batch read(Position from, int max) {
+        Position limit = end;
+        List<BeerAudit> records = new ArrayList<>();
+        long readFrom = from.segment();
+        int readOffset = from.offset();
+
+        while (records.size() < max && new Position(readFrom, readOffset).compareTo(limit) < 0) {
+            MappedByteBuffer bytes = readBuffer(readFrom);
+            int length = bytes == null || readOffset + HEADER > bytes.capacity() ? 0 : bytes.getInt(readOffset);
+            if (length <= 0 || readOffset + HEADER + length > bytes.capacity() || !intact(bytes, readOffset, length)) {
+                if (readFrom == limit.segment()) {
+                    // Not expected below the end; stop rather than skip records
+                    log.warn("Unreadable audit journal record at {}", new Position(readFrom, readOffset));
+                    break;
+                }
+                // The rest of an older segment is unused
+                readFrom++;
+                readOffset = 0;
+                continue;
+            }
+            records.add(BeerAuditCodec.decode(bytes.slice(readOffset + HEADER, length)));
+            readOffset += HEADER + length;
+        }
+        return new Batch(records, new Position(readFrom, readOffset));
+    }
+
+    /**
+     * Returns the position up to which records have been replayed, or the start of the oldest segment.
+     */
+    Position replayPosition() throws IOException {
+        Path file = directory.resolve(REPLAY_POSITION);
+        if (Files.exists(file)) {
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+            return new Position(bytes.getLong(), bytes.getInt());
+        }
+        List<Long> segments = segments();
+        return new Position(segments.isEmpty() ? 0 : segments.getFirst(), 0);
+    }
+
+    /**
+     * Stores the position up to which records have been replayed and deletes the segments before it.
+     */
+    void replayed(Position position) throws IOException {
+        Path temporary = directory.resolve(REPLAY_POSITION + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(12).putLong(position.segment()).putInt(position.offset()).flip());
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(REPLAY_POSITION), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        for (long old : segments()) {
+            if (old < position.segment()) {
+                Files.deleteIfExists(segmentFile(old));
+                log.debug("Deleted replayed audit journal segment {}", old);
+            }
+        }
+    }
+
+    /**
+     * Forces the current segment to disk and stops appending.
+     */
+    synchronized void close() {
+        if (!closed) {
+            buffer.force();
+            closed = true;
+            buffer = null;
+        }
+    }
+
+    private void rotate() {
+        buffer.force();
+        segment++;
+        buffer = map(segment);
+        offset = 0;
+    }
+
+    /**
+     * Finds the end of the records in the current segment and clears whatever follows it.
+     */
+    private int recover() {
+        int position = 0;
+        while (position + HEADER <= segmentSize) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER + length > segmentSize || !intact(buffer, position, length)) {
+                break;
+            }
+            position += HEADER + length;
+        }
+        if (position + HEADER <= segmentSize && buffer.getInt(position) != 0) {
+            log.warn("Discarding an incomplete audit journal record at {}", new Position(segment, position));
+            for (int i = position; i < segmentSize; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+        return position;
+    }
+
+    private static boolean intact(ByteBuffer bytes, int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.slice(position + HEADER, length));
+        return (int) crc.getValue() == bytes.getInt(position + 4);
+    }
+
+    private MappedByteBuffer map(long segment) {
+        try (FileChannel channel = FileChannel.open(segmentFile(segment), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private MappedByteBuffer readBuffer(long segment) {
+        if (segment != readSegment) {
+            readSegment = segment;
+            Path file = segmentFile(segment);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                readBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException exception) {
+                log.warn("Audit journal segment {} is missing", file);
+                readBuffer = null;
+            }
+        }
+        return readBuffer;
+    }
+
+    private Path segmentFile(long segment) {
+        return directory.resolve("%020d%s".formatted(segment, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * A position in the journal: a segment and a byte offset in it.
+     */
+    record Position(long segment, int offset) implements Comparable<Position> {
+
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+        }
+
+        @Override
+        public String toString() {
+            return segment + ":" + offset;
+        }
+    }
+
+    /**
+     * Records read from the journal and the position after them.
+     */
+    record Batch(List<BeerAudit> records, Position next) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.config.TaskConfig;
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.model.BeerAuditDelta;
+import com.example.springpracticerestmvc.repositories.BeerAuditPartitionRepository.Partition;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import com.example.springpracticerestmvc.repositories.MaintenanceLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps the monthly partitions of the beer audit table ahead of time and drops the expired ones.
+ * <p>
+ * Partitions are created for the months up to {@code beer.audit.retention.months-ahead} after the current one,
+ * so that records are never written to the unbounded last partition, which then stays empty and is split without
+ * moving rows. A partition is dropped as soon as all of its records are older than
+ * {@code beer.audit.retention.period}; dropping a partition discards a month of records without touching them
+ * one by one. Where the table is not partitioned, as on H2 in the tests, expired records are deleted in batches,
+ * a month at a time like the partitions.
+ * <p>
+ * Audit records hold deltas, and a beer is rebuilt by applying them from its creation on. Before records expire,
+ * a baseline record ({@code BEER_BASELINE}) holding the whole beer is written at the expiry for each beer that has
+ * records on both sides of it, so that its remaining history can still be rebuilt. A beer that already has a
+ * baseline at the expiry gets no other, so a run that failed half way is simply run again.
+ * <p>
+ * Runs at startup and then every {@code beer.audit.retention.interval} on the maintenance executor, so that it
+ * does not hold up the other scheduled jobs, and on one node at a time: a run takes the
+ * {@link #LOCK_NAME} maintenance lock for {@code beer.audit.retention.lock-timeout}, and nodes that do not get it
+ * skip the run.
+ */
+@Component
+@Slf4j
+public class BeerAuditPartitionMaintenance {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    static final String BEER_BASELINE = "BEER_BASELINE";
+
+    static final String LOCK_NAME = "beer-audit-partition-maintenance";
+
+    private final BeerAuditRepository beerAuditRepository;
+    private final MaintenanceLockRepository maintenanceLockRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${beer.audit.retention.period:P2Y}")
+    Period period = Period.ofYears(2);
+
+    @Value("${beer.audit.retention.months-ahead:3}")
+    int monthsAhead = 3;
+
+    @Value("${beer.audit.retention.delete-batch-size:10000}")
+    int deleteBatchSize = 10000;
+
+    // Longer than a run takes, or another node may start one before this one is done
+    @Value("${beer.audit.retention.lock-timeout:PT1H}")
+    Duration lockTimeout = Duration.ofHours(1);
+
+    public BeerAuditPartitionMaintenance(BeerAuditRepository beerAuditRepository,
+                                         MaintenanceLockRepository maintenanceLockRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         @Qualifier(TaskConfig.MAINTENANCE_TASK_EXECUTOR_BEAN_NAME)
+                                         AsyncTaskExecutor taskExecutor) {
+        this.beerAuditRepository = beerAuditRepository;
+        this.maintenanceLockRepository = maintenanceLockRepository;
+        this.transactionManager = transactionManager;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Starts a maintenance run on the maintenance executor, unless a run is still going.
+     */
+    @Scheduled(fixedDelayString = "${beer.audit.retention.interval:PT6H}")
+    public void scheduleMaintenance() {
+        taskExecutor.execute(() -> {
+            try {
+                maintain();
+            } catch (RuntimeException e) {
+                log.error("Beer audit maintenance failed", e);
+            }
+        });
+    }
+
+    /**
+     * Creates the upcoming partitions and removes the expired records, unless another node is doing so.
+     */
+    public void maintain() {
+        if (!lock()) {
+            log.debug("Skipped the beer audit maintenance, another node holds its lock");
+            return;
+        }
+        try {
+            maintain(LocalDate.now());
+        } finally {
+            maintenanceLockRepository.release(LOCK_NAME, nodeId);
+        }
+    }
+
+    void maintain(LocalDate today) {
+        LocalDate expiry = today.minus(period);
+        List<Partition> partitions = beerAuditRepository.findPartitions();
+        if (partitions.isEmpty()) {
+            // A month at a time, so that beers get a baseline a month rather than one a run
+            LocalDate monthStart = expiry.withDayOfMonth(1);
+            writeBaselines(monthStart.atStartOfDay());
+            deleteExpired(monthStart);
+            return;
+        }
+
+        List<Partition> upcoming = upcomingPartitions(partitions, today);
+        if (!upcoming.isEmpty()) {
+            beerAuditRepository.addPartitions(upcoming);
+            log.info("Added beer audit partitions {}", upcoming.stream().map(Partition::name).toList());
+        }
+
+        List<Partition> expiredPartitions = partitions.stream()
+                .filter(partition -> partition.lessThan() != null && !partition.lessThan().isAfter(expiry))
+                .toList();
+        if (!expiredPartitions.isEmpty()) {
+            // The baselines go into the first remaining partition, which starts at the last bound dropped
+            writeBaselines(expiredPartitions.getLast().lessThan().atStartOfDay());
+            List<String> expired = expiredPartitions.stream().map(Partition::name).toList();
+            beerAuditRepository.dropPartitions(expired);
+            log.info("Dropped beer audit partitions {} with records before {}", expired, expiry);
+        }
+    }
+
+    /**
+     * Takes the maintenance lock, creating it when missing (the migrations create it, a generated schema does not).
+     */
+    private boolean lock() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(lockTimeout);
+        if (maintenanceLockRepository.acquire(LOCK_NAME, nodeId, now, lockedUntil) == 1) {
+            return true;
+        }
+        try {
+            return maintenanceLockRepository.create(LOCK_NAME, nodeId, lockedUntil) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // The lock exists and is held
+            return false;
+        }
+    }
+
+    /**
+     * Returns a partition for each month after the last bounded partition, up to the months ahead.
+     */
+    private List<Partition> upcomingPartitions(List<Partition> partitions, LocalDate today) {
+        YearMonth until = YearMonth.from(today).plusMonths(monthsAhead);
+        YearMonth month = partitions.stream()
+                .map(Partition::lessThan)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .map(YearMonth::from)
+                .orElse(YearMonth.from(today));
+
+        List<Partition> upcoming = new ArrayList<>();
+        for (; !month.isAfter(until); month = month.plusMonths(1)) {
+            upcoming.add(new Partition("p" + month.format(PARTITION_MONTH), month.plusMonths(1).atDay(1)));
+        }
+        return upcoming;
+    }
+
+    /**
+     * Writes a baseline record at a time for each beer with records before and after it, holding the beer as of
+     * its last record before that time. Beers deleted before that time, beers whose records cannot be rebuilt, and
+     * beers with a baseline at that time already, get none.
+     */
+    private void writeBaselines(LocalDateTime time) {
+        List<BeerAudit> baselines = new ArrayList<>();
+        for (UUID beerId : beerAuditRepository.findBeerIdsWithRecordsAround(time)) {
+            List<BeerAudit> expiring = beerAuditRepository.findAllByBeerIdBeforeInOrder(beerId, time);
+            if (BeerAuditServiceImpl.BEER_DELETED.equals(expiring.getLast().getAuditEventType())) {
+                continue;
+            }
+            BeerAuditServiceImpl.replay(beerId, expiring).ifPresent(beer -> baselines.add(BeerAudit.builder()
+                    .auditId(UUID.randomUUID())
+                    .id(beerId)
+                    .version(beer.getVersion())
+                    .delta(BeerAuditDelta.encode(null, beer))
+                    .auditEventType(BEER_BASELINE)
+                    .createdDateAudit(time)
+                    .build()));
+        }
+
+        if (!baselines.isEmpty()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    beerAuditRepository.insertAll(baselines, deleteBatchSize));
+            log.info("Wrote {} beer audit baselines at {}", baselines.size(), time);
+        }
+    }
+
+    private void deleteExpired(LocalDate expiry) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = beerAuditRepository.deleteCreatedBefore(expiry.atStartOfDay(), deleteBatchSize);
+            total += deleted;
+        } while (deleted == deleteBatchSize);
+
+        if (total > 0) {
+            log.info("Deleted {} beer audit records before {}", total, expiry);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.exceptions.InvalidAuditSearchException;
+import com.example.springpracticerestmvc.model.BeerAuditCursor;
+import com.example.springpracticerestmvc.model.BeerAuditDTO;
+import com.example.springpracticerestmvc.model.BeerAuditDelta;
+import com.example.springpracticerestmvc.model.BeerAuditPageDTO;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerVersionDTO;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import com.example.springpracticerestmvc.services.BeerAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rebuilds the versions of a beer from its audit records.
+ * <p>
+ * Audit records hold only the fields each change set or cleared (see {@link BeerAuditDelta}), so a version is
+ * rebuilt by applying the deltas of a beer in order, starting from its creation. Records written before deltas
+ * were introduced hold the whole beer and replace the state instead. Once the records of a beer's creation have
+ * expired, its history starts from the baseline record written in their place (see
+ * {@link BeerAuditPartitionMaintenance}); records before the first record holding the whole beer cannot be rebuilt
+ * and are left out.
+ * <p>
+ * Searches page through the records newest first with a keyset cursor, so that a page costs the same at any depth.
+ */
+@Service
+@RequiredArgsConstructor
+public class BeerAuditServiceImpl implements BeerAuditService {
+
+    static final String BEER_DELETED = "BEER_DELETED";
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final BeerAuditRepository beerAuditRepository;
+
+    /**
+     * Rebuilds every audited version of a beer, oldest first.
+     *
+     * @param beerId The UUID of the beer.
+     * @return The versions, or an empty list if the beer has no audit records.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BeerVersionDTO> getBeerHistory(UUID beerId) {
+        List<BeerVersionDTO> history = new ArrayList<>();
+        BeerDTO state = new BeerDTO();
+        state.setId(beerId);
+
+        boolean complete = false;
+        for (BeerAudit beerAudit : beerAuditRepository.findAllByBeerIdInOrder(beerId)) {
+            complete = complete || holdsWholeBeer(beerAudit);
+            if (!complete) {
+                continue;
+            }
+            BeerDTO previous = copy(state);
+            apply(state, beerAudit);
+
+            history.add(BeerVersionDTO.builder()
+                    .auditId(beerAudit.getAuditId())
+                    .auditEventType(beerAudit.getAuditEventType())
+                    .principalName(beerAudit.getPrincipalName())
+                    .createdDateAudit(beerAudit.getCreatedDateAudit())
+                    .changedFields(BeerAuditDelta.fields(beerAudit.getDelta() != null
+                            ? beerAudit.getDelta()
+                            : BeerAuditDelta.encode(previous, state)))
+                    .beer(copy(state))
+                    .build());
+        }
+        return history;
+    }
+
+    /**
+     * Rebuilds a beer as it was at a version.
+     * When a change left the version as it was, the state after the last such change is returned. Versions
+     * written by changes that were coalesced into a later one (see
+     * {@link com.example.springpracticerestmvc.listeners.BeerEventCoalescer}) have no audit record and are not found.
+     *
+     * @param beerId  The UUID of the beer.
+     * @param version The version to rebuild.
+     * @return The version, or empty if no audit record has this version.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BeerVersionDTO> getBeerAtVersion(UUID beerId, Integer version) {
+        return getBeerHistory(beerId).stream()
+                .filter(beerVersion -> Objects.equals(beerVersion.getBeer().getVersion(), version)
+                        && !BEER_DELETED.equals(beerVersion.getAuditEventType()))
+                .reduce((first, second) -> second);
+    }
+
+    /**
+     * Searches audit records newest first, one page at a time.
+     * A beer or a principal is required, since only those are indexed together with the audit time; the event
+     * type and the time window narrow the search further. One extra record is fetched to decide whether a
+     * following page exists.
+     *
+     * @param beerId         The beer to filter by (optional if a principal is given).
+     * @param principalName  The principal to filter by (optional if a beer is given).
+     * @param auditEventType The event type to filter by (optional).
+     * @param from           The earliest audit time, inclusive (optional).
+     * @param to             The latest audit time, exclusive (optional).
+     * @param cursor         The continuation token from the previous page, or blank for the first page.
+     * @param pageSize       The number of records per page.
+     * @return A BeerAuditPageDTO with the page content and the next continuation token.
+     * @throws InvalidAuditSearchException if neither a beer nor a principal is given.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BeerAuditPageDTO searchAudit(UUID beerId, String principalName, String auditEventType, LocalDateTime from,
+                                        LocalDateTime to, String cursor, Integer pageSize) {
+        if (beerId == null && !StringUtils.hasText(principalName)) {
+            throw new InvalidAuditSearchException("A beer or a principal is required");
+        }
+
+        BeerAuditCursor after = BeerAuditCursor.decode(cursor);
+        int queryPageSize = Math.max(pageSize == null ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE), 1);
+
+        List<BeerAudit> beerAudits = beerAuditRepository.search(beerId,
+                StringUtils.hasText(principalName) ? principalName : null,
+                StringUtils.hasText(auditEventType) ? auditEventType : null,
+                from, to, after, queryPageSize + 1);
+
+        String nextCursor = null;
+        if (beerAudits.size() > queryPageSize) {
+            beerAudits = beerAudits.subList(0, queryPageSize);
+            BeerAudit last = beerAudits.getLast();
+            nextCursor = new BeerAuditCursor(last.getCreatedDateAudit(), last.getAuditId()).encode();
+        }
+
+        return BeerAuditPageDTO.builder()
+                .content(beerAudits.stream().map(BeerAuditServiceImpl::toBeerAuditDto).toList())
+                .pageSize(queryPageSize)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Rebuilds a beer from its audit records, oldest first.
+     *
+     * @param beerId     The UUID of the beer.
+     * @param beerAudits The audit records of the beer in order.
+     * @return The beer after the last record, or empty if no record holds the whole beer.
+     */
+    static Optional<BeerDTO> replay(UUID beerId, List<BeerAudit> beerAudits) {
+        BeerDTO state = null;
+        for (BeerAudit beerAudit : beerAudits) {
+            if (state == null && holdsWholeBeer(beerAudit)) {
+                state = new BeerDTO();
+                state.setId(beerId);
+            }
+            if (state != null) {
+                apply(state, beerAudit);
+            }
+        }
+        return Optional.ofNullable(state);
+    }
+
+    private static void apply(BeerDTO state, BeerAudit beerAudit) {
+        if (beerAudit.getDelta() != null) {
+            BeerAuditDelta.apply(state, beerAudit.getDelta());
+        } else if (!BEER_DELETED.equals(beerAudit.getAuditEventType())) {
+            applyFullRecord(state, beerAudit);
+        }
+        if (beerAudit.getVersion() != null) {
+            state.setVersion(beerAudit.getVersion());
+        }
+    }
+
+    // Creations, baselines and records written before deltas hold every field
+    private static boolean holdsWholeBeer(BeerAudit beerAudit) {
+        return beerAudit.getDelta() != null
+                ? BeerAuditDelta.isComplete(beerAudit.getDelta())
+                : !BEER_DELETED.equals(beerAudit.getAuditEventType());
+    }
+
+    private static BeerAuditDTO toBeerAuditDto(BeerAudit beerAudit) {
+        BeerDTO changes = new BeerDTO();
+        if (beerAudit.getDelta() != null) {
+            BeerAuditDelta.apply(changes, beerAudit.getDelta());
+        } else {
+            applyFullRecord(changes, beerAudit);
+        }
+        return BeerAuditDTO.builder()
+                .auditId(beerAudit.getAuditId())
+                .beerId(beerAudit.getId())
+                .version(beerAudit.getVersion())
+                .auditEventType(beerAudit.getAuditEventType())
+                .principalName(beerAudit.getPrincipalName())
+                .createdDateAudit(beerAudit.getCreatedDateAudit())
+                .changedFields(beerAudit.getDelta() != null ? BeerAuditDelta.fields(beerAudit.getDelta()) : null)
+                .changes(changes)
+                .build();
+    }
+
+    private static void applyFullRecord(BeerDTO state, BeerAudit beerAudit) {
+        state.setBeerName(beerAudit.getBeerName());
+        state.setBeerStyle(beerAudit.getBeerStyle());
+        state.setUpc(beerAudit.getUpc());
+        state.setQuantityOnHand(beerAudit.getQuantityOnHand());
+        state.setPrice(beerAudit.getPrice());
+        state.setCreatedDate(beerAudit.getCreatedDate());
+        state.setUpdateDate(beerAudit.getUpdateDate());
+    }
+
+    private static BeerDTO copy(BeerDTO beer) {
+        return new BeerDTO(beer.getId(), beer.getVersion(), beer.getBeerName(), beer.getBeerStyle(), beer.getUpc(),
+                beer.getQuantityOnHand(), beer.getPrice(), beer.getCreatedDate(), beer.getUpdateDate());
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.cache.BeerCacheInvalidator;
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.events.BeerBatchCreatedEvent;
+import com.example.springpracticerestmvc.events.BeerBatchEvent;
+import com.example.springpracticerestmvc.events.BeerBatchPatchedEvent;
+import com.example.springpracticerestmvc.mappers.BeerMapper;
+import com.example.springpracticerestmvc.model.BeerBulkPatchDTO;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BulkItemResultDTO;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.services.BeerBulkService;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and updates beers in bulk.
+ * <p>
+ * Items are validated one by one and the valid ones are written in chunks, each chunk in its own transaction
+ * with JDBC batch statements (see {@link BeerRepository#insertAll} and
+ * {@link BeerRepository#updatePriceAndInventory}). After a chunk commits, one {@link BeerBatchEvent} is published
+ * for the audit trail and the name indexes, and then its caches are invalidated in one round, so that the new
+ * list generations are not read before the indexes list the beers. A failing chunk is rolled back on its own;
+ * earlier chunks stay committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BeerBulkServiceImpl implements BeerBulkService {
+
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+    private final Validator validator;
+    private final BeerCacheInvalidator beerCacheInvalidator;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${beer.bulk.chunk-size:1000}")
+    int chunkSize = 1000;
+
+    @Value("${beer.bulk.batch-size:250}")
+    int batchSize = 250;
+
+    /**
+     * Validates and inserts new beers, reading the items as they are needed.
+     *
+     * @param beerDTOs The beers to create; null items are reported as unreadable.
+     * @return One result per item, in item order.
+     */
+    @Override
+    public List<BulkItemResultDTO> saveNewBeers(Iterator<BeerDTO> beerDTOs) {
+        val auth = SecurityContextHolder.getContext().getAuthentication();
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        List<Beer> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+
+        for (int index = 0; beerDTOs.hasNext(); index++) {
+            Beer beer = newBeer(beerDTOs.next());
+            List<String> errors = validate(beer);
+
+            if (!errors.isEmpty()) {
+                results.add(BulkItemResultDTO.invalid(index, errors));
+                continue;
+            }
+
+            chunk.add(beer);
+            chunkIndexes.add(index);
+            if (chunk.size() == chunkSize) {
+                insertChunk(chunk, chunkIndexes, auth, results);
+                chunk = new ArrayList<>(chunkSize);
+                chunkIndexes = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, chunkIndexes, auth, results);
+        }
+
+        results.sort(Comparator.comparingInt(BulkItemResultDTO::index));
+        return results;
+    }
+
+    /**
+     * Validates and applies price and inventory updates, each only if the beer's version still matches.
+     *
+     * @param patches The updates to apply.
+     * @return One result per update, in request order: updated, not found, or a conflict with the current version.
+     */
+    @Override
+    public List<BulkItemResultDTO> patchBeers(List<BeerBulkPatchDTO> patches) {
+        val auth = SecurityContextHolder.getContext().getAuthentication();
+        List<BulkItemResultDTO> results = new ArrayList<>(patches.size());
+        List<BeerBulkPatchDTO> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+
+        for (int index = 0; index < patches.size(); index++) {
+            BeerBulkPatchDTO patch = patches.get(index);
+            List<String> errors = validate(patch);
+
+            if (!errors.isEmpty()) {
+                results.add(BulkItemResultDTO.invalid(index, errors));
+                continue;
+            }
+
+            chunk.add(patch);
+            chunkIndexes.add(index);
+            if (chunk.size() == chunkSize) {
+                updateChunk(chunk, chunkIndexes, auth, results);
+                chunk = new ArrayList<>(chunkSize);
+                chunkIndexes = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            updateChunk(chunk, chunkIndexes, auth, results);
+        }
+
+        results.sort(Comparator.comparingInt(BulkItemResultDTO::index));
+        return results;
+    }
+
+    private void insertChunk(List<Beer> chunk, List<Integer> chunkIndexes, Authentication auth,
+                             List<BulkItemResultDTO> results) {
+        try {
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> beerRepository.insertAll(chunk, batchSize));
+        } catch (DataAccessException e) {
+            log.warn("Bulk insert of {} beers failed", chunk.size(), e);
+            String error = Objects.requireNonNullElse(e.getMostSpecificCause().getMessage(), "Insert failed");
+            chunkIndexes.forEach(index -> results.add(BulkItemResultDTO.failed(index, error)));
+            return;
+        }
+
+        applicationEventPublisher.publishEvent(
+                new BeerBatchCreatedEvent(chunk.stream().map(beerMapper::beerToBeerSnapshot).toList(), auth));
+        beerCacheInvalidator.beersCreated(chunk.stream().map(Beer::getId).toList(),
+                chunk.stream().map(Beer::getBeerStyle).collect(Collectors.toSet()));
+
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(BulkItemResultDTO.created(chunkIndexes.get(i), chunk.get(i).getId(), chunk.get(i).getVersion()));
+        }
+        log.debug("Bulk inserted {} beers", chunk.size());
+    }
+
+    private void updateChunk(List<BeerBulkPatchDTO> chunk, List<Integer> chunkIndexes, Authentication auth,
+                             List<BulkItemResultDTO> results) {
+        // Rows are updated in id order, so that concurrent bulk updates lock them in the same order
+        Integer[] order = new Integer[chunk.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(i -> chunk.get(i).getId()));
+        List<BeerBulkPatchDTO> sorted = Arrays.stream(order).map(chunk::get).toList();
+
+        ChunkUpdate update;
+        try {
+            update = new TransactionTemplate(transactionManager).execute(status -> {
+                int[] counts = beerRepository.updatePriceAndInventory(sorted, LocalDateTime.now(), batchSize);
+                // One projection read after the update tells missing beers from outdated versions and feeds the
+                // audit; it bypasses the persistence context, which may hold copies from before the update
+                Map<UUID, Beer> beers = beerRepository.findBeerDtosById(
+                                sorted.stream().map(BeerBulkPatchDTO::getId).distinct().toList(), true)
+                        .stream()
+                        .map(beerMapper::beerdtoToBeer)
+                        .collect(Collectors.toMap(Beer::getId, Function.identity()));
+                return new ChunkUpdate(counts, beers);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Bulk update of {} beers failed", chunk.size(), e);
+            String error = Objects.requireNonNullElse(e.getMostSpecificCause().getMessage(), "Update failed");
+            chunkIndexes.forEach(index -> results.add(BulkItemResultDTO.failed(index, error)));
+            return;
+        }
+
+        Map<UUID, Beer> updated = new LinkedHashMap<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            BeerBulkPatchDTO patch = sorted.get(i);
+            int index = chunkIndexes.get(order[i]);
+            Beer beer = update.beers().get(patch.getId());
+
+            if (update.applied(i, patch, beer)) {
+                results.add(BulkItemResultDTO.updated(index, patch.getId(), patch.getVersion() + 1));
+                updated.put(beer.getId(), beer);
+            } else if (beer == null) {
+                results.add(BulkItemResultDTO.notFound(index, patch.getId()));
+            } else {
+                results.add(BulkItemResultDTO.conflict(index, patch.getId(), patch.getVersion(), beer.getVersion()));
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            applicationEventPublisher.publishEvent(new BeerBatchPatchedEvent(
+                    updated.values().stream().map(beerMapper::beerToBeerSnapshot).toList(), auth));
+            beerCacheInvalidator.beersChanged(updated.keySet(),
+                    updated.values().stream().map(Beer::getBeerStyle).collect(Collectors.toSet()));
+        }
+        log.debug("Bulk updated {} of {} beers", updated.size(), chunk.size());
+    }
+
+    private Beer newBeer(BeerDTO beerDTO) {
+        if (beerDTO == null) {
+            return null;
+        }
+
+        // Ids, versions and timestamps are assigned here, since the batch insert bypasses Hibernate
+        val now = LocalDateTime.now();
+        val beer = beerMapper.beerdtoToBeer(beerDTO);
+        beer.setId(UUID.randomUUID());
+        beer.setVersion(0);
+        beer.setCreatedDate(now);
+        beer.setUpdateDate(now);
+        return beer;
+    }
+
+    private List<String> validate(BeerBulkPatchDTO patch) {
+        if (patch == null) {
+            return List.of("item is missing or unreadable");
+        }
+        List<String> errors = new ArrayList<>(validator.validate(patch).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .toList());
+        if (patch.getPrice() == null && patch.getQuantityOnHand() == null) {
+            errors.add("price or quantityOnHand is required");
+        }
+        return errors;
+    }
+
+    private List<String> validate(Beer beer) {
+        if (beer == null) {
+            return List.of("item is missing or unreadable");
+        }
+        return validator.validate(beer).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Update counts of a chunk, in id order, and the beers as they are after the update.
+     */
+    private record ChunkUpdate(int[] counts, Map<UUID, Beer> beers) {
+
+        boolean applied(int i, BeerBulkPatchDTO patch, Beer beer) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                // The driver did not report row counts; fall back to the version found after the update
+                return beer != null && beer.getVersion() == patch.getVersion() + 1;
+            }
+            return counts[i] > 0;
+        }
+    }
+}
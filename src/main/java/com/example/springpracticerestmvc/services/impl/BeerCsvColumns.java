@@ -0,0 +1,25 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import java.util.List;
+
+/**
+ * Positions of the BeerCSVRecord columns that the reflection-free parsers read, resolved once from the header
+ * row. A column missing from the header has index -1 and leaves its field null.
+ *
+ * @param row   Index of the {@code row} column.
+ * @param count Index of the {@code count.x} column.
+ * @param beer  Index of the {@code beer} column.
+ * @param style Index of the {@code style} column.
+ * @param width The number of columns in the header; rows with a different number are unreadable.
+ */
+record BeerCsvColumns(int row, int count, int beer, int style, int width) {
+
+    static BeerCsvColumns of(List<String> header) {
+        return new BeerCsvColumns(header.indexOf("row"), header.indexOf("count.x"), header.indexOf("beer"),
+                header.indexOf("style"), header.size());
+    }
+
+    boolean isRead(int column) {
+        return column == row || column == count || column == beer || column == style;
+    }
+}
@@ -2,23 +2,48 @@ package com.example.springpracticerestmvc.services.impl;
 
 import com.example.springpracticerestmvc.model.BeerCSVRecord;
 import com.example.springpracticerestmvc.services.BeerCsvService;
+import com.opencsv.CSVReader;
 import com.opencsv.bean.CsvToBeanBuilder;
+import com.opencsv.bean.HeaderColumnNameMappingStrategy;
+import com.opencsv.exceptions.CsvException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the BeerCsvService interface for converting CSV files into BeerCSVRecord objects.
- * This service is marked as the primary implementation and is active under the "localdb" and "default" profiles.
+ * This service binds every column of BeerCSVRecord with opencsv. It is active under the "localdb" and "default"
+ * profiles when selected with {@code beer.csv.parser=opencsv}; otherwise {@link MappedBeerCsvServiceImpl} is used.
  */
 @Service
 @Profile({"localdb", "default"})
 @Primary
+@ConditionalOnProperty(name = "beer.csv.parser", havingValue = "opencsv")
+@Slf4j
 public class BeerCsvServiceImpl implements BeerCsvService {
 
     /**
@@ -43,4 +68,218 @@ public class BeerCsvServiceImpl implements BeerCsvService {
             throw new RuntimeException(exception);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses CSV records one at a time as the returned iterator is advanced.
+     * Only the current row is held in memory, so input of any size can be processed. Rows that cannot be bound to
+     * a BeerCSVRecord are returned as null, so that every data row yields exactly one element.
+     *
+     * @param reader The CSV input, starting with the header row; closed once the last row has been read.
+     * @return An iterator over the records, in file order.
+     * @throws UncheckedIOException If the header or a row cannot be read.
+     */
+    @Override
+    public Iterator<BeerCSVRecord> iterateCSV(Reader reader) {
+        CSVReader csvReader = new CSVReader(reader);
+        HeaderColumnNameMappingStrategy<BeerCSVRecord> strategy = new HeaderColumnNameMappingStrategy<>();
+        strategy.setType(BeerCSVRecord.class);
+        try {
+            strategy.captureHeader(csvReader);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (CsvException exception) {
+            throw new IllegalArgumentException("Invalid CSV header", exception);
+        }
+
+        return new Iterator<>() {
+
+            private String[] line = readNext();
+
+            @Override
+            public boolean hasNext() {
+                return line != null;
+            }
+
+            @Override
+            public BeerCSVRecord next() {
+                if (line == null) {
+                    throw new NoSuchElementException();
+                }
+                BeerCSVRecord record;
+                try {
+                    record = strategy.populateNewBean(line);
+                } catch (CsvException exception) {
+                    log.debug("Skipping unreadable CSV row {}: {}", csvReader.getRecordsRead() - 1, exception.getMessage());
+                    record = null;
+                }
+                line = readNext();
+                return record;
+            }
+
+            private String[] readNext() {
+                try {
+                    String[] next = csvReader.readNext();
+                    if (next == null) {
+                        csvReader.close();
+                    }
+                    return next;
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                } catch (CsvException exception) {
+                    throw new IllegalArgumentException("Invalid CSV row " + csvReader.getRecordsRead(), exception);
+                }
+            }
+        };
+    }
+
+    /**
+     * Splits a CSV file into parts of roughly equal size that can be parsed concurrently.
+     * <p>
+     * Parts end at row boundaries: one pass over the bytes tracks quoting, so a line break inside a quoted field
+     * never splits a row. Each part is parsed as with {@link #iterateCSV(Reader)}, with the header row of the file
+     * in front, and opens its own reader on first use.
+     *
+     * @param csvFile The CSV file, starting with the header row.
+     * @param parts   The maximum number of parts; small files yield fewer.
+     * @return The parts, in file order; together they yield every record of the file once.
+     * @throws UncheckedIOException If the file cannot be read.
+     */
+    @Override
+    public List<Iterator<BeerCSVRecord>> splitCSV(File csvFile, int parts) {
+        Path path = csvFile.toPath();
+        List<Long> boundaries;
+        byte[] header;
+        try {
+            boundaries = rowBoundaries(path, Math.max(parts, 1));
+            try (InputStream in = Files.newInputStream(path)) {
+                header = in.readNBytes(boundaries.getFirst().intValue());
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        List<Iterator<BeerCSVRecord>> segments = new ArrayList<>();
+        for (int i = 0; i + 1 < boundaries.size(); i++) {
+            long start = boundaries.get(i);
+            long end = boundaries.get(i + 1);
+            segments.add(new LazyIterator(() -> iterateCSV(segmentReader(path, header, start, end))));
+        }
+        log.debug("Split {} into {} parts at {}", csvFile, segments.size(), boundaries);
+        return segments;
+    }
+
+    /**
+     * Finds the byte offsets at which the parts of a CSV file start: the end of the header row, the first row
+     * start at or after each of the evenly spaced targets, and finally the file size.
+     */
+    private static List<Long> rowBoundaries(Path path, int parts) throws IOException {
+        long size = Files.size(path);
+        List<Long> boundaries = new ArrayList<>(parts + 1);
+        long step = 0;
+        long nextTarget = Long.MAX_VALUE;
+        boolean quoted = false;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            long position = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (b == '"') {
+                    // An escaped quote ("") toggles twice and leaves the state unchanged
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    if (boundaries.isEmpty()) {
+                        boundaries.add(position);
+                        step = (size - position) / parts;
+                        nextTarget = parts > 1 ? position + step : Long.MAX_VALUE;
+                    } else if (position >= nextTarget && position < size) {
+                        boundaries.add(position);
+                        nextTarget = boundaries.size() < parts ? nextTarget + step : Long.MAX_VALUE;
+                    }
+                }
+            }
+        }
+        if (boundaries.isEmpty()) {
+            boundaries.add(size);
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+
+    private static Reader segmentReader(Path path, byte[] header, long start, long end) {
+        try {
+            InputStream in = Files.newInputStream(path);
+            in.skipNBytes(start);
+            return new BufferedReader(new InputStreamReader(new SequenceInputStream(
+                    new ByteArrayInputStream(header), new SegmentInputStream(in, end - start)), StandardCharsets.UTF_8));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Reads at most the given number of bytes from the underlying stream.
+     */
+    private static final class SegmentInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        SegmentInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Defers opening a part until it is first read, on the thread that parses it.
+     */
+    private static final class LazyIterator implements Iterator<BeerCSVRecord> {
+
+        private final Supplier<Iterator<BeerCSVRecord>> opener;
+        private Iterator<BeerCSVRecord> delegate;
+
+        LazyIterator(Supplier<Iterator<BeerCSVRecord>> opener) {
+            this.opener = opener;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (delegate == null) {
+                delegate = opener.get();
+            }
+            return delegate.hasNext();
+        }
+
+        @Override
+        public BeerCSVRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return delegate.next();
+        }
+    }
+}
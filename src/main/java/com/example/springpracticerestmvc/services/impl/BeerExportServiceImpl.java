@@ -0,0 +1,137 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerExportFormat;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.services.BeerExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Streams the beer catalog as NDJSON or CSV.
+ * <p>
+ * Rows are read through a forward-only cursor (see {@link BeerRepository#scrollBeerDtos}) and written to the
+ * output as they arrive, so neither the result set nor the response is held in memory. The whole export runs in
+ * one read-only transaction and therefore sees a consistent snapshot of the catalog.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BeerExportServiceImpl implements BeerExportService {
+
+    private static final String[] CSV_HEADER = {"id", "version", "beerName", "beerStyle", "upc", "quantityOnHand",
+            "price", "createdDate", "updateDate"};
+
+    private final BeerRepository beerRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${beer.export.fetch-size:500}")
+    int fetchSize = 500;
+
+    /**
+     * Writes all beers matching the filters to the given stream, in id order.
+     * The stream is flushed but not closed.
+     *
+     * @param beerName      The name of the beer to filter by (optional).
+     * @param beerStyle     The style of the beer to filter by (optional).
+     * @param showInventory Whether to include the quantity on hand (optional).
+     * @param format        The output format.
+     * @param outputStream  The stream to write to.
+     * @return The number of beers written.
+     * @throws IOException if writing to the stream fails.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBeers(String beerName, BeerStyle beerStyle, Boolean showInventory, BeerExportFormat format,
+                            OutputStream outputStream) throws IOException {
+        String beerNamePattern = StringUtils.hasText(beerName) ? "%" + beerName + "%" : null;
+        boolean includeInventory = showInventory != null && showInventory;
+
+        try {
+            long count = switch (format) {
+                case NDJSON -> writeNdjson(beerNamePattern, beerStyle, includeInventory, outputStream);
+                case CSV -> writeCsv(beerNamePattern, beerStyle, includeInventory, outputStream);
+            };
+            log.debug("Exported {} beers as {}", count, format);
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeNdjson(String beerNamePattern, BeerStyle beerStyle, boolean includeInventory,
+                             OutputStream outputStream) throws IOException {
+        // The generator buffers the rows rather than flushing after each, and ends each row with a line feed
+        // rather than the default space between root values
+        ObjectWriter writer = objectMapper.writerFor(BeerDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            return scroll(beerNamePattern, beerStyle, includeInventory, beerDTO -> {
+                try {
+                    writer.writeValue(generator, beerDTO);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private long writeCsv(String beerNamePattern, BeerStyle beerStyle, boolean includeInventory,
+                          OutputStream outputStream) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        // Not closed, as closing the writer would close the response stream
+        ICSVWriter csvWriter = new CSVWriter(writer);
+        csvWriter.writeNext(CSV_HEADER, false);
+
+        long count = scroll(beerNamePattern, beerStyle, includeInventory, beerDTO -> {
+            csvWriter.writeNext(toCsvRow(beerDTO), false);
+            // getException rather than checkError, which would flush after every row
+            if (csvWriter.getException() != null) {
+                throw new UncheckedIOException(csvWriter.getException());
+            }
+        });
+        csvWriter.flush();
+        return count;
+    }
+
+    private long scroll(String beerNamePattern, BeerStyle beerStyle, boolean includeInventory, Consumer<BeerDTO> action) {
+        return beerRepository.scrollBeerDtos(beerNamePattern, beerStyle, includeInventory, fetchSize, action);
+    }
+
+    private static String[] toCsvRow(BeerDTO beerDTO) {
+        return new String[]{
+                beerDTO.getId().toString(),
+                Objects.toString(beerDTO.getVersion(), ""),
+                beerDTO.getBeerName(),
+                beerDTO.getBeerStyle().name(),
+                beerDTO.getUpc(),
+                Objects.toString(beerDTO.getQuantityOnHand(), ""),
+                beerDTO.getPrice().toPlainString(),
+                Objects.toString(beerDTO.getCreatedDate(), ""),
+                Objects.toString(beerDTO.getUpdateDate(), "")
+        };
+    }
+}
@@ -0,0 +1,427 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.cache.BeerCacheInvalidator;
+import com.example.springpracticerestmvc.config.TaskConfig;
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.entities.BeerImportJob;
+import com.example.springpracticerestmvc.events.BeerBatchCreatedEvent;
+import com.example.springpracticerestmvc.exceptions.ImportNotResumableException;
+import com.example.springpracticerestmvc.exceptions.ImportTooLargeException;
+import com.example.springpracticerestmvc.exceptions.NotFoundException;
+import com.example.springpracticerestmvc.mappers.BeerImportJobMapper;
+import com.example.springpracticerestmvc.mappers.BeerMapper;
+import com.example.springpracticerestmvc.model.BeerCSVRecord;
+import com.example.springpracticerestmvc.model.BeerImportJobDTO;
+import com.example.springpracticerestmvc.model.BeerImportStatus;
+import com.example.springpracticerestmvc.repositories.BeerImportJobRepository;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.services.BeerCsvService;
+import com.example.springpracticerestmvc.services.BeerImportService;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Imports beers from uploaded CSV files.
+ * <p>
+ * The upload is spooled to disk and imported in the background, so the request returns as soon as the file is
+ * stored and progress is read from the job. Rows are parsed one at a time (see {@link BeerCsvService#iterateCSV})
+ * and inserted in chunks with JDBC batch statements. Each chunk commits together with the job checkpoint, so after
+ * a failure or a restart the import resumes right after the last committed row without duplicating beers.
+ * Memory use depends on the chunk size only, not on the size of the file.
+ * <p>
+ * Every change of a job increments its version, and a run changes its job only at the version its own last change
+ * left. Once a stalled run has been taken over, its next chunk is rolled back and it stops.
+ * <p>
+ * A completed import deletes its file. The files of imports that failed or were abandoned are kept for
+ * {@code beer.import.file-retention}, so that they can be resumed, and are deleted after that.
+ */
+@Service
+@Slf4j
+public class BeerImportServiceImpl implements BeerImportService {
+
+    private final BeerImportJobRepository beerImportJobRepository;
+    private final BeerImportJobMapper beerImportJobMapper;
+    private final BeerMapper beerMapper;
+    private final BeerRepository beerRepository;
+    private final BeerCsvService beerCsvService;
+    private final Validator validator;
+    private final BeerCacheInvalidator beerCacheInvalidator;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final AsyncTaskExecutor taskExecutor;
+
+    @Value("${beer.import.directory:${java.io.tmpdir}/beer-imports}")
+    Path directory;
+
+    @Value("${beer.import.chunk-size:1000}")
+    int chunkSize = 1000;
+
+    @Value("${beer.import.batch-size:250}")
+    int batchSize = 250;
+
+    @Value("${beer.import.stale-after:5m}")
+    Duration staleAfter = Duration.ofMinutes(5);
+
+    @Value("${beer.import.max-body-size:1GB}")
+    DataSize maxBodySize = DataSize.ofGigabytes(1);
+
+    @Value("${beer.import.file-retention:7d}")
+    Duration fileRetention = Duration.ofDays(7);
+
+    public BeerImportServiceImpl(BeerImportJobRepository beerImportJobRepository,
+                                 BeerImportJobMapper beerImportJobMapper,
+                                 BeerMapper beerMapper,
+                                 BeerRepository beerRepository,
+                                 BeerCsvService beerCsvService,
+                                 Validator validator,
+                                 BeerCacheInvalidator beerCacheInvalidator,
+                                 ApplicationEventPublisher applicationEventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier(TaskConfig.IMPORT_TASK_EXECUTOR_BEAN_NAME)
+                                 AsyncTaskExecutor taskExecutor) {
+        this.beerImportJobRepository = beerImportJobRepository;
+        this.beerImportJobMapper = beerImportJobMapper;
+        this.beerMapper = beerMapper;
+        this.beerRepository = beerRepository;
+        this.beerCsvService = beerCsvService;
+        this.validator = validator;
+        this.beerCacheInvalidator = beerCacheInvalidator;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionManager = transactionManager;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Stores the uploaded CSV file and starts importing it in the background.
+     *
+     * @param fileName The name of the uploaded file, for reference.
+     * @param content  The CSV content; read to the end, or to {@code beer.import.max-body-size}, but not closed.
+     * @return The new job, pending, or failed if too many imports are waiting to run.
+     * @throws ImportTooLargeException if the content is larger than {@code beer.import.max-body-size}.
+     * @throws IOException             if the upload cannot be stored.
+     */
+    @Override
+    public BeerImportJobDTO startImport(String fileName, InputStream content) throws IOException {
+        Path file = newFile();
+        long fileSize;
+        try {
+            fileSize = copy(content, file, maxBodySize.toBytes());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return start(fileName, file, fileSize);
+    }
+
+    /**
+     * Stores an uploaded CSV file and starts importing it in the background.
+     * The container has already spooled the upload to disk, so the file is moved rather than copied where the
+     * file system allows.
+     *
+     * @param upload The uploaded file.
+     * @return The new job, pending, or failed if too many imports are waiting to run.
+     * @throws IOException if the upload cannot be stored.
+     */
+    @Override
+    public BeerImportJobDTO startImport(MultipartFile upload) throws IOException {
+        Path file = newFile();
+        // The File overload, which the container implements by moving its spooled file
+        upload.transferTo(file.toFile());
+        return start(upload.getOriginalFilename(), file, Files.size(file));
+    }
+
+    // Files.copy() without a limit; the content may be a request body of any length
+    private static long copy(InputStream content, Path file, long maxSize) throws IOException {
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE_NEW)) {
+            byte[] buffer = new byte[8192];
+            for (int read = content.read(buffer); read >= 0; read = content.read(buffer)) {
+                size += read;
+                if (size > maxSize) {
+                    throw new ImportTooLargeException("Import is larger than " + maxSize + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    private Path newFile() throws IOException {
+        Files.createDirectories(directory);
+        return directory.resolve(UUID.randomUUID() + ".csv").toAbsolutePath();
+    }
+
+    private BeerImportJobDTO start(String fileName, Path file, long fileSize) {
+        val job = beerImportJobRepository.save(BeerImportJob.builder()
+                .fileName(StringUtils.abbreviate(StringUtils.defaultIfBlank(fileName, file.getFileName().toString()), 255))
+                .filePath(file.toAbsolutePath().toString())
+                .fileSize(fileSize)
+                .status(BeerImportStatus.PENDING)
+                .build());
+        log.debug("Import {} of {} ({} bytes) stored at {}", job.getId(), job.getFileName(), fileSize, file);
+
+        if (!submit(job.getId(), job.getVersion())) {
+            return getImport(job.getId()).orElseThrow(NotFoundException::new);
+        }
+        return beerImportJobMapper.beerImportJobToBeerImportJobDto(job);
+    }
+
+    /**
+     * Restarts a failed or stalled import after its last committed row.
+     * An import stalls when its node stops while running; it is taken over once it has not checkpointed for
+     * {@code beer.import.stale-after}. The spooled file must still be present on this node.
+     *
+     * @param jobId The id of the import.
+     * @return The job, pending again.
+     * @throws NotFoundException            if there is no such import.
+     * @throws ImportNotResumableException if the import completed, is still running, or its file is gone.
+     */
+    @Override
+    public BeerImportJobDTO resumeImport(UUID jobId) {
+        val job = beerImportJobRepository.findById(jobId).orElseThrow(NotFoundException::new);
+        if (!Files.isReadable(Path.of(job.getFilePath()))) {
+            throw new ImportNotResumableException("Import file is no longer available");
+        }
+
+        val now = LocalDateTime.now();
+        Integer claimed = new TransactionTemplate(transactionManager).execute(status ->
+                beerImportJobRepository.markPending(jobId, job.getVersion(), now.minus(staleAfter), now));
+        if (claimed == null || claimed == 0) {
+            throw new ImportNotResumableException("Import is " + job.getStatus().name().toLowerCase());
+        }
+        log.debug("Resuming import {} after row {}", jobId, job.getRowsCommitted());
+
+        submit(jobId, job.getVersion() + 1);
+        return getImport(jobId).orElseThrow(NotFoundException::new);
+    }
+
+    /**
+     * Returns an import with its progress.
+     *
+     * @param jobId The id of the import.
+     * @return The job, or empty if there is no such import.
+     */
+    @Override
+    public Optional<BeerImportJobDTO> getImport(UUID jobId) {
+        return beerImportJobRepository.findById(jobId).map(beerImportJobMapper::beerImportJobToBeerImportJobDto);
+    }
+
+    /**
+     * Deletes the files of imports that have not changed for {@code beer.import.file-retention}, failed or
+     * abandoned ones, since completed imports delete theirs, and files without an import.
+     * Files are spooled on the node that received the upload, so each node cleans up its own directory.
+     */
+    @Scheduled(initialDelayString = "${beer.import.cleanup-interval:PT1H}",
+            fixedDelayString = "${beer.import.cleanup-interval:PT1H}")
+    public void deleteExpiredFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant expiry = Instant.now().minus(fileRetention);
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (isExpired(file, expiry) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up the import directory {}", directory, e);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} import files unchanged since {}", deleted, expiry);
+        }
+    }
+
+    private boolean isExpired(Path file, Instant expiry) throws IOException {
+        if (Files.getLastModifiedTime(file).toInstant().isAfter(expiry)) {
+            return false;
+        }
+        val updatedBefore = LocalDateTime.ofInstant(expiry, ZoneId.systemDefault());
+        return beerImportJobRepository.findByFilePath(file.toAbsolutePath().toString())
+                .map(job -> job.getUpdateDate() == null || job.getUpdateDate().isBefore(updatedBefore))
+                .orElse(true);
+    }
+
+    // Imports that find the import queue full fail right away and can be resumed later
+    private boolean submit(UUID jobId, int version) {
+        // The request's authentication does not reach the import thread, but the audit events need it
+        val auth = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            taskExecutor.execute(() -> run(jobId, version, auth));
+            return true;
+        } catch (TaskRejectedException e) {
+            log.warn("Import {} rejected: {}", jobId, e.getMessage());
+            finish(jobId, version, BeerImportStatus.FAILED, StringUtils.abbreviate(e.getMessage(), 1000));
+            return false;
+        }
+    }
+
+    private void run(UUID jobId, int pendingVersion, Authentication auth) {
+        Integer claimed = new TransactionTemplate(transactionManager).execute(status ->
+                beerImportJobRepository.markRunning(jobId, pendingVersion, LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            log.debug("Import {} was already taken", jobId);
+            return;
+        }
+        int version = pendingVersion + 1;
+
+        val job = beerImportJobRepository.findById(jobId).orElseThrow();
+        try (Reader reader = Files.newBufferedReader(Path.of(job.getFilePath()), StandardCharsets.UTF_8)) {
+            Iterator<BeerCSVRecord> records = beerCsvService.iterateCSV(reader);
+
+            long row = 0;
+            while (row < job.getRowsCommitted() && records.hasNext()) {
+                records.next();
+                row++;
+            }
+
+            Chunk chunk = new Chunk();
+            while (records.hasNext()) {
+                BeerCSVRecord record = records.next();
+                row++;
+                chunk.add(row, record == null ? null : toBeer(record));
+                if (chunk.rows == chunkSize) {
+                    version = commit(jobId, version, row, chunk, auth);
+                    chunk = new Chunk();
+                }
+            }
+            version = commit(jobId, version, row, chunk, auth);
+
+            if (!finish(jobId, version, BeerImportStatus.COMPLETED, null)) {
+                throw new ImportTakenOverException();
+            }
+            Files.deleteIfExists(Path.of(job.getFilePath()));
+            log.debug("Import {} completed after {} rows", jobId, row);
+        } catch (ImportTakenOverException e) {
+            log.warn("Import {} was taken over by another run, stopping", jobId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import {} failed", jobId, e);
+            finish(jobId, version, BeerImportStatus.FAILED, StringUtils.abbreviate(
+                    StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName()), 1000));
+        }
+    }
+
+    /**
+     * Inserts a chunk and checkpoints the job in one transaction.
+     *
+     * @return The version of the job after the checkpoint.
+     * @throws ImportTakenOverException if the job has been taken over; the chunk is rolled back.
+     */
+    private int commit(UUID jobId, int version, long row, Chunk chunk, Authentication auth) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // First, so that the job stays locked while the chunk is inserted
+            if (beerImportJobRepository.checkpoint(jobId, version, row, chunk.beers.size(), chunk.rejected,
+                    chunk.lastError, LocalDateTime.now()) == 0) {
+                throw new ImportTakenOverException();
+            }
+            if (!chunk.beers.isEmpty()) {
+                beerRepository.insertAll(chunk.beers, batchSize);
+            }
+        });
+
+        if (!chunk.beers.isEmpty()) {
+            // Indexed before the list generations advance, as for single beers
+            applicationEventPublisher.publishEvent(new BeerBatchCreatedEvent(
+                    chunk.beers.stream().map(beerMapper::beerToBeerSnapshot).toList(), auth));
+            beerCacheInvalidator.beersCreated(chunk.beers.stream().map(Beer::getId).toList(),
+                    chunk.beers.stream().map(Beer::getBeerStyle).collect(Collectors.toSet()));
+        }
+        log.debug("Import {} committed through row {}", jobId, row);
+        return version + 1;
+    }
+
+    // Returns false if the job has been taken over
+    private boolean finish(UUID jobId, int version, BeerImportStatus status, String error) {
+        Integer updated = new TransactionTemplate(transactionManager).execute(transactionStatus ->
+                beerImportJobRepository.updateStatus(jobId, version, status, error, LocalDateTime.now()));
+        return updated != null && updated > 0;
+    }
+
+    // Same mapping as the bootstrap data; ids, versions and timestamps are assigned here, since the batch insert
+    // bypasses Hibernate
+    private static Beer toBeer(BeerCSVRecord record) {
+        val now = LocalDateTime.now();
+        return Beer.builder()
+                .id(UUID.randomUUID())
+                .version(0)
+                .beerName(StringUtils.abbreviate(record.getBeer(), 50))
+                .beerStyle(record.toBeerStyle())
+                .price(BigDecimal.TEN)
+                .upc(record.getRow() == null ? null : record.getRow().toString())
+                .quantityOnHand(record.getCount())
+                .createdDate(now)
+                .updateDate(now)
+                .build();
+    }
+
+    /**
+     * Thrown when a run finds that its job has been taken over by another run.
+     */
+    private static class ImportTakenOverException extends RuntimeException {
+    }
+
+    /**
+     * The rows read since the last checkpoint: the beers to insert and the rows rejected.
+     */
+    private class Chunk {
+
+        private final List<Beer> beers = new ArrayList<>();
+        private int rows;
+        private int rejected;
+        private String lastError;
+
+        void add(long row, Beer beer) {
+            rows++;
+            List<String> errors = beer == null
+                    ? List.of("row is unreadable")
+                    : validator.validate(beer).stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .toList();
+
+            if (errors.isEmpty()) {
+                beers.add(beer);
+            } else {
+                rejected++;
+                lastError = StringUtils.abbreviate("row " + row + ": " + String.join(", ", errors), 1000);
+            }
+        }
+    }
+}
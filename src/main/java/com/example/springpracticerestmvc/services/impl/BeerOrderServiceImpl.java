@@ -8,10 +8,12 @@ import com.example.springpracticerestmvc.mappers.BeerOrderMapper;
 import com.example.springpracticerestmvc.model.BeerOrderCreateDTO;
 import com.example.springpracticerestmvc.model.BeerOrderDTO;
 import com.example.springpracticerestmvc.model.BeerOrderUpdateDTO;
+import com.example.springpracticerestmvc.model.SliceDTO;
 import com.example.springpracticerestmvc.repositories.BeerOrderRepository;
 import com.example.springpracticerestmvc.repositories.BeerRepository;
 import com.example.springpracticerestmvc.repositories.CustomerRepository;
 import com.example.springpracticerestmvc.services.BeerOrderService;
+import com.example.springpracticerestmvc.services.CatalogCountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -35,6 +37,7 @@ public class BeerOrderServiceImpl implements BeerOrderService {
     private final CustomerRepository customerRepository;
     private final BeerRepository beerRepository;
     private final BeerOrderMapper beerOrderMapper;
+    private final CatalogCountService catalogCountService;
 
     /**
      * Retrieves a beer order by its ID.
@@ -51,6 +54,17 @@ public class BeerOrderServiceImpl implements BeerOrderService {
         );
     }
 
+    /**
+     * Retrieves the current version of a beer order with a single-column query, without loading the order.
+     *
+     * @param beerOrderId The UUID of the beer order.
+     * @return An Optional containing the version if the order exists, or empty if not found.
+     */
+    @Override
+    public Optional<Long> getVersion(UUID beerOrderId) {
+        return beerOrderRepository.findVersionById(beerOrderId);
+    }
+
     /**
      * Lists beer orders with pagination.
      *
@@ -60,6 +74,43 @@ public class BeerOrderServiceImpl implements BeerOrderService {
      */
     @Override
     public Page<BeerOrderDTO> listOrders(Integer pageNumber, Integer pageSize) {
+        return beerOrderRepository
+                .findAll(buildPageRequest(pageNumber, pageSize))
+                .map(beerOrderMapper::beerOrderToBeerOrderDTO);
+    }
+
+    /**
+     * Lists beer orders with pagination, without counting the total number of orders.
+     * One extra row is fetched to decide whether a following page exists.
+     *
+     * @param pageNumber The page number to retrieve (0-based).
+     * @param pageSize   The number of items per page.
+     * @return A SliceDTO of BeerOrderDTO objects with the periodically refreshed order count estimate.
+     */
+    @Override
+    public SliceDTO<BeerOrderDTO> listOrdersSlice(Integer pageNumber, Integer pageSize) {
+        var pageRequest = buildPageRequest(pageNumber, pageSize);
+        var orderSlice = beerOrderRepository
+                .findSliceBy(pageRequest)
+                .map(beerOrderMapper::beerOrderToBeerOrderDTO);
+
+        return SliceDTO.<BeerOrderDTO>builder()
+                .content(orderSlice.getContent())
+                .pageNumber(pageRequest.getPageNumber())
+                .pageSize(pageRequest.getPageSize())
+                .hasNext(orderSlice.hasNext())
+                .estimatedTotal(catalogCountService.getEstimatedBeerOrderCount())
+                .build();
+    }
+
+    /**
+     * Builds a PageRequest object for pagination.
+     *
+     * @param pageNumber The page number to retrieve (0-based).
+     * @param pageSize   The number of items per page.
+     * @return A PageRequest object.
+     */
+    private PageRequest buildPageRequest(Integer pageNumber, Integer pageSize) {
 
         if (pageNumber == null || pageNumber < 0) {
             pageNumber = 0;
@@ -69,11 +120,7 @@ public class BeerOrderServiceImpl implements BeerOrderService {
             pageSize = 25; // Default page size
         }
 
-        var pageRequest = PageRequest.of(pageNumber, pageSize);
-
-        return beerOrderRepository
-                .findAll(pageRequest)
-                .map(beerOrderMapper::beerOrderToBeerOrderDTO);
+        return PageRequest.of(pageNumber, pageSize);
     }
 
     /**
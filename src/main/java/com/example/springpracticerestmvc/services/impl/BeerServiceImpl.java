@@ -1,7 +1,13 @@
 package com.example.springpracticerestmvc.services.impl;
 
+import com.example.springpracticerestmvc.model.BeerCursor;
+import com.example.springpracticerestmvc.model.BeerCursorPageDTO;
 import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerListingVersion;
 import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerSuggestionDTO;
+import com.example.springpracticerestmvc.model.SliceDTO;
+import com.example.springpracticerestmvc.search.BeerNameNgramIndex;
 import com.example.springpracticerestmvc.services.BeerService;
 import org.slf4j.Logger;
 import org.springframework.data.domain.Page;
@@ -86,6 +92,125 @@ public class BeerServiceImpl implements BeerService {
         return new PageImpl<>(new ArrayList<>(beerMap.values()));
     }
 
+    /**
+     * Lists beers with pagination, without a total count.
+     *
+     * @param beerName      The name of the beer to filter by (optional).
+     * @param beerStyle     The style of the beer to filter by (optional).
+     * @param showInventory Whether to show inventory details (optional).
+     * @param pageNumber    The page number to retrieve (1-based).
+     * @param pageSize      The number of items per page.
+     * @return A SliceDTO of BeerDTO objects.
+     */
+    @Override
+    public SliceDTO<BeerDTO> listBeersSlice(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize) {
+        int page = (pageNumber != null && pageNumber > 0) ? pageNumber - 1 : 0;
+        int size = (pageSize == null || pageSize < 1) ? 25 : Math.min(pageSize, 1000);
+        var beers = new ArrayList<>(beerMap.values());
+
+        return SliceDTO.<BeerDTO>builder()
+                .content(beers.stream().skip((long) page * size).limit(size).toList())
+                .pageNumber(page + 1)
+                .pageSize(size)
+                .hasNext((long) (page + 1) * size < beers.size())
+                .estimatedTotal((long) beers.size())
+                .build();
+    }
+
+    /**
+     * Lists beers whose name is similar to the given name, most similar first.
+     *
+     * @param beerName      The possibly misspelled beer name to search for.
+     * @param beerStyle     The style of the beer to filter by (optional).
+     * @param showInventory Whether to show inventory details (optional).
+     * @param pageNumber    The page number to retrieve (1-based).
+     * @param pageSize      The number of items per page.
+     * @return A Page of BeerDTO objects.
+     */
+    @Override
+    public Page<BeerDTO> listBeersFuzzy(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize) {
+        var index = new BeerNameNgramIndex();
+        beerMap.values().forEach(beer -> index.put(beer.getId(), beer.getBeerName(), beer.getBeerStyle()));
+
+        return new PageImpl<>(index.findIdsBySimilarName(beerName, beerStyle, BeerNameNgramIndex.DEFAULT_SIMILARITY_THRESHOLD)
+                .stream()
+                .map(beerMap::get)
+                .toList());
+    }
+
+    /**
+     * Lists beers ordered by (beerName, id), starting after the given cursor.
+     *
+     * @param beerName      The name of the beer to filter by (optional).
+     * @param beerStyle     The style of the beer to filter by (optional).
+     * @param showInventory Whether to show inventory details (optional).
+     * @param cursor        The continuation token from the previous page, or blank for the first page.
+     * @param pageSize      The number of items per page.
+     * @return A BeerCursorPageDTO with the page content and the next continuation token.
+     */
+    @Override
+    public BeerCursorPageDTO listBeersByCursor(String beerName, BeerStyle beerStyle, Boolean showInventory, String cursor, Integer pageSize) {
+        var after = BeerCursor.decode(cursor);
+        int size = (pageSize == null || pageSize < 1) ? 25 : Math.min(pageSize, 1000);
+        Comparator<BeerDTO> order = Comparator.comparing(BeerDTO::getBeerName)
+                .thenComparing(BeerDTO::getId);
+        var afterBeer = new BeerDTO();
+        afterBeer.setBeerName(after.beerName());
+        afterBeer.setId(after.id());
+
+        var beers = beerMap.values().stream()
+                .filter(beer -> !StringUtils.hasText(beerName) || beer.getBeerName().toLowerCase().contains(beerName.toLowerCase()))
+                .filter(beer -> beerStyle == null || beer.getBeerStyle() == beerStyle)
+                .filter(beer -> order.compare(beer, afterBeer) > 0)
+                .sorted(order)
+                .limit(size + 1L)
+                .toList();
+
+        String nextCursor = null;
+        if (beers.size() > size) {
+            beers = beers.subList(0, size);
+            var last = beers.getLast();
+            nextCursor = new BeerCursor(last.getBeerName(), last.getId()).encode();
+        }
+
+        return BeerCursorPageDTO.builder()
+                .content(beers)
+                .pageSize(size)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Suggests beers whose name starts with the given prefix.
+     *
+     * @param prefix The prefix typed so far.
+     * @param limit  The maximum number of suggestions (optional).
+     * @return Matching beers with their style, in name order.
+     */
+    @Override
+    public List<BeerSuggestionDTO> suggestBeers(String prefix, Integer limit) {
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
+        return beerMap.values().stream()
+                .filter(beer -> beer.getBeerName().toLowerCase().startsWith(prefix.toLowerCase()))
+                .sorted(Comparator.comparing(BeerDTO::getBeerName))
+                .limit(limit == null || limit < 1 ? 10 : limit)
+                .map(beer -> new BeerSuggestionDTO(beer.getId(), beer.getBeerName(), beer.getBeerStyle()))
+                .toList();
+    }
+
+    /**
+     * Listing versions are not tracked for the in-memory beers, so listings are never answered as unmodified.
+     *
+     * @param beerStyle The style filter (optional).
+     * @return Always empty.
+     */
+    @Override
+    public Optional<BeerListingVersion> getListingVersion(BeerStyle beerStyle) {
+        return Optional.empty();
+    }
+
     /**
      * Retrieves a beer by its ID.
      *
@@ -100,6 +225,18 @@ public class BeerServiceImpl implements BeerService {
         );
     }
 
+    /**
+     * Retrieves the current version of a beer.
+     *
+     * @param beerId The UUID of the beer.
+     * @return An Optional containing the version if found, or empty if not found.
+     */
+    @Override
+    public Optional<Integer> getBeerVersion(UUID beerId) {
+        return Optional.ofNullable(beerMap.get(beerId))
+                .map(beer -> beer.getVersion() == null ? 0 : beer.getVersion());
+    }
+
     /**
      * Saves a new beer.
      *
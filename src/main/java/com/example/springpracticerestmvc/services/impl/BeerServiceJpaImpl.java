@@ -1,38 +1,62 @@
 package com.example.springpracticerestmvc.services.impl;
 
-import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.cache.BeerCacheGenerations;
+import com.example.springpracticerestmvc.cache.BeerCacheInvalidator;
+import com.example.springpracticerestmvc.cache.MissingIdCache;
 import com.example.springpracticerestmvc.events.BeerCreatedEvent;
 import com.example.springpracticerestmvc.events.BeerDeletedEvent;
 import com.example.springpracticerestmvc.events.BeerPatchedEvent;
+import com.example.springpracticerestmvc.events.BeerSnapshot;
 import com.example.springpracticerestmvc.events.BeerUpdatedEvent;
 import com.example.springpracticerestmvc.mappers.BeerMapper;
+import com.example.springpracticerestmvc.model.BeerCursor;
+import com.example.springpracticerestmvc.model.BeerCursorPageDTO;
 import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerListingVersion;
 import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerSuggestionDTO;
+import com.example.springpracticerestmvc.model.SliceDTO;
 import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.search.BeerNameNgramIndex;
+import com.example.springpracticerestmvc.search.BeerNameSuggestIndex;
 import com.example.springpracticerestmvc.services.BeerService;
+import com.example.springpracticerestmvc.services.CatalogCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the BeerService interface using JPA for beer-related operations.
  * Provides methods for CRUD operations on beers and integrates caching and event publishing.
+ * Writes invalidate only the changed beer and the listings of its styles through {@link BeerCacheInvalidator}.
+ * Each write publishes its beer event before it invalidates, so the name indexes hold the change before the list
+ * generations advance.
  */
 @Service
 @Profile({"localdb"})
@@ -43,14 +67,28 @@ public class BeerServiceJpaImpl implements BeerService {
 
     private static final int DEFAULT_PAGE = 0;
     private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_SUGGESTION_LIMIT = 10;
+    private static final int MAX_SUGGESTION_LIMIT = 50;
     private final BeerRepository beerRepository;
     private final BeerMapper beerMapper;
+    private final BeerCacheInvalidator beerCacheInvalidator;
+    private final BeerCacheGenerations beerCacheGenerations;
+    private final MissingIdCache missingIdCache;
     private final CacheManager cacheManager;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final CatalogCountService catalogCountService;
+    private final BeerNameNgramIndex beerNameNgramIndex;
+    private final BeerNameSuggestIndex beerNameSuggestIndex;
 
     /**
      * Lists beers with optional filtering and pagination.
-     * Results are cached for performance optimization.
+     * Results are cached under a key that includes the list generation of the requested style, so writes only
+     * invalidate the listings they affect.
+     * <p>
+     * Rows are selected straight into DTOs in a read-only transaction, so no managed entities are created.
+     * The quantity on hand column is left out of the query when inventory is not requested.
+     * Name filters are resolved by the in-memory trigram index once it is loaded.
      *
      * @param beerName      The name of the beer to filter by (optional).
      * @param beerStyle     The style of the beer to filter by (optional).
@@ -59,29 +97,92 @@ public class BeerServiceJpaImpl implements BeerService {
      * @param pageSize      The number of items per page.
      * @return A Page of BeerDTO objects.
      */
-    @Cacheable(cacheNames = "beerListCache")
+    @Cacheable(cacheNames = "beerListCache",
+            key = "@beerCacheGenerations.listKey(#beerName, #beerStyle, #showInventory, #pageNumber, #pageSize)")
+    @Transactional(readOnly = true)
     @Override
     public Page<BeerDTO> listBeers(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize) {
         log.info("List beers - in JPA Service");
 
-        Page<Beer> beerPage;
         PageRequest pageRequest = buildPageRequest(pageNumber, pageSize);
+        boolean includeInventory = showInventory == null || showInventory;
 
-        if (StringUtils.hasText(beerName) && beerStyle == null) {
-            beerPage = listBeersByName(beerName, pageRequest);
-        } else if (!StringUtils.hasText(beerName) && beerStyle != null) {
-            beerPage = listBeersByStyle(beerStyle, pageRequest);
-        } else if (StringUtils.hasText(beerName) && beerStyle != null) {
-            beerPage = listBeersByNameAndStyle(beerName, beerStyle, pageRequest);
-        } else {
-            beerPage = beerRepository.findAll(pageRequest);
+        if (StringUtils.hasText(beerName) && beerNameNgramIndex.isReady()) {
+            return pageOfIds(beerNameNgramIndex.findIdsByNameContaining(beerName, beerStyle), includeInventory, pageRequest);
         }
 
-        if (showInventory != null && !showInventory) {
-            beerPage.forEach(beer -> beer.setQuantityOnHand(null));
+        String beerNamePattern = StringUtils.hasText(beerName) ? "%" + beerName + "%" : null;
+        return beerRepository.findBeerDtos(beerNamePattern, beerStyle, includeInventory, pageRequest);
+    }
+
+    /**
+     * Lists beers with optional filtering and pagination, without counting the matching rows.
+     * One extra row is fetched to decide whether a following page exists. The total, when available,
+     * is a periodically refreshed estimate; name filters have no estimate.
+     *
+     * @param beerName      The name of the beer to filter by (optional).
+     * @param beerStyle     The style of the beer to filter by (optional).
+     * @param showInventory Whether to show inventory details (optional).
+     * @param pageNumber    The page number to retrieve (1-based).
+     * @param pageSize      The number of items per page.
+     * @return A SliceDTO of BeerDTO objects.
+     */
+    @Override
+    public SliceDTO<BeerDTO> listBeersSlice(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize) {
+        log.info("List beers slice - in JPA Service");
+
+        PageRequest pageRequest = buildPageRequest(pageNumber, pageSize);
+        boolean includeInventory = showInventory == null || showInventory;
+        String beerNamePattern = StringUtils.hasText(beerName) ? "%" + beerName + "%" : null;
+
+        Slice<BeerDTO> beerSlice = beerRepository.findBeerDtoSlice(beerNamePattern, beerStyle, includeInventory,
+                pageRequest);
+
+        return SliceDTO.<BeerDTO>builder()
+                .content(beerSlice.getContent())
+                .pageNumber(pageRequest.getPageNumber() + 1)
+                .pageSize(pageRequest.getPageSize())
+                .hasNext(beerSlice.hasNext())
+                .estimatedTotal(StringUtils.hasText(beerName) ? null : catalogCountService.getEstimatedBeerCount(beerStyle))
+                .build();
+    }
+
+    /**
+     * Lists beers using keyset pagination ordered by (beerName, id).
+     * Each page seeks directly past the previous page's last row, so fetch cost does not grow with depth.
+     * One extra row is fetched to decide whether a following page exists.
+     *
+     * @param beerName      The name of the beer to filter by (optional).
+     * @param beerStyle     The style of the beer to filter by (optional).
+     * @param showInventory Whether to show inventory details (optional).
+     * @param cursor        The continuation token from the previous page, or blank for the first page.
+     * @param pageSize      The number of items per page.
+     * @return A BeerCursorPageDTO with the page content and the next continuation token.
+     */
+    @Override
+    public BeerCursorPageDTO listBeersByCursor(String beerName, BeerStyle beerStyle, Boolean showInventory, String cursor, Integer pageSize) {
+        log.info("List beers by cursor - in JPA Service");
+
+        BeerCursor after = BeerCursor.decode(cursor);
+        int queryPageSize = Math.max(resolvePageSize(pageSize), 1);
+        boolean includeInventory = showInventory == null || showInventory;
+        String beerNamePattern = StringUtils.hasText(beerName) ? "%" + beerName + "%" : null;
+
+        List<BeerDTO> content = beerRepository.findBeerDtosAfter(beerNamePattern, beerStyle, includeInventory,
+                after.beerName(), after.id(), queryPageSize + 1);
+
+        String nextCursor = null;
+        if (content.size() > queryPageSize) {
+            content = content.subList(0, queryPageSize);
+            BeerDTO last = content.getLast();
+            nextCursor = new BeerCursor(last.getBeerName(), last.getId()).encode();
         }
 
-        return beerPage.map(beerMapper::beerToBeerDto);
+        return BeerCursorPageDTO.builder()
+                .content(content)
+                .pageSize(queryPageSize)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
@@ -93,72 +194,154 @@ public class BeerServiceJpaImpl implements BeerService {
      */
     private PageRequest buildPageRequest(Integer pageNumber, Integer pageSize) {
         int queryPageNumber = (pageNumber != null && pageNumber > 0) ? pageNumber - 1 : DEFAULT_PAGE;
-        int queryPageSize = (pageSize == null) ? DEFAULT_PAGE_SIZE : Math.min(pageSize, 1000);
+        int queryPageSize = resolvePageSize(pageSize);
         Sort sort = Sort.by(Sort.Order.asc("beerName"));
         return PageRequest.of(queryPageNumber, queryPageSize, sort);
     }
 
     /**
-     * Lists beers filtered by name and style.
+     * Resolves the requested page size, applying the default and the upper bound.
      *
-     * @param beerName  The name of the beer to filter by.
-     * @param beerStyle The style of the beer to filter by.
-     * @param pageable  The pagination information.
-     * @return A Page of Beer entities.
+     * @param pageSize The requested number of items per page (optional).
+     * @return The page size to query with.
      */
-    private Page<Beer> listBeersByNameAndStyle(String beerName, BeerStyle beerStyle, Pageable pageable) {
-        return beerRepository.findAllByBeerNameIsLikeIgnoreCaseAndBeerStyle("%" + beerName + "%", beerStyle, pageable);
+    private int resolvePageSize(Integer pageSize) {
+        return (pageSize == null) ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
     }
 
     /**
-     * Lists beers filtered by style.
+     * Fetches one page of an ordered list of beer ids by primary key as DTOs, keeping the order of the list.
      *
-     * @param beerStyle The style of the beer to filter by.
-     * @param pageable  The pagination information.
-     * @return A Page of Beer entities.
+     * @param matchingIds   The ids of all matching beers, in result order.
+     * @param showInventory Whether to select the quantity on hand.
+     * @param pageable      The pagination information.
+     * @return A Page of BeerDTO objects with the total set to the number of matching ids.
      */
-    private Page<Beer> listBeersByStyle(BeerStyle beerStyle, Pageable pageable) {
-        return beerRepository.findAllByBeerStyle(beerStyle, pageable);
+    private Page<BeerDTO> pageOfIds(List<UUID> matchingIds, boolean showInventory, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), matchingIds.size());
+        int to = Math.min(from + pageable.getPageSize(), matchingIds.size());
+        List<UUID> pageIds = matchingIds.subList(from, to);
+
+        Map<UUID, BeerDTO> beersById = beerRepository.findBeerDtosById(pageIds, showInventory).stream()
+                .collect(Collectors.toMap(BeerDTO::getId, Function.identity()));
+
+        List<BeerDTO> beers = pageIds.stream()
+                .map(beersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(beers, pageable, matchingIds.size());
     }
 
     /**
-     * Lists beers filtered by name.
+     * Lists beers whose name is similar to the given, possibly misspelled, name.
+     * Candidates are scored by trigram similarity in the in-memory index and returned most similar first.
+     * Until the index is loaded this falls back to the plain substring search.
+     * Like {@link #listBeers}, rows are read as DTOs in a read-only transaction.
      *
-     * @param beerName The name of the beer to filter by.
-     * @param pageable The pagination information.
-     * @return A Page of Beer entities.
+     * @param beerName      The possibly misspelled beer name to search for.
+     * @param beerStyle     The style of the beer to filter by (optional).
+     * @param showInventory Whether to show inventory details (optional).
+     * @param pageNumber    The page number to retrieve (1-based).
+     * @param pageSize      The number of items per page.
+     * @return A Page of BeerDTO objects ordered by descending similarity.
      */
-    private Page<Beer> listBeersByName(String beerName, Pageable pageable) {
-        return beerRepository.findAllByBeerNameIsLikeIgnoreCase("%" + beerName + "%", pageable);
+    @Transactional(readOnly = true)
+    @Override
+    public Page<BeerDTO> listBeersFuzzy(String beerName, BeerStyle beerStyle, Boolean showInventory, Integer pageNumber, Integer pageSize) {
+        log.info("List beers fuzzy - in JPA Service");
+
+        PageRequest pageRequest = buildPageRequest(pageNumber, pageSize);
+        boolean includeInventory = showInventory == null || showInventory;
+
+        if (beerNameNgramIndex.isReady()) {
+            List<UUID> matchingIds = beerNameNgramIndex.findIdsBySimilarName(
+                    beerName, beerStyle, BeerNameNgramIndex.DEFAULT_SIMILARITY_THRESHOLD);
+            return pageOfIds(matchingIds, includeInventory, pageRequest);
+        }
+
+        return beerRepository.findBeerDtos("%" + beerName + "%", beerStyle, includeInventory, pageRequest);
     }
 
     /**
-     * Clears cache entries for a specific beer ID.
+     * Suggests beers whose name starts with the given prefix, for autocomplete.
+     * Served from the in-memory trie once it is loaded, otherwise from the database.
      *
-     * @param beerId The UUID of the beer to clear cache for.
+     * @param prefix The prefix typed so far.
+     * @param limit  The maximum number of suggestions (optional).
+     * @return Matching beers with their style, in name order.
      */
-    private void clearCache(UUID beerId) {
-        if (cacheManager.getCache("beerCache") != null) {
-            cacheManager.getCache("beerCache").evict(beerId);
+    @Override
+    public List<BeerSuggestionDTO> suggestBeers(String prefix, Integer limit) {
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
         }
-        if (cacheManager.getCache("beerListCache") != null) {
-            cacheManager.getCache("beerListCache").clear();
+        int queryLimit = (limit == null || limit < 1) ? DEFAULT_SUGGESTION_LIMIT : Math.min(limit, MAX_SUGGESTION_LIMIT);
+
+        if (beerNameSuggestIndex.isReady()) {
+            return beerNameSuggestIndex.suggest(prefix, queryLimit);
         }
+
+        return beerRepository.findAllByBeerNameStartingWithIgnoreCaseOrderByBeerName(prefix, Limit.of(queryLimit))
+                .stream()
+                .map(beer -> new BeerSuggestionDTO(beer.getId(), beer.getBeerName(), beer.getBeerStyle()))
+                .toList();
+    }
+
+    /**
+     * Returns the version of the listings for the given style filter, from the list cache generations.
+     * Every write advances them, so an unchanged version means an unchanged listing.
+     *
+     * @param beerStyle The style filter (optional).
+     * @return The version of the listings.
+     */
+    @Override
+    public Optional<BeerListingVersion> getListingVersion(BeerStyle beerStyle) {
+        return Optional.of(beerCacheGenerations.listingVersion(beerStyle));
     }
 
     /**
      * Retrieves a beer by its ID.
-     * Results are cached for performance optimization.
+     * Found beers are cached in beerCache; ids that were not found are remembered briefly in beerNotFoundCache,
+     * so repeated lookups of unknown ids do not reach the database.
      *
      * @param beerId The UUID of the beer to retrieve.
      * @return An Optional containing the BeerDTO if found, or empty if not found.
      */
-    @Cacheable(cacheNames = "beerCache", key = "#beerId")
+    @Cacheable(cacheNames = "beerCache", key = "#beerId", unless = "#result == null")
     @Override
     public Optional<BeerDTO> getBeerById(UUID beerId) {
+        if (missingIdCache.isMissing("beerNotFoundCache", beerId)) {
+            return Optional.empty();
+        }
+
         log.info("Get beer by id - in JPA Service");
-        clearCache(beerId);
-        return Optional.ofNullable(beerMapper.beerToBeerDto(beerRepository.findById(beerId).orElse(null)));
+        Optional<BeerDTO> beerDTO = beerRepository.findById(beerId).map(beerMapper::beerToBeerDto);
+        if (beerDTO.isEmpty()) {
+            missingIdCache.markMissing("beerNotFoundCache", beerId);
+        }
+        return beerDTO;
+    }
+
+    /**
+     * Retrieves the current version of a beer for conditional requests.
+     * The version is taken from the cached beer when there is one and otherwise read with a single-column
+     * query, so the beer is never loaded or mapped.
+     *
+     * @param beerId The UUID of the beer.
+     * @return An Optional containing the version if the beer exists, or empty if not found.
+     */
+    @Override
+    public Optional<Integer> getBeerVersion(UUID beerId) {
+        Cache beerCache = cacheManager.getCache("beerCache");
+        BeerDTO cached = beerCache == null ? null : beerCache.get(beerId, BeerDTO.class);
+        if (cached != null) {
+            return Optional.ofNullable(cached.getVersion());
+        }
+        if (missingIdCache.isMissing("beerNotFoundCache", beerId)) {
+            return Optional.empty();
+        }
+        return beerRepository.findVersionById(beerId);
     }
 
     /**
@@ -169,13 +352,10 @@ public class BeerServiceJpaImpl implements BeerService {
      */
     @Override
     public BeerDTO saveNewBeer(BeerDTO beerDTO) {
-        if (cacheManager.getCache("beerListCache") != null) {
-            cacheManager.getCache("beerListCache").clear();
-        }
-
         val savedBeer = beerRepository.save(beerMapper.beerdtoToBeer(beerDTO));
         val auth = SecurityContextHolder.getContext().getAuthentication();
-        applicationEventPublisher.publishEvent(new BeerCreatedEvent(savedBeer, auth));
+        applicationEventPublisher.publishEvent(new BeerCreatedEvent(beerMapper.beerToBeerSnapshot(savedBeer), auth));
+        beerCacheInvalidator.beerCreated(savedBeer.getId(), savedBeer.getBeerStyle());
         return beerMapper.beerToBeerDto(savedBeer);
     }
 
@@ -188,10 +368,11 @@ public class BeerServiceJpaImpl implements BeerService {
      */
     @Override
     public Optional<BeerDTO> updateBeerById(UUID beerId, BeerDTO beerDTO) {
-        clearCache(beerId);
         AtomicReference<Optional<BeerDTO>> atomicReference = new AtomicReference<>();
 
         beerRepository.findById(beerId).ifPresentOrElse((foundBeer) -> {
+            BeerStyle previousStyle = foundBeer.getBeerStyle();
+            BeerSnapshot previous = beerMapper.beerToBeerSnapshot(foundBeer);
             foundBeer.setBeerName(beerDTO.getBeerName());
             foundBeer.setBeerStyle(beerDTO.getBeerStyle());
             foundBeer.setUpc(beerDTO.getUpc());
@@ -201,7 +382,9 @@ public class BeerServiceJpaImpl implements BeerService {
 
             val savedBeer = beerRepository.save(foundBeer);
             val auth = SecurityContextHolder.getContext().getAuthentication();
-            applicationEventPublisher.publishEvent(new BeerUpdatedEvent(savedBeer, auth));
+            applicationEventPublisher.publishEvent(
+                    new BeerUpdatedEvent(beerMapper.beerToBeerSnapshot(savedBeer), previous, auth));
+            beerCacheInvalidator.beerChanged(beerId, previousStyle, savedBeer.getBeerStyle());
             atomicReference.set(Optional.of(beerMapper.beerToBeerDto(savedBeer)));
         }, () -> atomicReference.set(Optional.empty()));
 
@@ -209,19 +392,22 @@ public class BeerServiceJpaImpl implements BeerService {
     }
 
     /**
-     * Deletes a beer by its ID and publishes a BeerDeletedEvent.
+     * Deletes a beer by its ID and publishes a BeerDeletedEvent once the delete has succeeded.
+     * A delete that fails, for instance because an order line still refers to the beer, is neither audited nor
+     * applied to the name indexes.
      *
      * @param beerId The UUID of the beer to delete.
      * @return True if the beer was successfully deleted, false otherwise.
      */
     @Override
     public Boolean deleteById(UUID beerId) {
-        clearCache(beerId);
+        Optional<BeerSnapshot> beer = beerRepository.findById(beerId).map(beerMapper::beerToBeerSnapshot);
 
-        if (beerRepository.existsById(beerId)) {
-            val auth = SecurityContextHolder.getContext().getAuthentication();
-            applicationEventPublisher.publishEvent(new BeerDeletedEvent(Beer.builder().id(beerId).build(), auth));
+        if (beer.isPresent()) {
             beerRepository.deleteById(beerId);
+            val auth = SecurityContextHolder.getContext().getAuthentication();
+            applicationEventPublisher.publishEvent(new BeerDeletedEvent(beer.get(), auth));
+            beerCacheInvalidator.beerChanged(beerId, beer.get().beerStyle());
             return true;
         }
 
@@ -237,10 +423,11 @@ public class BeerServiceJpaImpl implements BeerService {
      */
     @Override
     public Optional<BeerDTO> patchBeerById(UUID beerId, BeerDTO beerDTO) {
-        clearCache(beerId);
         AtomicReference<Optional<BeerDTO>> atomicReference = new AtomicReference<>();
 
         beerRepository.findById(beerId).ifPresentOrElse((foundBeer) -> {
+            BeerStyle previousStyle = foundBeer.getBeerStyle();
+            BeerSnapshot previous = beerMapper.beerToBeerSnapshot(foundBeer);
             if (StringUtils.hasText(beerDTO.getBeerName())) {
                 foundBeer.setBeerName(beerDTO.getBeerName());
             }
@@ -259,7 +446,9 @@ public class BeerServiceJpaImpl implements BeerService {
 
             val savedBeer = beerRepository.save(foundBeer);
             val auth = SecurityContextHolder.getContext().getAuthentication();
-            applicationEventPublisher.publishEvent(new BeerPatchedEvent(savedBeer, auth));
+            applicationEventPublisher.publishEvent(
+                    new BeerPatchedEvent(beerMapper.beerToBeerSnapshot(savedBeer), previous, auth));
+            beerCacheInvalidator.beerChanged(beerId, previousStyle, savedBeer.getBeerStyle());
             atomicReference.set(Optional.of(beerMapper.beerToBeerDto(savedBeer)));
         }, () -> atomicReference.set(Optional.empty()));
 
@@ -0,0 +1,81 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerStyleCount;
+import com.example.springpracticerestmvc.repositories.BeerOrderRepository;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.services.CatalogCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Implementation of the CatalogCountService interface.
+ * Keeps cached row counts for beers (in total and per style) and beer orders, refreshed in the background,
+ * so that count-free listings can still report an approximate total.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogCountServiceImpl implements CatalogCountService {
+
+    private final BeerRepository beerRepository;
+    private final BeerOrderRepository beerOrderRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Returns the cached number of beers, optionally restricted to a style.
+     *
+     * @param beerStyle The style to count, or null for all beers.
+     * @return The cached count, or null if no refresh has completed yet.
+     */
+    @Override
+    public Long getEstimatedBeerCount(BeerStyle beerStyle) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        if (beerStyle == null) {
+            return current.beerTotal();
+        }
+        return current.beerCountByStyle().getOrDefault(beerStyle, 0L);
+    }
+
+    /**
+     * Returns the cached number of beer orders.
+     *
+     * @return The cached count, or null if no refresh has completed yet.
+     */
+    @Override
+    public Long getEstimatedBeerOrderCount() {
+        Snapshot current = snapshot;
+        return current == null ? null : current.beerOrderTotal();
+    }
+
+    /**
+     * Recounts beers per style and beer orders and swaps in the new values.
+     * Runs on startup and then on a fixed delay.
+     */
+    @Scheduled(initialDelayString = "${catalog.count.initial-delay:PT10S}", fixedDelayString = "${catalog.count.refresh-interval:PT5M}")
+    @Override
+    public void refresh() {
+        Map<BeerStyle, Long> beerCountByStyle = new EnumMap<>(BeerStyle.class);
+        long beerTotal = 0;
+
+        for (BeerStyleCount styleCount : beerRepository.countGroupByBeerStyle()) {
+            beerCountByStyle.put(styleCount.beerStyle(), styleCount.total());
+            beerTotal += styleCount.total();
+        }
+
+        snapshot = new Snapshot(beerTotal, Map.copyOf(beerCountByStyle), beerOrderRepository.count());
+        log.debug("Catalog counts refreshed: {} beers, {} orders", beerTotal, snapshot.beerOrderTotal());
+    }
+
+    private record Snapshot(long beerTotal, Map<BeerStyle, Long> beerCountByStyle, long beerOrderTotal) {
+    }
+}
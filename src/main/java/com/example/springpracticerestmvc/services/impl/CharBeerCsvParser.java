@@ -0,0 +1,231 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.model.BeerCSVRecord;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Parses BeerCSVRecords from a character stream without reflection.
+ * <p>
+ * The header row is read once to find the columns (see {@link BeerCsvColumns}); in the data rows only those are
+ * collected, the other fields are skipped as they are read. Blank lines are skipped, and rows that cannot be read
+ * are returned as null, as with the opencsv parser.
+ */
+@Slf4j
+final class CharBeerCsvParser implements Iterator<BeerCSVRecord> {
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int index;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> header = new ArrayList<>();
+    private final BeerCsvColumns columns;
+
+    private long rowNumber;
+    private boolean hasNext;
+    private BeerCSVRecord next;
+
+    // State of the row being read
+    private Integer row;
+    private Integer count;
+    private String beer;
+    private String style;
+    private boolean malformed;
+
+    /**
+     * Reads the header row; the input is closed once the last row has been read.
+     *
+     * @param reader The CSV input, starting with the header row.
+     * @throws IllegalArgumentException If the input has no header row.
+     * @throws UncheckedIOException     If the input cannot be read.
+     */
+    CharBeerCsvParser(Reader reader) {
+        this.reader = reader;
+        try {
+            if (!readRow(true)) {
+                throw new IllegalArgumentException("Invalid CSV header: the input is empty");
+            }
+            columns = BeerCsvColumns.of(List.copyOf(header));
+            advance();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    BeerCsvColumns columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public BeerCSVRecord next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        BeerCSVRecord record = next;
+        try {
+            advance();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return record;
+    }
+
+    private void advance() throws IOException {
+        hasNext = readRow(false);
+        if (!hasNext) {
+            reader.close();
+            next = null;
+        } else if (malformed) {
+            log.debug("Skipping unreadable CSV row {}", rowNumber);
+            next = null;
+        } else {
+            next = new BeerCSVRecord();
+            next.setRow(row);
+            next.setCount(count);
+            next.setBeer(beer);
+            next.setStyle(style);
+        }
+    }
+
+    /**
+     * Reads one row, collecting every field of the header or the read columns of a data row.
+     *
+     * @return false at the end of the input.
+     */
+    private boolean readRow(boolean headerRow) throws IOException {
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            c = read();
+        }
+        if (c == -1) {
+            return false;
+        }
+        rowNumber++;
+        row = null;
+        count = null;
+        beer = null;
+        style = null;
+        malformed = false;
+
+        int column = 0;
+        while (true) {
+            boolean collect = headerRow || columns.isRead(column);
+            field.setLength(0);
+
+            boolean quoted = c == '"';
+            if (quoted) {
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        // Unterminated quote
+                        malformed = true;
+                        break;
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    if (collect) {
+                        field.append((char) c);
+                    }
+                }
+            }
+            while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                if (quoted) {
+                    // Text after the closing quote
+                    malformed = true;
+                } else if (collect) {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+
+            if (collect) {
+                accept(column, headerRow);
+            }
+            if (c != ',') {
+                break;
+            }
+            column++;
+            c = read();
+        }
+
+        if (c == '\r' && read() != '\n' && limit > 0) {
+            index--;
+        }
+        if (!headerRow && column + 1 != columns.width()) {
+            malformed = true;
+        }
+        return true;
+    }
+
+    private void accept(int column, boolean headerRow) {
+        if (headerRow) {
+            header.add(field.toString());
+        } else if (column == columns.row()) {
+            row = number();
+        } else if (column == columns.count()) {
+            count = number();
+        } else if (column == columns.beer()) {
+            beer = field.toString();
+        } else if (column == columns.style()) {
+            style = field.toString();
+        }
+    }
+
+    private Integer number() {
+        int length = field.length();
+        if (length == 0) {
+            return null;
+        }
+        boolean negative = field.charAt(0) == '-';
+        int i = negative ? 1 : 0;
+        if (i == length) {
+            malformed = true;
+            return null;
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = field.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                malformed = true;
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            malformed = true;
+            return null;
+        }
+        return (int) value;
+    }
+
+    private int read() throws IOException {
+        if (index == limit) {
+            limit = reader.read(buffer);
+            index = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[index++];
+    }
+}
@@ -75,6 +75,18 @@ public class CustomerServiceImpl implements CustomerService {
         );
     }
 
+    /**
+     * Retrieves the current version of a customer.
+     *
+     * @param id The UUID of the customer.
+     * @return An Optional containing the version if found, or empty if not found.
+     */
+    @Override
+    public Optional<Integer> getCustomerVersion(UUID id) {
+        return Optional.ofNullable(customerMap.get(id))
+                .map(customer -> customer.getVersion() == null ? 0 : customer.getVersion());
+    }
+
     /**
      * Saves a new customer.
      *
@@ -1,11 +1,15 @@
 package com.example.springpracticerestmvc.services.impl;
 
+import com.example.springpracticerestmvc.cache.CacheInvalidationBus;
+import com.example.springpracticerestmvc.cache.MissingIdCache;
 import com.example.springpracticerestmvc.mappers.CustomerMapper;
 import com.example.springpracticerestmvc.model.CustomerDTO;
 import com.example.springpracticerestmvc.repositories.CustomerRepository;
 import com.example.springpracticerestmvc.services.CustomerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Primary;
@@ -32,21 +36,18 @@ public class CustomerServiceJpaImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final MissingIdCache missingIdCache;
     private final CacheManager cacheManager;
 
     /**
-     * Clears cache entries for a specific customer ID and the customer list cache.
+     * Clears cache entries for a specific customer ID and the customer list cache, on every node.
      *
      * @param customerId The UUID of the customer to clear cache for.
      */
     public void clearCache(UUID customerId) {
-        if (cacheManager.getCache("customerListCache") != null) {
-            cacheManager.getCache("customerListCache").clear();
-        }
-
-        if (cacheManager.getCache("customerCache") != null) {
-            cacheManager.getCache("customerCache").evict(customerId);
-        }
+        cacheInvalidationBus.clear("customerListCache");
+        cacheInvalidationBus.evict("customerCache", customerId);
     }
 
     /**
@@ -67,37 +68,61 @@ public class CustomerServiceJpaImpl implements CustomerService {
 
     /**
      * Retrieves a customer by their ID.
-     * Results are cached for performance optimization.
+     * Found customers are cached in customerCache; ids that were not found are remembered briefly in
+     * customerNotFoundCache, so repeated lookups of unknown ids do not reach the database.
      *
      * @param id The UUID of the customer to retrieve.
      * @return An Optional containing the CustomerDTO if found, or empty if not found.
      */
-    @Cacheable(cacheNames = "customerCache", key = "#id")
+    @Cacheable(cacheNames = "customerCache", key = "#id", unless = "#result == null")
     @Override
     public Optional<CustomerDTO> getCustomerById(UUID id) {
+        if (missingIdCache.isMissing("customerNotFoundCache", id)) {
+            return Optional.empty();
+        }
+
         log.info("in service - get customer by id");
-        return Optional.ofNullable(customerMapper.customerToCustomerDto(
-                customerRepository.findById(id).orElse(null)
-        ));
+        Optional<CustomerDTO> customerDTO = customerRepository.findById(id).map(customerMapper::customerToCustomerDto);
+        if (customerDTO.isEmpty()) {
+            missingIdCache.markMissing("customerNotFoundCache", id);
+        }
+        return customerDTO;
+    }
+
+    /**
+     * Retrieves the current version of a customer for conditional requests.
+     * The version is taken from the cached customer when there is one and otherwise read with a single-column
+     * query, so the customer is never loaded or mapped.
+     *
+     * @param id The UUID of the customer.
+     * @return An Optional containing the version if the customer exists, or empty if not found.
+     */
+    @Override
+    public Optional<Integer> getCustomerVersion(UUID id) {
+        Cache customerCache = cacheManager.getCache("customerCache");
+        CustomerDTO cached = customerCache == null ? null : customerCache.get(id, CustomerDTO.class);
+        if (cached != null) {
+            return Optional.ofNullable(cached.getVersion());
+        }
+        if (missingIdCache.isMissing("customerNotFoundCache", id)) {
+            return Optional.empty();
+        }
+        return customerRepository.findVersionById(id);
     }
 
     /**
      * Saves a new customer.
-     * Clears the customer list cache after saving.
+     * Clears the customer list cache and any cached "not found" for the new id after saving.
      *
      * @param customerDTO The CustomerDTO containing details of the customer to save.
      * @return The saved CustomerDTO object.
      */
     @Override
     public CustomerDTO saveNewCustomer(CustomerDTO customerDTO) {
-        if (cacheManager.getCache("customerListCache") != null) {
-            cacheManager.getCache("customerListCache").clear();
-        }
-        return customerMapper.customerToCustomerDto(
-                customerRepository.save(
-                        customerMapper.customerDtoToCustomer(customerDTO)
-                )
-        );
+        val savedCustomer = customerRepository.save(customerMapper.customerDtoToCustomer(customerDTO));
+        cacheInvalidationBus.clear("customerListCache");
+        cacheInvalidationBus.evict("customerNotFoundCache", savedCustomer.getId());
+        return customerMapper.customerToCustomerDto(savedCustomer);
     }
 
     /**
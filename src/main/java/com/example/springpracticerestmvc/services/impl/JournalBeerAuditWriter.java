@@ -0,0 +1,275 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import com.example.springpracticerestmvc.services.BeerAuditWriter;
+import com.example.springpracticerestmvc.services.impl.BeerAuditJournal.Batch;
+import com.example.springpracticerestmvc.services.impl.BeerAuditJournal.Position;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Writes beer audit records to a local journal first and loads them into the database in the background.
+ * <p>
+ * A write encodes the record and appends it to a memory-mapped segment of the {@link BeerAuditJournal}, which
+ * takes microseconds and no database connection. A replay thread reads the journal in batches of
+ * {@code beer.audit.journal.replay-batch-size} records, inserts them with JDBC batch statements and then stores
+ * its position, so after a restart it continues with the first record that was not replayed. A record that was
+ * inserted just before a crash and is replayed again is recognized by its audit id and skipped.
+ * <p>
+ * How durable an appended record is depends on {@code beer.audit.journal.fsync}: {@code always} forces each
+ * record to disk before the write returns, {@code interval} every {@code beer.audit.journal.interval}, and
+ * {@code never} leaves it to the operating system. Records survive a crash of the application with any policy,
+ * since the mapped pages belong to the operating system; only a crash of the machine can lose the records
+ * written since the last force.
+ * <p>
+ * Selected with {@code beer.audit.mode=journal}. Publishes the appends ({@code beer.audit.journal.append}),
+ * the replayed batches ({@code beer.audit.journal.replay}), the records replayed
+ * ({@code beer.audit.journal.replayed}) and the bytes not yet replayed ({@code beer.audit.journal.lag}).
+ */
+@Service
+@ConditionalOnProperty(name = "beer.audit.mode", havingValue = "journal")
+@RequiredArgsConstructor
+@Slf4j
+public class JournalBeerAuditWriter implements BeerAuditWriter, SmartLifecycle, MeterBinder {
+
+    public enum Fsync {
+        ALWAYS, INTERVAL, NEVER
+    }
+
+    private final BeerAuditRepository beerAuditRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${beer.audit.journal.directory:${java.io.tmpdir}/beer-audit-journal}")
+    Path directory;
+
+    @Value("${beer.audit.journal.segment-size:64MB}")
+    DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    @Value("${beer.audit.journal.fsync:interval}")
+    Fsync fsync = Fsync.INTERVAL;
+
+    @Value("${beer.audit.journal.interval:100ms}")
+    Duration interval = Duration.ofMillis(100);
+
+    @Value("${beer.audit.journal.replay-batch-size:5000}")
+    int replayBatchSize = 5000;
+
+    @Value("${beer.audit.journal.insert-batch-size:500}")
+    int insertBatchSize = 500;
+
+    @Value("${beer.audit.journal.shutdown-timeout:30s}")
+    Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    private volatile BeerAuditJournal journal;
+    private volatile Position replayPosition;
+    private volatile boolean running;
+    private Thread replayer;
+
+    private final AtomicLong appends = new AtomicLong();
+    private final AtomicLong appendNanos = new AtomicLong();
+    private final AtomicLong replays = new AtomicLong();
+    private final AtomicLong replayNanos = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+
+    /**
+     * Appends an audit record to the journal, assigning its audit id and timestamp.
+     * Before the journal is opened and after it is closed, the record is inserted directly.
+     *
+     * @param beerAudit The audit record to write.
+     */
+    @Override
+    public void write(BeerAudit beerAudit) {
+        BatchingBeerAuditWriter.prepare(beerAudit);
+        BeerAuditJournal current = journal;
+
+        long start = System.nanoTime();
+        if (current != null && current.append(BeerAuditCodec.encode(beerAudit), fsync == Fsync.ALWAYS)) {
+            appendNanos.addAndGet(System.nanoTime() - start);
+            appends.incrementAndGet();
+            return;
+        }
+        insert(List.of(beerAudit));
+    }
+
+    /**
+     * Appends audit records to the journal in order, assigning their audit ids and timestamps.
+     *
+     * @param beerAudits The audit records to write.
+     */
+    @Override
+    public void writeAll(List<BeerAudit> beerAudits) {
+        beerAudits.forEach(this::write);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            BeerAuditJournal opened = BeerAuditJournal.open(directory, (int) segmentSize.toBytes());
+            replayPosition = opened.replayPosition();
+            journal = opened;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        running = true;
+        replayer = Thread.ofPlatform().name("beer-audit-replayer").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            replayer.join(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (replayer.isAlive()) {
+            log.warn("Audit replay did not finish within {}; it continues from {} after the next start",
+                    shutdownTimeout, replayPosition);
+            replayer.interrupt();
+        }
+        journal.close();
+        journal = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Lower phases stop later: stop after the web server, once no more requests can write records
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("beer.audit.journal.append", this, writer -> writer.appends.get(),
+                        writer -> writer.appendNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Audit records appended to the journal")
+                .register(registry);
+        FunctionTimer.builder("beer.audit.journal.replay", this, writer -> writer.replays.get(),
+                        writer -> writer.replayNanos.get(), TimeUnit.NANOSECONDS)
+                .description("Batches of journal records inserted into the database")
+                .register(registry);
+        FunctionCounter.builder("beer.audit.journal.replayed", replayed, AtomicLong::get)
+                .description("Journal records inserted into the database")
+                .register(registry);
+        Gauge.builder("beer.audit.journal.lag", this, JournalBeerAuditWriter::lag)
+                .baseUnit("bytes")
+                .description("Journal bytes not yet replayed into the database")
+                .register(registry);
+    }
+
+    private double lag() {
+        BeerAuditJournal current = journal;
+        Position from = replayPosition;
+        if (current == null || from == null) {
+            return 0;
+        }
+        Position end = current.end();
+        return (end.segment() - from.segment()) * segmentSize.toBytes() + end.offset() - from.offset();
+    }
+
+    private void run() {
+        int failures = 0;
+        while (true) {
+            boolean stopping = !running;
+            if (fsync == Fsync.INTERVAL) {
+                journal.force();
+            }
+            try {
+                replayAvailable();
+                failures = 0;
+            } catch (DataAccessException | IOException e) {
+                failures++;
+                log.warn("Audit replay from {} failed, retrying", replayPosition, e);
+            }
+            if (stopping && failures == 0) {
+                return;
+            }
+            try {
+                Thread.sleep(interval.multipliedBy(Math.min(1L << Math.min(failures, 8), 300)));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Inserts the records appended since the replay position, batch by batch.
+     */
+    private void replayAvailable() throws IOException {
+        while (true) {
+            Batch batch = journal.read(replayPosition, replayBatchSize);
+            if (!batch.records().isEmpty()) {
+                long start = System.nanoTime();
+                insertOnce(batch.records());
+                replayNanos.addAndGet(System.nanoTime() - start);
+                replays.incrementAndGet();
+                replayed.addAndGet(batch.records().size());
+            }
+            if (batch.next().equals(replayPosition)) {
+                return;
+            }
+            journal.replayed(batch.next());
+            replayPosition = batch.next();
+            log.debug("Replayed {} audit records up to {}", batch.records().size(), replayPosition);
+        }
+    }
+
+    /**
+     * Inserts records that may in part have been inserted before, when the replay position was not stored.
+     */
+    private void insertOnce(List<BeerAudit> beerAudits) {
+        try {
+            insert(beerAudits);
+        } catch (DuplicateKeyException e) {
+            Set<UUID> existing = beerAuditRepository.findAllById(beerAudits.stream().map(BeerAudit::getAuditId).toList())
+                    .stream()
+                    .map(BeerAudit::getAuditId)
+                    .collect(Collectors.toSet());
+            log.info("Skipping {} audit records that were already replayed", existing.size());
+            insert(beerAudits.stream().filter(beerAudit -> !existing.contains(beerAudit.getAuditId())).toList());
+        }
+    }
+
+    private void insert(List<BeerAudit> beerAudits) {
+        if (!beerAudits.isEmpty()) {
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> beerAuditRepository.insertAll(beerAudits, insertBatchSize));
+        }
+    }
+}
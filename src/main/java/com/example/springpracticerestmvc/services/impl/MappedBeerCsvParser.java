@@ -0,0 +1,341 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.model.BeerCSVRecord;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Parses BeerCSVRecords from a byte range of a memory-mapped UTF-8 CSV file without reflection.
+ * <p>
+ * Fields are tokenized in place in the mapped bytes. Only the columns in {@link BeerCsvColumns} are decoded:
+ * numbers are read digit by digit, beer names are decoded once into their String, and style names are looked up
+ * by their bytes, so rows of the same style share one String. The range is mapped in windows; a row that crosses
+ * the end of a window is parsed again from a window starting at that row. Blank lines are skipped, and rows that
+ * cannot be read are returned as null.
+ */
+@Slf4j
+final class MappedBeerCsvParser implements Iterator<BeerCSVRecord> {
+
+    static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    private static final int ROW = 0;
+    private static final int END = 1;
+    private static final int INCOMPLETE = 2;
+
+    private static final int STYLE_SLOTS = 256;
+
+    private final Path path;
+    private final long end;
+    private final BeerCsvColumns columns;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLength;
+    private int index;
+
+    private byte[] scratch = new byte[256];
+    private final StyleName[] styleNames = new StyleName[STYLE_SLOTS];
+    private int styleNameCount;
+
+    private boolean hasNext;
+    private BeerCSVRecord next;
+
+    // State of the row being read
+    private Integer row;
+    private Integer count;
+    private String beer;
+    private String style;
+    private boolean malformed;
+
+    /**
+     * @param path       The CSV file.
+     * @param start      The offset of the first row to read, at a row boundary after the header.
+     * @param end        The offset after the last row to read, at a row boundary or the end of the file.
+     * @param columns    The columns, resolved from the header of the file.
+     * @param windowSize The number of bytes to map at a time; grown for a row that does not fit.
+     * @throws UncheckedIOException If the file cannot be mapped.
+     */
+    MappedBeerCsvParser(Path path, long start, long end, BeerCsvColumns columns, int windowSize) {
+        this.path = path;
+        this.end = end;
+        this.columns = columns;
+        this.windowSize = windowSize;
+        this.windowStart = start;
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public BeerCSVRecord next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        BeerCSVRecord record = next;
+        advance();
+        return record;
+    }
+
+    private void advance() {
+        int result = INCOMPLETE;
+        int size = windowSize;
+        while (result == INCOMPLETE) {
+            if (window == null || index == windowLength && windowStart + windowLength < end) {
+                map(windowStart + index, size);
+            }
+            result = readRow();
+            if (result == INCOMPLETE) {
+                // Map again from the start of the row, with more room if it already started the window
+                size = index == 0 ? (int) Math.min(2L * Math.max(size, windowLength), Integer.MAX_VALUE - 8) : windowSize;
+                map(windowStart + index, size);
+            }
+        }
+
+        hasNext = result == ROW;
+        if (!hasNext) {
+            window = null;
+            next = null;
+        } else if (malformed) {
+            log.debug("Skipping unreadable CSV row at byte {} of {}", windowStart + index, path);
+            next = null;
+        } else {
+            next = new BeerCSVRecord();
+            next.setRow(row);
+            next.setCount(count);
+            next.setBeer(beer);
+            next.setStyle(style);
+        }
+    }
+
+    private void map(long offset, int size) {
+        windowStart = offset;
+        windowLength = (int) Math.min(size, end - offset);
+        index = 0;
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, windowLength);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Reads the row at the current index and moves past it, unless it does not end within the window.
+     */
+    private int readRow() {
+        MappedByteBuffer bytes = window;
+        int limit = windowLength;
+        boolean last = windowStart + limit == end;
+
+        int p = index;
+        while (p < limit && (bytes.get(p) == '\n' || bytes.get(p) == '\r')) {
+            p++;
+        }
+        if (p == limit) {
+            index = p;
+            return last ? END : INCOMPLETE;
+        }
+        index = p;
+
+        row = null;
+        count = null;
+        beer = null;
+        style = null;
+        malformed = false;
+
+        int column = 0;
+        while (true) {
+            int start;
+            int fieldEnd;
+            boolean escaped = false;
+
+            if (bytes.get(p) == '"') {
+                start = ++p;
+                while (true) {
+                    if (p >= limit) {
+                        if (!last) {
+                            return INCOMPLETE;
+                        }
+                        // Unterminated quote
+                        malformed = true;
+                        fieldEnd = p;
+                        break;
+                    }
+                    if (bytes.get(p) == '"') {
+                        if (p + 1 >= limit && !last) {
+                            return INCOMPLETE;
+                        }
+                        if (p + 1 < limit && bytes.get(p + 1) == '"') {
+                            escaped = true;
+                            p += 2;
+                            continue;
+                        }
+                        fieldEnd = p++;
+                        break;
+                    }
+                    p++;
+                }
+                while (p < limit && !isDelimiter(bytes.get(p))) {
+                    // Text after the closing quote
+                    malformed = true;
+                    p++;
+                }
+            } else {
+                start = p;
+                while (p < limit && !isDelimiter(bytes.get(p))) {
+                    p++;
+                }
+                fieldEnd = p;
+            }
+            if (p >= limit && !last) {
+                return INCOMPLETE;
+            }
+
+            if (column == columns.row()) {
+                row = number(start, fieldEnd);
+            } else if (column == columns.count()) {
+                count = number(start, fieldEnd);
+            } else if (column == columns.beer()) {
+                beer = text(start, fieldEnd, escaped);
+            } else if (column == columns.style()) {
+                style = escaped ? text(start, fieldEnd, true) : styleName(start, fieldEnd);
+            }
+
+            if (p < limit && bytes.get(p) == ',') {
+                column++;
+                p++;
+                if (p == limit && !last) {
+                    return INCOMPLETE;
+                }
+                if (p < limit) {
+                    continue;
+                }
+                // A trailing comma at the end of the file leaves an empty last field
+                column++;
+            }
+            break;
+        }
+
+        if (p < limit && bytes.get(p) == '\r') {
+            p++;
+            if (p == limit && !last) {
+                return INCOMPLETE;
+            }
+        }
+        if (p < limit && bytes.get(p) == '\n') {
+            p++;
+        }
+        index = p;
+
+        if (column + 1 != columns.width()) {
+            malformed = true;
+        }
+        return ROW;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '\n' || b == '\r';
+    }
+
+    private Integer number(int start, int end) {
+        if (start == end) {
+            return null;
+        }
+        boolean negative = window.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            malformed = true;
+            return null;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                malformed = true;
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            malformed = true;
+            return null;
+        }
+        return (int) value;
+    }
+
+    private String text(int start, int end, boolean escaped) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, 2 * scratch.length)];
+        }
+        window.get(start, scratch, 0, length);
+        if (escaped) {
+            // Collapse each doubled quote
+            int to = 0;
+            for (int from = 0; from < length; from++, to++) {
+                scratch[to] = scratch[from];
+                if (scratch[from] == '"') {
+                    from++;
+                }
+            }
+            length = to;
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the style name at the given bytes, decoding it only the first time it is seen.
+     */
+    private String styleName(int start, int end) {
+        int length = end - start;
+        int hash = length;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + window.get(i);
+        }
+
+        int slot = hash & (STYLE_SLOTS - 1);
+        for (StyleName candidate; (candidate = styleNames[slot]) != null; slot = (slot + 1) & (STYLE_SLOTS - 1)) {
+            if (candidate.hash == hash && candidate.matches(window, start, length)) {
+                return candidate.name;
+            }
+        }
+
+        String name = text(start, end, false);
+        // Keep the table at most half full; further styles are decoded every time
+        if (styleNameCount < STYLE_SLOTS / 2) {
+            styleNames[slot] = new StyleName(hash, Arrays.copyOf(scratch, length), name);
+            styleNameCount++;
+        }
+        return name;
+    }
+
+    private record StyleName(int hash, byte[] bytes, String name) {
+
+        boolean matches(MappedByteBuffer window, int start, int length) {
+            if (bytes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (window.get(start + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
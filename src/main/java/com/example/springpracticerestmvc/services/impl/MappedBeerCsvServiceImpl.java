@@ -0,0 +1,157 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.model.BeerCSVRecord;
+import com.example.springpracticerestmvc.services.BeerCsvService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Implementation of the BeerCsvService interface that parses CSV files without reflection.
+ * <p>
+ * Files are memory-mapped and parsed in place (see {@link MappedBeerCsvParser}); character streams are parsed
+ * one row at a time (see {@link CharBeerCsvParser}). The column indexes are resolved once from the header, and
+ * only the columns that are used downstream are decoded: {@code row}, {@code count.x}, {@code beer} and
+ * {@code style}. The other fields of the returned records are null; use {@link BeerCsvServiceImpl}, selected with
+ * {@code beer.csv.parser=opencsv}, when they are needed.
+ */
+@Service
+@Profile({"localdb", "default"})
+@Primary
+@ConditionalOnProperty(name = "beer.csv.parser", havingValue = "mapped", matchIfMissing = true)
+@Slf4j
+public class MappedBeerCsvServiceImpl implements BeerCsvService {
+
+    private final int windowSize;
+
+    public MappedBeerCsvServiceImpl() {
+        this(MappedBeerCsvParser.DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedBeerCsvServiceImpl(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Converts a given CSV file into a list of BeerCSVRecord objects.
+     *
+     * @param csvFile The CSV file to be converted.
+     * @return The records of the file, in file order; unreadable rows are left out.
+     * @throws UncheckedIOException If the file cannot be read.
+     */
+    @Override
+    public List<BeerCSVRecord> convertCSV(File csvFile) {
+        List<BeerCSVRecord> records = new ArrayList<>();
+        splitCSV(csvFile, 1).forEach(part -> part.forEachRemaining(records::add));
+        records.removeIf(Objects::isNull);
+        return records;
+    }
+
+    /**
+     * Parses CSV records one at a time as the returned iterator is advanced.
+     * Rows that cannot be read are returned as null, so that every data row yields exactly one element.
+     *
+     * @param reader The CSV input, starting with the header row; closed once the last row has been read.
+     * @return An iterator over the records, in file order.
+     * @throws UncheckedIOException If the header or a row cannot be read.
+     */
+    @Override
+    public Iterator<BeerCSVRecord> iterateCSV(Reader reader) {
+        return new CharBeerCsvParser(reader);
+    }
+
+    /**
+     * Splits a CSV file into parts of roughly equal size that can be parsed concurrently.
+     * <p>
+     * A pass over the mapped bytes up to the start of the last part tracks quoting, so that parts end at row
+     * boundaries. The header is parsed once for all parts, and each part maps its own byte range when it is
+     * created.
+     *
+     * @param csvFile The CSV file, starting with the header row.
+     * @param parts   The maximum number of parts; small files yield fewer.
+     * @return The parts, in file order; together they yield every record of the file once.
+     * @throws UncheckedIOException If the file cannot be read.
+     */
+    @Override
+    public List<Iterator<BeerCSVRecord>> splitCSV(File csvFile, int parts) {
+        Path path = csvFile.toPath();
+        List<Long> boundaries;
+        String header;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            boundaries = rowBoundaries(channel, Math.max(parts, 1));
+            MappedByteBuffer headerBytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, boundaries.getFirst());
+            header = StandardCharsets.UTF_8.decode(headerBytes).toString();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        BeerCsvColumns columns = new CharBeerCsvParser(new StringReader(header)).columns();
+
+        List<Iterator<BeerCSVRecord>> segments = new ArrayList<>();
+        for (int i = 0; i + 1 < boundaries.size(); i++) {
+            segments.add(new MappedBeerCsvParser(path, boundaries.get(i), boundaries.get(i + 1), columns, windowSize));
+        }
+        log.debug("Split {} into {} parts at {}", csvFile, segments.size(), boundaries);
+        return segments;
+    }
+
+    /**
+     * Finds the byte offsets at which the parts of a CSV file start: the end of the header row, the first row
+     * start at or after each of the evenly spaced targets, and finally the file size.
+     */
+    private List<Long> rowBoundaries(FileChannel channel, int parts) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>(parts + 1);
+        long step = 0;
+        long nextTarget = Long.MAX_VALUE;
+        boolean quoted = false;
+
+        for (long windowStart = 0; windowStart < size; windowStart += windowSize) {
+            int length = (int) Math.min(windowSize, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            for (int i = 0; i < length; i++) {
+                byte b = window.get(i);
+                if (b == '"') {
+                    // An escaped quote ("") toggles twice and leaves the state unchanged
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    long position = windowStart + i + 1;
+                    if (boundaries.isEmpty()) {
+                        boundaries.add(position);
+                        step = (size - position) / parts;
+                        nextTarget = parts > 1 ? position + step : Long.MAX_VALUE;
+                    } else if (position >= nextTarget && position < size) {
+                        boundaries.add(position);
+                        nextTarget = boundaries.size() < parts ? nextTarget + step : Long.MAX_VALUE;
+                    }
+                    if (nextTarget == Long.MAX_VALUE) {
+                        // The last part runs to the end of the file; no need to scan it
+                        boundaries.add(size);
+                        return boundaries;
+                    }
+                }
+            }
+        }
+        if (boundaries.isEmpty()) {
+            boundaries.add(size);
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+}
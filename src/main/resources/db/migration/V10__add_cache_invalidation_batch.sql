@@ -0,0 +1,11 @@
+CREATE TABLE cache_invalidation_batch
+(
+    id           BIGINT AUTO_INCREMENT NOT NULL,
+    node_id      VARCHAR(36) NOT NULL,
+    payload      LONGTEXT    NOT NULL,
+    created_date datetime    NULL,
+    CONSTRAINT pk_cacheinvalidationbatch PRIMARY KEY (id)
+);
+
+create index cache_invalidation_batch_created_date_idx
+    on cache_invalidation_batch (created_date);
@@ -0,0 +1,16 @@
+CREATE TABLE beer_import_job
+(
+    id             VARCHAR(36)   NOT NULL,
+    version        INT           NULL,
+    file_name      VARCHAR(255)  NOT NULL,
+    file_path      VARCHAR(1024) NOT NULL,
+    file_size      BIGINT        NULL,
+    status         VARCHAR(20)   NOT NULL,
+    rows_committed BIGINT        NOT NULL,
+    beers_imported BIGINT        NOT NULL,
+    rows_rejected  BIGINT        NOT NULL,
+    last_error     VARCHAR(1000) NULL,
+    created_date   datetime      NULL,
+    update_date    datetime      NULL,
+    CONSTRAINT pk_beerimportjob PRIMARY KEY (id)
+);
@@ -0,0 +1,3 @@
+ALTER TABLE beer_audit
+    ADD COLUMN delta VARBINARY(2048) NULL AFTER version,
+    MODIFY created_date_audit datetime(6) NULL;
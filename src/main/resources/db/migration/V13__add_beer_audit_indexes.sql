@@ -0,0 +1,5 @@
+create index beer_audit_id_created_date_audit_idx
+    on beer_audit (id, created_date_audit);
+
+create index beer_audit_principal_name_created_date_audit_idx
+    on beer_audit (principal_name, created_date_audit);
@@ -0,0 +1,19 @@
+UPDATE beer_audit
+SET created_date_audit = COALESCE(update_date, created_date, NOW(6))
+WHERE created_date_audit IS NULL;
+
+ALTER TABLE beer_audit
+    MODIFY created_date_audit datetime(6) NOT NULL,
+    DROP PRIMARY KEY,
+    ADD CONSTRAINT pk_beeraudit PRIMARY KEY (audit_id, created_date_audit);
+
+SET @current_month = DATE_FORMAT(CURRENT_DATE, '%Y-%m-01');
+SET @next_month = DATE_FORMAT(CURRENT_DATE + INTERVAL 1 MONTH, '%Y-%m-01');
+SET @partition_beer_audit = CONCAT(
+        'ALTER TABLE beer_audit PARTITION BY RANGE COLUMNS (created_date_audit) (',
+        'PARTITION p_history VALUES LESS THAN (''', @current_month, '''), ',
+        'PARTITION p', DATE_FORMAT(CURRENT_DATE, '%Y%m'), ' VALUES LESS THAN (''', @next_month, '''), ',
+        'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE partition_beer_audit FROM @partition_beer_audit;
+EXECUTE partition_beer_audit;
+DEALLOCATE PREPARE partition_beer_audit;
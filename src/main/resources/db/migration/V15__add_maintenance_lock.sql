@@ -0,0 +1,9 @@
+CREATE TABLE maintenance_lock
+(
+    name         VARCHAR(64) NOT NULL,
+    locked_by    VARCHAR(36) NULL,
+    locked_until datetime    NULL,
+    CONSTRAINT pk_maintenancelock PRIMARY KEY (name)
+);
+
+INSERT INTO maintenance_lock (name) VALUES ('beer-audit-partition-maintenance');
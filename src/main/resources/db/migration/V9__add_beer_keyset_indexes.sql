@@ -0,0 +1,5 @@
+create index beer_name_id_idx
+    on beer (beer_name, id);
+
+create index beer_style_name_id_idx
+    on beer (beer_style, beer_name, id);
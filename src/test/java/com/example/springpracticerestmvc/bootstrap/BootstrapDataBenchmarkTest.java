@@ -0,0 +1,173 @@
+package com.example.springpracticerestmvc.bootstrap;
+
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.entities.BeerOrder;
+import com.example.springpracticerestmvc.entities.BeerOrderLine;
+import com.example.springpracticerestmvc.entities.Customer;
+import com.example.springpracticerestmvc.model.BeerCSVRecord;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.repositories.BeerOrderRepository;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.repositories.CustomerRepository;
+import com.example.springpracticerestmvc.services.BeerCsvService;
+import com.example.springpracticerestmvc.services.impl.BeerCsvServiceImpl;
+import com.example.springpracticerestmvc.services.impl.MappedBeerCsvServiceImpl;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the startup data load before and after the bootstrap pipeline: the former single-transaction load
+ * that saved each CSV row through JPA, against the parallel, batched phases of {@link BootstrapData}.
+ * Measured on the bundled beers.csv and on synthetic files built by repeating its rows.
+ * Disabled by default; run with {@code mvn test -Dtest=BootstrapDataBenchmarkTest -Dbenchmark=true}.
+ */
+@DataJpaTest
+@Import(MappedBeerCsvServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BootstrapDataBenchmarkTest {
+
+    // The former load keeps every beer in one persistence context; beyond this it runs out of patience, not memory
+    private static final int LEGACY_MAX_ROWS = 100_000;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    BeerOrderRepository beerOrderRepository;
+
+    @Autowired
+    BeerCsvService beerCsvService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void benchmark_legacy_load_against_pipeline() throws Exception {
+        File bundled = ResourceUtils.getFile("classpath:csvdata/beers.csv");
+        Path synthetic100k = synthetic(bundled, 100_000);
+        Path synthetic1m = synthetic(bundled, 1_000_000);
+
+        // Warm up both paths
+        legacyLoad(bundled);
+        reset();
+        pipelineLoad(bundled);
+        reset();
+
+        System.out.printf("%n%-22s %10s %12s %12s %10s%n", "file", "rows", "legacy ms", "pipeline ms", "speedup");
+        for (File file : List.of(bundled, synthetic100k.toFile(), synthetic1m.toFile())) {
+            long rows = Files.lines(file.toPath()).count() - 1;
+
+            Duration legacy = null;
+            if (rows <= LEGACY_MAX_ROWS) {
+                long start = System.nanoTime();
+                legacyLoad(file);
+                legacy = Duration.ofNanos(System.nanoTime() - start);
+                assertThat(beerRepository.count()).isEqualTo(rows + 3);
+                reset();
+            }
+
+            BootstrapData bootstrapData = pipelineLoad(file);
+            Duration pipeline = bootstrapData.getPhaseTimings().get("total");
+            assertThat(beerRepository.count()).isEqualTo(rows + 3);
+            reset();
+
+            System.out.printf("%-22s %10d %12s %12d %10s   %s%n", file.equals(bundled) ? "beers.csv" : "synthetic", rows,
+                    legacy == null ? "-" : legacy.toMillis(), pipeline.toMillis(),
+                    legacy == null ? "-" : String.format("%.1fx", (double) legacy.toNanos() / pipeline.toNanos()),
+                    bootstrapData.getPhaseTimings());
+        }
+
+        Files.delete(synthetic100k);
+        Files.delete(synthetic1m);
+    }
+
+    private BootstrapData pipelineLoad(File file) throws Exception {
+        BootstrapData bootstrapData = new BootstrapData(beerRepository, customerRepository, beerOrderRepository,
+                beerCsvService, transactionManager);
+        bootstrapData.beerCsvFilePath = file.getAbsolutePath();
+        bootstrapData.run();
+        return bootstrapData;
+    }
+
+    /**
+     * The load as it was before the pipeline: opencsv binding, one transaction, one JPA save per CSV row, all
+     * beers reloaded for the orders.
+     */
+    private void legacyLoad(File file) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String name : List.of("Galaxy Cat", "Crank", "Sunshine City")) {
+                beerRepository.save(Beer.builder().beerName(name).beerStyle(BeerStyle.PALE_ALE).upc("12356")
+                        .price(new BigDecimal("12.99")).quantityOnHand(122).build());
+            }
+            for (BeerCSVRecord beerCSVRecord : new BeerCsvServiceImpl().convertCSV(file)) {
+                beerRepository.save(Beer.builder()
+                        .beerName(StringUtils.abbreviate(beerCSVRecord.getBeer(), 50))
+                        .beerStyle(beerCSVRecord.toBeerStyle())
+                        .price(BigDecimal.TEN)
+                        .upc(beerCSVRecord.getRow().toString())
+                        .quantityOnHand(beerCSVRecord.getCount())
+                        .build());
+            }
+            List<Customer> customers = customerRepository.saveAll(List.of(customer("Customer 1"),
+                    customer("Customer 2"), customer("Customer 3")));
+            var beers = beerRepository.findAll().iterator();
+            for (Customer customer : customers) {
+                beerOrderRepository.save(BeerOrder.builder()
+                        .customer(customer)
+                        .beerOrderLines(Set.of(
+                                BeerOrderLine.builder().beer(beers.next()).orderQuantity(1).build(),
+                                BeerOrderLine.builder().beer(beers.next()).orderQuantity(2).build()))
+                        .build());
+            }
+        });
+    }
+
+    private void reset() {
+        beerOrderRepository.deleteAll();
+        customerRepository.deleteAllInBatch();
+        beerRepository.deleteAllInBatch();
+    }
+
+    private static Customer customer(String name) {
+        return Customer.builder().name(name).createdDate(LocalDateTime.now()).updateDate(LocalDateTime.now()).build();
+    }
+
+    private static Path synthetic(File bundled, int rows) throws IOException {
+        List<String> lines = Files.readAllLines(bundled.toPath());
+        Path file = Files.createTempFile("beers-" + rows, ".csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println(lines.getFirst());
+            for (int row = 1; row <= rows; row++) {
+                String line = lines.get(1 + (row - 1) % (lines.size() - 1));
+                writer.println("\"" + row + "\"" + line.substring(line.indexOf(',')));
+            }
+        }
+        return file;
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.springpracticerestmvc.bootstrap;
 
+import com.example.springpracticerestmvc.entities.Beer;
 import com.example.springpracticerestmvc.repositories.BeerOrderRepository;
 import com.example.springpracticerestmvc.repositories.BeerRepository;
 import com.example.springpracticerestmvc.repositories.CustomerRepository;
 import com.example.springpracticerestmvc.services.BeerCsvService;
-import com.example.springpracticerestmvc.services.impl.BeerCsvServiceImpl;
+import com.example.springpracticerestmvc.services.impl.MappedBeerCsvServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -19,7 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * which initializes data for the application.
  */
 @DataJpaTest
-@Import(BeerCsvServiceImpl.class)
+@Import(MappedBeerCsvServiceImpl.class)
 class BootstrapDataTest {
 
     // Repository for managing Beer entities
@@ -38,6 +46,10 @@ class BootstrapDataTest {
     @Autowired
     BeerCsvService csvService;
 
+    // Transaction manager for the bootstrap phases
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     // Instance of BootstrapData to be tested
     BootstrapData bootstrapData;
 
@@ -47,7 +59,8 @@ class BootstrapDataTest {
      */
     @BeforeEach
     void setUp() {
-        bootstrapData = new BootstrapData(beerRepository, customerRepository, beerOrderRepository, csvService);
+        bootstrapData = new BootstrapData(beerRepository, customerRepository, beerOrderRepository, csvService,
+                transactionManager);
     }
 
     /**
@@ -62,4 +75,34 @@ class BootstrapDataTest {
         assertThat(beerRepository.count()).isEqualTo(2413); // Verifies Beer entity count
         assertThat(customerRepository.count()).isEqualTo(3); // Verifies Customer entity count
     }
+
+    /**
+     * Tests the run method with a CSV file that has an unreadable row, the last of the file.
+     * Verifies that the row is skipped and the other rows are loaded. Runs on a database of its own, since the
+     * parts of the file are committed outside the test transaction.
+     *
+     * @param directory A temporary directory for the CSV file
+     * @throws Exception if an error occurs during the execution of the run method
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void test_run_skips_unreadable_rows(@TempDir Path directory) throws Exception {
+        // The sample orders take twelve beers
+        StringBuilder csv = new StringBuilder("\"row\",\"count.x\",\"abv\",\"ibu\",\"id\",\"beer\",\"style\",\"brewery_id\","
+                + "\"ounces\",\"style2\",\"count.y\",\"brewery\",\"city\",\"state\",\"label\"\n");
+        for (int row = 1; row <= 12; row++) {
+            csv.append("\"%d\",%d,0.05,NA,%d,\"Bootstrapped %d\",\"American IPA\",1,12,NA,1,\"Brewery\",\"City\",\"OR\",\"Label\"\n"
+                    .formatted(row, row, row, row));
+        }
+        csv.append("\"13\",not-a-number,0.05,NA,13,\"Bootstrapped 13\",\"American IPA\",1,12,NA,1,\"Brewery\",\"City\",\"OR\",\"Label\"\n");
+        Path file = Files.writeString(directory.resolve("beers.csv"), csv);
+        bootstrapData.beerCsvFilePath = file.toUri().toString();
+
+        bootstrapData.run(null);
+
+        assertThat(beerRepository.findAllByBeerNameIsLikeIgnoreCase("Bootstrapped %", Pageable.unpaged()))
+                .extracting(Beer::getBeerName)
+                .hasSize(12)
+                .doesNotContain("Bootstrapped 13");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,299 @@
+package com.example.springpracticerestmvc.cache;
+
+import com.example.springpracticerestmvc.config.CacheConfig;
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.listeners.BeerNameIndexListener;
+import com.example.springpracticerestmvc.mappers.BeerMapper;
+import com.example.springpracticerestmvc.mappers.BeerMapperImpl;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerListingVersion;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.search.BeerNameIndex;
+import com.example.springpracticerestmvc.search.BeerNameNgramIndex;
+import com.example.springpracticerestmvc.search.BeerNameSuggestIndex;
+import com.example.springpracticerestmvc.services.BeerService;
+import com.example.springpracticerestmvc.services.CatalogCountService;
+import com.example.springpracticerestmvc.services.impl.BeerServiceJpaImpl;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Verifies that the beer caches are invalidated selectively, using the JPA service behind the real cache proxies
+ * with an in-memory stand-in for the repository.
+ */
+@SpringJUnitConfig
+@ActiveProfiles("localdb")
+class BeerCacheInvalidationTest {
+
+    private static final BeerStyle[] STYLES = {BeerStyle.IPA, BeerStyle.PALE_ALE, BeerStyle.STOUT, BeerStyle.LAGER};
+
+    @Configuration
+    @EnableCaching
+    @Import({CacheConfig.class, BeerServiceJpaImpl.class, BeerMapperImpl.class, BeerCacheInvalidator.class,
+            MissingIdCache.class, CacheInvalidationBus.class, InProcessCacheInvalidationTransport.class, BeerNameNgramIndex.class, BeerNameSuggestIndex.class,
+            BeerNameIndexListener.class})
+    static class Config {
+
+        // Registered under its component name, which the list cache key expression refers to
+        @Bean
+        BeerCacheGenerations beerCacheGenerations() {
+            return new BeerCacheGenerations();
+        }
+    }
+
+    @MockitoBean
+    BeerRepository beerRepository;
+
+    @MockitoBean
+    CatalogCountService catalogCountService;
+
+    // Another name index, to see the state of the caches when the indexes are updated
+    @MockitoBean(name = "recordingNameIndex")
+    BeerNameIndex recordingNameIndex;
+
+    @Autowired
+    BeerCacheGenerations beerCacheGenerations;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerMapper beerMapper;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    BeerNameNgramIndex beerNameNgramIndex;
+
+    @Autowired
+    BeerCacheInvalidator beerCacheInvalidator;
+
+    Map<UUID, Beer> beers = new LinkedHashMap<>();
+    List<UUID> ids = new ArrayList<>();
+    Map<String, CacheStats> baselineStats = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> {
+            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(name);
+            cache.clear();
+            baselineStats.put(name, cache.getNativeCache().stats());
+        });
+
+        for (int i = 0; i < 40; i++) {
+            Beer beer = Beer.builder()
+                    .id(UUID.randomUUID())
+                    .version(0)
+                    .beerName("Beer " + i)
+                    .beerStyle(STYLES[i % STYLES.length])
+                    .upc("upc" + i)
+                    .price(new BigDecimal("9.99"))
+                    .build();
+            beers.put(beer.getId(), beer);
+            ids.add(beer.getId());
+        }
+
+        given(beerRepository.findById(any())).willAnswer(invocation -> Optional.ofNullable(beers.get(invocation.<UUID>getArgument(0))));
+        given(beerRepository.save(any())).willAnswer(invocation -> {
+            Beer beer = invocation.getArgument(0);
+            beers.put(beer.getId(), beer);
+            return beer;
+        });
+        given(beerRepository.findBeerDtos(any(), any(), anyBoolean(), any())).willAnswer(invocation -> {
+            BeerStyle beerStyle = invocation.getArgument(1);
+            Pageable pageable = invocation.getArgument(3);
+            List<BeerDTO> content = beers.values().stream()
+                    .filter(beer -> beerStyle == null || beer.getBeerStyle() == beerStyle)
+                    .map(beerMapper::beerToBeerDto)
+                    .toList();
+            return new PageImpl<>(content, pageable, content.size());
+        });
+        given(beerRepository.findBeerDtosById(any(), anyBoolean())).willAnswer(invocation ->
+                invocation.<Collection<UUID>>getArgument(0).stream()
+                        .map(beers::get)
+                        .map(beerMapper::beerToBeerDto)
+                        .toList());
+    }
+
+    @Test
+    void test_reads_never_invalidate() {
+        beerService.listBeers(null, BeerStyle.IPA, null, 1, 25);
+
+        for (int i = 0; i < 100; i++) {
+            beerService.getBeerById(ids.get(i % ids.size()));
+            beerService.getBeerById(UUID.randomUUID());
+        }
+        beerService.listBeers(null, BeerStyle.IPA, null, 1, 25);
+
+        assertThat(stats("beerListCache").hitCount()).isEqualTo(1);
+        assertThat(stats("beerCache").hitCount()).isEqualTo(60);
+    }
+
+    @Test
+    void test_write_invalidates_only_affected_style_and_beer() {
+        UUID ipa = ids.get(0);
+        UUID stout = ids.get(2);
+        beerService.getBeerById(ipa);
+        beerService.getBeerById(stout);
+        beerService.listBeers(null, BeerStyle.IPA, null, 1, 25);
+        beerService.listBeers(null, BeerStyle.STOUT, null, 1, 25);
+
+        beerService.patchBeerById(ipa, patch());
+
+        beerService.getBeerById(stout);
+        beerService.listBeers(null, BeerStyle.STOUT, null, 1, 25);
+        assertThat(stats("beerCache").hitCount()).isEqualTo(1);
+        assertThat(stats("beerListCache").hitCount()).isEqualTo(1);
+
+        assertThat(beerService.getBeerById(ipa).orElseThrow().getPrice()).isEqualTo(patch().getPrice());
+        assertThat(beerService.listBeers(null, BeerStyle.IPA, null, 1, 25).getContent())
+                .filteredOn(beerDTO -> beerDTO.getId().equals(ipa))
+                .singleElement()
+                .satisfies(beerDTO -> assertThat(beerDTO.getPrice()).isEqualTo(patch().getPrice()));
+        assertThat(stats("beerCache").hitCount()).isEqualTo(1);
+        assertThat(stats("beerListCache").hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void test_style_change_invalidates_old_and_new_style() {
+        UUID ipa = ids.get(0);
+        beerService.listBeers(null, BeerStyle.IPA, null, 1, 25);
+        beerService.listBeers(null, BeerStyle.STOUT, null, 1, 25);
+
+        BeerDTO toStout = new BeerDTO();
+        toStout.setBeerStyle(BeerStyle.STOUT);
+        beerService.patchBeerById(ipa, toStout);
+
+        assertThat(beerService.listBeers(null, BeerStyle.IPA, null, 1, 25).getContent())
+                .extracting(BeerDTO::getId).doesNotContain(ipa);
+        assertThat(beerService.listBeers(null, BeerStyle.STOUT, null, 1, 25).getContent())
+                .extracting(BeerDTO::getId).contains(ipa);
+        assertThat(stats("beerListCache").hitCount()).isZero();
+    }
+
+    @Test
+    void test_renamed_beer_is_listed_under_its_new_name_at_once() {
+        beers.values().forEach(beer -> beerNameNgramIndex.put(beer.getId(), beer.getBeerName(), beer.getBeerStyle()));
+        beerNameNgramIndex.markReady();
+        UUID renamed = ids.get(0);
+        assertThat(beerService.listBeers("Hazy", null, null, 1, 25).getContent()).isEmpty();
+        BeerListingVersion before = beerCacheGenerations.listingVersion(null);
+        List<BeerListingVersion> versionsWhenIndexed = new ArrayList<>();
+        willAnswer(invocation -> versionsWhenIndexed.add(beerCacheGenerations.listingVersion(null)))
+                .given(recordingNameIndex).put(any(), any(), any());
+
+        BeerDTO rename = new BeerDTO();
+        rename.setBeerName("Hazy Beer");
+        beerService.patchBeerById(renamed, rename);
+
+        // The index held the new name before a listing could be cached under the new generation
+        assertThat(versionsWhenIndexed).containsExactly(before);
+        assertThat(beerService.listBeers("Hazy", null, null, 1, 25).getContent())
+                .extracting(BeerDTO::getId).containsExactly(renamed);
+    }
+
+    @Test
+    void test_invalidations_within_a_transaction_wait_for_the_commit() {
+        UUID ipa = ids.get(0);
+        beerService.getBeerById(ipa);
+        long generation = beerCacheGenerations.generation(BeerStyle.IPA);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            beerCacheInvalidator.beersChanged(List.of(ipa), Set.of(BeerStyle.IPA));
+
+            beerService.getBeerById(ipa);
+            assertThat(stats("beerCache").hitCount()).isEqualTo(1);
+            assertThat(beerCacheGenerations.generation(BeerStyle.IPA)).isEqualTo(generation);
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        beerService.getBeerById(ipa);
+        assertThat(stats("beerCache").hitCount()).isEqualTo(1);
+        assertThat(beerCacheGenerations.generation(BeerStyle.IPA)).isGreaterThan(generation);
+    }
+
+    @Test
+    void test_unknown_id_is_answered_without_database_until_created() {
+        UUID unknown = UUID.randomUUID();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(beerService.getBeerById(unknown)).isEmpty();
+        }
+        verify(beerRepository, times(1)).findById(unknown);
+        assertThat(stats("beerNotFoundCache").hitCount()).isEqualTo(9);
+
+        BeerDTO created = beerMapper.beerToBeerDto(beers.get(ids.get(0)));
+        created.setId(unknown);
+        created.setBeerName("Created Later");
+        beerService.saveNewBeer(created);
+
+        assertThat(beerService.getBeerById(unknown)).hasValueSatisfying(
+                beerDTO -> assertThat(beerDTO.getBeerName()).isEqualTo("Created Later"));
+        verify(beerRepository, times(2)).findById(unknown);
+    }
+
+    @Test
+    void test_hit_rates_under_mixed_read_write_workload() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            int operation = random.nextInt(100);
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (operation < 60) {
+                beerService.getBeerById(id);
+            } else if (operation < 95) {
+                BeerStyle beerStyle = random.nextInt(5) == 0 ? null : STYLES[random.nextInt(STYLES.length)];
+                beerService.listBeers(null, beerStyle, null, 1 + random.nextInt(2), 25);
+            } else {
+                beerService.patchBeerById(id, patch());
+            }
+        }
+
+        // 5% writes: each evicts one of 40 beers and one of four styles plus the unfiltered listing
+        assertThat(stats("beerCache").hitRate()).isGreaterThan(0.85);
+        assertThat(stats("beerListCache").hitRate()).isGreaterThan(0.6);
+    }
+
+    private CacheStats stats(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats()
+                .minus(baselineStats.get(cacheName));
+    }
+
+    private static BeerDTO patch() {
+        BeerDTO beerDTO = new BeerDTO();
+        beerDTO.setPrice(new BigDecimal("12.34"));
+        return beerDTO;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.springpracticerestmvc.cache;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CacheInvalidationBusTest {
+
+    List<List<CacheInvalidation>> sentBatches = new ArrayList<>();
+
+    CacheManager firstCacheManager;
+    CacheManager secondCacheManager;
+    BeerCacheGenerations secondGenerations;
+    ApplicationEventPublisher firstPublisher = mock(ApplicationEventPublisher.class);
+    ApplicationEventPublisher secondPublisher = mock(ApplicationEventPublisher.class);
+    CacheInvalidationBus first;
+    CacheInvalidationBus second;
+
+    @BeforeEach
+    void setUp() {
+        var delegate = new InProcessCacheInvalidationTransport();
+        var transport = new CacheInvalidationTransport() {
+            @Override
+            public void send(String sourceNodeId, List<CacheInvalidation> invalidations) {
+                sentBatches.add(invalidations);
+                delegate.send(sourceNodeId, invalidations);
+            }
+
+            @Override
+            public void subscribe(String nodeId, Consumer<List<CacheInvalidation>> listener) {
+                delegate.subscribe(nodeId, listener);
+            }
+        };
+
+        firstCacheManager = new ConcurrentMapCacheManager("beerCache", "customerListCache");
+        secondCacheManager = new ConcurrentMapCacheManager("beerCache", "customerListCache");
+        secondGenerations = new BeerCacheGenerations();
+        first = new CacheInvalidationBus(firstCacheManager, new BeerCacheGenerations(), transport, firstPublisher, 3);
+        second = new CacheInvalidationBus(secondCacheManager, secondGenerations, transport, secondPublisher, 3);
+    }
+
+    @Test
+    void test_invalidation_reaches_peer_on_flush() {
+        UUID beerId = UUID.randomUUID();
+        Cache firstCache = firstCacheManager.getCache("beerCache");
+        Cache secondCache = secondCacheManager.getCache("beerCache");
+        firstCache.put(beerId, "first");
+        secondCache.put(beerId, "second");
+        long generation = secondGenerations.generation(BeerStyle.IPA);
+
+        first.evict("beerCache", beerId);
+        first.advanceGeneration(BeerStyle.IPA);
+
+        assertThat(firstCache.get(beerId)).isNull();
+        assertThat(secondCache.get(beerId)).isNotNull();
+
+        first.flush();
+
+        assertThat(secondCache.get(beerId)).isNull();
+        assertThat(secondGenerations.generation(BeerStyle.IPA)).isGreaterThan(generation);
+    }
+
+    @Test
+    void test_invalidations_from_a_peer_are_applied_and_published() {
+        UUID beerId = UUID.randomUUID();
+        secondCacheManager.getCache("beerCache").put(beerId, "second");
+
+        first.evict("beerCache", beerId);
+        first.flush();
+
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(secondPublisher).publishEvent(event.capture());
+        assertThat(event.getValue()).isInstanceOfSatisfying(PeerCacheInvalidationEvent.class, received ->
+                assertThat(received.getInvalidations()).containsExactly(CacheInvalidation.evict("beerCache", beerId)));
+        assertThat(secondCacheManager.getCache("beerCache").get(beerId)).isNull();
+        verify(firstPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void test_invalidations_from_a_peer_are_published_before_they_are_applied() {
+        UUID beerId = UUID.randomUUID();
+        secondCacheManager.getCache("beerCache").put(beerId, "second");
+        long generation = secondGenerations.generation(BeerStyle.IPA);
+        List<Object> stateWhenPublished = new ArrayList<>();
+        doAnswer(invocation -> {
+            stateWhenPublished.add(secondCacheManager.getCache("beerCache").get(beerId, String.class));
+            stateWhenPublished.add(secondGenerations.generation(BeerStyle.IPA));
+            return null;
+        }).when(secondPublisher).publishEvent(any(Object.class));
+
+        first.evict("beerCache", beerId);
+        first.advanceGeneration(BeerStyle.IPA);
+        first.flush();
+
+        assertThat(stateWhenPublished).containsExactly("second", generation);
+        assertThat(secondGenerations.generation(BeerStyle.IPA)).isGreaterThan(generation);
+    }
+
+    @Test
+    void test_duplicates_collapse_and_clear_absorbs_evictions() {
+        UUID beerId = UUID.randomUUID();
+
+        first.evict("beerCache", beerId);
+        first.evict("beerCache", beerId);
+        first.evict("customerListCache", UUID.randomUUID());
+        first.clear("customerListCache");
+        first.evict("customerListCache", UUID.randomUUID());
+        first.flush();
+
+        assertThat(sentBatches).singleElement().isEqualTo(List.of(
+                CacheInvalidation.evict("beerCache", beerId),
+                CacheInvalidation.clear("customerListCache")));
+    }
+
+    @Test
+    void test_full_batch_is_sent_without_waiting_for_flush() {
+        for (int i = 0; i < 7; i++) {
+            first.evict("beerCache", UUID.randomUUID());
+        }
+
+        assertThat(sentBatches).hasSize(2).allSatisfy(batch -> assertThat(batch).hasSize(3));
+
+        first.flush();
+        second.flush();
+
+        assertThat(sentBatches).hasSize(3);
+        assertThat(sentBatches.getLast()).hasSize(1);
+    }
+
+    @Test
+    void test_encode_decode_round_trip() {
+        for (CacheInvalidation invalidation : List.of(
+                CacheInvalidation.evict("beerCache", UUID.randomUUID()),
+                CacheInvalidation.clear("customerListCache"),
+                CacheInvalidation.advanceGeneration(BeerStyle.STOUT),
+                CacheInvalidation.advanceGeneration(null))) {
+            assertThat(CacheInvalidation.decode(invalidation.encode())).isEqualTo(invalidation);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.springpracticerestmvc.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class BulkheadTaskExecutorTest {
+
+    CountDownLatch release = new CountDownLatch(1);
+    BulkheadTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void test_tasks_beyond_the_limit_wait_for_a_free_slot() throws InterruptedException {
+        executor = executor(2, 10, TaskProperties.RejectionPolicy.ABORT);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(5);
+
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                block(release);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(registry.get("tasks.active").tag("workload", "test").gauge().value()).isEqualTo(2);
+            assertThat(registry.get("tasks.waiting").tag("workload", "test").gauge().value()).isEqualTo(3);
+        });
+        release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(registry.get("tasks.execution").tag("workload", "test").functionTimer().count()).isEqualTo(5);
+        assertThat(registry.get("tasks.queue.wait").tag("workload", "test").functionTimer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void test_full_queue_aborts() {
+        executor = executor(1, 1, TaskProperties.RejectionPolicy.ABORT);
+        executor.execute(() -> block(release));
+        executor.execute(() -> block(release));
+
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(TaskRejectedException.class);
+    }
+
+    @Test
+    void test_full_queue_runs_on_the_caller_once_a_slot_is_free() throws InterruptedException {
+        executor = executor(1, 0, TaskProperties.RejectionPolicy.CALLER_RUNS);
+        executor.execute(() -> block(release));
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        Thread caller = Thread.ofVirtual().start(() -> executor.execute(() -> thread.set(Thread.currentThread())));
+
+        assertThat(caller.join(Duration.ofMillis(200))).isFalse();
+        assertThat(thread.get()).isNull();
+        release.countDown();
+
+        assertThat(caller.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(thread.get()).isSameAs(caller);
+    }
+
+    static BulkheadTaskExecutor executor(int maxConcurrency, int queueCapacity,
+                                         TaskProperties.RejectionPolicy rejectionPolicy) {
+        return new BulkheadTaskExecutor("test",
+                new TaskProperties.Bulkhead(maxConcurrency, queueCapacity, rejectionPolicy), Duration.ofSeconds(5));
+    }
+
+    static void block(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.springpracticerestmvc.config;
+
+import com.example.springpracticerestmvc.cache.CacheSizeMetrics;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTest {
+
+    CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        var cacheProperties = new CacheProperties(
+                new CacheProperties.Spec(100L, null, Duration.ofMinutes(1)),
+                Map.of("beerListCache", new CacheProperties.Spec(null, DataSize.ofKilobytes(64), Duration.ofMinutes(1))));
+        cacheManager = new CacheConfig().cacheManager(cacheProperties);
+    }
+
+    @Test
+    void test_weight_bounded_cache_stays_within_bound() {
+        var cache = (CaffeineCache) cacheManager.getCache("beerListCache");
+        var page = new PageImpl<>(IntStream.range(0, 50).mapToObj(i -> beer("Beer " + i)).toList());
+
+        for (int i = 0; i < 500; i++) {
+            cache.put(new SimpleKey("beer " + i, null, true, 1, 50), page);
+        }
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        nativeCache.cleanUp();
+
+        assertThat(nativeCache.policy().eviction().orElseThrow().weightedSize().orElseThrow())
+                .isPositive()
+                .isLessThanOrEqualTo(DataSize.ofKilobytes(64).toBytes());
+        assertThat(nativeCache.stats().evictionCount()).isPositive();
+    }
+
+    @Test
+    void test_size_bounded_cache_records_hits_and_misses() {
+        var cache = (CaffeineCache) cacheManager.getCache("beerCache");
+        var beer = beer("Galaxy Cat");
+
+        cache.put(beer.getId(), beer);
+        cache.get(beer.getId());
+        cache.get(UUID.randomUUID());
+
+        assertThat(cache.getNativeCache().policy().eviction().orElseThrow().getMaximum()).isEqualTo(100);
+        assertThat(cache.getNativeCache().stats().hitCount()).isEqualTo(1);
+        assertThat(cache.getNativeCache().stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void test_estimated_bytes_are_published_per_cache() {
+        var registry = new SimpleMeterRegistry();
+        new CacheSizeMetrics(cacheManager).bindTo(registry);
+
+        var beer = beer("Galaxy Cat");
+        cacheManager.getCache("beerCache").put(beer.getId(), beer);
+        cacheManager.getCache("beerListCache").put(new SimpleKey(), new PageImpl<>(List.of(beer)));
+
+        assertThat(registry.get("cache.estimated.bytes").tag("cache", "beerCache").gauge().value()).isGreaterThan(300);
+        assertThat(registry.get("cache.estimated.bytes").tag("cache", "beerListCache").gauge().value()).isGreaterThan(300);
+        assertThat(registry.get("cache.estimated.bytes").tag("cache", "customerCache").gauge().value()).isZero();
+    }
+
+    private static BeerDTO beer(String beerName) {
+        return new BeerDTO(UUID.randomUUID(), 1, beerName, BeerStyle.PALE_ALE, "12356222", 122,
+                new BigDecimal("12.99"), LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.services.BeerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.example.springpracticerestmvc.controllers.BeerControllerTest.jwtRequestPostProcessor;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.Is.is;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the BeerAuditController.
+ * The changes are committed, since audit records are written after the request; the beer is deleted again.
+ */
+@SpringBootTest
+@ActiveProfiles("localdb")
+class BeerAuditControllerIT {
+
+    @Autowired
+    WebApplicationContext wac;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * Tests rebuilding the versions of a beer that was created, patched and deleted.
+     * Expects every version with its own values and the patch to record only the changed fields.
+     */
+    @Test
+    void test_versions_of_a_deleted_beer() throws Exception {
+        BeerDTO beer = new BeerDTO(null, null, "Audited Lager", BeerStyle.LAGER, "123123", 100,
+                new BigDecimal("10.50"), null, null);
+        String location = mockMvc.perform(post(BeerController.BEER_PATH)
+                        .with(jwtRequestPostProcessor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(beer)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+        UUID beerId = UUID.fromString(location.substring(location.lastIndexOf('/') + 1));
+
+        mockMvc.perform(patch(BeerController.BEER_PATH_ID, beerId)
+                        .with(jwtRequestPostProcessor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("quantityOnHand", 42))))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete(BeerController.BEER_PATH_ID, beerId)
+                        .with(jwtRequestPostProcessor))
+                .andExpect(status().isNoContent());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                mockMvc.perform(get(BeerAuditController.BEER_VERSIONS_PATH, beerId)
+                                .with(jwtRequestPostProcessor))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()", is(3))));
+
+        mockMvc.perform(get(BeerAuditController.BEER_VERSIONS_PATH, beerId)
+                        .with(jwtRequestPostProcessor))
+                .andExpect(jsonPath("$[0].auditEventType", is("BEER_CREATED")))
+                .andExpect(jsonPath("$[1].auditEventType", is("BEER_PATCHED")))
+                .andExpect(jsonPath("$[1].changedFields", containsInAnyOrder("QUANTITY_ON_HAND", "UPDATE_DATE")))
+                .andExpect(jsonPath("$[1].beer.beerName", is("Audited Lager")))
+                .andExpect(jsonPath("$[2].auditEventType", is("BEER_DELETED")));
+        mockMvc.perform(get(BeerAuditController.BEER_VERSION_PATH, beerId, 0)
+                        .with(jwtRequestPostProcessor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.beer.quantityOnHand", is(100)));
+        mockMvc.perform(get(BeerAuditController.BEER_VERSION_PATH, beerId, 1)
+                        .with(jwtRequestPostProcessor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.beer.quantityOnHand", is(42)))
+                .andExpect(jsonPath("$.beer.upc", is("123123")));
+        mockMvc.perform(get(BeerAuditController.BEER_AUDIT_PATH)
+                        .with(jwtRequestPostProcessor)
+                        .queryParam("beerId", beerId.toString())
+                        .queryParam("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()", is(2)))
+                .andExpect(jsonPath("$.content[0].auditEventType", is("BEER_DELETED")))
+                .andExpect(jsonPath("$.content[1].changes.quantityOnHand", is(42)))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+    }
+
+    /**
+     * Tests auditing a patch that was rolled back, followed by two committed patches.
+     * Expects no version with the rolled-back value and the committed value in the last version before the deletion.
+     */
+    @Test
+    void test_rolled_back_patch_is_not_audited() throws Exception {
+        BeerDTO beer = new BeerDTO(null, null, "Rolled Back Lager", BeerStyle.LAGER, "123124", 100,
+                new BigDecimal("10.50"), null, null);
+        UUID beerId = beerService.saveNewBeer(beer).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            BeerDTO rolledBack = new BeerDTO();
+            rolledBack.setQuantityOnHand(999);
+            beerService.patchBeerById(beerId, rolledBack);
+            status.setRollbackOnly();
+        });
+        for (int quantityOnHand = 1; quantityOnHand <= 2; quantityOnHand++) {
+            mockMvc.perform(patch(BeerController.BEER_PATH_ID, beerId)
+                            .with(jwtRequestPostProcessor)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("quantityOnHand", quantityOnHand))))
+                    .andExpect(status().isNoContent());
+        }
+        beerService.deleteById(beerId);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                mockMvc.perform(get(BeerAuditController.BEER_VERSIONS_PATH, beerId)
+                                .with(jwtRequestPostProcessor))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$[-1].auditEventType", is("BEER_DELETED"))));
+
+        mockMvc.perform(get(BeerAuditController.BEER_VERSIONS_PATH, beerId)
+                        .with(jwtRequestPostProcessor))
+                .andExpect(jsonPath("$[*].beer.quantityOnHand", not(hasItem(999))))
+                .andExpect(jsonPath("$[-2].auditEventType", is("BEER_PATCHED")))
+                .andExpect(jsonPath("$[-2].beer.quantityOnHand", is(2)));
+    }
+
+    /**
+     * Tests searching the audit without a beer or a principal.
+     * Expects HTTP status BAD_REQUEST.
+     */
+    @Test
+    void test_search_audit_without_beer_or_principal() throws Exception {
+        mockMvc.perform(get(BeerAuditController.BEER_AUDIT_PATH)
+                        .with(jwtRequestPostProcessor)
+                        .queryParam("auditEventType", "BEER_PATCHED"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests retrieving the versions of a beer that was never audited.
+     * Expects HTTP status NOT_FOUND.
+     */
+    @Test
+    void test_versions_not_found() throws Exception {
+        mockMvc.perform(get(BeerAuditController.BEER_VERSIONS_PATH, UUID.randomUUID())
+                        .with(jwtRequestPostProcessor))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.model.BeerBulkPatchDTO;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.springpracticerestmvc.controllers.BeerControllerTest.jwtRequestPostProcessor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.core.Is.is;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the BeerBulkController.
+ * The bulk inserts join the test transaction, so the created beers are rolled back after each test.
+ */
+@SpringBootTest
+@ActiveProfiles("localdb")
+@Transactional
+@Rollback
+class BeerBulkControllerIT {
+
+    @Autowired
+    WebApplicationContext wac;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * Tests creating beers from a JSON array with one invalid item.
+     * Expects the valid beers to be created and the invalid one to be reported with its errors.
+     */
+    @Test
+    void test_bulk_create_beers() throws Exception {
+        BeerDTO invalid = beer("Nameless");
+        invalid.setBeerName(null);
+        List<BeerDTO> beers = List.of(beer("Bulk Lager 1"), invalid, beer("Bulk Lager 2"));
+
+        String response = mockMvc.perform(post(BeerBulkController.BEER_BULK_PATH)
+                        .with(jwtRequestPostProcessor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(beers)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].version", is(0)))
+                .andExpect(jsonPath("$[1].status", is("INVALID")))
+                .andExpect(jsonPath("$[1].errors", hasItem("beerName must not be blank")))
+                .andExpect(jsonPath("$[2].status", is("CREATED")))
+                .andReturn().getResponse().getContentAsString();
+
+        UUID id = UUID.fromString(objectMapper.readTree(response).get(2).get("id").asText());
+        assertThat(beerRepository.findById(id)).hasValueSatisfying(beer -> {
+            assertThat(beer.getBeerName()).isEqualTo("Bulk Lager 2");
+            assertThat(beer.getVersion()).isZero();
+            assertThat(beer.getCreatedDate()).isNotNull();
+        });
+    }
+
+    /**
+     * Tests creating beers from newline-delimited JSON with a blank and an unreadable line.
+     * Expects blank lines to be skipped and the unreadable one to be reported as invalid.
+     */
+    @Test
+    void test_bulk_create_beers_from_ndjson() throws Exception {
+        String body = objectMapper.writeValueAsString(beer("Bulk Stout 1")) + "\n"
+                + "\n"
+                + "{not json\n"
+                + objectMapper.writeValueAsString(beer("Bulk Stout 2")) + "\n";
+
+        mockMvc.perform(post(BeerBulkController.BEER_BULK_PATH)
+                        .with(jwtRequestPostProcessor)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("INVALID")))
+                .andExpect(jsonPath("$[1].errors[0]", is("item is missing or unreadable")))
+                .andExpect(jsonPath("$[2].status", is("CREATED")));
+
+        assertThat(beerRepository.findAllByBeerNameIsLikeIgnoreCase("Bulk Stout%", null)).hasSize(2);
+    }
+
+    /**
+     * Tests bulk price and inventory updates with a current, an outdated, an unknown and an empty item.
+     * Expects only the current one to be applied and the others to be reported per item.
+     */
+    @Test
+    void test_bulk_patch_beers() throws Exception {
+        var beers = beerRepository.findAll(PageRequest.of(0, 2)).getContent();
+        var current = beers.get(0);
+        var outdated = beers.get(1);
+        List<BeerBulkPatchDTO> patches = List.of(
+                BeerBulkPatchDTO.builder().id(current.getId()).version(current.getVersion())
+                        .price(new BigDecimal("3.33")).build(),
+                BeerBulkPatchDTO.builder().id(outdated.getId()).version(outdated.getVersion() - 1)
+                        .quantityOnHand(7).build(),
+                BeerBulkPatchDTO.builder().id(UUID.randomUUID()).version(0).quantityOnHand(7).build(),
+                BeerBulkPatchDTO.builder().id(current.getId()).version(current.getVersion()).build());
+
+        mockMvc.perform(patch(BeerBulkController.BEER_BULK_PATH)
+                        .with(jwtRequestPostProcessor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patches)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(4)))
+                .andExpect(jsonPath("$[0].status", is("UPDATED")))
+                .andExpect(jsonPath("$[0].version", is(current.getVersion() + 1)))
+                .andExpect(jsonPath("$[1].status", is("CONFLICT")))
+                .andExpect(jsonPath("$[1].version", is(outdated.getVersion())))
+                .andExpect(jsonPath("$[2].status", is("NOT_FOUND")))
+                .andExpect(jsonPath("$[3].status", is("INVALID")));
+
+        assertThat(beerRepository.findBeerDtosById(List.of(current.getId(), outdated.getId()), true))
+                .allSatisfy(beerDTO -> {
+                    if (beerDTO.getId().equals(current.getId())) {
+                        assertThat(beerDTO.getPrice()).isEqualByComparingTo("3.33");
+                        assertThat(beerDTO.getQuantityOnHand()).isEqualTo(current.getQuantityOnHand());
+                    } else {
+                        assertThat(beerDTO.getVersion()).isEqualTo(outdated.getVersion());
+                        assertThat(beerDTO.getQuantityOnHand()).isEqualTo(outdated.getQuantityOnHand());
+                    }
+                });
+    }
+
+    private static BeerDTO beer(String beerName) {
+        BeerDTO beerDTO = new BeerDTO();
+        beerDTO.setBeerName(beerName);
+        beerDTO.setBeerStyle(BeerStyle.LAGER);
+        beerDTO.setUpc("0123456789");
+        beerDTO.setPrice(new BigDecimal("8.99"));
+        beerDTO.setQuantityOnHand(12);
+        return beerDTO;
+    }
+}
@@ -2,6 +2,8 @@ package com.example.springpracticerestmvc.controllers;
 
 import com.example.springpracticerestmvc.config.SecConfig;
 import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.entities.BeerOrder;
+import com.example.springpracticerestmvc.entities.BeerOrderLine;
 import com.example.springpracticerestmvc.events.BeerCreatedEvent;
 import com.example.springpracticerestmvc.events.BeerDeletedEvent;
 import com.example.springpracticerestmvc.events.BeerPatchedEvent;
@@ -12,6 +14,7 @@ import com.example.springpracticerestmvc.model.BeerDTO;
 import com.example.springpracticerestmvc.model.BeerStyle;
 import com.example.springpracticerestmvc.repositories.BeerOrderRepository;
 import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.search.BeerNameNgramIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.core.IsNull;
 import org.junit.jupiter.api.Assertions;
@@ -21,8 +24,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.event.ApplicationEvents;
@@ -32,17 +38,21 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -68,6 +78,9 @@ class BeerControllerIT {
     @Autowired
     BeerOrderRepository beerOrderRepository;
 
+    @Autowired
+    BeerNameNgramIndex beerNameNgramIndex;
+
     @Autowired
     BeerMapper beerMapper;
 
@@ -95,7 +108,8 @@ class BeerControllerIT {
      */
     @Test
     void test_list_beers() {
-        var dtos = beerController.listBeers(null, null, false, 1, 2412);
+        var dtos = beerController.listBeers(null, null, false, 1, 2412,
+                new ServletWebRequest(new MockHttpServletRequest()));
 
         assertThat(dtos.getContent().size()).isEqualTo(1000);
     }
@@ -110,7 +124,8 @@ class BeerControllerIT {
     void test_empty_list() {
         beerOrderRepository.deleteAll();
         beerRepository.deleteAll();
-        var dtos = beerController.listBeers(null, null, false, 1, 25);
+        var dtos = beerController.listBeers(null, null, false, 1, 25,
+                new ServletWebRequest(new MockHttpServletRequest()));
 
         assertThat(dtos.getContent().size()).isEqualTo(0);
     }
@@ -131,6 +146,68 @@ class BeerControllerIT {
                 .andExpect(jsonPath("$.content.size()", is(320)));
     }
 
+    /**
+     * Tests conditional listing requests before and after a change to a beer of the listed style.
+     * Expects 304 Not Modified while the style is unchanged and a new ETag after the change.
+     * The change is committed, as the caches are invalidated on commit, and undone afterwards.
+     */
+    @Test
+    void test_list_beers_not_modified_until_style_changes() throws Exception {
+        String eTag = mockMvc.perform(
+                        get(BeerController.BEER_PATH)
+                                .with(BeerControllerTest.jwtRequestPostProcessor)
+                                .queryParam("beerStyle", BeerStyle.STOUT.name())
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                        get(BeerController.BEER_PATH)
+                                .with(BeerControllerTest.jwtRequestPostProcessor)
+                                .queryParam("beerStyle", BeerStyle.STOUT.name())
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                )
+                .andExpect(status().isNotModified());
+
+        var stout = beerRepository.findAll().stream()
+                .filter(beer -> beer.getBeerStyle() == BeerStyle.STOUT)
+                .findFirst().orElseThrow();
+        BeerDTO beerDTO = new BeerDTO();
+        beerDTO.setPrice(new BigDecimal("4.99"));
+        beerController.patchBeerById(stout.getId(), beerDTO);
+
+        try {
+            mockMvc.perform(
+                            get(BeerController.BEER_PATH)
+                                    .with(BeerControllerTest.jwtRequestPostProcessor)
+                                    .queryParam("beerStyle", BeerStyle.STOUT.name())
+                                    .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+        } finally {
+            beerDTO.setPrice(stout.getPrice());
+            beerController.patchBeerById(stout.getId(), beerDTO);
+        }
+    }
+
+    /**
+     * Tests the fuzzy listing mode with a misspelled name from the bundled CSV data.
+     * Expects the intended beer to be ranked first.
+     */
+    @Test
+    void test_list_beers_fuzzy_by_misspelled_name() throws Exception {
+        mockMvc.perform(
+                        get(BeerController.BEER_PATH)
+                                .with(BeerControllerTest.jwtRequestPostProcessor)
+                                .queryParam("beerName", "Devils Cup")
+                                .queryParam("fuzzy", "true")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].beerName", is("Devil's Cup")));
+    }
+
     /**
      * Tests listing beers filtered by style using MockMvc.
      * Expects a specific number of beers to be returned.
@@ -228,7 +305,8 @@ class BeerControllerIT {
      */
     @Test
     void test_beer_not_found() {
-        assertThrows(NotFoundException.class, () -> beerController.getBeerById(UUID.randomUUID()));
+        assertThrows(NotFoundException.class, () -> beerController.getBeerById(UUID.randomUUID(),
+                new ServletWebRequest(new MockHttpServletRequest())));
     }
 
     /**
@@ -238,7 +316,7 @@ class BeerControllerIT {
     @Test
     void test_get_by_id() {
         var beer = beerRepository.findAll().getFirst();
-        var dto = beerController.getBeerById(beer.getId());
+        var dto = beerController.getBeerById(beer.getId(), new ServletWebRequest(new MockHttpServletRequest())).getBody();
 
         assertThat(dto).isNotNull();
     }
@@ -316,6 +394,38 @@ class BeerControllerIT {
         assertThat(beerRepository.findById(beer.getId())).isEmpty();
     }
 
+    /**
+     * Tests deleting a beer that an order line refers to.
+     * Expects the delete to fail, and the beer to be neither audited as deleted nor removed from the name index.
+     */
+    @Test
+    void test_delete_by_id_referenced_by_an_order_line() {
+        var beer = beerRepository.save(
+                Beer.builder()
+                        .beerName("Beer on order")
+                        .beerStyle(BeerStyle.IPA)
+                        .upc("123456789012")
+                        .price(new BigDecimal("9.99"))
+                        .build()
+        );
+        var beerOrder = beerOrderRepository.save(
+                BeerOrder.builder()
+                        .customerRef("Order of the beer to delete")
+                        .beerOrderLines(Set.of(BeerOrderLine.builder().beer(beer).orderQuantity(1).build()))
+                        .build()
+        );
+        beerNameNgramIndex.put(beer.getId(), beer.getBeerName(), beer.getBeerStyle());
+
+        assertThrows(DataIntegrityViolationException.class, () -> beerController.deleteById(beer.getId()));
+
+        assertThat(beerRepository.findById(beer.getId())).isPresent();
+        assertThat(applicationEvents.stream(BeerDeletedEvent.class)).isEmpty();
+        assertThat(beerNameNgramIndex.findIdsByNameContaining("Beer on order", null)).contains(beer.getId());
+
+        beerOrderRepository.delete(beerOrder);
+        beerRepository.delete(beer);
+    }
+
     /**
      * Tests deleting a beer by ID when the beer does not exist.
      * Expects a NotFoundException to be thrown.
@@ -1,7 +1,9 @@
 package com.example.springpracticerestmvc.controllers;
 
 import com.example.springpracticerestmvc.config.SecConfig;
+import com.example.springpracticerestmvc.exceptions.InvalidCursorException;
 import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerListingVersion;
 import com.example.springpracticerestmvc.services.BeerService;
 import com.example.springpracticerestmvc.services.impl.BeerServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,6 +14,7 @@ import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -27,7 +30,9 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -101,6 +106,87 @@ class BeerControllerTest {
                 .andExpect(jsonPath("$.beerName", is(beer.getBeerName())));
     }
 
+    /**
+     * Test for a conditional listing request while the listing version is unchanged.
+     * Verifies that it is answered with 304 without running the listing query.
+     */
+    @Test
+    void test_list_beers_not_modified() throws Exception {
+        given(beerService.getListingVersion(null)).willReturn(
+                Optional.of(new BeerListingVersion("\"epoch-all-7\"")));
+
+        mockMvc.perform(get(BeerController.BEER_PATH)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"epoch-all-7\"")
+                        .with(jwtRequestPostProcessor)
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"epoch-all-7\""))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+
+        verify(beerService, never()).listBeers(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test for a listing request conditional on a modification time only.
+     * Verifies that it is answered in full, since listings carry no modification time.
+     */
+    @Test
+    void test_list_beers_if_modified_since_is_answered_in_full() throws Exception {
+        given(beerService.getListingVersion(null)).willReturn(
+                Optional.of(new BeerListingVersion("\"epoch-all-7\"")));
+        given(beerService.listBeers(any(), any(), any(), any(), any()))
+                .willReturn(beerServiceImpl.listBeers(null, null, false, 1, 25));
+
+        mockMvc.perform(get(BeerController.BEER_PATH)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 2099 00:00:00 GMT")
+                        .with(jwtRequestPostProcessor)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    /**
+     * Test for a conditional request for an unchanged beer.
+     * Verifies that it is answered with 304 from the version alone, without loading the beer.
+     */
+    @Test
+    void test_get_beer_by_id_not_modified() throws Exception {
+        UUID beerId = UUID.randomUUID();
+        given(beerService.getBeerVersion(beerId)).willReturn(Optional.of(3));
+
+        mockMvc.perform(get(BeerController.BEER_PATH_ID, beerId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + beerId + "-3\"")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .with(jwtRequestPostProcessor)
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + beerId + "-3\""));
+
+        verify(beerService, never()).getBeerById(any());
+    }
+
+    /**
+     * Test for a conditional request for a beer that changed since.
+     * Verifies that the new representation is returned with its new ETag.
+     */
+    @Test
+    void test_get_beer_by_id_modified() throws Exception {
+        var beer = beerServiceImpl.listBeers(null, null, false, 1, 25)
+                .getContent().getFirst();
+        beer.setVersion(4);
+        given(beerService.getBeerVersion(beer.getId())).willReturn(Optional.of(4));
+        given(beerService.getBeerById(beer.getId())).willReturn(Optional.of(beer));
+
+        mockMvc.perform(get(BeerController.BEER_PATH_ID, beer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + beer.getId() + "-3\"")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .with(jwtRequestPostProcessor)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + beer.getId() + "-4\""))
+                .andExpect(jsonPath("$.id", is(beer.getId().toString())));
+    }
+
     /**
      * Test for listing beers.
      * Verifies the response contains the correct number of beers.
@@ -275,4 +361,103 @@ class BeerControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.length()", is(1)));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for listing beers with a cursor.
+     * Verifies the cursor endpoint is selected and the continuation token is returned.
+     */
+    @Test
+    void test_list_beers_by_cursor() throws Exception {
+        given(beerService.listBeersByCursor(any(), any(), any(), any(), any()))
+                .willReturn(beerServiceImpl.listBeersByCursor(null, null, false, "", 2));
+
+        mockMvc.perform(get(BeerController.BEER_PATH)
+                        .queryParam("cursor", "")
+                        .queryParam("pageSize", "2")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .with(jwtRequestPostProcessor) // for authentication
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()", is(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    /**
+     * Test for listing beers with a malformed cursor.
+     * Verifies the response status is "Bad Request".
+     */
+    @Test
+    void test_list_beers_by_bad_cursor() throws Exception {
+        given(beerService.listBeersByCursor(any(), any(), any(), any(), any()))
+                .willThrow(new InvalidCursorException("Malformed cursor"));
+
+        mockMvc.perform(get(BeerController.BEER_PATH)
+                        .queryParam("cursor", "not-a-cursor")
+                        .with(jwtRequestPostProcessor) // for authentication
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test for listing beers without a total count.
+     * Verifies the slice endpoint returns content and the next-page flag.
+     */
+    @Test
+    void test_list_beers_slice() throws Exception {
+        given(beerService.listBeersSlice(any(), any(), any(), any(), any()))
+                .willReturn(beerServiceImpl.listBeersSlice(null, null, false, 1, 2));
+
+        mockMvc.perform(get(BeerController.BEER_SLICE_PATH)
+                        .queryParam("pageSize", "2")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .with(jwtRequestPostProcessor) // for authentication
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()", is(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.estimatedTotal", is(3)));
+    }
+
+    /**
+     * Test for suggesting beers by name prefix.
+     * Verifies the suggestions are returned with their style.
+     */
+    @Test
+    void test_suggest_beers() throws Exception {
+        given(beerService.suggestBeers(any(), any()))
+                .willReturn(beerServiceImpl.suggestBeers("gal", 10));
+
+        mockMvc.perform(get(BeerController.BEER_SUGGEST_PATH)
+                        .queryParam("prefix", "gal")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .with(jwtRequestPostProcessor) // for authentication
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].beerName", is("Galaxy Cat")))
+                .andExpect(jsonPath("$[0].beerStyle", is("PALE_ALE")));
+    }
+
+    /**
+     * Test for listing beers by a misspelled name.
+     * Verifies the fuzzy mode is selected and returns the similar beer.
+     */
+    @Test
+    void test_list_beers_fuzzy() throws Exception {
+        given(beerService.listBeersFuzzy(any(), any(), any(), any(), any()))
+                .willReturn(beerServiceImpl.listBeersFuzzy("galxy cat", null, null, 1, 25));
+
+        mockMvc.perform(get(BeerController.BEER_PATH)
+                        .queryParam("beerName", "galxy cat")
+                        .queryParam("fuzzy", "true")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .with(jwtRequestPostProcessor) // for authentication
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()", is(1)))
+                .andExpect(jsonPath("$.content[0].beerName", is("Galaxy Cat")));
+
+        verify(beerService).listBeersFuzzy(eq("galxy cat"), any(), any(), any(), any());
+    }
+}
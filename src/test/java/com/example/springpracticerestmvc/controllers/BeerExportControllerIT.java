@@ -0,0 +1,149 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerStyleCount;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static com.example.springpracticerestmvc.controllers.BeerControllerTest.jwtRequestPostProcessor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the BeerExportController.
+ * The export is read-only and streams the bootstrapped catalog from an asynchronous request thread.
+ */
+@SpringBootTest
+@ActiveProfiles("localdb")
+class BeerExportControllerIT {
+
+    @Autowired
+    WebApplicationContext wac;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * Tests exporting one style as NDJSON with inventory.
+     * Expects one JSON document per line for every beer of the style, in id order.
+     */
+    @Test
+    void test_export_beers_by_style_as_ndjson() throws Exception {
+        long expected = beerRepository.countGroupByBeerStyle().stream()
+                .filter(styleCount -> styleCount.beerStyle() == BeerStyle.IPA)
+                .mapToLong(BeerStyleCount::total)
+                .sum();
+
+        MvcResult result = mockMvc.perform(get(BeerExportController.BEER_EXPORT_PATH)
+                        .with(jwtRequestPostProcessor)
+                        .queryParam("beerStyle", BeerStyle.IPA.name())
+                        .queryParam("showInventory", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"beers.ndjson\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> lines = lines(body);
+        assertThat(lines).hasSize((int) expected);
+        assertThat(body[body.length - 1]).isEqualTo((byte) '\n');
+
+        UUID previous = null;
+        for (String line : lines) {
+            assertThat(line).startsWith("{");
+            BeerDTO beerDTO = objectMapper.readValue(line, BeerDTO.class);
+            assertThat(beerDTO.getBeerStyle()).isEqualTo(BeerStyle.IPA);
+            assertThat(beerDTO.getQuantityOnHand()).isNotNull();
+            if (previous != null) {
+                assertThat(beerDTO.getId().toString()).isGreaterThan(previous.toString());
+            }
+            previous = beerDTO.getId();
+        }
+    }
+
+    /**
+     * Tests exporting beers filtered by name as gzip-compressed CSV.
+     * Expects a header row followed by one row per matching beer, without inventory.
+     */
+    @Test
+    void test_export_beers_by_name_as_gzipped_csv() throws Exception {
+        MvcResult result = mockMvc.perform(get(BeerExportController.BEER_EXPORT_PATH)
+                        .with(jwtRequestPostProcessor)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .queryParam("beerName", "IPA")
+                        .queryParam("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String[]> rows;
+        try (CSVReader reader = new CSVReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(body)), StandardCharsets.UTF_8))) {
+            rows = reader.readAll();
+        }
+        assertThat(rows.getFirst()).containsExactly(
+                "id", "version", "beerName", "beerStyle", "upc", "quantityOnHand", "price", "createdDate", "updateDate");
+        assertThat(rows).hasSize(322);
+
+        Set<String> ids = new HashSet<>();
+        for (String[] row : rows.subList(1, rows.size())) {
+            assertThat(ids.add(row[0])).isTrue();
+            assertThat(row[2]).containsIgnoringCase("IPA");
+            assertThat(row[5]).isEmpty();
+        }
+    }
+
+    private static List<String> lines(byte[] body) throws Exception {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
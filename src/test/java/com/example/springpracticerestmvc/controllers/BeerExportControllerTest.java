@@ -0,0 +1,136 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.config.SecConfig;
+import com.example.springpracticerestmvc.config.TaskConfig;
+import com.example.springpracticerestmvc.model.BeerExportFormat;
+import com.example.springpracticerestmvc.services.BeerExportService;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.springpracticerestmvc.controllers.BeerControllerTest.jwtRequestPostProcessor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the BeerExportController class.
+ */
+@WebMvcTest(BeerExportController.class)
+@Import({SecConfig.class, TaskConfig.class})
+class BeerExportControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    BeerExportService beerExportService;
+
+    /**
+     * Tests an export that writes slowly.
+     * Expects the request to time out only after the configured hour, not the container's default, and the
+     * export to complete.
+     */
+    @Test
+    void test_slow_export_is_not_cut_off_by_the_default_async_timeout() throws Exception {
+        given(beerExportService.exportBeers(isNull(), isNull(), isNull(), eq(BeerExportFormat.NDJSON),
+                any(OutputStream.class))).willAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(4);
+            outputStream.write("{}\n".getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(500);
+            outputStream.write("{}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get(BeerExportController.BEER_EXPORT_PATH)
+                        .with(jwtRequestPostProcessor))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofHours(1).toMillis());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{}\n{}\n"));
+    }
+
+    /**
+     * Tests that exports run as the export workload rather than the default one.
+     */
+    @Test
+    void test_export_runs_on_the_export_executor() throws Exception {
+        AtomicReference<String> thread = new AtomicReference<>();
+        given(beerExportService.exportBeers(isNull(), isNull(), isNull(), eq(BeerExportFormat.NDJSON),
+                any(OutputStream.class))).willAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return 0L;
+        });
+
+        MvcResult result = mockMvc.perform(get(BeerExportController.BEER_EXPORT_PATH)
+                        .with(jwtRequestPostProcessor))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        assertThat(thread.get()).startsWith("export-task-");
+    }
+
+    /**
+     * Tests an export while another one holds the export workload's only slot.
+     * Expects it to be rejected at once with 503 instead of waiting out its timeout.
+     */
+    @Test
+    void test_export_beyond_the_limit_is_rejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(beerExportService.exportBeers(isNull(), isNull(), isNull(), eq(BeerExportFormat.NDJSON),
+                any(OutputStream.class))).willAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return 0L;
+        });
+
+        MvcResult running = mockMvc.perform(get(BeerExportController.BEER_EXPORT_PATH)
+                        .with(jwtRequestPostProcessor))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.await();
+        try {
+            MvcResult rejected = mockMvc.perform(get(BeerExportController.BEER_EXPORT_PATH)
+                            .with(jwtRequestPostProcessor))
+                    .andReturn();
+
+            // The rejection sets the async result before MockMvc listens for it, so dispatch without waiting
+            mockMvc.perform(servletContext -> {
+                        MockHttpServletRequest request = rejected.getRequest();
+                        request.setDispatcherType(DispatcherType.ASYNC);
+                        request.setAsyncStarted(false);
+                        return request;
+                    })
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            release.countDown();
+        }
+        mockMvc.perform(asyncDispatch(running))
+                .andExpect(status().isOk());
+    }
+}
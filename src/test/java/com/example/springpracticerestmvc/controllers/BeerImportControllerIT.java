@@ -0,0 +1,189 @@
+package com.example.springpracticerestmvc.controllers;
+
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.entities.BeerImportJob;
+import com.example.springpracticerestmvc.model.BeerImportJobDTO;
+import com.example.springpracticerestmvc.model.BeerImportStatus;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.repositories.BeerImportJobRepository;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.services.BeerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.springpracticerestmvc.controllers.BeerControllerTest.jwtRequestPostProcessor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.core.Is.is;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the BeerImportController.
+ * Imports commit on their own thread, so the imported beers are deleted after each test.
+ */
+@SpringBootTest
+@ActiveProfiles("localdb")
+class BeerImportControllerIT {
+
+    private static final String HEADER =
+            "\"row\",\"count.x\",\"abv\",\"ibu\",\"id\",\"beer\",\"style\",\"brewery_id\",\"ounces\",\"style2\",\"count.y\",\"brewery\",\"city\",\"state\",\"label\"\n";
+
+    @Autowired
+    WebApplicationContext wac;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerImportJobRepository beerImportJobRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.findAllByBeerNameIsLikeIgnoreCase("Imported %", Pageable.unpaged())
+                .forEach(beer -> beerService.deleteById(beer.getId()));
+    }
+
+    /**
+     * Tests importing a CSV upload with one unreadable row.
+     * Expects the job to complete with the readable rows imported and styles mapped as in the bootstrap data.
+     */
+    @Test
+    void test_import_beers_from_multipart_upload() throws Exception {
+        String csv = HEADER +
+                row(1, "Imported Pale", "American Pale Lager") +
+                "\"2\",not-a-number,0.05,NA,1,\"Imported Broken\",\"American IPA\",1,12,NA,1,\"Brewery\",\"City\",\"OR\",\"Label\"\n" +
+                row(3, "Imported Stout", "Oatmeal Stout");
+
+        String response = mockMvc.perform(multipart(BeerImportController.BEER_IMPORT_PATH)
+                        .file(new MockMultipartFile("file", "beers.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)))
+                        .with(jwtRequestPostProcessor))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.fileName", is("beers.csv")))
+                .andReturn().getResponse().getContentAsString();
+        UUID jobId = objectMapper.readValue(response, BeerImportJobDTO.class).getId();
+
+        BeerImportJobDTO job = awaitFinished(jobId);
+
+        assertThat(job.getStatus()).isEqualTo(BeerImportStatus.COMPLETED);
+        assertThat(job.getRowsCommitted()).isEqualTo(3);
+        assertThat(job.getBeersImported()).isEqualTo(2);
+        assertThat(job.getRowsRejected()).isEqualTo(1);
+        assertThat(job.getLastError()).startsWith("row 2");
+        assertThat(imported()).extracting(Beer::getBeerName, Beer::getBeerStyle)
+                .containsExactlyInAnyOrder(
+                        tuple("Imported Pale", BeerStyle.PALE_ALE),
+                        tuple("Imported Stout", BeerStyle.STOUT));
+    }
+
+    /**
+     * Tests resuming a failed import whose first rows were already committed.
+     * Expects only the rows after the checkpoint to be imported, and a completed import to refuse resuming.
+     */
+    @Test
+    void test_resume_failed_import_after_last_committed_row() throws Exception {
+        Path file = Files.createTempFile("beer-import", ".csv");
+        Files.writeString(file, HEADER +
+                row(1, "Imported Before Failure 1", "American IPA") +
+                row(2, "Imported Before Failure 2", "American IPA") +
+                row(3, "Imported After Resume 1", "American Porter") +
+                row(4, "Imported After Resume 2", "American Porter"));
+        BeerImportJob failed = beerImportJobRepository.save(BeerImportJob.builder()
+                .fileName("beers.csv")
+                .filePath(file.toString())
+                .status(BeerImportStatus.FAILED)
+                .rowsCommitted(2)
+                .beersImported(2)
+                .build());
+
+        mockMvc.perform(post(BeerImportController.BEER_IMPORT_RESUME_PATH, failed.getId())
+                        .with(jwtRequestPostProcessor))
+                .andExpect(status().isAccepted());
+
+        BeerImportJobDTO job = awaitFinished(failed.getId());
+
+        assertThat(job.getStatus()).isEqualTo(BeerImportStatus.COMPLETED);
+        assertThat(job.getRowsCommitted()).isEqualTo(4);
+        assertThat(job.getBeersImported()).isEqualTo(4);
+        assertThat(imported()).extracting(Beer::getBeerName)
+                .containsExactlyInAnyOrder("Imported After Resume 1", "Imported After Resume 2");
+        assertThat(file).doesNotExist();
+
+        mockMvc.perform(post(BeerImportController.BEER_IMPORT_RESUME_PATH, failed.getId())
+                        .with(jwtRequestPostProcessor))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Tests retrieving an unknown import job.
+     * Expects a 404 Not Found status.
+     */
+    @Test
+    void test_get_unknown_import() throws Exception {
+        mockMvc.perform(get(BeerImportController.BEER_IMPORT_PATH_ID, UUID.randomUUID())
+                        .with(jwtRequestPostProcessor))
+                .andExpect(status().isNotFound());
+    }
+
+    private BeerImportJobDTO awaitFinished(UUID jobId) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String response = mockMvc.perform(get(BeerImportController.BEER_IMPORT_PATH_ID, jobId)
+                            .with(jwtRequestPostProcessor))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            BeerImportJobDTO job = objectMapper.readValue(response, BeerImportJobDTO.class);
+            if (job.getStatus() == BeerImportStatus.COMPLETED || job.getStatus() == BeerImportStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import " + jobId + " did not finish");
+    }
+
+    private List<Beer> imported() {
+        return beerRepository.findAllByBeerNameIsLikeIgnoreCase("Imported %", Pageable.unpaged()).getContent();
+    }
+
+    private static String row(int row, String beer, String style) {
+        return "\"" + row + "\"," + row + ",0.05,NA," + row + ",\"" + beer + "\",\"" + style +
+                "\",1,12,NA,1,\"Brewery\",\"City\",\"OR\",\"Label\"\n";
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -76,6 +77,24 @@ class BeerOrderControllerIT {
                 .andExpect(jsonPath("$.content.size()", greaterThan(0)));
     }
 
+    /**
+     * Tests the endpoint for listing beer orders without a total count.
+     * Verifies that the response contains a slice of beer orders.
+     *
+     * @throws Exception if the request fails.
+     */
+    @Test
+    void test_list_beer_orders_slice() throws Exception {
+        mockMvc.perform(
+                        get(BeerOrderController.BEER_ORDER_SLICE_PATH)
+                                .with(jwtRequestPostProcessor)
+                                .queryParam("pageSize", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+    }
+
     /**
      * Tests the endpoint for retrieving a beer order by its ID.
      * Verifies that the response contains the correct beer order details.
@@ -94,6 +113,33 @@ class BeerOrderControllerIT {
                 .andExpect(jsonPath("$.id", is(beerOrder.getId().toString())));
     }
 
+    /**
+     * Tests a conditional request for a beer order with the ETag of the previous response.
+     * Verifies that the response status is 304 Not Modified without a body.
+     *
+     * @throws Exception if the request fails.
+     */
+    @Test
+    void test_get_beer_order_by_id_not_modified() throws Exception {
+        var beerOrder = beerOrderRepository.findAll().getFirst();
+
+        String eTag = mockMvc.perform(
+                        get(BeerOrderController.BEER_ORDER_PATH_ID, beerOrder.getId())
+                                .with(jwtRequestPostProcessor)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                        get(BeerOrderController.BEER_ORDER_PATH_ID, beerOrder.getId())
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                                .with(jwtRequestPostProcessor)
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     /**
      * Tests the endpoint for creating a new beer order.
      * Verifies that the response status is 201 Created and the Location header is present.
@@ -12,9 +12,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.UUID;
 
@@ -60,7 +62,8 @@ class CustomerControllerIT {
     @Test
     void test_get_customer_by_id() {
         var customer = customerRepository.findAll().getFirst();
-        var customerDTO = customerController.getCustomerById(customer.getId());
+        var customerDTO = customerController.getCustomerById(customer.getId(),
+                new ServletWebRequest(new MockHttpServletRequest())).getBody();
         assertThat(customerDTO).isNotNull();
     }
 
@@ -71,7 +74,7 @@ class CustomerControllerIT {
     @Test
     void test_customer_not_found_by_id() {
         assertThrows(NotFoundException.class, () -> {
-            customerController.getCustomerById(UUID.randomUUID());
+            customerController.getCustomerById(UUID.randomUUID(), new ServletWebRequest(new MockHttpServletRequest()));
         });
     }
 
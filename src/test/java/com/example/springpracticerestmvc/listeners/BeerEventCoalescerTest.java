@@ -0,0 +1,137 @@
+package com.example.springpracticerestmvc.listeners;
+
+import com.example.springpracticerestmvc.events.*;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BeerEventCoalescerTest {
+
+    static final UUID BEER_ID = UUID.randomUUID();
+    static final Authentication USER1 = new TestingAuthenticationToken("user1", null);
+    static final Authentication USER2 = new TestingAuthenticationToken("user2", null);
+
+    ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+    BeerEventCoalescer coalescer = new BeerEventCoalescer(applicationEventPublisher);
+
+    @BeforeEach
+    void setUp() {
+        // Long enough that held changes are only delivered when the test stops the coalescer
+        coalescer.coalesceWindow = Duration.ofMinutes(10);
+        coalescer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void test_changes_within_the_window_are_delivered_as_one() {
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(1, 10), beer(0, 20), USER1));
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(2, 5), beer(1, 10), USER1));
+        coalescer.onBeerEvent(new BeerUpdatedEvent(beer(3, 7), beer(2, 5), USER1));
+
+        verify(applicationEventPublisher, after(100).never()).publishEvent(any(Object.class));
+
+        coalescer.stop();
+
+        CommittedBeerEvent committed = delivered(1)[0];
+        assertThat(committed.getCount()).isEqualTo(3);
+        assertThat(committed.getEvent()).isInstanceOf(BeerUpdatedEvent.class);
+        assertThat(committed.getEvent().getPrevious()).isEqualTo(beer(0, 20));
+        assertThat(committed.getEvent().getBeer()).isEqualTo(beer(3, 7));
+    }
+
+    @Test
+    void test_creations_and_deletions_keep_the_order_of_the_changes() {
+        coalescer.onBeerEvent(new BeerCreatedEvent(beer(0, 20), USER1));
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(1, 10), beer(0, 20), USER1));
+        coalescer.onBeerEvent(new BeerDeletedEvent(beer(1, 10), USER1));
+
+        CommittedBeerEvent[] committed = delivered(3);
+        assertThat(committed[0].getEvent()).isInstanceOf(BeerCreatedEvent.class);
+        assertThat(committed[1].getEvent()).isInstanceOf(BeerPatchedEvent.class);
+        assertThat(committed[2].getEvent()).isInstanceOf(BeerDeletedEvent.class);
+    }
+
+    @Test
+    void test_changes_by_another_principal_are_not_merged() {
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(1, 10), beer(0, 20), USER1));
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(2, 5), beer(1, 10), USER2));
+
+        assertThat(delivered(1)[0].getEvent().getAuthentication()).isEqualTo(USER1);
+
+        coalescer.stop();
+
+        assertThat(delivered(2)[1].getEvent().getAuthentication()).isEqualTo(USER2);
+    }
+
+    @Test
+    void test_slow_delivery_does_not_hold_up_the_committing_thread() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(applicationEventPublisher).publishEvent(any(Object.class));
+
+        coalescer.onBeerEvent(new BeerCreatedEvent(beer(0, 20), USER1));
+        verify(applicationEventPublisher, timeout(1000)).publishEvent(any(Object.class));
+        long start = System.nanoTime();
+        coalescer.onBeerEvent(new BeerCreatedEvent(beer(0, 20), USER1));
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(1, 10), beer(0, 20), USER1));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+        release.countDown();
+    }
+
+    @Test
+    void test_held_changes_of_a_bulk_change_are_delivered_on_the_caller() {
+        UUID other = UUID.randomUUID();
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(1, 10), beer(0, 20), USER1));
+
+        coalescer.deliverHeld(List.of(other, BEER_ID));
+
+        verify(applicationEventPublisher).publishEvent(any(Object.class));
+        coalescer.stop();
+        verify(applicationEventPublisher, after(100).times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void test_journal_mode_delivers_on_the_committing_thread() {
+        coalescer.stop();
+        coalescer.auditMode = "journal";
+        coalescer.start();
+
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(1, 10), beer(0, 20), USER1));
+        coalescer.onBeerEvent(new BeerPatchedEvent(beer(2, 5), beer(1, 10), USER1));
+
+        verify(applicationEventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    CommittedBeerEvent[] delivered(int count) {
+        ArgumentCaptor<CommittedBeerEvent> captor = ArgumentCaptor.forClass(CommittedBeerEvent.class);
+        verify(applicationEventPublisher, timeout(1000).times(count)).publishEvent(captor.capture());
+        return captor.getAllValues().toArray(CommittedBeerEvent[]::new);
+    }
+
+    static BeerSnapshot beer(int version, int quantityOnHand) {
+        return new BeerSnapshot(BEER_ID, version, "Galaxy Cat", BeerStyle.PALE_ALE, "12356222", quantityOnHand,
+                new BigDecimal("12.99"), null, null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.springpracticerestmvc.listeners;
+
+import com.example.springpracticerestmvc.cache.CacheInvalidation;
+import com.example.springpracticerestmvc.cache.PeerCacheInvalidationEvent;
+import com.example.springpracticerestmvc.events.BeerDeletedEvent;
+import com.example.springpracticerestmvc.events.BeerPatchedEvent;
+import com.example.springpracticerestmvc.events.BeerSnapshot;
+import com.example.springpracticerestmvc.model.BeerNameView;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import com.example.springpracticerestmvc.search.BeerNameIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class BeerNameIndexListenerTest {
+
+    BeerRepository beerRepository = mock(BeerRepository.class);
+    BeerNameIndex beerNameIndex = mock(BeerNameIndex.class);
+    BeerNameIndexListener listener = new BeerNameIndexListener(beerRepository, List.of(beerNameIndex));
+
+    @Test
+    void test_changes_are_applied() {
+        UUID beerId = UUID.randomUUID();
+        BeerSnapshot beer = new BeerSnapshot(beerId, 1, "Galaxy Cat", BeerStyle.IPA, "12356222", 10,
+                new BigDecimal("12.99"), null, null);
+
+        listener.listen(new BeerPatchedEvent(beer, beer, null));
+        listener.listen(new BeerDeletedEvent(beer, null));
+
+        InOrder inOrder = inOrder(beerNameIndex);
+        inOrder.verify(beerNameIndex).put(beerId, "Galaxy Cat", BeerStyle.IPA);
+        inOrder.verify(beerNameIndex).remove(beerId);
+    }
+
+    @Test
+    void test_beers_changed_on_another_node_are_read_again() {
+        UUID changed = UUID.randomUUID();
+        UUID created = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        when(beerRepository.findAllNamesByIdIn(List.of(changed, created, deleted))).thenReturn(List.of(
+                new BeerNameView(changed, "Galaxy Cat Hazy", BeerStyle.IPA),
+                new BeerNameView(created, "Mango Bobs", BeerStyle.ALE)));
+
+        listener.listen(new PeerCacheInvalidationEvent(List.of(
+                CacheInvalidation.evict("beerCache", changed),
+                CacheInvalidation.advanceGeneration(BeerStyle.IPA),
+                CacheInvalidation.evict("beerNotFoundCache", created),
+                CacheInvalidation.evict("beerCache", deleted),
+                CacheInvalidation.evict("beerCache", changed))));
+
+        verify(beerNameIndex).put(changed, "Galaxy Cat Hazy", BeerStyle.IPA);
+        verify(beerNameIndex).put(created, "Mango Bobs", BeerStyle.ALE);
+        verify(beerNameIndex).remove(deleted);
+        verifyNoMoreInteractions(beerNameIndex);
+    }
+
+    @Test
+    void test_other_invalidations_are_ignored() {
+        listener.listen(new PeerCacheInvalidationEvent(List.of(
+                CacheInvalidation.evict("customerCache", UUID.randomUUID()),
+                CacheInvalidation.clear("customerListCache"))));
+
+        verify(beerRepository, never()).findAllNamesByIdIn(anyCollection());
+        verify(beerNameIndex, never()).put(any(), any(), any());
+    }
+}
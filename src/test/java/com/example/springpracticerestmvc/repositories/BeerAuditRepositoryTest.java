@@ -0,0 +1,206 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.model.BeerAuditCursor;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+class BeerAuditRepositoryTest {
+
+    @Autowired
+    BeerAuditRepository beerAuditRepository;
+
+    @Test
+    void test_insert_all_reads_back_through_jpa() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<BeerAudit> beerAudits = IntStream.range(0, 5)
+                .mapToObj(i -> BeerAudit.builder()
+                        .auditId(UUID.randomUUID())
+                        .id(UUID.randomUUID())
+                        .version(i)
+                        .beerName("Beer " + i)
+                        .beerStyle(BeerStyle.STOUT)
+                        .upc("12356")
+                        .quantityOnHand(i * 10)
+                        .price(new BigDecimal("12"))
+                        .createdDate(now)
+                        .updateDate(now)
+                        .createdDateAudit(now)
+                        .principalName("user1")
+                        .auditEventType("BEER_CREATED")
+                        .build())
+                .toList();
+
+        beerAuditRepository.insertAll(beerAudits, 2);
+
+        BeerAudit read = beerAuditRepository.findById(beerAudits.get(3).getAuditId()).orElseThrow();
+        assertThat(beerAuditRepository.count()).isEqualTo(5);
+        assertThat(read.getBeerName()).isEqualTo("Beer 3");
+        assertThat(read.getBeerStyle()).isEqualTo(BeerStyle.STOUT);
+        assertThat(read.getQuantityOnHand()).isEqualTo(30);
+        assertThat(read.getCreatedDateAudit()).isEqualTo(now);
+        assertThat(read.getAuditEventType()).isEqualTo("BEER_CREATED");
+    }
+
+    @Test
+    void test_records_of_a_beer_are_found_in_order_of_their_changes() {
+        UUID beerId = UUID.randomUUID();
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<BeerAudit> beerAudits = List.of(
+                delta(beerId, null, created.plusNanos(2000), "BEER_DELETED"),
+                delta(beerId, 0, created, "BEER_CREATED"),
+                delta(UUID.randomUUID(), 0, created, "BEER_CREATED"),
+                delta(beerId, 1, created.plusNanos(1000), "BEER_PATCHED"));
+
+        beerAuditRepository.insertAll(beerAudits, 10);
+
+        List<BeerAudit> read = beerAuditRepository.findAllByBeerIdInOrder(beerId);
+        assertThat(read).extracting(BeerAudit::getAuditEventType)
+                .containsExactly("BEER_CREATED", "BEER_PATCHED", "BEER_DELETED");
+        assertThat(read.get(1).getDelta()).containsExactly(1, 8, 0, 0, 0, 0, 7);
+        assertThat(read.get(2).getDelta()).isNull();
+    }
+
+    @Test
+    void test_records_of_a_beer_are_found_in_version_order_whatever_their_time() {
+        UUID beerId = UUID.randomUUID();
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // A coalesced patch audited after a bulk patch of the beer, and its deletion of the same version
+        beerAuditRepository.insertAll(List.of(
+                delta(beerId, 0, created, "BEER_CREATED"),
+                delta(beerId, 2, created.plusNanos(1000), "BEER_DELETED"),
+                delta(beerId, 2, created.plusNanos(2000), "BEER_PATCHED"),
+                delta(beerId, 1, created.plusNanos(3000), "BEER_PATCHED")), 10);
+
+        assertThat(beerAuditRepository.findAllByBeerIdInOrder(beerId))
+                .extracting(BeerAudit::getVersion, BeerAudit::getAuditEventType)
+                .containsExactly(tuple(0, "BEER_CREATED"), tuple(1, "BEER_PATCHED"), tuple(2, "BEER_PATCHED"),
+                        tuple(2, "BEER_DELETED"));
+        assertThat(beerAuditRepository.findAllByBeerIdBeforeInOrder(beerId, created.plusNanos(3000)))
+                .extracting(BeerAudit::getVersion)
+                .containsExactly(0, 2, 2);
+    }
+
+    @Test
+    void test_search_pages_through_the_matching_records_newest_first() {
+        UUID beerId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // Two records per audit time, so that pages also split records of the same time
+        List<BeerAudit> beerAudits = IntStream.range(0, 20)
+                .mapToObj(i -> delta(i % 5 == 0 ? UUID.randomUUID() : beerId, i, start.plusSeconds(i / 2),
+                        i % 3 == 0 ? "BEER_UPDATED" : "BEER_PATCHED"))
+                .toList();
+        beerAuditRepository.insertAll(beerAudits, 10);
+
+        List<BeerAudit> found = new ArrayList<>();
+        BeerAuditCursor after = null;
+        for (List<BeerAudit> page; !(page = beerAuditRepository.search(beerId, null, "BEER_PATCHED",
+                start.plusSeconds(1), start.plusSeconds(9), after, 3)).isEmpty(); ) {
+            found.addAll(page);
+            BeerAudit last = page.getLast();
+            after = new BeerAuditCursor(last.getCreatedDateAudit(), last.getAuditId());
+        }
+
+        List<BeerAudit> expected = beerAudits.stream()
+                .filter(beerAudit -> beerAudit.getId().equals(beerId)
+                        && beerAudit.getAuditEventType().equals("BEER_PATCHED")
+                        && !beerAudit.getCreatedDateAudit().isBefore(start.plusSeconds(1))
+                        && beerAudit.getCreatedDateAudit().isBefore(start.plusSeconds(9)))
+                .sorted(Comparator.comparing(BeerAudit::getCreatedDateAudit)
+                        .thenComparing(beerAudit -> beerAudit.getAuditId().toString())
+                        .reversed())
+                .toList();
+        assertThat(expected).hasSizeGreaterThan(3);
+        assertThat(found).extracting(BeerAudit::getAuditId)
+                .containsExactlyElementsOf(expected.stream().map(BeerAudit::getAuditId).toList());
+    }
+
+    @Test
+    void test_search_by_principal() {
+        BeerAudit other = delta(UUID.randomUUID(), 0, LocalDateTime.now(), "BEER_CREATED");
+        other.setPrincipalName("user2");
+        beerAuditRepository.insertAll(List.of(delta(UUID.randomUUID(), 0, LocalDateTime.now(), "BEER_CREATED"),
+                other), 10);
+
+        assertThat(beerAuditRepository.search(null, "user2", null, null, null, null, 10))
+                .extracting(BeerAudit::getAuditId)
+                .containsExactly(other.getAuditId());
+    }
+
+    @Test
+    void test_unpartitioned_table_deletes_the_oldest_expired_records() {
+        // Whole seconds, so that the record at the expiry is stored exactly as the expiry
+        LocalDateTime expiry = LocalDateTime.now().minusYears(2).truncatedTo(ChronoUnit.SECONDS);
+        beerAuditRepository.insertAll(IntStream.range(0, 5)
+                .mapToObj(i -> delta(UUID.randomUUID(), 0, expiry.plusDays(i - 3), "BEER_CREATED"))
+                .toList(), 10);
+
+        assertThat(beerAuditRepository.findPartitions()).isEmpty();
+        assertThat(beerAuditRepository.deleteCreatedBefore(expiry, 2)).isEqualTo(2);
+        assertThat(beerAuditRepository.deleteCreatedBefore(expiry, 2)).isEqualTo(1);
+        assertThat(beerAuditRepository.deleteCreatedBefore(expiry, 2)).isZero();
+        assertThat(beerAuditRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void test_beers_with_records_on_both_sides_of_a_time_are_found() {
+        LocalDateTime time = LocalDateTime.now().minusYears(2).truncatedTo(ChronoUnit.SECONDS);
+        UUID across = UUID.randomUUID();
+        UUID before = UUID.randomUUID();
+        UUID after = UUID.randomUUID();
+        beerAuditRepository.insertAll(List.of(
+                delta(across, 0, time.minusDays(2), "BEER_CREATED"),
+                delta(across, 1, time.minusDays(1), "BEER_PATCHED"),
+                delta(across, 2, time.plusDays(1), "BEER_PATCHED"),
+                delta(before, 0, time.minusDays(1), "BEER_CREATED"),
+                delta(after, 0, time, "BEER_CREATED")), 10);
+
+        assertThat(beerAuditRepository.findBeerIdsWithRecordsAround(time)).containsExactly(across);
+        assertThat(beerAuditRepository.findAllByBeerIdBeforeInOrder(across, time))
+                .extracting(BeerAudit::getVersion)
+                .containsExactly(0, 1);
+    }
+
+    @Test
+    void test_beers_with_a_baseline_at_the_time_are_not_found_again() {
+        LocalDateTime time = LocalDateTime.now().minusYears(2).truncatedTo(ChronoUnit.SECONDS);
+        UUID baselined = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        beerAuditRepository.insertAll(List.of(
+                delta(baselined, 0, time.minusDays(1), "BEER_CREATED"),
+                delta(baselined, 1, time.plusDays(1), "BEER_PATCHED"),
+                delta(baselined, 0, time, "BEER_BASELINE"),
+                delta(other, 0, time.minusDays(1), "BEER_CREATED"),
+                delta(other, 1, time.plusDays(1), "BEER_PATCHED"),
+                delta(other, 0, time.minusMonths(1), "BEER_BASELINE")), 10);
+
+        assertThat(beerAuditRepository.findBeerIdsWithRecordsAround(time)).containsExactly(other);
+    }
+
+    private static BeerAudit delta(UUID beerId, Integer version, LocalDateTime createdDateAudit, String eventType) {
+        return BeerAudit.builder()
+                .auditId(UUID.randomUUID())
+                .id(beerId)
+                .version(version)
+                .delta(version == null ? null : new byte[]{1, 8, 0, 0, 0, 0, 7})
+                .createdDateAudit(createdDateAudit)
+                .principalName("user1")
+                .auditEventType(eventType)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.model.BeerBulkPatchDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares write throughput between saving beers one per transaction, as the single-item endpoints do, and
+ * JDBC batch statements in chunked transactions, as the bulk endpoints do.
+ * Disabled by default; run with {@code mvn test -Dtest=BeerBatchRepositoryBenchmarkTest -Dbenchmark=true}.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BeerBatchRepositoryBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int CHUNK_SIZE = 1000;
+    private static final int BATCH_SIZE = 250;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void benchmark_single_saves_against_batch_inserts() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Warm up both paths, then start from an empty table
+        insertOneByOne(transactionTemplate, 2000);
+        insertInChunks(transactionTemplate, 2000);
+        beerRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        insertOneByOne(transactionTemplate, ROWS);
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        insertInChunks(transactionTemplate, ROWS);
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(beerRepository.count()).isEqualTo(2L * ROWS);
+
+        System.out.printf("%n%-28s %12s %12s%n", "path", "seconds", "rows/s");
+        System.out.printf("%-28s %12.2f %12.0f%n", "save, one per transaction", singleSeconds, ROWS / singleSeconds);
+        System.out.printf("%-28s %12.2f %12.0f%n", "batch insert, chunked", batchSeconds, ROWS / batchSeconds);
+        System.out.printf("speedup: %.1fx%n", singleSeconds / batchSeconds);
+    }
+
+    @Test
+    void benchmark_single_patches_against_batch_updates() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        beerRepository.deleteAllInBatch();
+        insertInChunks(transactionTemplate, ROWS);
+        List<Beer> beers = beerRepository.findAll();
+
+        long start = System.nanoTime();
+        for (Beer beer : beers) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Beer found = beerRepository.findById(beer.getId()).orElseThrow();
+                found.setPrice(new BigDecimal("10.99"));
+                beerRepository.save(found);
+            });
+        }
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        for (int first = 0; first < beers.size(); first += CHUNK_SIZE) {
+            List<BeerBulkPatchDTO> chunk = beers.subList(first, Math.min(first + CHUNK_SIZE, beers.size())).stream()
+                    .map(beer -> BeerBulkPatchDTO.builder().id(beer.getId()).version(1)
+                            .price(new BigDecimal("11.99")).build())
+                    .toList();
+            transactionTemplate.executeWithoutResult(status -> beerRepository.updatePriceAndInventory(chunk, now, BATCH_SIZE));
+        }
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(beerRepository.findAll()).allSatisfy(beer -> assertThat(beer.getVersion()).isEqualTo(2));
+
+        System.out.printf("%n%-28s %12s %12s%n", "path", "seconds", "rows/s");
+        System.out.printf("%-28s %12.2f %12.0f%n", "find and save, one per tx", singleSeconds, ROWS / singleSeconds);
+        System.out.printf("%-28s %12.2f %12.0f%n", "batch update, chunked", batchSeconds, ROWS / batchSeconds);
+        System.out.printf("speedup: %.1fx%n", singleSeconds / batchSeconds);
+    }
+
+    private void insertOneByOne(TransactionTemplate transactionTemplate, int rows) {
+        for (int i = 0; i < rows; i++) {
+            Beer beer = beer(i);
+            beer.setId(null);
+            beer.setVersion(null);
+            transactionTemplate.executeWithoutResult(status -> beerRepository.save(beer));
+        }
+    }
+
+    private void insertInChunks(TransactionTemplate transactionTemplate, int rows) {
+        for (int first = 0; first < rows; first += CHUNK_SIZE) {
+            List<Beer> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = first; i < Math.min(first + CHUNK_SIZE, rows); i++) {
+                chunk.add(beer(i));
+            }
+            transactionTemplate.executeWithoutResult(status -> beerRepository.insertAll(chunk, BATCH_SIZE));
+        }
+    }
+
+    private static Beer beer(int i) {
+        LocalDateTime now = LocalDateTime.now();
+        return Beer.builder()
+                .id(UUID.randomUUID())
+                .version(0)
+                .beerName("Benchmark Beer " + i)
+                .beerStyle(BeerStyle.values()[i % BeerStyle.values().length])
+                .upc("upc" + i)
+                .quantityOnHand(i % 500)
+                .price(new BigDecimal("9.99"))
+                .createdDate(now)
+                .updateDate(now)
+                .build();
+    }
+}
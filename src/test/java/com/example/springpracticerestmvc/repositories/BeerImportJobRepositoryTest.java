@@ -0,0 +1,41 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.entities.BeerImportJob;
+import com.example.springpracticerestmvc.model.BeerImportStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class BeerImportJobRepositoryTest {
+
+    @Autowired
+    BeerImportJobRepository beerImportJobRepository;
+
+    @Test
+    void test_run_whose_job_was_taken_over_updates_nothing() {
+        UUID jobId = beerImportJobRepository.saveAndFlush(BeerImportJob.builder()
+                .fileName("beers.csv")
+                .filePath("/tmp/beers.csv")
+                .status(BeerImportStatus.PENDING)
+                .build()).getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(beerImportJobRepository.markRunning(jobId, 0, now)).isEqualTo(1);
+        assertThat(beerImportJobRepository.checkpoint(jobId, 1, 10, 10, 0, null, now)).isEqualTo(1);
+        // The run stalls and is taken over
+        assertThat(beerImportJobRepository.markPending(jobId, 2, now.plusMinutes(1), now)).isEqualTo(1);
+
+        assertThat(beerImportJobRepository.checkpoint(jobId, 2, 20, 10, 0, null, now)).isZero();
+        assertThat(beerImportJobRepository.updateStatus(jobId, 2, BeerImportStatus.COMPLETED, null, now)).isZero();
+        assertThat(beerImportJobRepository.markRunning(jobId, 3, now)).isEqualTo(1);
+        assertThat(beerImportJobRepository.checkpoint(jobId, 4, 20, 10, 0, null, now)).isEqualTo(1);
+        assertThat(beerImportJobRepository.updateStatus(jobId, 5, BeerImportStatus.COMPLETED, null, now))
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.bootstrap.BootstrapData;
+import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.mappers.BeerMapper;
+import com.example.springpracticerestmvc.mappers.BeerMapperImpl;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.services.impl.MappedBeerCsvServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares heap allocation and CPU time per 1000-row beer page between loading managed entities and mapping them,
+ * and selecting straight into DTOs.
+ * Disabled by default; run with {@code mvn test -Dtest=BeerListingRepositoryBenchmarkTest -Dbenchmark=true}.
+ */
+@DataJpaTest
+@Import({BootstrapData.class, MappedBeerCsvServiceImpl.class})
+@Transactional(readOnly = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BeerListingRepositoryBenchmarkTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 1000, Sort.by("beerName", "id"));
+    private static final int WARMUP_PAGES = 50;
+    private static final int MEASURED_PAGES = 200;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    BeerMapper beerMapper = new BeerMapperImpl();
+
+    @Test
+    void benchmark_listing_allocation_per_page() {
+        Supplier<Page<BeerDTO>> entities = () -> {
+            Page<Beer> beers = beerRepository.findAll(PAGE);
+            beers.forEach(beer -> beer.setQuantityOnHand(null));
+            Page<BeerDTO> page = beers.map(beerMapper::beerToBeerDto);
+            entityManager.clear();
+            return page;
+        };
+        Supplier<Page<BeerDTO>> projections = () -> beerRepository.findBeerDtos(null, null, false, PAGE);
+
+        assertThat(entities.get().getContent()).isEqualTo(projections.get().getContent());
+
+        System.out.printf("%-12s %16s %14s%n", "read path", "alloc/page (KB)", "cpu/page (us)");
+        measure("entities", entities);
+        measure("projections", projections);
+    }
+
+    private void measure(String name, Supplier<Page<BeerDTO>> listing) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP_PAGES; i++) {
+            listing.get();
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_PAGES; i++) {
+            listing.get();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        long cpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+
+        System.out.printf("%-12s %16d %14d%n", name, allocated / MEASURED_PAGES / 1024, cpu / MEASURED_PAGES / 1_000);
+    }
+}
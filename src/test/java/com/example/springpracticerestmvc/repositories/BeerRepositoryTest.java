@@ -2,22 +2,35 @@ package com.example.springpracticerestmvc.repositories;
 
 import com.example.springpracticerestmvc.bootstrap.BootstrapData;
 import com.example.springpracticerestmvc.entities.Beer;
+import com.example.springpracticerestmvc.exceptions.InvalidCursorException;
+import com.example.springpracticerestmvc.model.BeerCursor;
+import com.example.springpracticerestmvc.model.BeerDTO;
 import com.example.springpracticerestmvc.model.BeerStyle;
-import com.example.springpracticerestmvc.services.impl.BeerCsvServiceImpl;
+import com.example.springpracticerestmvc.model.BeerStyleCount;
+import com.example.springpracticerestmvc.services.impl.MappedBeerCsvServiceImpl;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
-@Import({BootstrapData.class, BeerCsvServiceImpl.class})
+@Import({BootstrapData.class, MappedBeerCsvServiceImpl.class})
 class BeerRepositoryTest {
 
     @Autowired
@@ -59,4 +72,127 @@ class BeerRepositoryTest {
         assertThat(list.getContent().size()).isEqualTo(321);
     }
 
-}
\ No newline at end of file
+    @Test
+    void test_get_beer_list_by_name_with_keyset() {
+        Set<UUID> seen = new HashSet<>();
+        var cursor = BeerCursor.START;
+        List<BeerDTO> page;
+
+        do {
+            page = beerRepository.findBeerDtosAfter(
+                    "%IPA%", null, false, cursor.beerName(), cursor.id(), 50);
+            page.forEach(beer -> {
+                assertThat(seen.add(beer.getId())).isTrue();
+                assertThat(beer.getQuantityOnHand()).isNull();
+            });
+            if (!page.isEmpty()) {
+                cursor = new BeerCursor(page.getLast().getBeerName(), page.getLast().getId());
+            }
+        } while (page.size() == 50);
+
+        assertThat(seen.size()).isEqualTo(321);
+    }
+
+    @Test
+    void test_beer_cursor_round_trip() {
+        var cursor = new BeerCursor("Devil's Cup", UUID.randomUUID());
+
+        assertThat(BeerCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(BeerCursor.decode("")).isEqualTo(BeerCursor.START);
+        assertThrows(InvalidCursorException.class, () -> BeerCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void test_get_beer_slice_by_name() {
+        Slice<BeerDTO> slice = beerRepository.findBeerDtoSlice("%IPA%", null, true, PageRequest.of(0, 300));
+
+        assertThat(slice.getContent().size()).isEqualTo(300);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.getContent()).allSatisfy(beer -> assertThat(beer.getQuantityOnHand()).isNotNull());
+
+        Slice<BeerDTO> last = beerRepository.findBeerDtoSlice("%IPA%", null, true, PageRequest.of(1, 300));
+
+        assertThat(last.getContent().size()).isEqualTo(21);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void test_count_group_by_beer_style() {
+        long total = beerRepository.countGroupByBeerStyle().stream()
+                .mapToLong(BeerStyleCount::total)
+                .sum();
+
+        assertThat(total).isEqualTo(beerRepository.count());
+    }
+
+    @Test
+    void test_find_beer_dtos_by_name_without_inventory() {
+        Page<BeerDTO> page = beerRepository.findBeerDtos("%IPA%", null, false,
+                PageRequest.of(0, 300, Sort.by("beerName")));
+
+        assertThat(page.getTotalElements()).isEqualTo(321);
+        assertThat(page.getContent().size()).isEqualTo(300);
+        assertThat(page.getContent()).allSatisfy(beerDTO -> {
+            assertThat(beerDTO.getBeerName()).containsIgnoringCase("ipa");
+            assertThat(beerDTO.getQuantityOnHand()).isNull();
+            assertThat(beerDTO.getPrice()).isNotNull();
+        });
+        assertThat(page.getContent()).extracting(BeerDTO::getBeerName).isSortedAccordingTo(String::compareTo);
+    }
+
+    @Test
+    void test_find_beer_dtos_by_id_with_inventory() {
+        Beer beer = beerRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst();
+
+        List<BeerDTO> beers = beerRepository.findBeerDtosById(List.of(beer.getId()), true);
+
+        assertThat(beers).singleElement().satisfies(beerDTO -> {
+            assertThat(beerDTO.getId()).isEqualTo(beer.getId());
+            assertThat(beerDTO.getBeerStyle()).isEqualTo(beer.getBeerStyle());
+            assertThat(beerDTO.getQuantityOnHand()).isEqualTo(beer.getQuantityOnHand());
+        });
+    }
+
+    @Test
+    void test_scroll_beer_dtos_by_name_and_style() {
+        List<BeerDTO> beers = new ArrayList<>();
+
+        long count = beerRepository.scrollBeerDtos("%IPA%", BeerStyle.IPA, true, 50, beers::add);
+
+        assertThat(count).isEqualTo(beers.size()).isPositive();
+        assertThat(beers).allSatisfy(beerDTO -> {
+            assertThat(beerDTO.getBeerName()).containsIgnoringCase("ipa");
+            assertThat(beerDTO.getBeerStyle()).isEqualTo(BeerStyle.IPA);
+            assertThat(beerDTO.getQuantityOnHand()).isNotNull();
+        });
+        assertThat(beers).extracting(beerDTO -> beerDTO.getId().toString()).isSorted();
+    }
+
+    @Test
+    void test_insert_all_beers_in_batches() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Beer> beers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            beers.add(Beer.builder()
+                    .id(UUID.randomUUID())
+                    .version(0)
+                    .beerName("Batch Beer " + i)
+                    .beerStyle(BeerStyle.PILSNER)
+                    .upc("upc" + i)
+                    .price(new BigDecimal("7.49"))
+                    .createdDate(now)
+                    .updateDate(now)
+                    .build());
+        }
+
+        beerRepository.insertAll(beers, 2);
+
+        assertThat(beerRepository.findAllById(beers.stream().map(Beer::getId).toList()))
+                .hasSize(5)
+                .allSatisfy(beer -> {
+                    assertThat(beer.getVersion()).isZero();
+                    assertThat(beer.getBeerStyle()).isEqualTo(BeerStyle.PILSNER);
+                    assertThat(beer.getPrice()).isEqualByComparingTo("7.49");
+                });
+    }
+}
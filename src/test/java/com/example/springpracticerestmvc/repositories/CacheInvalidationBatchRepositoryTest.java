@@ -0,0 +1,56 @@
+package com.example.springpracticerestmvc.repositories;
+
+import com.example.springpracticerestmvc.cache.CacheInvalidation;
+import com.example.springpracticerestmvc.cache.JdbcCacheInvalidationTransport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(JdbcCacheInvalidationTransport.class)
+@TestPropertySource(properties = "cache.invalidation.transport=jdbc")
+class CacheInvalidationBatchRepositoryTest {
+
+    @Autowired
+    CacheInvalidationBatchRepository cacheInvalidationBatchRepository;
+
+    @Autowired
+    JdbcCacheInvalidationTransport transport;
+
+    @Test
+    void test_poll_delivers_batches_from_other_nodes_once() {
+        List<List<CacheInvalidation>> received = new ArrayList<>();
+        transport.send("node-a", List.of(CacheInvalidation.clear("beerListCache")));
+        transport.subscribe("node-b", received::add);
+
+        var invalidations = List.of(
+                CacheInvalidation.evict("beerCache", UUID.randomUUID()),
+                CacheInvalidation.clear("customerListCache"));
+        transport.send("node-a", invalidations);
+        transport.send("node-b", List.of(CacheInvalidation.clear("customerCache")));
+
+        transport.poll();
+        transport.poll();
+
+        assertThat(received).containsExactly(invalidations);
+    }
+
+    @Test
+    void test_delete_expired_batches() {
+        transport.send("node-a", List.of(CacheInvalidation.clear("beerListCache")));
+
+        assertThat(cacheInvalidationBatchRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(1)))
+                .isZero();
+        assertThat(cacheInvalidationBatchRepository.deleteCreatedBefore(LocalDateTime.now().plusMinutes(1)))
+                .isEqualTo(1);
+    }
+}
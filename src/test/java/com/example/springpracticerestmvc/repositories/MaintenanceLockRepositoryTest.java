@@ -0,0 +1,40 @@
+package com.example.springpracticerestmvc.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MaintenanceLockRepositoryTest {
+
+    @Autowired
+    MaintenanceLockRepository maintenanceLockRepository;
+
+    @Test
+    void test_lock_is_held_by_one_node_until_released_or_expired() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(maintenanceLockRepository.create("lock", "node-a", now.plusHours(1))).isEqualTo(1);
+        assertThatThrownBy(() -> maintenanceLockRepository.create("lock", "node-b", now.plusHours(1)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(maintenanceLockRepository.acquire("lock", "node-b", now, now.plusHours(1))).isZero();
+        assertThat(maintenanceLockRepository.release("lock", "node-b")).isZero();
+        assertThat(maintenanceLockRepository.release("lock", "node-a")).isEqualTo(1);
+        assertThat(maintenanceLockRepository.acquire("lock", "node-b", now, now.plusHours(1))).isEqualTo(1);
+
+        assertThat(maintenanceLockRepository.acquire("lock", "node-a", now.plusHours(2), now.plusHours(3)))
+                .isEqualTo(1);
+        assertThat(maintenanceLockRepository.findById("lock").orElseThrow().getLockedBy()).isEqualTo("node-a");
+
+        maintenanceLockRepository.deleteAll();
+    }
+}
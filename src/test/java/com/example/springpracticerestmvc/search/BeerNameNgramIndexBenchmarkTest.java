@@ -0,0 +1,100 @@
+package com.example.springpracticerestmvc.search;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Latency benchmark for fuzzy name search against growing catalog sizes.
+ * Disabled by default; run with {@code mvn test -Dtest=BeerNameNgramIndexBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BeerNameNgramIndexBenchmarkTest {
+
+    private static final String[] STYLE_WORDS = {
+            "ipa", "pale", "ale", "amber", "red", "black", "wheat", "rye", "double", "session", "tripel",
+            "imperial", "stout", "lager", "pilsner", "porter", "saison", "sour", "hop", "brown"
+    };
+    private static final String[] SYLLABLES = {
+            "ba", "ko", "ri", "dev", "il", "gal", "ax", "sun", "shi", "ne", "cran", "mo", "tu", "ver",
+            "hal", "zen", "pa", "lo", "qui", "ter", "wes", "ty", "bro", "ok", "fal", "con", "dra", "gon"
+    };
+    private static final int VOCABULARY_SIZE = 5_000;
+    private static final BeerStyle[] STYLES = BeerStyle.values();
+    private static final int WARMUP_QUERIES = 5_000;
+    private static final int MEASURED_QUERIES = 2000;
+
+    @Test
+    void benchmark_fuzzy_search_latency_by_catalog_size() {
+        Random random = new Random(7);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(2); syllables > 0; syllables--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i] = word.toString();
+        }
+        System.out.printf("%10s %10s %10s %10s %12s%n", "beers", "p50 (us)", "p99 (us)", "max (us)", "index (MB)");
+
+        for (int catalogSize : new int[]{1_000, 10_000, 100_000, 200_000}) {
+            BeerNameNgramIndex index = new BeerNameNgramIndex();
+            String[] names = new String[catalogSize];
+            for (int i = 0; i < catalogSize; i++) {
+                names[i] = randomName(vocabulary, random);
+                index.put(UUID.randomUUID(), names[i], STYLES[random.nextInt(STYLES.length)]);
+            }
+            index.markReady();
+
+            for (int i = 0; i < WARMUP_QUERIES; i++) {
+                index.findIdsBySimilarName(misspell(names[random.nextInt(catalogSize)], random), null,
+                        BeerNameNgramIndex.DEFAULT_SIMILARITY_THRESHOLD);
+            }
+
+            // Start measuring from a clean heap so that garbage left by loading the index is not attributed to queries
+            System.gc();
+
+            long[] nanos = new long[MEASURED_QUERIES];
+            for (int i = 0; i < MEASURED_QUERIES; i++) {
+                String query = misspell(names[random.nextInt(catalogSize)], random);
+                BeerStyle beerStyle = random.nextBoolean() ? STYLES[random.nextInt(STYLES.length)] : null;
+                long start = System.nanoTime();
+                index.findIdsBySimilarName(query, beerStyle, BeerNameNgramIndex.DEFAULT_SIMILARITY_THRESHOLD);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+
+            System.out.printf("%10d %10d %10d %10d %12.1f%n", catalogSize,
+                    nanos[MEASURED_QUERIES / 2] / 1_000,
+                    nanos[(int) (MEASURED_QUERIES * 0.99)] / 1_000,
+                    nanos[MEASURED_QUERIES - 1] / 1_000,
+                    index.estimatedBytes() / (1024.0 * 1024.0));
+        }
+    }
+
+    /**
+     * Builds a name shaped like the bundled catalog: one or two brand-like words and a style word.
+     */
+    private static String randomName(String[] vocabulary, Random random) {
+        StringBuilder name = new StringBuilder(vocabulary[random.nextInt(vocabulary.length)]);
+        if (random.nextBoolean()) {
+            name.append(' ').append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return name.append(' ').append(STYLE_WORDS[random.nextInt(STYLE_WORDS.length)]).toString();
+    }
+
+    private static String misspell(String name, Random random) {
+        StringBuilder typo = new StringBuilder(name);
+        int position = random.nextInt(typo.length());
+        switch (random.nextInt(3)) {
+            case 0 -> typo.deleteCharAt(position);
+            case 1 -> typo.insert(position, (char) ('a' + random.nextInt(26)));
+            default -> typo.setCharAt(position, (char) ('a' + random.nextInt(26)));
+        }
+        return typo.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.springpracticerestmvc.search;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerNameNgramIndexTest {
+
+    BeerNameNgramIndex index;
+
+    UUID galaxyCat = UUID.randomUUID();
+    UUID crank = UUID.randomUUID();
+    UUID sunshineCity = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new BeerNameNgramIndex();
+        index.put(galaxyCat, "Galaxy Cat", BeerStyle.PALE_ALE);
+        index.put(crank, "Crank", BeerStyle.PALE_ALE);
+        index.put(sunshineCity, "Sunshine City", BeerStyle.IPA);
+    }
+
+    @Test
+    void test_find_by_substring_ignores_case() {
+        assertThat(index.findIdsByNameContaining("CIT", null)).containsExactly(sunshineCity);
+        assertThat(index.findIdsByNameContaining("a", null)).containsExactly(crank, galaxyCat);
+        assertThat(index.findIdsByNameContaining("xyz", null)).isEmpty();
+    }
+
+    @Test
+    void test_find_by_substring_and_style() {
+        assertThat(index.findIdsByNameContaining("an", BeerStyle.PALE_ALE)).containsExactly(crank);
+        assertThat(index.findIdsByNameContaining("an", null)).containsExactly(crank);
+        assertThat(index.findIdsByNameContaining("in", BeerStyle.PALE_ALE)).isEmpty();
+    }
+
+    @Test
+    void test_update_and_remove() {
+        long bytes = index.estimatedBytes();
+
+        index.put(crank, "Cranky IPA", BeerStyle.IPA);
+        assertThat(index.findIdsByNameContaining("ipa", BeerStyle.IPA)).containsExactly(crank);
+        assertThat(index.findIdsByNameContaining("crank", BeerStyle.PALE_ALE)).isEmpty();
+
+        index.remove(galaxyCat);
+        assertThat(index.findIdsByNameContaining("galaxy", null)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+
+        UUID reused = UUID.randomUUID();
+        index.put(reused, "Galaxy Dog", BeerStyle.STOUT);
+        assertThat(index.findIdsByNameContaining("galaxy", null)).containsExactly(reused);
+        assertThat(index.estimatedBytes()).isGreaterThan(0).isNotEqualTo(bytes);
+    }
+
+    @Test
+    void test_find_by_similar_name_tolerates_typos() {
+        UUID devilsCup = UUID.randomUUID();
+        index.put(devilsCup, "Devil's Cup", BeerStyle.PALE_ALE);
+
+        assertThat(index.findIdsBySimilarName("Devils Cup", null, BeerNameNgramIndex.DEFAULT_SIMILARITY_THRESHOLD))
+                .containsExactly(devilsCup);
+        assertThat(index.findIdsBySimilarName("galxy cat", null, BeerNameNgramIndex.DEFAULT_SIMILARITY_THRESHOLD))
+                .containsExactly(galaxyCat);
+        assertThat(index.findIdsBySimilarName("sunshine", BeerStyle.PALE_ALE, BeerNameNgramIndex.DEFAULT_SIMILARITY_THRESHOLD))
+                .isEmpty();
+        assertThat(index.findIdsBySimilarName("zzz", null, BeerNameNgramIndex.DEFAULT_SIMILARITY_THRESHOLD))
+                .isEmpty();
+    }
+
+    @Test
+    void test_find_by_similar_name_ranks_closest_first() {
+        UUID crankIpa = UUID.randomUUID();
+        index.put(crankIpa, "Crank IPA", BeerStyle.IPA);
+
+        assertThat(index.findIdsBySimilarName("crank", null, 0.1)).containsExactly(crank, crankIpa);
+        assertThat(index.findIdsBySimilarName("crank ipa", null, 0.1)).containsExactly(crankIpa, crank);
+        assertThat(index.findIdsBySimilarName("crank ipa", null, 1.0)).containsExactly(crankIpa);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.springpracticerestmvc.search;
+
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerSuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerNameSuggestIndexTest {
+
+    BeerNameSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BeerNameSuggestIndex();
+    }
+
+    @Test
+    void test_suggest_by_prefix() {
+        UUID galaxyCat = UUID.randomUUID();
+        UUID galaxy = UUID.randomUUID();
+        UUID gargoyle = UUID.randomUUID();
+        index.put(galaxyCat, "Galaxy Cat", BeerStyle.PALE_ALE);
+        index.put(galaxy, "Galaxy", BeerStyle.IPA);
+        index.put(gargoyle, "Gargoyle", BeerStyle.STOUT);
+
+        assertThat(index.suggest("GA", 10)).extracting(BeerSuggestionDTO::id)
+                .containsExactly(galaxy, galaxyCat, gargoyle);
+        assertThat(index.suggest("galaxy c", 10)).containsExactly(
+                new BeerSuggestionDTO(galaxyCat, "Galaxy Cat", BeerStyle.PALE_ALE));
+        assertThat(index.suggest("ga", 2)).hasSize(2);
+        assertThat(index.suggest("gb", 10)).isEmpty();
+        assertThat(index.suggest("galaxy cats", 10)).isEmpty();
+    }
+
+    @Test
+    void test_update_and_remove() {
+        UUID id = UUID.randomUUID();
+        index.put(id, "Crank", BeerStyle.PALE_ALE);
+        index.put(id, "Cranky", BeerStyle.IPA);
+
+        assertThat(index.suggest("crank", 10)).containsExactly(new BeerSuggestionDTO(id, "Cranky", BeerStyle.IPA));
+
+        index.remove(id);
+        assertThat(index.suggest("c", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+        assertThat(index.estimatedBytes()).isZero();
+    }
+
+    @Test
+    void test_matches_brute_force_after_random_changes() {
+        Random random = new Random(42);
+        Map<UUID, String> names = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            if (!ids.isEmpty() && random.nextInt(4) == 0) {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                names.remove(id);
+                index.remove(id);
+            } else {
+                UUID id = random.nextBoolean() || ids.isEmpty() ? UUID.randomUUID() : ids.get(random.nextInt(ids.size()));
+                String name = randomName(random);
+                if (!names.containsKey(id)) {
+                    ids.add(id);
+                }
+                names.put(id, name);
+                index.put(id, name, BeerStyle.ALE);
+            }
+        }
+
+        for (String prefix : List.of("a", "ab", "ba", "abc", "c", "cab", "")) {
+            Set<UUID> expected = new HashSet<>();
+            names.forEach((id, name) -> {
+                if (name.startsWith(prefix)) {
+                    expected.add(id);
+                }
+            });
+
+            List<BeerSuggestionDTO> suggestions = index.suggest(prefix, Integer.MAX_VALUE);
+
+            assertThat(suggestions).extracting(BeerSuggestionDTO::id).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(suggestions).extracting(BeerSuggestionDTO::beerName).isSorted();
+        }
+        assertThat(index.size()).isEqualTo(names.size());
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(3)));
+        }
+        return name.toString();
+    }
+}
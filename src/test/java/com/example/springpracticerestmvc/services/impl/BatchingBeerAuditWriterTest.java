@@ -0,0 +1,131 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BatchingBeerAuditWriterTest {
+
+    BeerAuditRepository beerAuditRepository = mock(BeerAuditRepository.class);
+    List<BeerAudit> inserted = Collections.synchronizedList(new ArrayList<>());
+    BatchingBeerAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(beerAuditRepository).insertAll(anyList(), anyInt());
+
+        writer = new BatchingBeerAuditWriter(beerAuditRepository, mock(PlatformTransactionManager.class));
+        writer.capacity = 100;
+        writer.batchSize = 50;
+        writer.flushInterval = Duration.ofMillis(50);
+        writer.maxBackoff = Duration.ofMillis(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void test_writes_are_batched_and_drained_on_stop() {
+        writer.start();
+
+        writer.writeAll(IntStream.range(0, 90).mapToObj(i -> audit()).toList());
+        writer.stop();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BeerAudit>> batches = ArgumentCaptor.forClass(List.class);
+        verify(beerAuditRepository, atLeast(2)).insertAll(batches.capture(), eq(50));
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(50));
+        assertThat(inserted).hasSize(90).allSatisfy(audit -> {
+            assertThat(audit.getAuditId()).isNotNull();
+            assertThat(audit.getCreatedDateAudit()).isNotNull();
+        });
+    }
+
+    @Test
+    void test_partial_batch_is_flushed_after_the_interval() {
+        writer.start();
+
+        writer.write(audit());
+
+        verify(beerAuditRepository, timeout(2000)).insertAll(argThat(batch -> batch.size() == 1), eq(50));
+        assertThat(writer.isRunning()).isTrue();
+    }
+
+    @Test
+    void test_failed_batch_is_kept_and_retried_until_inserted() {
+        AtomicInteger failures = new AtomicInteger(4);
+        doAnswer(invocation -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("Connection refused");
+            }
+            return inserted.addAll(invocation.getArgument(0));
+        }).when(beerAuditRepository).insertAll(anyList(), anyInt());
+        writer.start();
+
+        writer.write(audit());
+
+        verify(beerAuditRepository, timeout(5000).times(5)).insertAll(anyList(), anyInt());
+        assertThat(inserted).hasSize(1);
+    }
+
+    @Test
+    void test_full_queue_makes_the_caller_wait() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("beer-audit-writer")) {
+                blocked.countDown();
+                release.await();
+            }
+            return inserted.addAll(invocation.getArgument(0));
+        }).when(beerAuditRepository).insertAll(anyList(), anyInt());
+        writer.start();
+
+        // The first batch blocks the writer thread, then the queue fills up
+        writer.write(audit());
+        blocked.await();
+        writer.writeAll(IntStream.range(0, 100).mapToObj(i -> audit()).toList());
+        Thread caller = Thread.ofVirtual().start(() -> writer.write(audit()));
+
+        // The record that found the queue full waits for room
+        assertThat(caller.join(Duration.ofMillis(300))).isFalse();
+        assertThat(inserted).isEmpty();
+        release.countDown();
+        assertThat(caller.join(Duration.ofSeconds(5))).isTrue();
+        writer.stop();
+        assertThat(inserted).hasSize(102);
+    }
+
+    @Test
+    void test_writes_before_start_are_inserted_directly() {
+        writer.write(audit());
+
+        assertThat(inserted).hasSize(1);
+    }
+
+    private static BeerAudit audit() {
+        return BeerAudit.builder().id(UUID.randomUUID()).version(0).auditEventType("BEER_CREATED").build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.services.impl.BeerAuditJournal.Batch;
+import com.example.springpracticerestmvc.services.impl.BeerAuditJournal.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerAuditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void test_codec_round_trip() {
+        BeerAudit beerAudit = audit(7);
+        beerAudit.setPrice(new BigDecimal("12.99"));
+        beerAudit.setCreatedDate(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000));
+        beerAudit.setDelta(new byte[]{1, 8, 0, 0, 0, 0, 42});
+
+        BeerAudit decoded = BeerAuditCodec.decode(ByteBuffer.wrap(BeerAuditCodec.encode(beerAudit)));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(beerAudit);
+    }
+
+    @Test
+    void test_records_are_read_across_segments_in_order() throws IOException {
+        BeerAuditJournal journal = BeerAuditJournal.open(directory, 1024);
+        List<BeerAudit> written = IntStream.range(0, 50).mapToObj(BeerAuditJournalTest::audit).toList();
+        written.forEach(beerAudit -> journal.append(BeerAuditCodec.encode(beerAudit), false));
+
+        List<BeerAudit> read = new ArrayList<>();
+        Position position = journal.replayPosition();
+        for (Batch batch; !(batch = journal.read(position, 7)).records().isEmpty(); position = batch.next()) {
+            read.addAll(batch.records());
+        }
+
+        assertThat(journal.end().segment()).isGreaterThan(0);
+        assertThat(position).isEqualTo(journal.end());
+        assertThat(read).extracting(BeerAudit::getAuditId).containsExactlyElementsOf(
+                written.stream().map(BeerAudit::getAuditId).toList());
+    }
+
+    @Test
+    void test_reopen_continues_after_the_replay_position_and_deletes_replayed_segments() throws IOException {
+        BeerAuditJournal journal = BeerAuditJournal.open(directory, 1024);
+        IntStream.range(0, 30).forEach(i -> journal.append(BeerAuditCodec.encode(audit(i)), false));
+        Batch first = journal.read(journal.replayPosition(), 20);
+        journal.replayed(first.next());
+        journal.close();
+
+        BeerAuditJournal reopened = BeerAuditJournal.open(directory, 1024);
+        reopened.append(BeerAuditCodec.encode(audit(30)), true);
+        Batch rest = reopened.read(reopened.replayPosition(), 100);
+
+        assertThat(reopened.replayPosition()).isEqualTo(first.next());
+        assertThat(rest.records()).extracting(BeerAudit::getVersion)
+                .containsExactlyElementsOf(IntStream.rangeClosed(20, 30).boxed().toList());
+        try (var segments = Files.list(directory)) {
+            assertThat(segments.filter(file -> file.toString().endsWith(".journal")).count())
+                    .isEqualTo(reopened.end().segment() - first.next().segment() + 1);
+        }
+    }
+
+    @Test
+    void test_reopen_discards_an_incomplete_record() throws IOException {
+        BeerAuditJournal journal = BeerAuditJournal.open(directory, 4096);
+        journal.append(BeerAuditCodec.encode(audit(1)), false);
+        Position end = journal.end();
+        journal.close();
+
+        // A record whose length was written, but not its bytes
+        try (FileChannel channel = FileChannel.open(directory.resolve("%020d.journal".formatted(end.segment())),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putInt(100).putInt(42).flip(), end.offset());
+        }
+
+        BeerAuditJournal reopened = BeerAuditJournal.open(directory, 4096);
+        reopened.append(BeerAuditCodec.encode(audit(2)), false);
+
+        assertThat(reopened.read(reopened.replayPosition(), 10).records())
+                .extracting(BeerAudit::getVersion)
+                .containsExactly(1, 2);
+    }
+
+    static BeerAudit audit(int version) {
+        return BeerAudit.builder()
+                .auditId(UUID.randomUUID())
+                .id(UUID.randomUUID())
+                .version(version)
+                .beerName("Beer " + version)
+                .beerStyle(BeerStyle.IPA)
+                .quantityOnHand(version * 10)
+                .createdDateAudit(LocalDateTime.now().withNano(0))
+                .principalName("user1")
+                .auditEventType("BEER_PATCHED")
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.config.TaskConfig;
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.repositories.BeerAuditPartitionRepository.Partition;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import com.example.springpracticerestmvc.repositories.MaintenanceLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Integration tests for the BeerAuditPartitionMaintenance, running its partition DDL against MySQL.
+ * The partitions added are in the future and are dropped again, so the records of the database are kept.
+ * Skipped where the audit table is not partitioned.
+ */
+@SpringBootTest
+@ActiveProfiles("localdb")
+class BeerAuditPartitionMaintenanceIT {
+
+    @Autowired
+    BeerAuditPartitionMaintenance beerAuditPartitionMaintenance;
+
+    @Autowired
+    BeerAuditRepository beerAuditRepository;
+
+    @Autowired
+    MaintenanceLockRepository maintenanceLockRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier(TaskConfig.MAINTENANCE_TASK_EXECUTOR_BEAN_NAME)
+    AsyncTaskExecutor taskExecutor;
+
+    List<Partition> partitions;
+
+    @BeforeEach
+    void setUp() {
+        partitions = beerAuditRepository.findPartitions();
+        assumeFalse(partitions.isEmpty(), "beer_audit is only partitioned on MySQL");
+    }
+
+    @Test
+    void test_upcoming_partitions_are_added_once_and_dropped_with_their_records() {
+        // Nothing expires, and the months ahead go past the partitions of the database
+        BeerAuditPartitionMaintenance maintenance = new BeerAuditPartitionMaintenance(beerAuditRepository,
+                maintenanceLockRepository, transactionManager, taskExecutor);
+        maintenance.period = Period.ofYears(100);
+        LocalDate lastBound = partitions.stream()
+                .map(Partition::lessThan)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDate today = lastBound.plusMonths(2);
+
+        List<Partition> added = new ArrayList<>();
+        try {
+            maintenance.maintain(today);
+            List<Partition> maintained = beerAuditRepository.findPartitions();
+            added.addAll(maintained.stream().filter(partition -> !partitions.contains(partition)).toList());
+            assertThat(added).extracting(Partition::lessThan)
+                    .startsWith(lastBound.plusMonths(1))
+                    .endsWith(YearMonth.from(today).plusMonths(4).atDay(1));
+            assertThat(maintained.getLast()).isEqualTo(partitions.getLast());
+
+            maintenance.maintain(today);
+            assertThat(beerAuditRepository.findPartitions()).isEqualTo(maintained);
+
+            UUID beerId = UUID.randomUUID();
+            beerAuditRepository.insertAll(List.of(BeerAudit.builder()
+                    .auditId(UUID.randomUUID())
+                    .id(beerId)
+                    .version(0)
+                    .createdDateAudit(lastBound.atStartOfDay())
+                    .principalName("user1")
+                    .auditEventType(BeerAuditServiceImpl.BEER_DELETED)
+                    .build()), 10);
+            assertThat(beerAuditRepository.findAllByBeerIdInOrder(beerId)).hasSize(1);
+            beerAuditRepository.dropPartitions(added.stream().map(Partition::name).toList());
+            added.clear();
+            assertThat(beerAuditRepository.findAllByBeerIdInOrder(beerId)).isEmpty();
+        } finally {
+            if (!added.isEmpty()) {
+                beerAuditRepository.dropPartitions(added.stream().map(Partition::name).toList());
+            }
+        }
+        assertThat(beerAuditRepository.findPartitions()).isEqualTo(partitions);
+    }
+
+    @Test
+    void test_maintenance_takes_and_releases_the_lock_of_the_migrations() {
+        assertThat(maintenanceLockRepository.findById(BeerAuditPartitionMaintenance.LOCK_NAME)).isPresent();
+
+        beerAuditPartitionMaintenance.maintain();
+
+        // Released by this run, or by the run at startup if that one still held it
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertThat(maintenanceLockRepository
+                .findById(BeerAuditPartitionMaintenance.LOCK_NAME).orElseThrow().getLockedBy()).isNull());
+    }
+}
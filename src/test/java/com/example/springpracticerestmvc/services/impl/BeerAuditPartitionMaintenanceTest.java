@@ -0,0 +1,183 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.model.BeerAuditDelta;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.repositories.BeerAuditPartitionRepository.Partition;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import com.example.springpracticerestmvc.repositories.MaintenanceLockRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BeerAuditPartitionMaintenanceTest {
+
+    BeerAuditRepository beerAuditRepository = mock(BeerAuditRepository.class);
+    MaintenanceLockRepository maintenanceLockRepository = mock(MaintenanceLockRepository.class);
+    AsyncTaskExecutor taskExecutor = mock(AsyncTaskExecutor.class);
+    BeerAuditPartitionMaintenance maintenance = new BeerAuditPartitionMaintenance(beerAuditRepository,
+            maintenanceLockRepository, mock(PlatformTransactionManager.class), taskExecutor);
+
+    @Test
+    void test_scheduled_run_is_handed_to_the_maintenance_executor() {
+        when(maintenanceLockRepository.acquire(anyString(), anyString(), any(), any())).thenReturn(1);
+        when(beerAuditRepository.findPartitions()).thenReturn(List.of());
+
+        maintenance.scheduleMaintenance();
+
+        ArgumentCaptor<Runnable> run = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskExecutor).execute(run.capture());
+        verifyNoInteractions(maintenanceLockRepository, beerAuditRepository);
+        run.getValue().run();
+        verify(beerAuditRepository).findPartitions();
+    }
+
+    @Test
+    void test_maintenance_runs_under_the_lock() {
+        when(maintenanceLockRepository.acquire(eq(BeerAuditPartitionMaintenance.LOCK_NAME), anyString(), any(), any()))
+                .thenReturn(1);
+        when(beerAuditRepository.findPartitions()).thenReturn(List.of());
+
+        maintenance.maintain();
+
+        InOrder inOrder = inOrder(maintenanceLockRepository, beerAuditRepository);
+        inOrder.verify(beerAuditRepository).findPartitions();
+        inOrder.verify(maintenanceLockRepository).release(eq(BeerAuditPartitionMaintenance.LOCK_NAME), anyString());
+    }
+
+    @Test
+    void test_maintenance_is_skipped_while_another_node_holds_the_lock() {
+        when(maintenanceLockRepository.create(anyString(), anyString(), any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        maintenance.maintain();
+
+        verify(beerAuditRepository, never()).findPartitions();
+        verify(maintenanceLockRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void test_partitions_are_added_for_the_months_ahead() {
+        when(beerAuditRepository.findPartitions()).thenReturn(List.of(
+                new Partition("p_history", LocalDate.of(2026, 10, 1)),
+                new Partition("p202610", LocalDate.of(2026, 11, 1)),
+                new Partition("p_future", null)));
+
+        maintenance.maintain(LocalDate.of(2026, 10, 18));
+
+        verify(beerAuditRepository).addPartitions(List.of(
+                new Partition("p202611", LocalDate.of(2026, 12, 1)),
+                new Partition("p202612", LocalDate.of(2027, 1, 1)),
+                new Partition("p202701", LocalDate.of(2027, 2, 1))));
+        verify(beerAuditRepository, never()).dropPartitions(anyList());
+    }
+
+    @Test
+    void test_partitions_whose_records_are_all_expired_are_dropped() {
+        maintenance.period = Period.ofYears(1);
+        when(beerAuditRepository.findPartitions()).thenReturn(List.of(
+                new Partition("p_history", LocalDate.of(2026, 10, 1)),
+                new Partition("p202610", LocalDate.of(2026, 11, 1)),
+                new Partition("p202611", LocalDate.of(2026, 12, 1)),
+                new Partition("p202612", LocalDate.of(2027, 1, 1)),
+                new Partition("p202701", LocalDate.of(2027, 2, 1)),
+                new Partition("p_future", null)));
+
+        maintenance.maintain(LocalDate.of(2027, 11, 5));
+
+        verify(beerAuditRepository).dropPartitions(List.of("p_history", "p202610"));
+        verify(beerAuditRepository).addPartitions(argThat(partitions ->
+                partitions.getFirst().name().equals("p202702") && partitions.getLast().name().equals("p202802")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test_beers_whose_creation_expires_get_a_baseline_before_the_drop() {
+        UUID beerId = UUID.randomUUID();
+        LocalDateTime boundary = LocalDate.of(2026, 11, 1).atStartOfDay();
+        BeerDTO created = new BeerDTO(beerId, 0, "Galaxy Cat", BeerStyle.PALE_ALE, "12356222", 122,
+                new BigDecimal("12.99"), null, null);
+        BeerDTO patched = new BeerDTO(beerId, 1, "Galaxy Cat", BeerStyle.PALE_ALE, "12356222", 7,
+                new BigDecimal("12.99"), null, null);
+        maintenance.period = Period.ofYears(1);
+        when(beerAuditRepository.findPartitions()).thenReturn(List.of(
+                new Partition("p_history", LocalDate.of(2026, 10, 1)),
+                new Partition("p202610", LocalDate.of(2026, 11, 1)),
+                new Partition("p202611", LocalDate.of(2026, 12, 1)),
+                new Partition("p_future", null)));
+        when(beerAuditRepository.findBeerIdsWithRecordsAround(boundary)).thenReturn(List.of(beerId));
+        when(beerAuditRepository.findAllByBeerIdBeforeInOrder(beerId, boundary)).thenReturn(List.of(
+                audit(beerId, 0, BeerAuditDelta.encode(null, created), "BEER_CREATED"),
+                audit(beerId, 1, BeerAuditDelta.encode(created, patched), "BEER_PATCHED")));
+
+        maintenance.maintain(LocalDate.of(2027, 11, 5));
+
+        ArgumentCaptor<List<BeerAudit>> baselines = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(beerAuditRepository);
+        inOrder.verify(beerAuditRepository).insertAll(baselines.capture(), anyInt());
+        inOrder.verify(beerAuditRepository).dropPartitions(List.of("p_history", "p202610"));
+        BeerAudit baseline = baselines.getValue().getFirst();
+        assertThat(baseline.getAuditEventType()).isEqualTo(BeerAuditPartitionMaintenance.BEER_BASELINE);
+        assertThat(baseline.getCreatedDateAudit()).isEqualTo(boundary);
+        assertThat(baseline.getVersion()).isEqualTo(1);
+        assertThat(BeerAuditDelta.isComplete(baseline.getDelta())).isTrue();
+        BeerDTO state = new BeerDTO();
+        state.setId(beerId);
+        state.setVersion(1);
+        BeerAuditDelta.apply(state, baseline.getDelta());
+        assertThat(state).isEqualTo(patched);
+    }
+
+    @Test
+    void test_beers_deleted_before_the_expiry_get_no_baseline() {
+        UUID beerId = UUID.randomUUID();
+        when(beerAuditRepository.findPartitions()).thenReturn(List.of());
+        when(beerAuditRepository.findBeerIdsWithRecordsAround(any())).thenReturn(List.of(beerId));
+        when(beerAuditRepository.findAllByBeerIdBeforeInOrder(eq(beerId), any())).thenReturn(List.of(
+                audit(beerId, null, null, "BEER_DELETED")));
+
+        maintenance.maintain(LocalDate.of(2026, 10, 18));
+
+        verify(beerAuditRepository, never()).insertAll(anyList(), anyInt());
+    }
+
+    @Test
+    void test_unpartitioned_table_deletes_expired_records_in_batches() {
+        maintenance.deleteBatchSize = 100;
+        when(beerAuditRepository.findPartitions()).thenReturn(List.of());
+        when(beerAuditRepository.deleteCreatedBefore(any(), anyInt())).thenReturn(100, 100, 42);
+
+        maintenance.maintain(LocalDate.of(2026, 10, 18));
+
+        verify(beerAuditRepository, times(3)).deleteCreatedBefore(LocalDate.of(2024, 10, 1).atStartOfDay(), 100);
+        verify(beerAuditRepository, never()).addPartitions(anyList());
+    }
+
+    static BeerAudit audit(UUID beerId, Integer version, byte[] delta, String eventType) {
+        return BeerAudit.builder()
+                .auditId(UUID.randomUUID())
+                .id(beerId)
+                .version(version)
+                .delta(delta)
+                .auditEventType(eventType)
+                .build();
+    }
+}
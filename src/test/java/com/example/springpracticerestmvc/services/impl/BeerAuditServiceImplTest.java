@@ -0,0 +1,180 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.exceptions.InvalidAuditSearchException;
+import com.example.springpracticerestmvc.model.BeerAuditCursor;
+import com.example.springpracticerestmvc.model.BeerAuditDelta;
+import com.example.springpracticerestmvc.model.BeerAuditDelta.Field;
+import com.example.springpracticerestmvc.model.BeerAuditPageDTO;
+import com.example.springpracticerestmvc.model.BeerDTO;
+import com.example.springpracticerestmvc.model.BeerStyle;
+import com.example.springpracticerestmvc.model.BeerVersionDTO;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BeerAuditServiceImplTest {
+
+    static final UUID BEER_ID = UUID.randomUUID();
+    static final LocalDateTime CREATED = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000);
+
+    BeerAuditRepository beerAuditRepository = mock(BeerAuditRepository.class);
+    BeerAuditServiceImpl beerAuditService = new BeerAuditServiceImpl(beerAuditRepository);
+
+    @Test
+    void test_delta_holds_only_the_changed_fields() {
+        BeerDTO previous = beer(0);
+        BeerDTO current = beer(1);
+        current.setQuantityOnHand(5);
+        current.setPrice(new BigDecimal("12.990"));
+        current.setUpc(null);
+
+        byte[] delta = BeerAuditDelta.encode(previous, current);
+        BeerAuditDelta.apply(previous, delta);
+
+        assertThat(BeerAuditDelta.fields(delta)).containsExactlyInAnyOrder(Field.UPC, Field.QUANTITY_ON_HAND);
+        assertThat(delta.length).isLessThan(BeerAuditDelta.encode(null, current).length / 3);
+        assertThat(previous.getQuantityOnHand()).isEqualTo(5);
+        assertThat(previous.getUpc()).isNull();
+        assertThat(previous.getBeerName()).isEqualTo("Galaxy Cat");
+    }
+
+    @Test
+    void test_history_applies_the_deltas_in_order() {
+        BeerDTO created = beer(0);
+        BeerDTO patched = beer(1);
+        patched.setQuantityOnHand(7);
+        patched.setUpdateDate(CREATED.plusHours(1));
+        BeerDTO updated = beer(2);
+        updated.setQuantityOnHand(7);
+        updated.setBeerName("Galaxy Cat Hazy");
+        updated.setUpdateDate(CREATED.plusHours(2));
+        when(beerAuditRepository.findAllByBeerIdInOrder(BEER_ID)).thenReturn(List.of(
+                audit(0, BeerAuditDelta.encode(null, created), "BEER_CREATED"),
+                audit(1, BeerAuditDelta.encode(created, patched), "BEER_PATCHED"),
+                audit(2, BeerAuditDelta.encode(patched, updated), "BEER_UPDATED"),
+                audit(null, null, "BEER_DELETED")));
+
+        List<BeerVersionDTO> history = beerAuditService.getBeerHistory(BEER_ID);
+
+        assertThat(history).extracting(BeerVersionDTO::getBeer).containsExactly(created, patched, updated, updated);
+        assertThat(history.get(1).getChangedFields())
+                .containsExactlyInAnyOrder(Field.QUANTITY_ON_HAND, Field.UPDATE_DATE);
+        assertThat(history.get(3).getChangedFields()).isEmpty();
+        assertThat(beerAuditService.getBeerAtVersion(BEER_ID, 1)).map(BeerVersionDTO::getBeer).contains(patched);
+        assertThat(beerAuditService.getBeerAtVersion(BEER_ID, 3)).isEmpty();
+    }
+
+    @Test
+    void test_history_continues_from_records_without_delta() {
+        BeerDTO created = beer(0);
+        BeerAudit fullRecord = audit(0, null, "BEER_CREATED");
+        fullRecord.setBeerName(created.getBeerName());
+        fullRecord.setBeerStyle(created.getBeerStyle());
+        fullRecord.setUpc(created.getUpc());
+        fullRecord.setQuantityOnHand(created.getQuantityOnHand());
+        fullRecord.setPrice(created.getPrice());
+        fullRecord.setCreatedDate(created.getCreatedDate());
+        fullRecord.setUpdateDate(created.getUpdateDate());
+        BeerDTO patched = beer(1);
+        patched.setPrice(new BigDecimal("9.99"));
+        when(beerAuditRepository.findAllByBeerIdInOrder(BEER_ID)).thenReturn(List.of(
+                fullRecord,
+                audit(1, BeerAuditDelta.encode(created, patched), "BEER_PATCHED")));
+
+        List<BeerVersionDTO> history = beerAuditService.getBeerHistory(BEER_ID);
+
+        assertThat(history).extracting(BeerVersionDTO::getBeer).containsExactly(created, patched);
+        assertThat(history.getFirst().getChangedFields()).hasSize(Field.values().length);
+    }
+
+    @Test
+    void test_history_without_the_creation_record_starts_from_the_baseline() {
+        BeerDTO patched = beer(1);
+        patched.setQuantityOnHand(7);
+        BeerDTO updated = beer(2);
+        updated.setQuantityOnHand(7);
+        updated.setBeerName("Galaxy Cat Hazy");
+        BeerDTO repatched = beer(3);
+        repatched.setQuantityOnHand(3);
+        repatched.setBeerName("Galaxy Cat Hazy");
+        // The creation record has expired; the patch after it is left without the fields it did not change
+        when(beerAuditRepository.findAllByBeerIdInOrder(BEER_ID)).thenReturn(List.of(
+                audit(1, BeerAuditDelta.encode(beer(0), patched), "BEER_PATCHED"),
+                audit(1, BeerAuditDelta.encode(null, patched), BeerAuditPartitionMaintenance.BEER_BASELINE),
+                audit(2, BeerAuditDelta.encode(patched, updated), "BEER_UPDATED"),
+                audit(3, BeerAuditDelta.encode(updated, repatched), "BEER_PATCHED")));
+
+        List<BeerVersionDTO> history = beerAuditService.getBeerHistory(BEER_ID);
+
+        assertThat(history).extracting(BeerVersionDTO::getBeer).containsExactly(patched, updated, repatched);
+        assertThat(beerAuditService.getBeerAtVersion(BEER_ID, 3)).map(BeerVersionDTO::getBeer).contains(repatched);
+        assertThat(beerAuditService.getBeerAtVersion(BEER_ID, 0)).isEmpty();
+    }
+
+    @Test
+    void test_history_without_any_record_of_the_whole_beer_is_empty() {
+        BeerDTO patched = beer(1);
+        patched.setQuantityOnHand(7);
+        when(beerAuditRepository.findAllByBeerIdInOrder(BEER_ID)).thenReturn(List.of(
+                audit(1, BeerAuditDelta.encode(beer(0), patched), "BEER_PATCHED")));
+
+        assertThat(beerAuditService.getBeerHistory(BEER_ID)).isEmpty();
+        assertThat(beerAuditService.getBeerAtVersion(BEER_ID, 1)).isEmpty();
+    }
+
+    @Test
+    void test_search_returns_the_changes_and_a_cursor_after_the_last_record() {
+        BeerDTO patched = beer(1);
+        patched.setQuantityOnHand(7);
+        List<BeerAudit> beerAudits = List.of(
+                audit(1, BeerAuditDelta.encode(beer(0), patched), "BEER_PATCHED"),
+                audit(0, BeerAuditDelta.encode(null, beer(0)), "BEER_CREATED"));
+        beerAudits.forEach(beerAudit -> beerAudit.setCreatedDateAudit(CREATED));
+        when(beerAuditRepository.search(eq(BEER_ID), isNull(), isNull(), isNull(), isNull(), isNull(), eq(2)))
+                .thenReturn(beerAudits);
+
+        BeerAuditPageDTO page = beerAuditService.searchAudit(BEER_ID, " ", null, null, null, null, 1);
+
+        assertThat(page.getContent()).singleElement().satisfies(beerAudit -> {
+            assertThat(beerAudit.getChangedFields()).containsExactly(Field.QUANTITY_ON_HAND);
+            assertThat(beerAudit.getChanges().getQuantityOnHand()).isEqualTo(7);
+            assertThat(beerAudit.getChanges().getBeerName()).isNull();
+        });
+        assertThat(BeerAuditCursor.decode(page.getNextCursor()))
+                .isEqualTo(new BeerAuditCursor(CREATED, beerAudits.getFirst().getAuditId()));
+    }
+
+    @Test
+    void test_search_requires_a_beer_or_a_principal() {
+        assertThatThrownBy(() -> beerAuditService.searchAudit(null, "", "BEER_PATCHED", CREATED, null, null, 10))
+                .isInstanceOf(InvalidAuditSearchException.class);
+    }
+
+    static BeerDTO beer(int version) {
+        return new BeerDTO(BEER_ID, version, "Galaxy Cat", BeerStyle.PALE_ALE, "12356222", 122,
+                new BigDecimal("12.99"), CREATED, CREATED);
+    }
+
+    static BeerAudit audit(Integer version, byte[] delta, String eventType) {
+        return BeerAudit.builder()
+                .auditId(UUID.randomUUID())
+                .id(BEER_ID)
+                .version(version)
+                .delta(delta)
+                .auditEventType(eventType)
+                .principalName("user1")
+                .build();
+    }
+}
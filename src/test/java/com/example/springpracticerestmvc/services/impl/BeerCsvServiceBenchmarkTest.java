@@ -0,0 +1,101 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.model.BeerCSVRecord;
+import com.example.springpracticerestmvc.services.BeerCsvService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the opencsv parser against the memory-mapped parser on synthetic files built by repeating the rows of
+ * the bundled beers.csv. Each file is parsed sequentially as one part, reading the fields the bootstrap uses, and
+ * the best of several runs is reported. The sizes default to 2k, 100k, 1M and 10M rows and can be set with
+ * {@code -Dbenchmark.rows=2000,100000}.
+ * Disabled by default; run with {@code mvn test -Dtest=BeerCsvServiceBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BeerCsvServiceBenchmarkTest {
+
+    private static final int RUNS = 3;
+
+    BeerCsvService opencsv = new BeerCsvServiceImpl();
+    BeerCsvService mapped = new MappedBeerCsvServiceImpl();
+
+    @Test
+    void benchmark_opencsv_against_mapped() throws IOException {
+        File bundled = ResourceUtils.getFile("classpath:csvdata/beers.csv");
+        int[] sizes = Arrays.stream(System.getProperty("benchmark.rows", "2000,100000,1000000,10000000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        // Warm up both paths
+        for (int i = 0; i < 5; i++) {
+            parse(opencsv, bundled);
+            parse(mapped, bundled);
+        }
+
+        System.out.printf("%n%10s %12s %12s %10s %14s%n", "rows", "opencsv ms", "mapped ms", "speedup", "mapped rows/s");
+        for (int rows : sizes) {
+            Path file = synthetic(bundled, rows);
+
+            long opencsvNanos = best(opencsv, file.toFile(), rows);
+            long mappedNanos = best(mapped, file.toFile(), rows);
+
+            System.out.printf("%10d %12d %12d %9.1fx %14.0f%n", rows, opencsvNanos / 1_000_000, mappedNanos / 1_000_000,
+                    (double) opencsvNanos / mappedNanos, rows * 1e9 / mappedNanos);
+            Files.delete(file);
+        }
+    }
+
+    private static long best(BeerCsvService service, File file, int rows) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            long checksum = parse(service, file);
+            best = Math.min(best, System.nanoTime() - start);
+            assertThat(checksum).isEqualTo((long) rows * (rows + 1) / 2);
+        }
+        return best;
+    }
+
+    /**
+     * Reads the fields the bootstrap uses from every record and returns the sum of the row numbers.
+     */
+    private static long parse(BeerCsvService service, File file) {
+        long checksum = 0;
+        long blackhole = 0;
+        for (Iterator<BeerCSVRecord> part : service.splitCSV(file, 1)) {
+            while (part.hasNext()) {
+                BeerCSVRecord record = part.next();
+                checksum += record.getRow();
+                blackhole += record.getCount() + record.getBeer().length() + record.toBeerStyle().ordinal();
+            }
+        }
+        assertThat(blackhole).isPositive();
+        return checksum;
+    }
+
+    private static Path synthetic(File bundled, int rows) throws IOException {
+        List<String> lines = Files.readAllLines(bundled.toPath());
+        Path file = Files.createTempFile("beers-" + rows, ".csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println(lines.getFirst());
+            for (int row = 1; row <= rows; row++) {
+                String line = lines.get(1 + (row - 1) % (lines.size() - 1));
+                writer.println("\"" + row + "\"" + line.substring(line.indexOf(',')));
+            }
+        }
+        return file;
+    }
+}
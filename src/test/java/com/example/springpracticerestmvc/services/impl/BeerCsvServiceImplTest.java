@@ -7,7 +7,15 @@ import org.springframework.util.ResourceUtils;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -25,4 +33,58 @@ class BeerCsvServiceImplTest {
 
         assertThat(records.size()).isGreaterThan(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_iterate_csv() throws FileNotFoundException {
+        File file = ResourceUtils.getFile("classpath:csvdata/beers.csv");
+
+        List<BeerCSVRecord> records = new ArrayList<>();
+        beerCsvService.iterateCSV(new FileReader(file)).forEachRemaining(records::add);
+
+        assertThat(records).doesNotContainNull().isEqualTo(beerCsvService.convertCSV(file));
+    }
+
+    @Test
+    void test_iterate_csv_returns_null_for_unreadable_rows() {
+        Iterator<BeerCSVRecord> records = beerCsvService.iterateCSV(new StringReader(
+                "\"row\",\"beer\",\"style\"\n" +
+                "\"1\",\"Pub Beer\",\"American Pale Lager\"\n" +
+                "\"two\",\"Devil's Cup\",\"American IPA\"\n" +
+                "\"3\",\"Rise of the Phoenix\",\"American IPA\"\n"));
+
+        assertThat(records.next().getBeer()).isEqualTo("Pub Beer");
+        assertThat(records.next()).isNull();
+        assertThat(records.next().getRow()).isEqualTo(3);
+        assertThat(records.hasNext()).isFalse();
+    }
+
+    @Test
+    void test_split_csv_yields_every_record_once() throws FileNotFoundException {
+        File file = ResourceUtils.getFile("classpath:csvdata/beers.csv");
+
+        List<Iterator<BeerCSVRecord>> parts = beerCsvService.splitCSV(file, 4);
+        List<BeerCSVRecord> records = new ArrayList<>();
+        parts.forEach(part -> part.forEachRemaining(records::add));
+
+        assertThat(parts).hasSize(4);
+        assertThat(records).isEqualTo(beerCsvService.convertCSV(file));
+    }
+
+    @Test
+    void test_split_csv_keeps_quoted_line_breaks_in_one_part() throws IOException {
+        Path file = Files.createTempFile("beers", ".csv");
+        StringBuilder csv = new StringBuilder("\"row\",\"beer\",\"style\"\n");
+        for (int i = 1; i <= 20; i++) {
+            csv.append('"').append(i).append("\",\"Beer\n\"\"").append(i).append("\"\"\",\"American IPA\"\n");
+        }
+        Files.writeString(file, csv);
+
+        List<BeerCSVRecord> records = new ArrayList<>();
+        beerCsvService.splitCSV(file.toFile(), 7).forEach(part -> part.forEachRemaining(records::add));
+
+        assertThat(records).extracting(BeerCSVRecord::getRow).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 20).boxed().toList());
+        assertThat(records).extracting(BeerCSVRecord::getBeer).allMatch(beer -> beer.startsWith("Beer\n\""));
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.cache.BeerCacheInvalidator;
+import com.example.springpracticerestmvc.entities.BeerImportJob;
+import com.example.springpracticerestmvc.exceptions.ImportTooLargeException;
+import com.example.springpracticerestmvc.events.BeerBatchCreatedEvent;
+import com.example.springpracticerestmvc.mappers.BeerImportJobMapperImpl;
+import com.example.springpracticerestmvc.mappers.BeerMapperImpl;
+import com.example.springpracticerestmvc.repositories.BeerImportJobRepository;
+import com.example.springpracticerestmvc.repositories.BeerRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class BeerImportServiceImplTest {
+
+    static final String CSV =
+            "\"row\",\"count.x\",\"abv\",\"ibu\",\"id\",\"beer\",\"style\",\"brewery_id\",\"ounces\",\"style2\",\"count.y\",\"brewery\",\"city\",\"state\",\"label\"\n" +
+            "\"1\",1,0.05,NA,1,\"Imported 1\",\"American IPA\",1,12,NA,1,\"Brewery\",\"City\",\"OR\",\"Label\"\n" +
+            "\"2\",2,0.05,NA,2,\"Imported 2\",\"American IPA\",1,12,NA,1,\"Brewery\",\"City\",\"OR\",\"Label\"\n" +
+            "\"3\",3,0.05,NA,3,\"Imported 3\",\"American IPA\",1,12,NA,1,\"Brewery\",\"City\",\"OR\",\"Label\"\n";
+
+    @TempDir
+    Path directory;
+
+    BeerImportJobRepository beerImportJobRepository = mock(BeerImportJobRepository.class);
+    BeerRepository beerRepository = mock(BeerRepository.class);
+    BeerCacheInvalidator beerCacheInvalidator = mock(BeerCacheInvalidator.class);
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    AsyncTaskExecutor taskExecutor = mock(AsyncTaskExecutor.class);
+    ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+    BeerImportServiceImpl beerImportService = new BeerImportServiceImpl(beerImportJobRepository,
+            new BeerImportJobMapperImpl(), new BeerMapperImpl(), beerRepository, new BeerCsvServiceImpl(),
+            Validation.buildDefaultValidatorFactory().getValidator(), beerCacheInvalidator,
+            applicationEventPublisher, transactionManager, taskExecutor);
+
+    @Test
+    void test_run_whose_job_was_taken_over_rolls_back_its_chunk_and_stops() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        beerImportService.directory = directory;
+        beerImportService.chunkSize = 1;
+        when(beerImportJobRepository.save(any())).thenAnswer(invocation -> {
+            BeerImportJob job = invocation.getArgument(0);
+            job.setId(jobId);
+            job.setVersion(0);
+            when(beerImportJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+            return job;
+        });
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+        when(beerImportJobRepository.markRunning(eq(jobId), eq(0), any())).thenReturn(1);
+        when(beerImportJobRepository.checkpoint(eq(jobId), eq(1), anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenReturn(1);
+        // Taken over after the first chunk
+        when(beerImportJobRepository.checkpoint(eq(jobId), eq(2), anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenReturn(0);
+
+        beerImportService.startImport("beers.csv", new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+
+        verify(beerRepository, times(1)).insertAll(anyList(), anyInt());
+        verify(transactionManager).rollback(any());
+        verify(beerImportJobRepository, never()).checkpoint(eq(jobId), eq(3), anyLong(), anyLong(), anyLong(),
+                any(), any());
+        verify(beerImportJobRepository, never()).updateStatus(any(), anyInt(), any(), any(), any());
+        // The name indexes get the chunk before the list generations advance
+        InOrder inOrder = inOrder(applicationEventPublisher, beerCacheInvalidator);
+        inOrder.verify(applicationEventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof BeerBatchCreatedEvent batch && batch.getBeers().size() == 1
+                        && batch.getBeers().getFirst().beerName().equals("Imported 1")));
+        inOrder.verify(beerCacheInvalidator).beersCreated(anyList(), any());
+        verify(beerCacheInvalidator, times(1)).beersCreated(anyList(), any());
+        assertThat(directory).isNotEmptyDirectory();
+    }
+
+    @Test
+    void test_body_larger_than_the_limit_is_rejected_and_not_kept() {
+        beerImportService.directory = directory;
+        beerImportService.maxBodySize = DataSize.ofBytes(100);
+
+        assertThatThrownBy(() -> beerImportService.startImport("beers.csv",
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(ImportTooLargeException.class);
+
+        assertThat(directory).isEmptyDirectory();
+        verify(beerImportJobRepository, never()).save(any());
+    }
+
+    @Test
+    void test_files_of_imports_unchanged_for_the_retention_are_deleted() throws Exception {
+        beerImportService.directory = directory;
+        beerImportService.fileRetention = Duration.ofDays(7);
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(8)));
+        Path failed = Files.setLastModifiedTime(Files.createFile(directory.resolve("failed.csv")), old);
+        Path running = Files.setLastModifiedTime(Files.createFile(directory.resolve("running.csv")), old);
+        Path orphaned = Files.setLastModifiedTime(Files.createFile(directory.resolve("orphaned.csv")), old);
+        Path uploading = Files.createFile(directory.resolve("uploading.csv"));
+        when(beerImportJobRepository.findByFilePath(failed.toAbsolutePath().toString())).thenReturn(Optional.of(
+                BeerImportJob.builder().updateDate(LocalDateTime.now().minusDays(8)).build()));
+        when(beerImportJobRepository.findByFilePath(running.toAbsolutePath().toString())).thenReturn(Optional.of(
+                BeerImportJob.builder().updateDate(LocalDateTime.now().minusMinutes(1)).build()));
+
+        beerImportService.deleteExpiredFiles();
+
+        assertThat(failed).doesNotExist();
+        assertThat(orphaned).doesNotExist();
+        assertThat(running).exists();
+        assertThat(uploading).exists();
+    }
+}
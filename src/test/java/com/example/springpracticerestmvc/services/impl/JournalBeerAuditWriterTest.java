@@ -0,0 +1,125 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.entities.BeerAudit;
+import com.example.springpracticerestmvc.repositories.BeerAuditRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class JournalBeerAuditWriterTest {
+
+    @TempDir
+    Path directory;
+
+    BeerAuditRepository beerAuditRepository = mock(BeerAuditRepository.class);
+    List<BeerAudit> inserted = Collections.synchronizedList(new ArrayList<>());
+    JournalBeerAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(beerAuditRepository).insertAll(anyList(), anyInt());
+        writer = writer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void test_appended_records_are_replayed_in_batches() {
+        writer.start();
+
+        writer.writeAll(IntStream.range(0, 120).mapToObj(BeerAuditJournalTest::audit).toList());
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(inserted).hasSize(120));
+        assertThat(inserted).extracting(BeerAudit::getVersion)
+                .containsExactlyElementsOf(IntStream.range(0, 120).boxed().toList());
+    }
+
+    @Test
+    void test_records_not_replayed_before_stop_are_replayed_after_restart() {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (databaseDown.get()) {
+                throw new QueryTimeoutException("database is down");
+            }
+            return inserted.addAll(invocation.getArgument(0));
+        }).when(beerAuditRepository).insertAll(anyList(), anyInt());
+        writer.shutdownTimeout = Duration.ofMillis(200);
+        writer.start();
+
+        writer.writeAll(IntStream.range(0, 10).mapToObj(BeerAuditJournalTest::audit).toList());
+        writer.stop();
+        assertThat(inserted).isEmpty();
+
+        databaseDown.set(false);
+        writer = writer();
+        writer.start();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(inserted).hasSize(10));
+    }
+
+    @Test
+    void test_records_inserted_before_a_crash_are_not_inserted_again() {
+        List<BeerAudit> beerAudits = IntStream.range(0, 10).mapToObj(BeerAuditJournalTest::audit).toList();
+        List<UUID> alreadyInserted = beerAudits.subList(0, 4).stream().map(BeerAudit::getAuditId).toList();
+        doAnswer(invocation -> {
+            List<BeerAudit> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(beerAudit -> alreadyInserted.contains(beerAudit.getAuditId()))) {
+                throw new DuplicateKeyException("duplicate audit id");
+            }
+            return inserted.addAll(batch);
+        }).when(beerAuditRepository).insertAll(anyList(), anyInt());
+        when(beerAuditRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return beerAudits.stream().filter(beerAudit -> ids.contains(beerAudit.getAuditId())
+                    && alreadyInserted.contains(beerAudit.getAuditId())).toList();
+        });
+        writer.start();
+
+        writer.writeAll(beerAudits);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(inserted).hasSize(6));
+        assertThat(inserted).extracting(BeerAudit::getAuditId).doesNotContainAnyElementsOf(alreadyInserted);
+    }
+
+    @Test
+    void test_writes_before_start_are_inserted_directly() {
+        writer.write(BeerAuditJournalTest.audit(1));
+
+        assertThat(inserted).hasSize(1);
+    }
+
+    private JournalBeerAuditWriter writer() {
+        JournalBeerAuditWriter journalWriter = new JournalBeerAuditWriter(beerAuditRepository,
+                mock(PlatformTransactionManager.class));
+        journalWriter.directory = directory;
+        journalWriter.segmentSize = DataSize.ofKilobytes(4);
+        journalWriter.interval = Duration.ofMillis(20);
+        journalWriter.replayBatchSize = 50;
+        return journalWriter;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.springpracticerestmvc.services.impl;
+
+import com.example.springpracticerestmvc.model.BeerCSVRecord;
+import com.example.springpracticerestmvc.services.BeerCsvService;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MappedBeerCsvServiceImplTest {
+
+    BeerCsvService beerCsvService = new MappedBeerCsvServiceImpl();
+
+    @Test
+    void test_convert_csv_reads_the_same_columns_as_opencsv() throws FileNotFoundException {
+        File file = ResourceUtils.getFile("classpath:csvdata/beers.csv");
+
+        List<BeerCSVRecord> records = beerCsvService.convertCSV(file);
+
+        assertThat(records)
+                .extracting(BeerCSVRecord::getRow, BeerCSVRecord::getCount, BeerCSVRecord::getBeer, BeerCSVRecord::getStyle)
+                .containsExactlyElementsOf(new BeerCsvServiceImpl().convertCSV(file).stream()
+                        .map(record -> tuple(record.getRow(), record.getCount(), record.getBeer(), record.getStyle()))
+                        .toList());
+        assertThat(records).extracting(BeerCSVRecord::getAbv).containsOnlyNulls();
+    }
+
+    @Test
+    void test_iterate_csv() throws FileNotFoundException {
+        File file = ResourceUtils.getFile("classpath:csvdata/beers.csv");
+
+        List<BeerCSVRecord> records = new ArrayList<>();
+        beerCsvService.iterateCSV(new FileReader(file)).forEachRemaining(records::add);
+
+        assertThat(records).doesNotContainNull().isEqualTo(beerCsvService.convertCSV(file));
+    }
+
+    @Test
+    void test_iterate_csv_returns_null_for_unreadable_rows() {
+        Iterator<BeerCSVRecord> records = beerCsvService.iterateCSV(new StringReader(
+                "\"row\",\"beer\",\"style\"\r\n" +
+                "\"1\",\"Pub Beer\",\"American Pale Lager\"\r\n" +
+                "\"two\",\"Devil's Cup\",\"American IPA\"\r\n" +
+                "\"3\",\"Rise of the Phoenix\"\r\n" +
+                "\r\n" +
+                "\"4\",\"Sex and Candy\",\"American IPA\""));
+
+        assertThat(records.next().getBeer()).isEqualTo("Pub Beer");
+        assertThat(records.next()).isNull();
+        assertThat(records.next()).isNull();
+        assertThat(records.next().getRow()).isEqualTo(4);
+        assertThat(records.hasNext()).isFalse();
+    }
+
+    @Test
+    void test_split_csv_yields_every_record_once() throws FileNotFoundException {
+        File file = ResourceUtils.getFile("classpath:csvdata/beers.csv");
+
+        // Small windows make rows cross window ends
+        List<Iterator<BeerCSVRecord>> parts = new MappedBeerCsvServiceImpl(4096).splitCSV(file, 4);
+        List<BeerCSVRecord> records = new ArrayList<>();
+        parts.forEach(part -> part.forEachRemaining(records::add));
+
+        assertThat(parts).hasSize(4);
+        assertThat(records).isEqualTo(beerCsvService.convertCSV(file));
+    }
+
+    @Test
+    void test_split_csv_reads_quoted_fields_longer_than_a_window() throws IOException {
+        Path file = Files.createTempFile("beers", ".csv");
+        StringBuilder csv = new StringBuilder("\"row\",\"beer\",\"style\"\n");
+        for (int i = 1; i <= 20; i++) {
+            csv.append('"').append(i).append("\",\"Beer\n\"\"").append(i).append("\"\"\",\"American IPA\"\n");
+        }
+        Files.writeString(file, csv);
+
+        List<BeerCSVRecord> records = new ArrayList<>();
+        new MappedBeerCsvServiceImpl(8).splitCSV(file.toFile(), 7).forEach(part -> part.forEachRemaining(records::add));
+
+        assertThat(records).extracting(BeerCSVRecord::getRow).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 20).boxed().toList());
+        assertThat(records).extracting(BeerCSVRecord::getBeer).allMatch(beer -> beer.startsWith("Beer\n\""));
+        assertThat(records).extracting(BeerCSVRecord::getStyle).containsOnly("American IPA");
+        Files.delete(file);
+    }
+}